@@ -71,6 +71,20 @@ public class MuleEventTestCase extends AbstractMuleContextTestCase {
     assertNotNull(deserialized.getSession());
   }
 
+  @Test
+  public void variablesSerialization() throws Exception {
+    CoreEvent event = CoreEvent.builder(testEvent()).addVariable("Foo", "bar").build();
+    Serializable serialized = (Serializable) createSerializableToByteArrayTransformer().transform(event);
+    ByteArrayToObject trans = new ByteArrayToObject();
+    trans.setMuleContext(muleContext);
+    PrivilegedEvent deserialized = (PrivilegedEvent) trans.transform(serialized);
+
+    assertThat(deserialized.getVariables().get("FOO").getValue(), is("bar"));
+    assertThat(deserialized.getVariables().keySet().iterator().next(), is("Foo"));
+    assertThat(CoreEvent.builder(deserialized).addVariable("foo", "baz").build().getVariables().get("FOO").getValue(),
+               is("baz"));
+  }
+
   private Transformer createSerializableToByteArrayTransformer() {
     Transformer transformer = new SerializableToByteArray();
     transformer.setMuleContext(muleContext);
@@ -360,6 +360,43 @@ public class FileUtilsTestCase extends AbstractMuleTestCase {
     assertThat(new File(new File(toDir, "folder"), resourceName).exists(), is(true));
   }
 
+  @Test
+  public void unzipsConcurrently() throws Exception {
+    final String resourceName = "dummy.xml";
+    final File compressedFile = new File(toDir, "test.zip");
+    ZipResource[] resources = new ZipResource[10];
+    for (int i = 0; i < resources.length; i++) {
+      resources[i] = new ZipResource(resourceName, "folder" + i % 3 + File.separator + i + resourceName);
+    }
+    compress(compressedFile, resources);
+
+    File outputDir = new File(toDir, "output");
+    unzip(compressedFile, outputDir, 4);
+
+    for (int i = 0; i < resources.length; i++) {
+      File unzipped = new File(new File(outputDir, "folder" + i % 3), i + resourceName);
+      assertThat(unzipped.exists(), is(true));
+      assertThat(readFileToString(unzipped, (String) null),
+                 is(IOUtils.toString(IOUtils.getResourceAsStream(resourceName, getClass()))));
+    }
+  }
+
+  @Test
+  public void doesNotUnzipExternalPathsConcurrently() throws Exception {
+    final String resourceName = "dummy.xml";
+    final String resourceAlias = Paths.get("folder", "..", "..", resourceName).toString();
+    final File compressedFile = new File(toDir, "test.zip");
+    compress(compressedFile, new ZipResource[] {
+        new ZipResource(resourceName, resourceName),
+        new ZipResource(resourceName, "other" + resourceName),
+        new ZipResource(resourceName, resourceAlias)
+    });
+
+    thrownException.expect(InvalidZipFileException.class);
+    thrownException.expectMessage("External paths are not allowed: " + resourceAlias);
+    unzip(compressedFile, toDir, 2);
+  }
+
   @Test
   public void doesNotUnzipAbsolutePaths() throws Exception {
     final String resourceName = "dummy.xml";
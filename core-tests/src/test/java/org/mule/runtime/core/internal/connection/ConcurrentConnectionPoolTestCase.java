@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ConcurrentConnectionPoolTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_ACTIVE = 2;
+
+  private PoolableObjectFactory<Object> factory;
+  private ConcurrentConnectionPool<Object> pool;
+
+  @Before
+  public void before() throws Exception {
+    factory = mock(PoolableObjectFactory.class);
+    when(factory.makeObject()).thenAnswer(i -> new Object());
+    when(factory.validateObject(any())).thenReturn(true);
+    pool = new ConcurrentConnectionPool<>(factory, new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, DEFAULT_MAX_POOL_WAIT,
+                                                                      WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+  }
+
+  @Test
+  public void reuseReturnedConnection() throws Exception {
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+
+    assertThat(pool.borrowObject(), is(sameInstance(connection)));
+    assertThat(pool.getActiveCount(), is(1));
+    assertThat(pool.getIdleCount(), is(0));
+    assertThat(pool.getBorrowCount(), is(2L));
+  }
+
+  @Test
+  public void borrowedConnectionsAreDifferent() throws Exception {
+    assertThat(pool.borrowObject(), is(not(sameInstance(pool.borrowObject()))));
+    assertThat(pool.getActiveCount(), is(2));
+  }
+
+  @Test
+  public void exhaustion() throws Exception {
+    pool = new ConcurrentConnectionPool<>(factory, new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL,
+                                                                      INITIALISE_NONE));
+
+    Object connection = pool.borrowObject();
+    try {
+      pool.borrowObject();
+      fail("Was expecting the pool to be exhausted");
+    } catch (NoSuchElementException e) {
+      assertThat(pool.getExhaustedCount(), is(1L));
+    }
+
+    pool.returnObject(connection);
+    assertThat(pool.borrowObject(), is(sameInstance(connection)));
+  }
+
+  @Test
+  public void doubleReturnIgnored() throws Exception {
+    pool = new ConcurrentConnectionPool<>(factory, new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL,
+                                                                      INITIALISE_NONE));
+
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+    pool.returnObject(connection);
+
+    assertThat(pool.getActiveCount(), is(0));
+    assertThat(pool.getIdleCount(), is(1));
+    assertThat(pool.borrowObject(), is(sameInstance(connection)));
+    try {
+      pool.borrowObject();
+      fail("Was expecting the pool to be exhausted");
+    } catch (NoSuchElementException e) {
+      // expected, the second return must not have released another permit
+    }
+  }
+
+  @Test
+  public void concurrentBorrowAndReturn() throws Exception {
+    final int threads = 8;
+    final int iterations = 1000;
+    pool = new ConcurrentConnectionPool<>(factory, new PoolingProfile(MAX_ACTIVE, 1, DEFAULT_MAX_POOL_WAIT,
+                                                                      WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+
+    Set<Object> borrowed = ConcurrentHashMap.newKeySet();
+    AtomicInteger concurrentlyBorrowed = new AtomicInteger();
+    AtomicInteger maxConcurrentlyBorrowed = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < threads; ++i) {
+        results.add(executor.submit(() -> {
+          start.await();
+          for (int j = 0; j < iterations; ++j) {
+            Object connection = pool.borrowObject();
+            assertThat("Connection borrowed twice", borrowed.add(connection), is(true));
+            maxConcurrentlyBorrowed.accumulateAndGet(concurrentlyBorrowed.incrementAndGet(), Math::max);
+
+            concurrentlyBorrowed.decrementAndGet();
+            borrowed.remove(connection);
+            pool.returnObject(connection);
+          }
+          return null;
+        }));
+      }
+
+      start.countDown();
+      for (Future<?> result : results) {
+        result.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(maxConcurrentlyBorrowed.get(), lessThanOrEqualTo(MAX_ACTIVE));
+    assertThat(pool.getBorrowCount(), is((long) threads * iterations));
+    assertThat(pool.getActiveCount(), is(0));
+    assertThat(pool.getIdleCount(), is(1));
+  }
+
+  @Test
+  public void invalidateFreesSlot() throws Exception {
+    pool = new ConcurrentConnectionPool<>(factory, new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL,
+                                                                      INITIALISE_NONE));
+
+    Object connection = pool.borrowObject();
+    pool.invalidateObject(connection);
+    verify(factory).destroyObject(connection);
+
+    assertThat(pool.borrowObject(), is(not(sameInstance(connection))));
+  }
+
+  @Test
+  public void destroyReturnedConnectionsOverMaxIdle() throws Exception {
+    pool = new ConcurrentConnectionPool<>(factory, new PoolingProfile(MAX_ACTIVE, 1, DEFAULT_MAX_POOL_WAIT,
+                                                                      WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+
+    Object connection1 = pool.borrowObject();
+    Object connection2 = pool.borrowObject();
+    pool.returnObject(connection1);
+    pool.returnObject(connection2);
+
+    verify(factory, never()).destroyObject(connection1);
+    verify(factory).destroyObject(connection2);
+    assertThat(pool.getIdleCount(), is(1));
+  }
+
+  @Test
+  public void evictInvalidConnections() throws Exception {
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+    when(factory.validateObject(connection)).thenReturn(false);
+
+    pool.evict();
+
+    verify(factory).destroyObject(connection);
+    assertThat(pool.getIdleCount(), is(0));
+  }
+
+  @Test
+  public void evictKeepsValidConnections() throws Exception {
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+
+    pool.evict();
+
+    verify(factory, never()).destroyObject(connection);
+    assertThat(pool.borrowObject(), is(sameInstance(connection)));
+  }
+
+  @Test(timeout = 10000)
+  public void evictKeepsSeveralValidConnections() throws Exception {
+    pool = new ConcurrentConnectionPool<>(factory, new PoolingProfile(3, 3, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT,
+                                                                      INITIALISE_NONE));
+    List<Object> connections = new ArrayList<>();
+    for (int i = 0; i < 3; ++i) {
+      connections.add(pool.borrowObject());
+    }
+    for (Object connection : connections) {
+      pool.returnObject(connection);
+    }
+
+    pool.evict();
+
+    verify(factory, never()).destroyObject(any());
+    assertThat(pool.getIdleCount(), is(3));
+    Set<Object> borrowed = new HashSet<>();
+    for (int i = 0; i < 3; ++i) {
+      borrowed.add(pool.borrowObject());
+    }
+    assertThat(borrowed, is(new HashSet<>(connections)));
+  }
+
+  @Test
+  public void closeDestroysIdleAndReturnedConnections() throws Exception {
+    Object idle = pool.borrowObject();
+    Object active = pool.borrowObject();
+    pool.returnObject(idle);
+
+    pool.close();
+    verify(factory).destroyObject(idle);
+    verify(factory, never()).destroyObject(active);
+
+    pool.returnObject(active);
+    verify(factory).destroyObject(active);
+  }
+}
@@ -25,6 +25,7 @@ import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
 import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
 import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
 import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_CONCURRENT_CONNECTION_POOL;
 import static org.mule.tck.MuleTestUtils.spyInjector;
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionException;
@@ -146,6 +147,40 @@ public class PoolingConnectionManagementStrategyTestCase extends AbstractMuleCon
     strategy.getConnectionHandler().getConnection();
   }
 
+  @Test
+  public void concurrentPoolStatistics() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    System.setProperty(MULE_CONCURRENT_CONNECTION_POOL, "true");
+    try {
+      initStrategy();
+    } finally {
+      System.clearProperty(MULE_CONCURRENT_CONNECTION_POOL);
+    }
+
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the pool to be exhausted");
+    } catch (ConnectionException e) {
+      // expected
+    }
+
+    ConnectionPoolStatistics statistics = strategy.getPoolStatistics().get();
+    assertThat(statistics.getBorrowCount(), is(1L));
+    assertThat(statistics.getExhaustedCount(), is(1L));
+    assertThat(statistics.getActiveCount(), is(1));
+    assertThat(statistics.getIdleCount(), is(0));
+
+    connectionHandler.release();
+    assertThat(statistics.getActiveCount(), is(0));
+    assertThat(statistics.getIdleCount(), is(1));
+  }
+
+  @Test
+  public void genericPoolHasNoStatistics() {
+    assertThat(strategy.getPoolStatistics().isPresent(), is(false));
+  }
+
   private void resetConnectionProvider() throws ConnectionException {
     ConnectionProvider<Object> connectionProvider = mock(ConnectionProvider.class);
     when(connectionProvider.connect()).thenAnswer(i -> mock(Lifecycle.class));
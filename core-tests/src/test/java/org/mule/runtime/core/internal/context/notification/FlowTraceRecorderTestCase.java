@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.internal.context.notification.FlowTraceRecorder.FlowTraceEntry;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+
+import org.junit.Test;
+
+@SmallTest
+public class FlowTraceRecorderTestCase extends AbstractMuleTestCase {
+
+  private static final String PROCESSOR_1 = "/flow/processors/0 @ app:muleApp.xml:10";
+  private static final String PROCESSOR_2 = "/flow/processors/1 @ app:muleApp.xml:11";
+
+  private final FlowTraceRecorder recorder = new FlowTraceRecorder(4);
+
+  @Test
+  public void registerSameProcessorTwice() {
+    int id = recorder.register(PROCESSOR_1);
+
+    assertThat(recorder.register(PROCESSOR_1), is(id));
+    assertThat(recorder.getProcessor(id), is(PROCESSOR_1));
+    assertThat(recorder.getProcessor(recorder.register(PROCESSOR_2)), is(PROCESSOR_2));
+  }
+
+  @Test
+  public void dumpInOrder() {
+    int processor1 = recorder.register(PROCESSOR_1);
+    int processor2 = recorder.register(PROCESSOR_2);
+
+    recorder.record("event1", processor1);
+    recorder.record("event2", processor1);
+    recorder.record("event1", processor2);
+
+    List<FlowTraceEntry> entries = recorder.dump();
+    assertThat(entries.stream().map(FlowTraceEntry::getEventId).collect(toList()), contains("event1", "event2", "event1"));
+    assertThat(entries.stream().map(FlowTraceEntry::getProcessor).collect(toList()),
+               contains(PROCESSOR_1, PROCESSOR_1, PROCESSOR_2));
+  }
+
+  @Test
+  public void oldestEntriesOverwritten() {
+    int processor = recorder.register(PROCESSOR_1);
+
+    for (int i = 0; i < 6; ++i) {
+      recorder.record("event" + i, processor);
+    }
+
+    assertThat(recorder.dump().stream().map(FlowTraceEntry::getEventId).collect(toList()),
+               contains("event2", "event3", "event4", "event5"));
+  }
+
+  @Test
+  public void dumpForEvent() {
+    int processor1 = recorder.register(PROCESSOR_1);
+    int processor2 = recorder.register(PROCESSOR_2);
+
+    recorder.record("event1", processor1);
+    recorder.record("event2", processor1);
+    recorder.record("event1", processor2);
+
+    assertThat(recorder.dump("event1"), contains(PROCESSOR_1, PROCESSOR_2));
+  }
+
+  @Test
+  public void deadThreadBuffersDiscarded() throws Exception {
+    int processor = recorder.register(PROCESSOR_1);
+
+    Thread thread = new Thread(() -> recorder.record("event1", processor));
+    thread.start();
+    thread.join();
+    assertThat(recorder.dump(), hasSize(1));
+
+    thread = new Thread(() -> recorder.record("event2", processor));
+    thread.start();
+    thread.join();
+
+    assertThat(recorder.dump().stream().map(FlowTraceEntry::getEventId).collect(toList()), contains("event2"));
+  }
+
+  @Test
+  public void dumpFromAllThreads() throws Exception {
+    int processor = recorder.register(PROCESSOR_1);
+
+    recorder.record("event1", processor);
+    Thread thread = new Thread(() -> recorder.record("event2", processor));
+    thread.start();
+    thread.join();
+
+    List<FlowTraceEntry> entries = recorder.dump();
+    assertThat(entries, hasSize(2));
+    assertThat(entries.stream().map(FlowTraceEntry::getEventId).collect(toList()), containsInAnyOrder("event1", "event2"));
+  }
+}
@@ -329,6 +329,25 @@ public class MessageProcessingFlowTraceManagerTestCase extends AbstractMuleTestC
                                      "/route_1 @ " + APP_ID + ":unknown:-1"));
   }
 
+  @Test
+  public void recordedProcessorsTrace() {
+    manager = new MessageProcessingFlowTraceManager(16);
+    manager.setMuleContext(rootFlowConstruct.getMuleContext());
+
+    CoreEvent event = buildEvent("recordedProcessorsTrace");
+    PipelineMessageNotification pipelineNotification = buildPipelineNotification(event, rootFlowConstruct.getName());
+
+    manager.onPipelineNotificationStart(pipelineNotification);
+    manager.onMessageProcessorNotificationPreInvoke(buildProcessorNotification(event, createMockProcessor("/comp", false)));
+    manager.onMessageProcessorNotificationPreInvoke(buildProcessorNotification(event, createMockProcessor("/comp2", false)));
+    manager.onPipelineNotificationComplete(pipelineNotification);
+
+    assertThat(((DefaultProcessorsTrace) ((BaseEventContext) event.getContext()).getProcessorsTrace()).isRecorded(), is(true));
+    assertThat(((BaseEventContext) event.getContext()).getProcessorsTrace(),
+               hasExecutedProcessors("/comp @ " + APP_ID + ":unknown:-1",
+                                     "/comp2 @ " + APP_ID + ":unknown:-1"));
+  }
+
   @Test
   public void mixedEvents() {
     CoreEvent event1 = buildEvent("mixedEvents_1");
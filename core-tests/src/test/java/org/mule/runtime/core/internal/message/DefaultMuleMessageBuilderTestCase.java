@@ -224,6 +224,32 @@ public class DefaultMuleMessageBuilderTestCase extends AbstractMuleTestCase {
     assertThat(copy.getOutboundPropertyNames(), hasItem(PROPERTY_KEY));
   }
 
+  @Test
+  public void propertiesAddedToCopyDoNotChangeOriginal() {
+    InternalMessage message = new DefaultMessageBuilder().value(TEST_PAYLOAD).addOutboundProperty(PROPERTY_KEY, PROPERTY_VALUE)
+        .build();
+    InternalMessage copy = new DefaultMessageBuilder(message).addOutboundProperty(NEW_PAYLOAD, PROPERTY_VALUE)
+        .removeOutboundProperty(PROPERTY_KEY).addInboundProperty(PROPERTY_KEY, PROPERTY_VALUE).build();
+
+    assertThat(message.getOutboundPropertyNames(), hasSize(1));
+    assertThat(message.getOutboundProperty(PROPERTY_KEY), equalTo(PROPERTY_VALUE));
+    assertThat(message.getInboundPropertyNames(), hasSize(0));
+    assertThat(copy.getOutboundPropertyNames(), hasSize(1));
+    assertThat(copy.getOutboundProperty(NEW_PAYLOAD), equalTo(PROPERTY_VALUE));
+    assertThat(copy.getInboundProperty(PROPERTY_KEY), equalTo(PROPERTY_VALUE));
+  }
+
+  @Test
+  public void propertiesAddedAfterBuildDoNotChangeBuiltMessage() {
+    InternalMessage.Builder builder = new DefaultMessageBuilder().value(TEST_PAYLOAD);
+    builder.addInboundProperty(PROPERTY_KEY, PROPERTY_VALUE);
+    InternalMessage message = builder.build();
+    builder.addInboundProperty(NEW_PAYLOAD, PROPERTY_VALUE);
+
+    assertThat(message.getInboundPropertyNames(), hasSize(1));
+    assertThat(builder.build().getInboundPropertyNames(), hasSize(2));
+  }
+
   @Test
   public void inboundProperty() {
     InternalMessage message =
@@ -192,10 +192,68 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor).after(eq(((Component) processor).getLocation()), any(), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
+  @Test
+  public void parametersNotResolvedIfNotRead() throws Exception {
+    ProcessorInterceptor interceptor = prepareInterceptor(new ProcessorInterceptor() {
+
+      @Override
+      public void before(ComponentLocation location, Map<String, ProcessorParameterValue> parameters, InterceptionEvent event) {}
+    });
+    startFlowWithInterceptors(interceptor);
+
+    process(flow, eventBuilder(muleContext).message(Message.of("")).build());
+
+    verifyParametersResolvedAndDisposed(never());
+  }
+
+  @Test
+  public void parametersResolvedOnceIfRead() throws Exception {
+    ProcessorInterceptor interceptor = prepareInterceptor(new ProcessorInterceptor() {
+
+      @Override
+      public void before(ComponentLocation location, Map<String, ProcessorParameterValue> parameters, InterceptionEvent event) {
+        assertThat(parameters.get("param").resolveValue(), is(""));
+      }
+    });
+    startFlowWithInterceptors(interceptor);
+
+    CoreEvent result = process(flow, eventBuilder(muleContext).message(Message.of("")).build());
+    assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
+
+    verifyParametersResolvedAndDisposed(times(1));
+  }
+
+  @Test
+  public void parametersResolvedAgainIfReadAfterMutation() throws Exception {
+    ProcessorInterceptor interceptor = prepareInterceptor(new ProcessorInterceptor() {
+
+      @Override
+      public void before(ComponentLocation location, Map<String, ProcessorParameterValue> parameters, InterceptionEvent event) {
+        assertThat(parameters.get("param").resolveValue(), is(""));
+        event.message(Message.of(TEST_PAYLOAD));
+      }
+
+      @Override
+      public CompletableFuture<InterceptionEvent> around(ComponentLocation location,
+                                                         Map<String, ProcessorParameterValue> parameters,
+                                                         InterceptionEvent event, InterceptionAction action) {
+        assertThat(parameters.get("param").resolveValue(), is(TEST_PAYLOAD));
+        return action.proceed();
+      }
+    });
+    startFlowWithInterceptors(interceptor);
+
+    CoreEvent result = process(flow, eventBuilder(muleContext).message(Message.of("")).build());
+    assertThat(result.getMessage().getPayload().getValue(), is(TEST_PAYLOAD));
+    assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
+
+    verifyParametersResolvedAndDisposed(times(2));
+  }
+
   @Test
   public void interceptorMutatesEventBefore() throws Exception {
     ProcessorInterceptor interceptor = prepareInterceptor(new ProcessorInterceptor() {
@@ -222,7 +280,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(2));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -250,7 +308,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor).after(any(), any(), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -281,7 +339,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -315,7 +373,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -346,7 +404,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -380,7 +438,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -416,7 +474,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)),
                                           argThat(not(empty())));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -447,7 +505,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor, never()).process(any());
         inOrder.verify(interceptor).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(of(cause)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -476,7 +534,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor, never()).process(any());
         inOrder.verify(interceptor).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -505,7 +563,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor).process(argThat(hasPayloadValue("")));
         inOrder.verify(interceptor).after(any(), any(), eq(empty()));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -536,7 +594,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor, never()).process(any());
         inOrder.verify(interceptor).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -568,7 +626,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor).process(any());
         inOrder.verify(interceptor).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -604,7 +662,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor).process(any());
         inOrder.verify(interceptor).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -639,7 +697,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor).process(any());
         inOrder.verify(interceptor).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -675,7 +733,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor, never()).process(any());
         inOrder.verify(interceptor).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -710,7 +768,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor, never()).process(any());
         inOrder.verify(interceptor).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -737,7 +795,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(processor).process(any());
         inOrder.verify(interceptor).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -768,7 +826,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor).after(any(), any(), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -803,7 +861,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(2));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -836,7 +894,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(2));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -868,7 +926,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), any(), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -900,7 +958,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -937,7 +995,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(2));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -972,7 +1030,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1010,7 +1068,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1047,7 +1105,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1085,7 +1143,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1122,7 +1180,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), argThat(interceptionHasPayloadValue(TEST_PAYLOAD)), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1154,7 +1212,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2, never()).after(any(), any(), eq(of(expectedException)));
         inOrder.verify(interceptor1).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1187,7 +1245,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2).after(any(), any(), eq(of(expectedException)));
         inOrder.verify(interceptor1).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1220,7 +1278,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2).after(any(), any(), eq(empty()));
         inOrder.verify(interceptor1).after(any(), any(), eq(empty()));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1276,7 +1334,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2).after(any(), any(), eq(empty()));
         inOrder.verify(interceptor1).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1311,7 +1369,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2).after(any(), any(), eq(of(expectedException)));
         inOrder.verify(interceptor1).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1346,7 +1404,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2).after(any(), any(), eq(of(expectedException)));
         inOrder.verify(interceptor1).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1381,7 +1439,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2).after(any(), any(), eq(of(expectedException)));
         inOrder.verify(interceptor1).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1416,7 +1474,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2).after(any(), any(), eq(of(expectedException)));
         inOrder.verify(interceptor1).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1452,7 +1510,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2, never()).after(any(), any(), eq(empty()));
         inOrder.verify(interceptor1).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1488,7 +1546,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
         inOrder.verify(interceptor2).after(any(), any(), eq(of(expectedException)));
         inOrder.verify(interceptor1).after(any(), any(), eq(of(expectedException)));
 
-        verifyParametersResolvedAndDisposed(times(1));
+        verifyParametersResolvedAndDisposed(never());
       }
     }
   }
@@ -1522,7 +1580,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), any(), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1555,7 +1613,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), any(), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1592,7 +1650,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1, never()).after(any(), any(), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1629,7 +1687,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(interceptor1).after(any(), any(), eq(empty()));
 
       assertThat(((InternalEvent) result).getInternalParameters().entrySet(), hasSize(0));
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1661,7 +1719,7 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
       inOrder.verify(processor).process(any());
       inOrder.verify(interceptor).after(any(), any(), any());
 
-      verifyParametersResolvedAndDisposed(times(1));
+      verifyParametersResolvedAndDisposed(never());
     }
   }
 
@@ -1728,6 +1786,10 @@ public class ReactiveInterceptorAdapterTestCase extends AbstractMuleContextTestC
     }
   }
 
+  /**
+   * Parameters are resolved only when the interceptor reads them while the processor is executing, and every resolution has to
+   * be disposed.
+   */
   private void verifyParametersResolvedAndDisposed(final VerificationMode times) {
     if (processor instanceof OperationProcessorInApp) {
       verify((OperationProcessorInApp) processor, times).resolveParameters(any(), any());
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.function.Consumer;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+@SmallTest
+@Feature(PROCESSING_STRATEGIES)
+public class ShardedSinkTestCase extends AbstractMuleTestCase {
+
+  private final Sink shard1 = mock(Sink.class, withSettings().extraInterfaces(Disposable.class));
+  private final Sink shard2 = mock(Sink.class, withSettings().extraInterfaces(Disposable.class));
+  private final Consumer<CoreEvent> onEventConsumer = mock(Consumer.class);
+  private final Runnable onDispose = mock(Runnable.class);
+  private final CoreEvent event = mock(CoreEvent.class);
+
+  @Test
+  public void roundRobin() {
+    ShardedSink sink = new ShardedSink(asList(shard1, shard2), false, onEventConsumer, onDispose);
+
+    sink.accept(event);
+    sink.accept(event);
+    sink.accept(event);
+
+    verify(shard1, times(2)).accept(event);
+    verify(shard2).accept(event);
+    verify(onEventConsumer, times(3)).accept(event);
+  }
+
+  @Test
+  public void threadAffinity() {
+    ShardedSink sink = new ShardedSink(asList(shard1, shard2), true, onEventConsumer, onDispose);
+
+    sink.accept(event);
+    sink.accept(event);
+
+    Sink threadShard = currentThread().getId() % 2 == 0 ? shard1 : shard2;
+    Sink otherShard = threadShard == shard1 ? shard2 : shard1;
+    verify(threadShard, times(2)).accept(event);
+    verify(otherShard, never()).accept(event);
+  }
+
+  @Test
+  public void emitToOtherShardWhenFull() {
+    ShardedSink sink = new ShardedSink(asList(shard1, shard2), false, onEventConsumer, onDispose);
+    when(shard1.emit(event)).thenReturn(false);
+    when(shard2.emit(event)).thenReturn(true);
+
+    assertThat(sink.emit(event), is(true));
+    verify(onEventConsumer).accept(event);
+  }
+
+  @Test
+  public void rejectWhenAllShardsFull() {
+    ShardedSink sink = new ShardedSink(asList(shard1, shard2), false, onEventConsumer, onDispose);
+
+    assertThat(sink.emit(event), is(false));
+    verify(shard1).emit(event);
+    verify(shard2).emit(event);
+  }
+
+  @Test
+  public void disposeShardsBeforeShutdown() {
+    ShardedSink sink = new ShardedSink(asList(shard1, shard2), false, onEventConsumer, onDispose);
+
+    sink.dispose();
+
+    InOrder inOrder = inOrder(shard1, shard2, onDispose);
+    inOrder.verify((Disposable) shard1).dispose();
+    inOrder.verify((Disposable) shard2).dispose();
+    inOrder.verify(onDispose).run();
+  }
+}
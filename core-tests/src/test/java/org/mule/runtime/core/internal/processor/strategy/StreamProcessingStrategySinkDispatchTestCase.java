@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy.SinkDispatch.AFFINITY;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy.SinkDispatch.ROUND_ROBIN;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy.SinkDispatch.SHARED;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_WAIT_STRATEGY;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static reactor.core.publisher.Flux.from;
+import static reactor.util.concurrent.Queues.XS_BUFFER_SIZE;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy.SinkDispatch;
+import org.mule.runtime.core.internal.processor.strategy.WorkQueueStreamProcessingStrategyFactory.WorkQueueStreamProcessingStrategy;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+@Feature(PROCESSING_STRATEGIES)
+public class StreamProcessingStrategySinkDispatchTestCase extends AbstractMuleContextTestCase {
+
+  private static final int SUBSCRIBERS = 2;
+  private static final int EVENTS = 100;
+
+  private final SinkDispatch sinkDispatch;
+  private final List<Scheduler> ringBufferSchedulers = new ArrayList<>();
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> parameters() {
+    return asList(new Object[][] {{SHARED}, {AFFINITY}, {ROUND_ROBIN}});
+  }
+
+  public StreamProcessingStrategySinkDispatchTestCase(SinkDispatch sinkDispatch) {
+    this.sinkDispatch = sinkDispatch;
+  }
+
+  @After
+  public void stopSchedulers() {
+    ringBufferSchedulers.forEach(Scheduler::stop);
+  }
+
+  @Test
+  @Description("Disposing the sink processes every emitted event and shuts every ring-buffer down within the shutdown timeout.")
+  public void disposeCompletesEveryRingBuffer() throws Exception {
+    WorkQueueStreamProcessingStrategy processingStrategy =
+        new WorkQueueStreamProcessingStrategy(this::createRingBufferScheduler, XS_BUFFER_SIZE, SUBSCRIBERS,
+                                              DEFAULT_WAIT_STRATEGY, () -> muleContext.getSchedulerService().ioScheduler(),
+                                              SUBSCRIBERS);
+    processingStrategy.setSinkDispatch(sinkDispatch.name());
+    FlowConstruct flowConstruct = mock(FlowConstruct.class);
+    when(flowConstruct.getMuleContext()).thenReturn(muleContext);
+
+    CountDownLatch processed = new CountDownLatch(EVENTS);
+    Sink sink =
+        processingStrategy.createSink(flowConstruct, publisher -> from(publisher).doOnNext(event -> processed.countDown()));
+    for (int i = 0; i < EVENTS; ++i) {
+      sink.accept(testEvent());
+    }
+
+    long shutdownTimeout = muleContext.getConfiguration().getShutdownTimeout();
+    long start = System.currentTimeMillis();
+    ((Disposable) sink).dispose();
+
+    assertThat(processed.getCount(), is(0L));
+    assertThat(System.currentTimeMillis() - start < shutdownTimeout, is(true));
+    assertThat(ringBufferSchedulers, hasSize(sinkDispatch == SHARED ? 1 : SUBSCRIBERS));
+    assertThat(ringBufferSchedulers, everyItem(isShutdown()));
+  }
+
+  private Scheduler createRingBufferScheduler() {
+    Scheduler scheduler = muleContext.getSchedulerService()
+        .customScheduler(config().withName("ring-buffer").withMaxConcurrentTasks(SUBSCRIBERS + 1));
+    ringBufferSchedulers.add(scheduler);
+    return scheduler;
+  }
+
+  private static Matcher<Scheduler> isShutdown() {
+    return new TypeSafeMatcher<Scheduler>() {
+
+      @Override
+      protected boolean matchesSafely(Scheduler scheduler) {
+        return scheduler.isShutdown();
+      }
+
+      @Override
+      public void describeTo(org.hamcrest.Description description) {
+        description.appendText("a shut down scheduler");
+      }
+    };
+  }
+}
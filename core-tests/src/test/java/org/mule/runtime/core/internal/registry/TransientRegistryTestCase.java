@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.registry;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
@@ -82,6 +84,24 @@ public class TransientRegistryTestCase extends AbstractMuleContextTestCase {
   }
 
 
+  @Test
+  public void indexesObjectsBySupertypes() throws Exception {
+    final RegistryMap registryMap = new RegistryMap(mock(Logger.class));
+    registryMap.putAndLogWarningIfDuplicate(TEST_KEY, "value");
+    registryMap.putAndLogWarningIfDuplicate("number", 1);
+
+    assertThat(registryMap.selectByType(CharSequence.class).keySet(), contains(TEST_KEY));
+    assertThat(registryMap.selectValuesByType(Comparable.class), containsInAnyOrder("value", 1));
+    assertThat(registryMap.selectByType(Object.class).size(), is(2));
+
+    registryMap.putAndLogWarningIfDuplicate(TEST_KEY, 2);
+    assertThat(registryMap.selectByType(CharSequence.class).keySet(), is(empty()));
+    assertThat(registryMap.selectValuesByType(Number.class), containsInAnyOrder(1, 2));
+
+    registryMap.remove("number");
+    assertThat(registryMap.selectValuesByType(Number.class), contains(2));
+  }
+
   @Test
   public void testJSR250ObjectLifecycle() throws Exception {
     muleContext.start();
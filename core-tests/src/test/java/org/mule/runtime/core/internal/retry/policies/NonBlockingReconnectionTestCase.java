@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.retry.policies;
 
 import static java.lang.System.currentTimeMillis;
 import static java.util.function.Function.identity;
+import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.anyOf;
@@ -15,6 +16,7 @@ import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate.RETRY_COUNT_FOREVER;
 import static reactor.core.Exceptions.unwrap;
 import static reactor.core.publisher.Mono.from;
@@ -22,6 +24,7 @@ import static reactor.core.publisher.Mono.fromCallable;
 
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import org.junit.After;
@@ -31,6 +34,8 @@ import org.reactivestreams.Publisher;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -39,6 +44,7 @@ public class NonBlockingReconnectionTestCase extends AbstractMuleContextTestCase
 
   private static final int RETRIES = 5;
   private static final Long FREQUENCY = 1000L;
+  private static final long SHORT_FREQUENCY = 100L;
 
   private final AtomicInteger executedRetries = new AtomicInteger(0);
   private final AtomicBoolean exhausted = new AtomicBoolean(false);
@@ -187,6 +193,124 @@ public class NonBlockingReconnectionTestCase extends AbstractMuleContextTestCase
     }
   }
 
+  @Test
+  public void exponentialBackoff() {
+    SimpleRetryPolicy retryPolicy = new SimpleRetryPolicy(100, RETRIES, 300, 2, 0, null);
+
+    assertThat(retryPolicy.delayFor(1), is(100L));
+    assertThat(retryPolicy.delayFor(2), is(200L));
+    assertThat(retryPolicy.delayFor(3), is(300L));
+    assertThat(retryPolicy.delayFor(4), is(300L));
+  }
+
+  @Test
+  public void jitter() {
+    SimpleRetryPolicy retryPolicy = new SimpleRetryPolicy(FREQUENCY, RETRIES, FREQUENCY, 1, 0.5, null);
+
+    for (int i = 0; i < 100; ++i) {
+      assertThat(retryPolicy.delayFor(1), allOf(greaterThanOrEqualTo(FREQUENCY / 2), lessThanOrEqualTo(FREQUENCY * 3 / 2)));
+    }
+  }
+
+  @Test
+  public void circuitBreakerWaitsForProbe() throws Exception {
+    RetryCircuitBreaker circuitBreaker = new RetryCircuitBreaker();
+    AtomicInteger waitingExecutions = new AtomicInteger();
+
+    CompletableFuture<Integer> probing = from(new SimpleRetryPolicy(SHORT_FREQUENCY, RETRIES, 0, 1, 0, circuitBreaker)
+        .applyPolicy(fromCallable(() -> {
+          trackRetry();
+          if (executedRetries.get() <= 2) {
+            throw new IllegalArgumentException("not retried enough");
+          }
+          return executedRetries.get();
+        }), e -> true, e -> exhausted.set(true), identity(), retryScheduler)).toFuture();
+
+    Integer waitingValue = from(new SimpleRetryPolicy(SHORT_FREQUENCY, RETRIES, 0, 1, 0, circuitBreaker)
+        .applyPolicy(fromCallable(() -> {
+          if (waitingExecutions.incrementAndGet() == 1) {
+            throw new IllegalArgumentException("backend down");
+          }
+          return waitingExecutions.get();
+        }), e -> true, e -> exhausted.set(true), identity(), retryScheduler)).block();
+
+    assertThat(probing.get(), is(3));
+    assertThat(waitingValue, is(2));
+    assertThat(exhausted.get(), is(false));
+  }
+
+  @Test
+  public void circuitBreakerFailsFastWhenProbeExhausted() throws Exception {
+    RetryCircuitBreaker circuitBreaker = new RetryCircuitBreaker();
+    AtomicInteger waitingExecutions = new AtomicInteger();
+
+    CompletableFuture<Integer> probing = from(new SimpleRetryPolicy(SHORT_FREQUENCY, RETRIES, 0, 1, 0, circuitBreaker)
+        .applyPolicy(fromCallable(() -> {
+          trackRetry();
+          throw new IllegalArgumentException("No retry will save you");
+        }), e -> true, e -> exhausted.set(true), identity(), retryScheduler)).toFuture();
+
+    try {
+      from(new SimpleRetryPolicy(SHORT_FREQUENCY, RETRIES, 0, 1, 0, circuitBreaker)
+          .applyPolicy(fromCallable(() -> {
+            waitingExecutions.incrementAndGet();
+            throw new IllegalStateException("backend down");
+          }), e -> true, e -> {}, identity(), retryScheduler)).block();
+      fail("Was expecting the retries to be exhausted");
+    } catch (Exception e) {
+      assertThat(e, instanceOf(IllegalStateException.class));
+    }
+
+    try {
+      probing.get();
+      fail("Was expecting the retries of the probe to be exhausted");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(IllegalArgumentException.class));
+    }
+
+    assertThat(waitingExecutions.get(), is(1));
+    assertThat(executedRetries.get(), is(RETRIES + 1));
+    assertThat(exhausted.get(), is(true));
+  }
+
+  @Test
+  public void circuitBreakerSharedPerOwner() throws Exception {
+    SimpleRetryPolicyTemplate retryPolicyTemplate = new SimpleRetryPolicyTemplate(SHORT_FREQUENCY, 1);
+    retryPolicyTemplate.setSharedCircuitBreaker(true);
+    // Set after enabling the circuit breaker, it must still be used as the time the circuit stays open
+    retryPolicyTemplate.setFrequency(FREQUENCY);
+    Object owner = new Object();
+    Object otherOwner = new Object();
+    AtomicInteger executions = new AtomicInteger();
+    Publisher<Integer> failing = fromCallable(() -> {
+      executions.incrementAndGet();
+      throw new IllegalStateException("backend down");
+    });
+
+    assertExhausted(retryPolicyTemplate.createRetryInstance(owner)
+        .applyPolicy(failing, e -> true, e -> {}, identity(), retryScheduler));
+    assertThat(executions.get(), is(2));
+
+    // The circuit of the owner is open, so no retry is attempted
+    assertExhausted(retryPolicyTemplate.createRetryInstance(owner)
+        .applyPolicy(failing, e -> true, e -> {}, identity(), retryScheduler));
+    assertThat(executions.get(), is(3));
+
+    // The circuit of a different owner is not affected
+    assertExhausted(retryPolicyTemplate.createRetryInstance(otherOwner)
+        .applyPolicy(failing, e -> true, e -> {}, identity(), retryScheduler));
+    assertThat(executions.get(), is(5));
+  }
+
+  private void assertExhausted(Publisher<Integer> publisher) {
+    try {
+      from(publisher).block();
+      fail("Was expecting the retries to be exhausted");
+    } catch (Exception e) {
+      assertThat(e, instanceOf(IllegalStateException.class));
+    }
+  }
+
   private void assertNoRetry() {
     assertThat(executedRetries.get(), is(1));
     assertThat(executionMomentDeltas, hasSize(0));
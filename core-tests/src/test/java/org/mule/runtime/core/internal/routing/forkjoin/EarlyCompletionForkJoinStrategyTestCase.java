@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.rx.Exceptions.rxExceptionToMuleException;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.FORK_JOIN_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.FIRST_SUCCESSFUL;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.QUORUM;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Mono.from;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.core.privileged.processor.InternalProcessor;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+@Feature(FORK_JOIN_STRATEGIES)
+public class EarlyCompletionForkJoinStrategyTestCase extends AbstractMuleContextTestCase {
+
+  private ProcessingStrategy processingStrategy;
+  private Scheduler scheduler;
+  private ErrorType timeoutErrorType;
+
+  @Before
+  public void setup() {
+    processingStrategy = mock(ProcessingStrategy.class);
+    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
+        .thenAnswer(invocation -> invocation.getArgumentAt(0, ReactiveProcessor.class));
+    scheduler = muleContext.getSchedulerService().ioScheduler();
+    timeoutErrorType = muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get();
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.stop();
+  }
+
+  @Test
+  @Story(FIRST_SUCCESSFUL)
+  @Description("The result is emitted with the first successful route, ignoring previous failures and without executing the remaining routes.")
+  public void firstSuccessful() throws Throwable {
+    AtomicBoolean lateRouteExecuted = new AtomicBoolean();
+
+    Map<String, Message> result = invokeStrategyBlocking(new FirstSuccessfulForkJoinStrategyFactory(),
+                                                         asList(createFailingRoutingPair(),
+                                                                createRoutingPair(of(2)),
+                                                                createRoutingPair(of(3), lateRouteExecuted)));
+
+    assertThat(result.entrySet(), hasSize(1));
+    assertThat(result.get("1").getPayload().getValue(), is(2));
+    assertThat(lateRouteExecuted.get(), is(false));
+  }
+
+  @Test
+  @Story(FIRST_SUCCESSFUL)
+  @Description("The result is emitted once the configured count of routes complete successfully.")
+  public void firstSuccessfulCount() throws Throwable {
+    FirstSuccessfulForkJoinStrategyFactory factory = new FirstSuccessfulForkJoinStrategyFactory();
+    factory.setCount(2);
+
+    Map<String, Message> result = invokeStrategyBlocking(factory, asList(createRoutingPair(of(1)),
+                                                                         createFailingRoutingPair(),
+                                                                         createRoutingPair(of(3))));
+
+    assertThat(result.entrySet(), hasSize(2));
+    assertThat(result.get("0").getPayload().getValue(), is(1));
+    assertThat(result.get("2").getPayload().getValue(), is(3));
+  }
+
+  @Test
+  @Story(FIRST_SUCCESSFUL)
+  @Description("When there are not enough routes left to reach the count, a CompositeRoutingException is thrown without executing the remaining routes.")
+  public void firstSuccessfulNotEnoughRoutes() throws Throwable {
+    FirstSuccessfulForkJoinStrategyFactory factory = new FirstSuccessfulForkJoinStrategyFactory();
+    factory.setCount(2);
+    AtomicBoolean lateRouteExecuted = new AtomicBoolean();
+
+    RoutingResult routingResult =
+        invokeStrategyFailing(factory, asList(createFailingRoutingPair(), createFailingRoutingPair(),
+                                              createRoutingPair(of(3), lateRouteExecuted)));
+
+    assertThat(routingResult.getFailures().size(), is(2));
+    assertThat(routingResult.getResults().size(), is(0));
+    assertThat(lateRouteExecuted.get(), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @Story(FIRST_SUCCESSFUL)
+  public void firstSuccessfulInvalidCount() {
+    new FirstSuccessfulForkJoinStrategyFactory().setCount(0);
+  }
+
+  @Test
+  @Story(QUORUM)
+  @Description("The result is emitted once a majority of the routes complete successfully, without executing the remaining routes.")
+  public void quorum() throws Throwable {
+    AtomicBoolean lateRouteExecuted = new AtomicBoolean();
+
+    Map<String, Message> result = invokeStrategyBlocking(new QuorumForkJoinStrategyFactory(),
+                                                         asList(createRoutingPair(of(1)),
+                                                                createFailingRoutingPair(),
+                                                                createRoutingPair(of(3)),
+                                                                createRoutingPair(of(4)),
+                                                                createRoutingPair(of(5), lateRouteExecuted)));
+
+    assertThat(result.entrySet(), hasSize(3));
+    assertThat(result.get("0").getPayload().getValue(), is(1));
+    assertThat(result.get("2").getPayload().getValue(), is(3));
+    assertThat(result.get("3").getPayload().getValue(), is(4));
+    assertThat(lateRouteExecuted.get(), is(false));
+  }
+
+  @Test
+  @Story(QUORUM)
+  @Description("When a majority of the routes fail a CompositeRoutingException is thrown.")
+  public void quorumNotReached() throws Throwable {
+    RoutingResult routingResult =
+        invokeStrategyFailing(new QuorumForkJoinStrategyFactory(), asList(createRoutingPair(of(1)),
+                                                                          createFailingRoutingPair(),
+                                                                          createFailingRoutingPair()));
+
+    assertThat(routingResult.getFailures().size(), is(2));
+    assertThat(routingResult.getResults().size(), is(1));
+  }
+
+  @Test
+  @Story(QUORUM)
+  @Description("Without routes the quorum is trivially reached and an empty result is emitted.")
+  public void quorumWithoutRoutes() throws Throwable {
+    Map<String, Message> result = invokeStrategyBlocking(new QuorumForkJoinStrategyFactory(), emptyList());
+
+    assertThat(result.entrySet(), hasSize(0));
+  }
+
+  @Test
+  @Story(FIRST_SUCCESSFUL)
+  @Description("The routes still running when the result is emitted are cancelled completing their child contexts, so the parent context completes.")
+  public void parentContextCompletesWhenRoutesCancelled() throws Throwable {
+    // Routes run concurrently, so the first one can complete while the other is still running
+    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
+        .thenAnswer(invocation -> {
+          ReactiveProcessor processor = invocation.getArgumentAt(0, ReactiveProcessor.class);
+          return (ReactiveProcessor) publisher -> Flux.from(publisher).publishOn(fromExecutorService(scheduler))
+              .transform(processor);
+        });
+    CountDownLatch routeLatch = new CountDownLatch(1);
+
+    try {
+      Map<String, Message> result = invokeStrategyBlocking(new FirstSuccessfulForkJoinStrategyFactory(), 2,
+                                                           asList(createRoutingPair(of(1)),
+                                                                  createRoutingPair(of(2), routeLatch)));
+      assertThat(result.get("0").getPayload().getValue(), is(1));
+
+      BaseEventContext parentContext = (BaseEventContext) testEvent().getContext();
+      parentContext.success();
+      new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> parentContext.isComplete()));
+    } finally {
+      routeLatch.countDown();
+    }
+  }
+
+  private Map<String, Message> invokeStrategyBlocking(AbstractEarlyCompletionForkJoinStrategyFactory factory,
+                                                      List<RoutingPair> routingPairs)
+      throws Throwable {
+    return invokeStrategyBlocking(factory, 1, routingPairs);
+  }
+
+  private Map<String, Message> invokeStrategyBlocking(AbstractEarlyCompletionForkJoinStrategyFactory factory,
+                                                      int maxConcurrency, List<RoutingPair> routingPairs)
+      throws Throwable {
+    ForkJoinStrategy strategy = factory.createForkJoinStrategy(processingStrategy, maxConcurrency, true, MAX_VALUE, scheduler,
+                                                               timeoutErrorType);
+    CoreEvent result;
+    try {
+      result = from(strategy.forkJoin(testEvent(), fromIterable(routingPairs))).block();
+    } catch (Throwable throwable) {
+      throw rxExceptionToMuleException(throwable);
+    }
+    assertThat(result.getMessage().getPayload().getValue(), instanceOf(Map.class));
+    return (Map<String, Message>) result.getMessage().getPayload().getValue();
+  }
+
+  private RoutingResult invokeStrategyFailing(AbstractEarlyCompletionForkJoinStrategyFactory factory,
+                                              List<RoutingPair> routingPairs)
+      throws Throwable {
+    try {
+      invokeStrategyBlocking(factory, routingPairs);
+      fail("Expected a CompositeRoutingException");
+      return null;
+    } catch (CompositeRoutingException e) {
+      return (RoutingResult) e.getErrorMessage().getPayload().getValue();
+    }
+  }
+
+  private RoutingPair createRoutingPair(Message result) throws MuleException {
+    return createRoutingPair(result, new AtomicBoolean());
+  }
+
+  private RoutingPair createRoutingPair(Message result, AtomicBoolean executed) throws MuleException {
+    return of(testEvent(), createChain(event -> {
+      executed.set(true);
+      return CoreEvent.builder(event).message(result).build();
+    }));
+  }
+
+  private RoutingPair createRoutingPair(Message result, CountDownLatch latch) throws MuleException {
+    return of(testEvent(), createChain(event -> {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return CoreEvent.builder(event).message(result).build();
+    }));
+  }
+
+  private RoutingPair createFailingRoutingPair() throws MuleException {
+    return of(testEvent(), createChain(event -> {
+      throw new IllegalStateException();
+    }));
+  }
+
+  private MessageProcessorChain createChain(InternalTestProcessor processor) throws MuleException {
+    MessageProcessorChain chain = newChain(Optional.empty(), processor);
+    chain.setMuleContext(muleContext);
+    return chain;
+  }
+
+  @FunctionalInterface
+  private interface InternalTestProcessor extends Processor, InternalProcessor {
+
+  }
+}
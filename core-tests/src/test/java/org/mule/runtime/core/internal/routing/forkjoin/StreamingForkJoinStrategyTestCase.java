@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.Thread.sleep;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.FORK_JOIN_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.STREAMING;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Mono.from;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.core.privileged.processor.InternalProcessor;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(FORK_JOIN_STRATEGIES)
+@Story(STREAMING)
+public class StreamingForkJoinStrategyTestCase extends AbstractMuleContextTestCase {
+
+  private static final int ROUTES = 10;
+
+  private ForkJoinStrategy strategy;
+  private Scheduler scheduler;
+  private ProcessingStrategy processingStrategy;
+  private ErrorType timeoutErrorType;
+  private ProcessingType resultProcessingType;
+
+  @Before
+  public void setup() {
+    scheduler = muleContext.getSchedulerService().ioScheduler();
+    // Routes run concurrently, so they can complete after the result is emitted
+    processingStrategy = mock(ProcessingStrategy.class);
+    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
+        .thenAnswer(invocation -> {
+          ReactiveProcessor processor = invocation.getArgumentAt(0, ReactiveProcessor.class);
+          return (ReactiveProcessor) publisher -> from(publisher).publishOn(fromExecutorService(scheduler)).transform(processor);
+        });
+    when(processingStrategy.onProcessor(any(ReactiveProcessor.class)))
+        .thenAnswer(invocation -> {
+          ReactiveProcessor processor = invocation.getArgumentAt(0, ReactiveProcessor.class);
+          resultProcessingType = processor.getProcessingType();
+          return processor;
+        });
+    timeoutErrorType = muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get();
+    strategy = createStrategy(4);
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.stop();
+  }
+
+  @Test
+  @Description("The result is emitted before the routes complete, and its payload iterates the results as routes complete.")
+  public void resultsIteratedAsRoutesComplete() throws Throwable {
+    CountDownLatch routeLatch = new CountDownLatch(1);
+
+    Iterator<Message> results = invokeStrategy(asList(createRoutingPair(of(1)),
+                                                      createRoutingPair(of(2), routeLatch)));
+
+    assertThat(results.next().getPayload().getValue(), is(1));
+    routeLatch.countDown();
+    assertThat(results.next().getPayload().getValue(), is(2));
+    assertThat(results.hasNext(), is(false));
+  }
+
+  @Test
+  @Description("The successful results are iterated and then a CompositeRoutingException with the failed routes is thrown.")
+  public void failuresReportedOnceIterated() throws Throwable {
+    Iterator<Message> results = invokeStrategy(asList(createRoutingPair(of(1)),
+                                                      createFailingRoutingPair(),
+                                                      createRoutingPair(of(3))));
+
+    assertThat(asList(results.next().getPayload().getValue(), results.next().getPayload().getValue()),
+               containsInAnyOrder(1, 3));
+    try {
+      results.hasNext();
+      fail("Expected the route failure to be reported");
+    } catch (MuleRuntimeException e) {
+      assertThat(e.getCause(), instanceOf(CompositeRoutingException.class));
+      assertThat(((CompositeRoutingException) e.getCause()).getErrors().size(), is(1));
+    }
+    assertThat(results.hasNext(), is(false));
+  }
+
+  @Test
+  @Description("Closing the iterator stops the routes still running.")
+  public void closeCancelsRemainingRoutes() throws Throwable {
+    CountDownLatch routeLatch = new CountDownLatch(1);
+
+    Iterator<Message> results = invokeStrategy(asList(createRoutingPair(of(1)),
+                                                      createRoutingPair(of(2), routeLatch)));
+
+    assertThat(results.next().getPayload().getValue(), is(1));
+    ((Closeable) results).close();
+    assertThat(results.hasNext(), is(false));
+    routeLatch.countDown();
+  }
+
+  @Test
+  @Description("The result is emitted as if by a blocking processor, since consuming its payload blocks.")
+  public void resultEmittedForBlockingConsumption() {
+    assertThat(resultProcessingType, is(BLOCKING));
+  }
+
+  @Test
+  @Description("Routes are not started while the results of maxConcurrency routes are waiting to be consumed.")
+  public void routesStartedAsResultsConsumed() throws Throwable {
+    strategy = createStrategy(1);
+    AtomicInteger executed = new AtomicInteger();
+    List<RoutingPair> routingPairs = new ArrayList<>();
+    for (int i = 0; i < ROUTES; ++i) {
+      routingPairs.add(createRoutingPair(of(i), executed));
+    }
+
+    Iterator<Message> results = invokeStrategy(routingPairs);
+    sleep(100);
+
+    assertThat(executed.get(), lessThan(ROUTES));
+    int consumed = 0;
+    while (results.hasNext()) {
+      results.next();
+      ++consumed;
+    }
+    assertThat(consumed, is(ROUTES));
+    assertThat(executed.get(), is(ROUTES));
+  }
+
+  @Test
+  @Description("Closing the iterator completes the child contexts of the cancelled routes, so the parent context completes.")
+  public void parentContextCompletesWhenRoutesCancelled() throws Throwable {
+    CountDownLatch routeLatch = new CountDownLatch(1);
+
+    Iterator<Message> results = invokeStrategy(asList(createRoutingPair(of(1)),
+                                                      createRoutingPair(of(2), routeLatch)));
+
+    try {
+      assertThat(results.next().getPayload().getValue(), is(1));
+      ((Closeable) results).close();
+
+      BaseEventContext parentContext = (BaseEventContext) testEvent().getContext();
+      parentContext.success();
+      new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> parentContext.isComplete()));
+    } finally {
+      routeLatch.countDown();
+    }
+  }
+
+  @Test
+  @Description("The iterator is closed once the parent context terminates, so the routes are not left waiting for it to be consumed.")
+  public void unconsumedResultsReleasedOnTermination() throws Throwable {
+    strategy = createStrategy(1);
+    AtomicInteger executed = new AtomicInteger();
+    List<RoutingPair> routingPairs = new ArrayList<>();
+    for (int i = 0; i < ROUTES; ++i) {
+      routingPairs.add(createRoutingPair(of(i), executed));
+    }
+
+    Iterator<Message> results = invokeStrategy(routingPairs);
+    BaseEventContext parentContext = (BaseEventContext) testEvent().getContext();
+    parentContext.success();
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> parentContext.isTerminated()));
+
+    int consumed = 0;
+    while (results.hasNext()) {
+      results.next();
+      ++consumed;
+    }
+    assertThat(consumed, lessThan(ROUTES));
+    assertThat(executed.get(), lessThan(ROUTES));
+  }
+
+  private ForkJoinStrategy createStrategy(int maxConcurrency) {
+    return new StreamingForkJoinStrategyFactory().createForkJoinStrategy(processingStrategy, maxConcurrency, true, MAX_VALUE,
+                                                                         scheduler, timeoutErrorType);
+  }
+
+  private Iterator<Message> invokeStrategy(List<RoutingPair> routingPairs) throws MuleException {
+    CoreEvent result = from(strategy.forkJoin(testEvent(), fromIterable(routingPairs))).block();
+    assertThat(result.getMessage().getPayload().getValue(), instanceOf(Iterator.class));
+    return (Iterator<Message>) result.getMessage().getPayload().getValue();
+  }
+
+  private RoutingPair createRoutingPair(Message result) throws MuleException {
+    return createRoutingPair(result, new CountDownLatch(0));
+  }
+
+  private RoutingPair createRoutingPair(Message result, CountDownLatch latch) throws MuleException {
+    return of(testEvent(), createChain(event -> {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return CoreEvent.builder(event).message(result).build();
+    }));
+  }
+
+  private RoutingPair createRoutingPair(Message result, AtomicInteger executed) throws MuleException {
+    return of(testEvent(), createChain(event -> {
+      executed.incrementAndGet();
+      return CoreEvent.builder(event).message(result).build();
+    }));
+  }
+
+  private RoutingPair createFailingRoutingPair() throws MuleException {
+    return of(testEvent(), createChain(event -> {
+      throw new IllegalStateException();
+    }));
+  }
+
+  private MessageProcessorChain createChain(InternalTestProcessor processor) throws MuleException {
+    MessageProcessorChain chain = newChain(Optional.empty(), processor);
+    chain.setMuleContext(muleContext);
+    return chain;
+  }
+
+  @FunctionalInterface
+  private interface InternalTestProcessor extends Processor, InternalProcessor {
+
+  }
+}
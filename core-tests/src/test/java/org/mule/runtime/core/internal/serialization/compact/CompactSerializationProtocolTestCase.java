@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.routing.EventGroup;
+import org.mule.tck.core.internal.serialization.AbstractSerializerProtocolContractTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+public class CompactSerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  @Override
+  protected void doSetUp() throws Exception {
+    CompactObjectSerializer serializer = new CompactObjectSerializer();
+    serializer.setMuleContext(muleContext);
+    serializationProtocol = serializer.getInternalProtocol();
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test
+  public void primitives() throws Exception {
+    assertRoundTrip(-42);
+    assertRoundTrip(Long.MAX_VALUE);
+    assertRoundTrip(Long.MIN_VALUE);
+    assertRoundTrip(true);
+    assertRoundTrip(3.14d);
+    assertRoundTrip("Hello áéí World");
+  }
+
+  @Test
+  public void typedValue() throws Exception {
+    DataType dataType = DataType.builder().type(String.class).mediaType(APPLICATION_JSON).charset("UTF-16").build();
+    TypedValue<String> typedValue = new TypedValue<>("{}", dataType);
+
+    TypedValue<String> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(typedValue));
+
+    assertThat(deserialized.getValue(), equalTo("{}"));
+    assertThat(deserialized.getDataType(), equalTo(dataType));
+  }
+
+  @Test
+  public void message() throws Exception {
+    InternalMessage message = InternalMessage.builder().value("payload").mediaType(APPLICATION_JSON)
+        .attributesValue("attributes").build();
+
+    byte[] bytes = serializationProtocol.serialize(message);
+    InternalMessage deserialized = serializationProtocol.deserialize(bytes);
+
+    assertThat(deserialized.getPayload().getValue(), equalTo("payload"));
+    assertThat(deserialized.getPayload().getDataType(), equalTo(message.getPayload().getDataType()));
+    assertThat(deserialized.getAttributes().getValue(), equalTo("attributes"));
+    assertThat(bytes.length, lessThan(muleContext.getObjectSerializer().getInternalProtocol().serialize(message).length));
+  }
+
+  @Test
+  public void messageWithLegacyProperties() throws Exception {
+    InternalMessage message = InternalMessage.builder().value("payload").addOutboundProperty("key", "value").build();
+
+    InternalMessage deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(message));
+
+    assertThat(deserialized.getPayload().getValue(), equalTo("payload"));
+    assertThat(deserialized.getOutboundProperty("key"), equalTo("value"));
+  }
+
+  @Test
+  public void eventGroup() throws Exception {
+    EventGroup group = new EventGroup("groupId", muleContext, of(3), "prefix");
+
+    EventGroup deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(group));
+
+    assertThat(deserialized, equalTo(group));
+    assertThat(deserialized.getCreated(), is(group.getCreated()));
+    assertThat(deserialized.expectedSize(), equalTo(of(3)));
+    assertThat(deserialized.isInitialised(), is(true));
+  }
+
+  @Test
+  public void streamed() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializationProtocol.serialize("streamed", out);
+
+    String deserialized = serializationProtocol.deserialize(new ByteArrayInputStream(out.toByteArray()));
+    assertThat(deserialized, equalTo("streamed"));
+  }
+
+  @Test
+  public void readsJavaSerializedData() throws Exception {
+    InternalMessage message = InternalMessage.builder().value("payload").build();
+    byte[] javaBytes = muleContext.getObjectSerializer().getInternalProtocol().serialize(message);
+
+    InternalMessage deserialized = serializationProtocol.deserialize(javaBytes);
+
+    assertThat(deserialized.getPayload().getValue(), equalTo("payload"));
+  }
+
+  private void assertRoundTrip(Object value) {
+    Object deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(value));
+    assertThat(deserialized, equalTo(value));
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class DefaultMemoryManagerTestCase extends AbstractMuleTestCase {
+
+  private final DefaultMemoryManager memoryManager = new DefaultMemoryManager();
+
+  @Test
+  public void maxDirectMemoryFromArgument() {
+    assertThat(memoryManager.getMaxDirectMemory(asList("-Xmx1g", "-XX:MaxDirectMemorySize=512m")), is(512L * 1024 * 1024));
+  }
+
+  @Test
+  public void lastMaxDirectMemoryArgumentWins() {
+    assertThat(memoryManager.getMaxDirectMemory(asList("-XX:MaxDirectMemorySize=512m", "-XX:MaxDirectMemorySize=2g")),
+               is(2L * 1024 * 1024 * 1024));
+  }
+
+  @Test
+  public void maxDirectMemoryDefaultsToMaxMemory() {
+    assertThat(memoryManager.getMaxDirectMemory(emptyList()), is(memoryManager.getMaxMemory()));
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.streaming.Cursor;
+import org.mule.runtime.api.streaming.CursorProvider;
+import org.mule.runtime.core.internal.streaming.EventStreamingState.ProviderState;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class EventStreamingStateTestCase extends AbstractMuleTestCase {
+
+  private final MutableStreamingStatistics statistics = new MutableStreamingStatistics();
+  private final Scheduler disposalScheduler = mock(Scheduler.class);
+  private final CursorProvider provider = mock(CursorProvider.class);
+
+  private EventStreamingState state;
+
+  @Before
+  public void setUp() {
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArguments()[0]).run();
+      return null;
+    }).when(disposalScheduler).execute(any(Runnable.class));
+    state = new EventStreamingState(statistics, disposalScheduler);
+  }
+
+  @Test
+  public void tracksProviderOnce() {
+    ProviderState providerState = state.addProvider(provider);
+    assertThat(state.addProvider(provider), is(providerState));
+    assertThat(statistics.getOpenCursorProvidersCount(), is(1));
+  }
+
+  @Test
+  public void disposesWhenLastCursorOfClosedProviderIsClosed() {
+    ProviderState providerState = state.addProvider(provider);
+    Cursor cursor = mock(Cursor.class);
+    providerState.addCursor(cursor);
+    assertThat(statistics.getOpenCursorsCount(), is(1));
+
+    when(provider.isClosed()).thenReturn(true);
+    providerState.removeCursor(cursor);
+
+    assertThat(statistics.getOpenCursorsCount(), is(0));
+    verify(provider).releaseResources();
+  }
+
+  @Test
+  public void releasesOpenCursorsOnDispose() throws Exception {
+    ProviderState providerState = state.addProvider(provider);
+    Cursor cursor = mock(Cursor.class);
+    providerState.addCursor(cursor);
+
+    state.dispose();
+
+    verify(cursor).release();
+    verify(provider).close();
+    verify(provider).releaseResources();
+    assertThat(statistics.getOpenCursorsCount(), is(0));
+    assertThat(statistics.getOpenCursorProvidersCount(), is(0));
+  }
+
+  @Test
+  public void keepsTrackingAfterDispose() throws Exception {
+    ProviderState providerState = state.addProvider(provider);
+    state.dispose();
+
+    Cursor cursor = mock(Cursor.class);
+    providerState.addCursor(cursor);
+    verify(cursor, never()).release();
+
+    state.dispose();
+    verify(cursor).release();
+  }
+
+  @Test
+  public void reattachedProviderCountedOnce() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    when(provider.isClosed()).thenAnswer(invocation -> closed.get());
+    doAnswer(invocation -> {
+      closed.set(true);
+      return null;
+    }).when(provider).close();
+
+    ProviderState providerState = state.addProvider(provider);
+    state.dispose();
+    assertThat(statistics.getOpenCursorProvidersCount(), is(0));
+
+    providerState.addCursor(mock(Cursor.class));
+    assertThat(statistics.getOpenCursorProvidersCount(), is(0));
+
+    state.dispose();
+    assertThat(statistics.getOpenCursorProvidersCount(), is(0));
+  }
+}
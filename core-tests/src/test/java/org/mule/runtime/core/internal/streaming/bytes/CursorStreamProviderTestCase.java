@@ -7,8 +7,8 @@
 package org.mule.runtime.core.internal.streaming.bytes;
 
 import static java.lang.Math.toIntExact;
+import static java.nio.channels.Channels.newChannel;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -23,6 +23,7 @@ import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
 import org.mule.runtime.api.util.DataSize;
 import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
 import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.TransferableStream;
 import org.mule.runtime.core.api.util.func.CheckedConsumer;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.tck.size.SmallTest;
@@ -35,12 +36,12 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -67,7 +68,6 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
   private CursorStreamProvider streamProvider;
   private CountDownLatch controlLatch;
   private CountDownLatch mainThreadLatch;
-  private ExecutorService allocationScheduler;
   protected PoolingByteBufferManager bufferManager;
 
   public CursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize) {
@@ -82,8 +82,7 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
 
   @Before
   public void before() {
-    allocationScheduler = newSingleThreadExecutor();
-    bufferManager = new PoolingByteBufferManager(allocationScheduler);
+    bufferManager = new PoolingByteBufferManager();
     final ByteArrayInputStream dataStream = new ByteArrayInputStream(data.getBytes());
     streamProvider = createStreamProvider(bufferSize, maxBufferSize, dataStream);
   }
@@ -102,7 +101,6 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
     streamProvider.close();
     executorService.shutdownNow();
     bufferManager.dispose();
-    allocationScheduler.shutdownNow();
   }
 
   @Test
@@ -304,7 +302,37 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
     });
   }
 
-  @Test(expected = IOException.class)
+  @Test
+  public void transferToOutputStream() throws Exception {
+    withCursor(cursor -> {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertThat(((TransferableStream) cursor).transferTo(out), is((long) data.length()));
+      assertThat(toString(out.toByteArray()), equalTo(data));
+      assertThat(cursor.read(), is(-1));
+    });
+  }
+
+  @Test
+  public void transferToChannelAfterPartialRead() throws Exception {
+    withCursor(cursor -> {
+      cursor.read(new byte[halfDataLength], 0, halfDataLength);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertThat(((TransferableStream) cursor).transferTo(newChannel(out)), is((long) data.length() - halfDataLength));
+      assertThat(toString(out.toByteArray()), equalTo(data.substring(halfDataLength)));
+      assertThat(cursor.getPosition(), is((long) data.length()));
+
+      seekAndAssert(cursor, 0, data.length());
+    });
+  }
+
+  @Test
+  public void twoOpenCursorsTransferringConcurrently() throws Exception {
+    withCursor(cursor1 -> withCursor(cursor2 -> doAsync(() -> transferAndAssert(cursor1),
+                                                        () -> transferAndAssert(cursor2))));
+  }
+
+    @Test(expected = IOException.class)
   public void ioExceptionIfClosed() throws Exception {
     CursorStream cursor = streamProvider.openCursor();
     cursor.close();
@@ -352,6 +380,12 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
     assertThat(toString(randomBytes), equalTo(data.substring(toIntExact(position), toIntExact(position + length))));
   }
 
+  private void transferAndAssert(CursorStream cursor) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((TransferableStream) cursor).transferTo(out);
+    assertThat(toString(out.toByteArray()), equalTo(data));
+  }
+
   private void resetLatches() {
     controlLatch = new CountDownLatch(1);
     mainThreadLatch = new CountDownLatch(2);
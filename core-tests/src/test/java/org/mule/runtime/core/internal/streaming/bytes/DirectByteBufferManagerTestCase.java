@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class DirectByteBufferManagerTestCase extends AbstractMuleTestCase {
+
+  private static final int CAPACITY = 1000;
+  private static final int SIZE_CLASS_CAPACITY = 1024;
+  private static final long MAX_MEMORY = 8 * SIZE_CLASS_CAPACITY;
+
+  private final MemoryManager memoryManager = mock(MemoryManager.class);
+  private DirectByteBufferManager bufferManager;
+
+  @Before
+  public void before() {
+    when(memoryManager.getMaxDirectMemory()).thenReturn(MAX_MEMORY);
+    bufferManager = new DirectByteBufferManager(memoryManager, 100);
+  }
+
+  @After
+  public void after() {
+    bufferManager.dispose();
+  }
+
+  @Test
+  public void allocatesOffHeap() {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+
+    assertThat(buffer.isDirect(), is(true));
+    assertThat(buffer.capacity(), is(CAPACITY));
+    assertThat(bufferManager.getRetainedMemory(), is((long) SIZE_CLASS_CAPACITY));
+  }
+
+  @Test
+  public void pooling() {
+    bufferManager.deallocate(bufferManager.allocate(CAPACITY));
+    bufferManager.deallocate(bufferManager.allocate(CAPACITY));
+
+    assertThat(bufferManager.getRetainedMemory(), is((long) SIZE_CLASS_CAPACITY));
+  }
+
+  @Test
+  public void disposeReleasesPooledMemory() {
+    bufferManager.deallocate(bufferManager.allocate(CAPACITY));
+    bufferManager.dispose();
+
+    new PollingProber(SECONDS.toMillis(10), 100).check(new JUnitLambdaProbe(() -> {
+      System.gc();
+      assertThat(bufferManager.getRetainedMemory(), is(0L));
+      return true;
+    }));
+  }
+
+  @Test
+  public void discardedBufferAccountedWhileReachable() {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+    bufferManager.dispose();
+    System.gc();
+
+    // The buffer still holds the native memory, so it has to be accounted for
+    assertThat(bufferManager.getRetainedMemory(), is((long) SIZE_CLASS_CAPACITY));
+    assertThat(buffer.capacity(), is(CAPACITY));
+  }
+
+  @Test
+  public void exhaustedMemoryWaitsForDiscardedBuffersToBeFreed() {
+    useLongWaitTimeout();
+    allocateMaxMemory().forEach(bufferManager::deallocate);
+    bufferManager.dispose();
+    System.gc();
+
+    allocateMaxMemory();
+    assertThat(bufferManager.getRetainedMemory(), is(MAX_MEMORY / 2));
+  }
+
+  @Test
+  public void waitingAllocationTakesDeallocatedBuffer() throws Exception {
+    useLongWaitTimeout();
+    List<ByteBuffer> buffers = allocateMaxMemory();
+
+    AtomicReference<ByteBuffer> waitedBuffer = new AtomicReference<>();
+    Thread waiter = new Thread(() -> waitedBuffer.set(bufferManager.allocate(CAPACITY)));
+    waiter.start();
+    // Give it time to start waiting for memory
+    sleep(500);
+    bufferManager.deallocate(buffers.remove(0));
+
+    waiter.join(SECONDS.toMillis(5));
+    assertThat(waitedBuffer.get(), is(notNullValue()));
+    assertThat(bufferManager.getRetainedMemory(), is(MAX_MEMORY / 2));
+  }
+
+  @Test
+  public void exhaustedMemoryUsesLargerPooledBuffer() {
+    List<ByteBuffer> buffers = new ArrayList<>();
+    for (int i = 0; i < MAX_MEMORY / 2 / (2 * SIZE_CLASS_CAPACITY); i++) {
+      buffers.add(bufferManager.allocate(2 * SIZE_CLASS_CAPACITY));
+    }
+    bufferManager.deallocate(buffers.remove(0));
+
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    assertThat(buffer.capacity(), is(CAPACITY));
+    assertThat(bufferManager.getRetainedMemory(), is(MAX_MEMORY / 2));
+
+    // It goes back to the pool of its own size
+    bufferManager.deallocate(buffer);
+    buffers.add(bufferManager.allocate(2 * SIZE_CLASS_CAPACITY));
+    assertThat(bufferManager.getRetainedMemory(), is(MAX_MEMORY / 2));
+  }
+
+  @Test
+  public void doubleDeallocationIgnored() {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer buffer1 = bufferManager.allocate(CAPACITY);
+    ByteBuffer buffer2 = bufferManager.allocate(CAPACITY);
+    buffer1.put(0, (byte) 1);
+    buffer2.put(0, (byte) 2);
+
+    assertThat(buffer1.get(0), is((byte) 1));
+    assertThat(bufferManager.getRetainedMemory(), is(2L * SIZE_CLASS_CAPACITY));
+  }
+
+  @Test
+  public void foreignBufferDeallocationIgnored() {
+    bufferManager.deallocate(ByteBuffer.allocateDirect(CAPACITY));
+
+    assertThat(bufferManager.getRetainedMemory(), is(0L));
+  }
+
+  @Test
+  public void limitTotalMemory() {
+    List<ByteBuffer> buffers = new ArrayList<>();
+    for (int i = 0; i < MAX_MEMORY / 2 / SIZE_CLASS_CAPACITY; i++) {
+      buffers.add(bufferManager.allocate(CAPACITY));
+    }
+
+    try {
+      bufferManager.allocate(CAPACITY);
+      fail("Max off-heap memory was not enforced");
+    } catch (MuleRuntimeException e) {
+      assertThat(e.getCause(), is(instanceOf(MaxStreamingMemoryExceededException.class)));
+    }
+
+    buffers.forEach(bufferManager::deallocate);
+  }
+
+  @Test
+  public void leakedBufferRecovered() {
+    allocateAndLeak();
+
+    new PollingProber(SECONDS.toMillis(10), 100).check(new JUnitLambdaProbe(() -> {
+      System.gc();
+      bufferManager.deallocate(bufferManager.allocate(CAPACITY));
+      assertThat(bufferManager.getLeakedBuffersCount(), is(1));
+      return true;
+    }));
+  }
+
+  private void useLongWaitTimeout() {
+    bufferManager.dispose();
+    bufferManager = new DirectByteBufferManager(memoryManager, SECONDS.toMillis(10));
+  }
+
+  private List<ByteBuffer> allocateMaxMemory() {
+    List<ByteBuffer> buffers = new ArrayList<>();
+    for (int i = 0; i < MAX_MEMORY / 2 / SIZE_CLASS_CAPACITY; i++) {
+      buffers.add(bufferManager.allocate(CAPACITY));
+    }
+    return buffers;
+  }
+
+  private void allocateAndLeak() {
+    bufferManager.allocate(CAPACITY);
+  }
+}
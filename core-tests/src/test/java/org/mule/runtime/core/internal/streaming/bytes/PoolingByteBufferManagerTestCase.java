@@ -6,15 +6,17 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.Long.MAX_VALUE;
 import static java.lang.Math.toIntExact;
 import static java.lang.System.clearProperty;
 import static java.lang.System.setProperty;
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -23,10 +25,13 @@ import static org.mockito.Mockito.when;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_MAX_MEMORY;
 import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
 
+import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.util.Reference;
 import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.internal.streaming.MemoryManager;
 import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
 import org.mule.tck.size.SmallTest;
 
 import org.junit.After;
@@ -35,7 +40,13 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.qameta.allure.Feature;
 
@@ -43,10 +54,10 @@ import io.qameta.allure.Feature;
 @Feature(STREAMING)
 public class PoolingByteBufferManagerTestCase extends AbstractMuleTestCase {
 
-  private ExecutorService allocateExecutor = newSingleThreadExecutor();
-  private PoolingByteBufferManager bufferManager = new PoolingByteBufferManager(allocateExecutor);
+  private PoolingByteBufferManager bufferManager = new PoolingByteBufferManager();
   private static final int CAPACITY = 100;
   private static final int OTHER_CAPACITY = CAPACITY + 1;
+  private static final int OTHER_SIZE_CLASS_CAPACITY = CAPACITY * 2;
 
   @Rule
   public ExpectedException expectedException = ExpectedException.none();
@@ -54,7 +65,6 @@ public class PoolingByteBufferManagerTestCase extends AbstractMuleTestCase {
   @After
   public void after() {
     bufferManager.dispose();
-    allocateExecutor.shutdownNow();
   }
 
   @Test
@@ -63,7 +73,7 @@ public class PoolingByteBufferManagerTestCase extends AbstractMuleTestCase {
     bufferManager.deallocate(buffer);
 
     ByteBuffer newBuffer = bufferManager.allocate(CAPACITY);
-    assertThat(buffer, is(sameInstance(newBuffer)));
+    assertThat(buffer.array(), is(sameInstance(newBuffer.array())));
   }
 
   @Test
@@ -71,35 +81,134 @@ public class PoolingByteBufferManagerTestCase extends AbstractMuleTestCase {
     ByteBuffer buffer = bufferManager.allocate(CAPACITY);
     ByteBuffer newBuffer = bufferManager.allocate(CAPACITY);
 
-    assertThat(buffer, not(sameInstance(newBuffer)));
+    assertThat(buffer.array(), not(sameInstance(newBuffer.array())));
   }
 
   @Test
-  public void differentPoolsPerCapacity() throws Exception {
+  public void samePoolPerSizeClass() throws Exception {
     ByteBuffer buffer = bufferManager.allocate(CAPACITY);
     bufferManager.deallocate(buffer);
 
     ByteBuffer buffer2 = bufferManager.allocate(OTHER_CAPACITY);
-    assertThat(buffer, not(sameInstance(buffer2)));
+    assertThat(buffer.array(), is(sameInstance(buffer2.array())));
+    assertThat(buffer2.capacity(), is(OTHER_CAPACITY));
+  }
+
+  @Test
+  public void differentPoolsPerSizeClass() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer buffer2 = bufferManager.allocate(OTHER_SIZE_CLASS_CAPACITY);
+    assertThat(buffer.array(), not(sameInstance(buffer2.array())));
 
-    ByteBuffer buffer3 = bufferManager.allocate(OTHER_CAPACITY);
-    assertThat(buffer, not(sameInstance(buffer3)));
-    assertThat(buffer2, not(sameInstance(buffer3)));
+    ByteBuffer buffer3 = bufferManager.allocate(OTHER_SIZE_CLASS_CAPACITY);
+    assertThat(buffer.array(), not(sameInstance(buffer3.array())));
+    assertThat(buffer2.array(), not(sameInstance(buffer3.array())));
 
     bufferManager.deallocate(buffer2);
-    ByteBuffer buffer2Reborn = bufferManager.allocate(OTHER_CAPACITY);
-    assertThat(buffer2, is(sameInstance(buffer2Reborn)));
+    ByteBuffer buffer2Reborn = bufferManager.allocate(OTHER_SIZE_CLASS_CAPACITY);
+    assertThat(buffer2.array(), is(sameInstance(buffer2Reborn.array())));
+  }
+
+  @Test
+  public void pooledAcrossThreads() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    Reference<ByteBuffer> otherThreadBuffer = new Reference<>();
+    Thread thread = new Thread(() -> otherThreadBuffer.set(bufferManager.allocate(CAPACITY)));
+    thread.start();
+    thread.join();
+
+    assertThat(otherThreadBuffer.get().array(), not(sameInstance(buffer.array())));
+    assertThat(bufferManager.getRetainedMemory(), is(2 * 128L));
+
+    bufferManager.dispose();
+    assertThat(bufferManager.getRetainedMemory(), is(128L));
+  }
+
+  @Test
+  public void doubleDeallocationIgnored() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer buffer1 = bufferManager.allocate(CAPACITY);
+    ByteBuffer buffer2 = bufferManager.allocate(CAPACITY);
+    assertThat(buffer1.array(), not(sameInstance(buffer2.array())));
+    assertThat(bufferManager.getRetainedMemory(), is(2 * 128L));
+  }
+
+  @Test
+  public void foreignBufferDeallocationIgnored() throws Exception {
+    bufferManager.deallocate(ByteBuffer.allocate(128));
+
+    assertThat(bufferManager.getRetainedMemory(), is(0L));
+    assertThat(bufferManager.allocate(CAPACITY).array().length, is(128));
+    assertThat(bufferManager.getRetainedMemory(), is(128L));
+  }
+
+  @Test
+  public void idleThreadBuffersEvicted() throws Exception {
+    MemoryManager memoryManager = mock(MemoryManager.class);
+    when(memoryManager.getMaxMemory()).thenReturn(MAX_VALUE);
+
+    bufferManager.dispose();
+    bufferManager = new PoolingByteBufferManager(memoryManager, 10, 200);
+
+    Latch pooled = new Latch();
+    Latch done = new Latch();
+    Thread idleThread = new Thread(() -> {
+      bufferManager.deallocate(bufferManager.allocate(CAPACITY));
+      pooled.release();
+      try {
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    idleThread.start();
+
+    try {
+      assertThat(pooled.await(10, SECONDS), is(true));
+      bufferManager.deallocate(bufferManager.allocate(OTHER_SIZE_CLASS_CAPACITY));
+      assertThat(bufferManager.getRetainedMemory(), is(128L + 256L));
+
+      new PollingProber(SECONDS.toMillis(10), 100).check(new JUnitLambdaProbe(() -> {
+        bufferManager.deallocate(bufferManager.allocate(OTHER_SIZE_CLASS_CAPACITY));
+        assertThat(bufferManager.getRetainedMemory(), is(256L));
+        return true;
+      }));
+    } finally {
+      done.release();
+      idleThread.join();
+    }
+  }
+
+  @Test
+  public void leakedBufferRecovered() throws Exception {
+    allocateAndLeak();
+
+    new PollingProber(SECONDS.toMillis(10), 100).check(new JUnitLambdaProbe(() -> {
+      System.gc();
+      bufferManager.deallocate(bufferManager.allocate(OTHER_SIZE_CLASS_CAPACITY));
+      assertThat(bufferManager.getLeakedBuffersCount(), is(1));
+      assertThat(bufferManager.getRetainedMemory(), is(256L));
+      return true;
+    }));
   }
 
   @Test
   public void capacity() throws Exception {
     assertCapacity(CAPACITY);
     assertCapacity(OTHER_CAPACITY);
+    assertCapacity(OTHER_SIZE_CLASS_CAPACITY);
   }
 
   @Test
   public void limitTotalMemory() throws Exception {
-    final long maxMemory = 40L;
+    final long maxMemory = 64L;
     final int bufferCapacity = toIntExact(maxMemory / 4);
     final long waitTimeoutMillis = SECONDS.toMillis(2);
 
@@ -107,14 +216,14 @@ public class PoolingByteBufferManagerTestCase extends AbstractMuleTestCase {
     when(memoryManager.getMaxMemory()).thenReturn(maxMemory);
 
     bufferManager.dispose();
-    bufferManager = new PoolingByteBufferManager(allocateExecutor, memoryManager, waitTimeoutMillis);
+    bufferManager = new PoolingByteBufferManager(memoryManager, waitTimeoutMillis);
 
     assertMemoryLimit(bufferCapacity, waitTimeoutMillis);
   }
 
   @Test
   public void limitTotalMemoryThroughSystemProperty() throws Exception {
-    final long maxMemory = 40;
+    final long maxMemory = 64;
     final int bufferCapacity = toIntExact(maxMemory / 4);
     final long waitTimeoutMillis = SECONDS.toMillis(2);
 
@@ -123,7 +232,7 @@ public class PoolingByteBufferManagerTestCase extends AbstractMuleTestCase {
     bufferManager.dispose();
     setProperty(MULE_STREAMING_MAX_MEMORY, String.valueOf(maxMemory / 2));
     try {
-      bufferManager = new PoolingByteBufferManager(allocateExecutor, memoryManager, waitTimeoutMillis);
+      bufferManager = new PoolingByteBufferManager(memoryManager, waitTimeoutMillis);
       assertMemoryLimit(bufferCapacity, waitTimeoutMillis);
       verify(memoryManager, never()).getMaxMemory();
     } finally {
@@ -131,13 +240,66 @@ public class PoolingByteBufferManagerTestCase extends AbstractMuleTestCase {
     }
   }
 
+  @Test
+  public void concurrentAllocationsNeverExceedLimit() throws Exception {
+    final int bufferCapacity = 128;
+    final int maxBuffers = 8;
+    final long maxMemory = bufferCapacity * maxBuffers;
+    final int threads = maxBuffers * 2;
+
+    MemoryManager memoryManager = mock(MemoryManager.class);
+    when(memoryManager.getMaxMemory()).thenReturn(maxMemory * 2);
+
+    bufferManager.dispose();
+    bufferManager = new PoolingByteBufferManager(memoryManager, 10);
+
+    AtomicLong maxRetainedMemory = new AtomicLong();
+    AtomicInteger held = new AtomicInteger();
+    AtomicInteger maxHeld = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; ++i) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int j = 0; j < 1000; ++j) {
+            ByteBuffer buffer;
+            try {
+              buffer = bufferManager.allocate(bufferCapacity);
+            } catch (MuleRuntimeException e) {
+              if (e.getCause() instanceof MaxStreamingMemoryExceededException) {
+                continue;
+              }
+              throw e;
+            }
+            maxHeld.accumulateAndGet(held.incrementAndGet(), Math::max);
+            maxRetainedMemory.accumulateAndGet(bufferManager.getRetainedMemory(), Math::max);
+            held.decrementAndGet();
+            bufferManager.deallocate(buffer);
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(maxHeld.get(), lessThanOrEqualTo(maxBuffers));
+    assertThat(maxRetainedMemory.get(), lessThanOrEqualTo(maxMemory));
+  }
+
   @Test
   public void invalidMemoryCapThroughSystemProperty() throws Exception {
     setProperty(MULE_STREAMING_MAX_MEMORY, "don't spend that much memory please");
     bufferManager.dispose();
     try {
       expectedException.expect(IllegalArgumentException.class);
-      bufferManager = new PoolingByteBufferManager(allocateExecutor, mock(MemoryManager.class), 10);
+      bufferManager = new PoolingByteBufferManager(mock(MemoryManager.class), 10);
     } finally {
       clearProperty(MULE_STREAMING_MAX_MEMORY);
     }
@@ -180,6 +342,10 @@ public class PoolingByteBufferManagerTestCase extends AbstractMuleTestCase {
     assertThat(maxMemoryExhausted.get(), is(false));
   }
 
+  private void allocateAndLeak() {
+    bufferManager.allocate(CAPACITY);
+  }
+
   private void assertCapacity(int capacity) {
     ByteBuffer buffer = bufferManager.allocate(capacity);
     try {
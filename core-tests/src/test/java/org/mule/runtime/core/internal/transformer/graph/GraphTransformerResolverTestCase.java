@@ -63,6 +63,21 @@ public class GraphTransformerResolverTestCase extends AbstractTransformationGrap
     assertNotSame(transformer1, transformer2);
   }
 
+  @Test
+  public void resolvesPreviouslyUnresolvedConversionWhenAddsConverter() throws ResolverException {
+    assertNull(graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE));
+
+    Converter xmlToJson = new MockConverterBuilder().named("xmlToJson").from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    Converter inputStreamToXml =
+        new MockConverterBuilder().named("inputStreamToXml").from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
+    graphResolver.transformerChange(inputStreamToXml, TransformerResolver.RegistryAction.ADDED);
+    graphResolver.transformerChange(xmlToJson, TransformerResolver.RegistryAction.ADDED);
+
+    Transformer transformer = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    assertTrue(transformer instanceof CompositeConverter);
+    assertSame(transformer, graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE));
+  }
+
   @Test
   public void ignoresAddedTransformer() throws ResolverException {
     Converter xmlToJson = new MockConverterBuilder().named("xmlToJson").from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class PersistentStringMapTestCase extends AbstractMuleTestCase {
+
+  private static final int ENTRIES = 1000;
+
+  @Test
+  public void plusDoesNotModifyOriginal() {
+    PersistentStringMap<Object> original = PersistentStringMap.<Object>empty(false).plus("foo", 1);
+    PersistentStringMap<Object> modified = original.plus("bar", 2).plus("foo", 3);
+
+    assertThat(original.size(), is(1));
+    assertThat(original.get("foo"), is(1));
+    assertThat(original.get("bar"), is(nullValue()));
+    assertThat(modified.size(), is(2));
+    assertThat(modified.get("foo"), is(3));
+    assertThat(modified.get("bar"), is(2));
+  }
+
+  @Test
+  public void minusDoesNotModifyOriginal() {
+    PersistentStringMap<Object> original = PersistentStringMap.<Object>empty(false).plus("foo", 1).plus("bar", 2);
+    PersistentStringMap<Object> modified = original.minus("foo");
+
+    assertThat(original.size(), is(2));
+    assertThat(original.get("foo"), is(1));
+    assertThat(modified.size(), is(1));
+    assertThat(modified.containsKey("foo"), is(false));
+    assertThat(modified.minus("bar"), is(sameInstance(PersistentStringMap.empty(false))));
+  }
+
+  @Test
+  public void minusMissingKeyReturnsSameInstance() {
+    PersistentStringMap<Object> map = PersistentStringMap.<Object>empty(false).plus("foo", 1);
+    assertThat(map.minus("bar"), is(sameInstance(map)));
+  }
+
+  @Test
+  public void caseInsensitive() {
+    PersistentStringMap<Object> map = PersistentStringMap.<Object>empty(true).plus("FoO", 1).plus("foo", 2);
+
+    assertThat(map.size(), is(1));
+    assertThat(map.get("FOO"), is(2));
+    assertThat(map.keySet(), contains("FoO"));
+    assertThat(map.minus("fOo").isEmpty(), is(true));
+  }
+
+  @Test
+  public void caseSensitive() {
+    PersistentStringMap<Object> map = PersistentStringMap.<Object>empty(false).plus("FoO", 1).plus("foo", 2);
+
+    assertThat(map.size(), is(2));
+    assertThat(map.get("FOO"), is(nullValue()));
+  }
+
+  @Test
+  public void hashCollisions() {
+    // "Aa" and "BB" have the same hash code
+    PersistentStringMap<Object> map = PersistentStringMap.<Object>empty(false).plus("Aa", 1).plus("BB", 2).plus("AaBB", 3);
+
+    assertThat(map.get("Aa"), is(1));
+    assertThat(map.get("BB"), is(2));
+    assertThat(map.get("AaBB"), is(3));
+
+    map = map.minus("Aa");
+    assertThat(map.size(), is(2));
+    assertThat(map.containsKey("Aa"), is(false));
+    assertThat(map.get("BB"), is(2));
+  }
+
+  @Test
+  public void manyEntries() {
+    Map<String, Object> expected = new HashMap<>();
+    PersistentStringMap<Object> map = PersistentStringMap.empty(false);
+    for (int i = 0; i < ENTRIES; ++i) {
+      expected.put("key" + i, i);
+      map = map.plus("key" + i, i);
+    }
+    assertThat(map, is(expected));
+
+    for (int i = 0; i < ENTRIES; i += 2) {
+      expected.remove("key" + i);
+      map = map.minus("key" + i);
+    }
+    assertThat(map, is(expected));
+    assertThat(map.hashCode(), is(expected.hashCode()));
+  }
+
+  @Test
+  public void copyOfCompatibleMapReturnsSameInstance() {
+    PersistentStringMap<Object> map = PersistentStringMap.<Object>empty(true).plus("foo", 1);
+
+    assertThat(PersistentStringMap.copyOf(true, map), is(sameInstance(map)));
+    assertThat(PersistentStringMap.copyOf(false, map).isCaseInsensitive(), is(false));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutable() {
+    PersistentStringMap.empty(false).put("foo", 1);
+  }
+
+  @Test
+  public void serialization() {
+    PersistentStringMap<Object> map = PersistentStringMap.<Object>empty(true).plus("foo", 1).plus("bar", 2);
+    PersistentStringMap<Object> deserialized = SerializationUtils.clone(map);
+
+    assertThat(deserialized, is(map));
+    assertThat(deserialized.get("FOO"), is(1));
+    assertThat(deserialized.isCaseInsensitive(), is(true));
+  }
+}
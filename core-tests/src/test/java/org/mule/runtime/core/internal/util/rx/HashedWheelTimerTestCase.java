@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.time.Duration.ofMillis;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.internal.util.rx.HashedWheelTimer.Timeout;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import reactor.core.publisher.Mono;
+
+@SmallTest
+public class HashedWheelTimerTestCase extends AbstractMuleTestCase {
+
+  private static final int TIMEOUTS = 10000;
+  private static final long WAIT_TIMEOUT = 5000;
+
+  // A small wheel, so that some timeouts take more than one round
+  private final HashedWheelTimer timer = new HashedWheelTimer("test.timer", 1, MILLISECONDS, 8);
+  private final ExecutorService executor = newSingleThreadExecutor();
+
+  @After
+  public void after() {
+    timer.stop();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void expiresAfterDelay() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = nanoTime();
+
+    timer.newTimeout(latch::countDown, 50, MILLISECONDS);
+
+    assertThat(latch.await(WAIT_TIMEOUT, MILLISECONDS), is(true));
+    assertThat(NANOSECONDS.toMillis(nanoTime() - start), greaterThanOrEqualTo(50L));
+  }
+
+  @Test
+  public void cancelledDoesNotExpire() throws InterruptedException {
+    AtomicInteger expired = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    Timeout cancelled = timer.newTimeout(expired::incrementAndGet, 20, MILLISECONDS);
+    timer.newTimeout(latch::countDown, 40, MILLISECONDS);
+
+    assertThat(cancelled.cancel(), is(true));
+    assertThat(cancelled.cancel(), is(false));
+    assertThat(latch.await(WAIT_TIMEOUT, MILLISECONDS), is(true));
+    assertThat(expired.get(), is(0));
+    assertThat(cancelled.isCancelled(), is(true));
+    assertThat(timer.getPendingTimeouts(), is(0));
+  }
+
+  @Test
+  public void manyTimeouts() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(TIMEOUTS / 2);
+
+    for (int i = 0; i < TIMEOUTS; ++i) {
+      Timeout timeout = timer.newTimeout(latch::countDown, i % 100, MILLISECONDS);
+      if (i % 2 == 0) {
+        timeout.cancel();
+      }
+    }
+
+    assertThat(latch.await(WAIT_TIMEOUT, MILLISECONDS), is(true));
+    assertThat(timer.getPendingTimeouts(), is(0));
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void rejectedWhenStopped() {
+    timer.stop();
+    timer.newTimeout(() -> {
+    }, 1, MILLISECONDS);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void sharedTimerCannotBeStopped() {
+    HashedWheelTimer.sharedTimer().stop();
+  }
+
+  @Test
+  public void reactorTimeoutCancelledOnCompletion() {
+    TimerScheduler scheduler = new TimerScheduler(timer, executor);
+
+    assertThat(Mono.just("value").timeout(ofMillis(WAIT_TIMEOUT), scheduler).block(), is("value"));
+    assertThat(timer.getPendingTimeouts(), is(0));
+  }
+
+  @Test(expected = TimeoutException.class)
+  public void reactorTimeoutExpires() throws Throwable {
+    TimerScheduler scheduler = new TimerScheduler(timer, executor);
+
+    try {
+      Mono.never().timeout(ofMillis(20), scheduler).block();
+    } catch (RuntimeException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void delayedTaskRejectedWhenExecutorShutdown() {
+    TimerScheduler scheduler = new TimerScheduler(timer, executor);
+    executor.shutdown();
+
+    scheduler.schedule(() -> {}, 10, MILLISECONDS);
+  }
+
+  @Test
+  public void delayedTaskRunInFallbackWhenExecutorRejects() throws InterruptedException {
+    ExecutorService saturatedExecutor = new ThreadPoolExecutor(1, 1, 0, MILLISECONDS, new SynchronousQueue<>());
+    CountDownLatch release = new CountDownLatch(1);
+    saturatedExecutor.execute(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+    });
+
+    try {
+      TimerScheduler scheduler = new TimerScheduler(timer, saturatedExecutor);
+      AtomicReference<Thread> taskThread = new AtomicReference<>();
+      CountDownLatch latch = new CountDownLatch(1);
+
+      scheduler.schedule(() -> {
+        taskThread.set(currentThread());
+        latch.countDown();
+      }, 10, MILLISECONDS);
+
+      assertThat(latch.await(WAIT_TIMEOUT, MILLISECONDS), is(true));
+      assertThat(taskThread.get().getName(), is("[MuleRuntime].timer.fallback"));
+    } finally {
+      release.countDown();
+      saturatedExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void timerThreadDoesNotInheritContextClassLoader() throws InterruptedException {
+    Thread currentThread = currentThread();
+    ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+    HashedWheelTimer artifactTimer;
+    currentThread.setContextClassLoader(new URLClassLoader(new URL[0], originalClassLoader));
+    try {
+      artifactTimer = new HashedWheelTimer("test.artifactTimer", 1, MILLISECONDS, 8);
+    } finally {
+      currentThread.setContextClassLoader(originalClassLoader);
+    }
+
+    try {
+      AtomicReference<ClassLoader> timerClassLoader = new AtomicReference<>();
+      CountDownLatch latch = new CountDownLatch(1);
+      artifactTimer.newTimeout(() -> {
+        timerClassLoader.set(currentThread().getContextClassLoader());
+        latch.countDown();
+      }, 1, MILLISECONDS);
+
+      assertThat(latch.await(WAIT_TIMEOUT, MILLISECONDS), is(true));
+      assertThat(timerClassLoader.get(), sameInstance(HashedWheelTimer.class.getClassLoader()));
+    } finally {
+      artifactTimer.stop();
+    }
+  }
+}
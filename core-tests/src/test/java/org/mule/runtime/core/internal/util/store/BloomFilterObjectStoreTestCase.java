@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mule.runtime.core.internal.util.store.BloomFilterObjectStore.DEFAULT_FALSE_POSITIVE_RATE;
+import static org.mule.runtime.core.internal.util.store.BloomFilterObjectStore.DEFAULT_MAX_MEMORY;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.SimpleMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class BloomFilterObjectStoreTestCase extends AbstractMuleTestCase {
+
+  private ObjectStore<String> delegate;
+  private BloomFilterObjectStore<String> store;
+
+  @Before
+  public void before() {
+    delegate = spy(new SimpleMemoryObjectStore<>());
+    store = new BloomFilterObjectStore<>(delegate, DEFAULT_FALSE_POSITIVE_RATE, DEFAULT_MAX_MEMORY, 0);
+  }
+
+  @Test
+  public void newKeyNotLookedUp() throws Exception {
+    assertThat(store.contains("key"), is(false));
+    verify(delegate, never()).contains(anyString());
+  }
+
+  @Test
+  public void storedKeyContained() throws Exception {
+    store.store("key", "value");
+
+    assertThat(store.contains("key"), is(true));
+    assertThat(store.retrieve("key"), is("value"));
+    assertThat(delegate.contains("key"), is(true));
+  }
+
+  @Test
+  public void removedKeyLookedUp() throws Exception {
+    store.store("key", "value");
+    store.remove("key");
+
+    assertThat(store.contains("key"), is(false));
+    verify(delegate).contains("key");
+  }
+
+  @Test
+  public void existingKeysLoaded() throws Exception {
+    delegate.store("key", "value");
+
+    assertThat(store.contains("key"), is(true));
+    assertThat(store.contains("otherKey"), is(false));
+    verify(delegate, never()).contains("otherKey");
+  }
+
+  @Test
+  public void keysReloadedOnStart() throws Exception {
+    assertThat(store.contains("key"), is(false));
+    delegate.store("key", "value");
+
+    store.start();
+
+    assertThat(store.contains("key"), is(true));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    store.store("key", "value");
+    store.clear();
+
+    assertThat(store.contains("key"), is(false));
+    verify(delegate, never()).contains(anyString());
+  }
+
+  @Test
+  public void growsWithStoredKeys() throws Exception {
+    long initialMemory = store.getMemoryUsage();
+    for (int i = 0; i < 10000; ++i) {
+      store.store("key" + i, "value");
+    }
+
+    assertThat(store.getMemoryUsage() > initialMemory, is(true));
+    assertThat(store.isSaturated(), is(false));
+    for (int i = 0; i < 10000; ++i) {
+      assertThat(store.contains("key" + i), is(true));
+    }
+  }
+
+  @Test
+  public void saturatedWhenMaxMemoryReached() throws Exception {
+    store = new BloomFilterObjectStore<>(delegate, DEFAULT_FALSE_POSITIVE_RATE, 2048, 0);
+    for (int i = 0; i < 2000; ++i) {
+      store.store("key" + i, "value");
+    }
+
+    assertThat(store.isSaturated(), is(true));
+    assertThat(store.contains("key1999"), is(true));
+    assertThat(store.contains("otherKey"), is(false));
+    verify(delegate).contains("otherKey");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidFalsePositiveRate() {
+    new BloomFilterObjectStore<>(delegate, 1, DEFAULT_MAX_MEMORY, 0);
+  }
+}
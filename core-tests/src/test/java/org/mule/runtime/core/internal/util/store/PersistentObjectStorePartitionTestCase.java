@@ -12,7 +12,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.api.util.FileUtils.deleteTree;
 import static org.mule.runtime.core.api.util.FileUtils.openDirectory;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStoreDurability.ASYNC;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStoreDurability.BATCH;
 import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
 import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
 
@@ -21,6 +25,8 @@ import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.config.MuleConfiguration;
 import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
 import org.mule.tck.size.SmallTest;
 
 import org.junit.Before;
@@ -32,6 +38,11 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @SmallTest
 @RunWith(MockitoJUnitRunner.class)
@@ -112,4 +123,80 @@ public class PersistentObjectStorePartitionTestCase extends AbstractMuleTestCase
     partition.clear();
     assertEquals(0, partition.allKeys().size());
   }
+
+  @Test
+  public void batchDurabilityPersistsConcurrentStores() throws Exception {
+    PersistentObjectStorePartition batchPartition =
+        new PersistentObjectStorePartition(muleContext, "test", objectStoreFolder.getRoot(), BATCH);
+    batchPartition.open();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> stores = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        final String key = "key" + i;
+        stores.add(executor.submit(() -> {
+          batchPartition.store(key, key);
+          return null;
+        }));
+      }
+      for (Future<?> store : stores) {
+        store.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Every object file plus the partition-descriptor
+    assertEquals(101, objectStoreFolder.getRoot().listFiles().length);
+
+    batchPartition.remove("key0");
+    assertEquals(100, objectStoreFolder.getRoot().listFiles().length);
+    assertFalse(batchPartition.contains("key0"));
+  }
+
+  @Test
+  public void asyncDurabilityRetrievesPendingValues() throws Exception {
+    final String KEY = "key";
+    final String VALUE = "value";
+
+    PersistentObjectStorePartition asyncPartition = createAsyncPartition();
+    try {
+      asyncPartition.store(KEY, VALUE);
+      assertEquals(VALUE, asyncPartition.retrieve(KEY));
+      asyncPartition.close();
+    } finally {
+      asyncPartition.dispose();
+    }
+
+    PersistentObjectStorePartition reloadedPartition =
+        new PersistentObjectStorePartition(muleContext, "test", objectStoreFolder.getRoot());
+    reloadedPartition.open();
+    assertEquals(VALUE, reloadedPartition.retrieve(KEY));
+  }
+
+  @Test
+  public void asyncDurabilityDiscardsFailedValues() throws Exception {
+    final String KEY = "key";
+
+    PersistentObjectStorePartition asyncPartition = createAsyncPartition();
+    try {
+      // Writes to a missing directory fail
+      deleteTree(objectStoreFolder.getRoot());
+      asyncPartition.store(KEY, "value");
+
+      new PollingProber(5000, 50).check(new JUnitLambdaProbe(() -> !asyncPartition.contains(KEY)));
+    } finally {
+      asyncPartition.dispose();
+    }
+  }
+
+  private PersistentObjectStorePartition createAsyncPartition() throws ObjectStoreException {
+    when(muleContext.getSchedulerBaseConfig()).thenReturn(config());
+
+    PersistentObjectStorePartition asyncPartition =
+        new PersistentObjectStorePartition(muleContext, "test", objectStoreFolder.getRoot(), ASYNC);
+    asyncPartition.open();
+    return asyncPartition;
+  }
 }
@@ -7,6 +7,7 @@
 
 package org.mule.runtime.core.privileged.processor.chain;
 
+import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -17,6 +18,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
@@ -26,6 +28,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -833,6 +836,58 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     }
   }
 
+  @Test
+  public void testSuccessNotificationsFusedProcessors() throws Exception {
+    List<MessageProcessorNotification> notificationList = new ArrayList<>();
+    setupMessageProcessorNotificationListener(notificationList);
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    builder.chain(new AppendingMP("1"), new AppendingMP("2"));
+    final CoreEvent inEvent = getTestEventUsingFlow("0");
+    assertThat(process(builder.build(), inEvent).getMessage().getPayload().getValue(), equalTo("012"));
+    assertThat(notificationList, hasSize(4));
+    assertPreNotification(inEvent, notificationList.get(0));
+    assertThat(notificationList.get(1).getAction().getActionId(), equalTo(MESSAGE_PROCESSOR_POST_INVOKE));
+    assertThat(notificationList.get(1).getEvent().getMessage().getPayload().getValue(), equalTo("01"));
+    assertThat(notificationList.get(2).getAction().getActionId(), equalTo(MESSAGE_PROCESSOR_PRE_INVOKE));
+    assertThat(notificationList.get(2).getEvent().getMessage().getPayload().getValue(), equalTo("01"));
+    assertThat(notificationList.get(3).getAction().getActionId(), equalTo(MESSAGE_PROCESSOR_POST_INVOKE));
+    assertThat(notificationList.get(3).getEvent().getMessage().getPayload().getValue(), equalTo("012"));
+  }
+
+  @Test
+  public void testErrorNotificationsFusedProcessors() throws Exception {
+    List<MessageProcessorNotification> notificationList = new ArrayList<>();
+    setupMessageProcessorNotificationListener(notificationList);
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    AppendingMP notExecuted = new AppendingMP("2");
+    builder.chain(new AppendingMP("1"), new ExceptionThrowingMessageProcessor(illegalStateException), notExecuted);
+    final CoreEvent inEvent = getTestEventUsingFlow("0");
+    try {
+      process(builder.build(), inEvent);
+      fail("Exception expected");
+    } catch (Throwable t) {
+      assertThat(t, is(illegalStateException));
+      assertThat(notificationList, hasSize(4));
+      MessageProcessorNotification postNotification = notificationList.get(3);
+      assertThat(postNotification.getAction().getActionId(), equalTo(MESSAGE_PROCESSOR_POST_INVOKE));
+      assertThat(postNotification.getEvent().getMessage().getPayload().getValue(), equalTo("01"));
+      assertPostErrorNotification(inEvent, postNotification);
+      assertThat(notExecuted.event, is(nullValue()));
+    }
+  }
+
+  @Test
+  public void fusedProcessorsDontSwitchThreads() throws Exception {
+    // Fused processors fire their notifications within the processing strategy, so it must not move them to another thread
+    List<Thread> threads = new ArrayList<>();
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    builder.setProcessingStrategy(flow.getProcessingStrategy());
+    builder.chain(new ThreadRecordingMP("1", threads), new ThreadRecordingMP("2", threads));
+
+    assertThat(process(builder.build(), getTestEventUsingFlow("0")).getMessage().getPayload().getValue(), equalTo("012"));
+    assertThat(threads, contains(currentThread(), currentThread()));
+  }
+
   private void setupMessageProcessorNotificationListener(List<MessageProcessorNotification> notificationList) {
     muleContext.getNotificationManager().addInterfaceToType(MessageProcessorNotificationListener.class,
                                                             MessageProcessorNotification.class);
@@ -918,6 +973,22 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     }
   }
 
+  class ThreadRecordingMP extends AppendingMP {
+
+    private final List<Thread> threads;
+
+    public ThreadRecordingMP(String append, List<Thread> threads) {
+      super(append);
+      this.threads = threads;
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      threads.add(currentThread());
+      return super.process(event);
+    }
+  }
+
   class AppendingMP extends AbstractComponent implements Processor, Lifecycle, MuleContextAware {
 
     String appendString;
@@ -195,13 +195,18 @@ public class MuleProperties {
   public static final String MULE_SECURITY_PROVIDER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "security.provider";
   public static final String MULE_STREAMING_BUFFER_SIZE = SYSTEM_PROPERTY_PREFIX + "streaming.bufferSize";
   public static final String MULE_STREAMING_MAX_MEMORY = SYSTEM_PROPERTY_PREFIX + "max.streaming.memory";
+  public static final String MULE_STREAMING_OFF_HEAP = SYSTEM_PROPERTY_PREFIX + "streaming.offHeap";
+  public static final String MULE_STREAMING_MAX_OFF_HEAP_MEMORY = SYSTEM_PROPERTY_PREFIX + "max.streaming.offHeapMemory";
   public static final String MULE_SIMPLE_LOG = SYSTEM_PROPERTY_PREFIX + "simpleLog";
   public static final String MULE_FORCE_CONSOLE_LOG = SYSTEM_PROPERTY_PREFIX + "forceConsoleLog";
   public static final String MULE_LOG_CONTEXT_DISPOSE_DELAY_MILLIS = SYSTEM_PROPERTY_PREFIX + "log.context.dispose.delay.millis";
   public static final String MULE_FLOW_TRACE = SYSTEM_PROPERTY_PREFIX + "flowTrace";
+  public static final String MULE_FLOW_TRACE_BUFFER_SIZE = SYSTEM_PROPERTY_PREFIX + "flowTrace.bufferSize";
   public static final String MULE_LOG_VERBOSE_CLASSLOADING = SYSTEM_PROPERTY_PREFIX + "classloading.verbose";
   public static final String MULE_MEL_AS_DEFAULT = SYSTEM_PROPERTY_PREFIX + "test.mel.default";
   public static final String MULE_DISABLE_RESPONSE_TIMEOUT = SYSTEM_PROPERTY_PREFIX + "timeout.disable";
+  public static final String MULE_DISABLE_PROCESSOR_FUSION = SYSTEM_PROPERTY_PREFIX + "processorChain.disableFusion";
+  public static final String MULE_CONCURRENT_CONNECTION_POOL = SYSTEM_PROPERTY_PREFIX + "connection.pool.concurrent";
 
   private MuleProperties() {}
 }
@@ -50,6 +50,11 @@ public final class AsynchronousRetryTemplate extends AbstractComponent implement
     return delegate.createRetryInstance();
   }
 
+  @Override
+  public RetryPolicy createRetryInstance(Object owner) {
+    return delegate.createRetryInstance(owner);
+  }
+
   @Override
   public RetryNotifier getNotifier() {
     return delegate.getNotifier();
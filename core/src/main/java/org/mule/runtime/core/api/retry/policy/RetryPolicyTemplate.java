@@ -37,6 +37,19 @@ public interface RetryPolicyTemplate {
 
   RetryPolicy createRetryInstance();
 
+  /**
+   * Creates a new {@link RetryPolicy} for retrying the resource of the given {@code owner}. Any state the policy shares with
+   * other policies created from this template, such as a circuit breaker, is only shared with the ones for the same owner.
+   *
+   * @param owner the owner of the resource to retry, for example the configuration instance holding the connection. May be
+   *        {@code null}, in which case the state is shared with every policy created without an owner.
+   * @return a new {@link RetryPolicy}
+   * @since 4.2
+   */
+  default RetryPolicy createRetryInstance(Object owner) {
+    return createRetryInstance();
+  }
+
   Map<Object, Object> getMetaInfo();
 
   void setMetaInfo(Map<Object, Object> metaInfo);
@@ -127,4 +140,25 @@ public interface RetryPolicyTemplate {
     return createRetryInstance().applyPolicy(publisher, shouldRetry, onExhausted, errorFunction, retryScheduler);
 
   }
+
+  /**
+   * Applies the retry policy in a non blocking manner by transforming the given {@code publisher} into one configured to apply
+   * the retry logic.
+   *
+   * @param publisher a publisher with the items which might fail
+   * @param shouldRetry a predicate which evaluates each item to know if it should be retried or not
+   * @param onExhausted an action to perform when the retry action has been exhausted
+   * @param errorFunction function used to map cause exception to exception emitted by retry policy.
+   * @param retryScheduler the scheduler to use when retrying. If empty, an internal reactor Scheduler will be used.
+   * @param owner the owner of the resource to retry. See {@link #createRetryInstance(Object)}.
+   * @param <T> the generic type of the publisher's content
+   * @return a {@link Publisher} configured with the retry policy.
+   * @since 4.2
+   */
+  default <T> Publisher<T> applyPolicy(Publisher<T> publisher,
+                                       Predicate<Throwable> shouldRetry,
+                                       Consumer<Throwable> onExhausted, Function<Throwable, Throwable> errorFunction,
+                                       Scheduler retryScheduler, Object owner) {
+    return createRetryInstance(owner).applyPolicy(publisher, shouldRetry, onExhausted, errorFunction, retryScheduler);
+  }
 }
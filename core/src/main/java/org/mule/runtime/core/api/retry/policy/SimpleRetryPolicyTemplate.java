@@ -6,13 +6,24 @@
  */
 package org.mule.runtime.core.api.retry.policy;
 
+import static java.util.Collections.synchronizedMap;
+
+import org.mule.runtime.core.internal.retry.policies.RetryCircuitBreaker;
 import org.mule.runtime.core.internal.retry.policies.SimpleRetryPolicy;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This policy allows the user to configure how many times a retry should be attempted and how long to wait between retries.
+ * <p/>
+ * The wait between retries may grow exponentially by setting a {@link #setBackoffMultiplier(double) multiplier} and be
+ * randomized with {@link #setJitter(double) jitter}. If a {@link #setSharedCircuitBreaker(boolean) shared circuit breaker} is
+ * enabled, only one of the concurrent executions of the policies created by this template for the same
+ * {@link #createRetryInstance(Object) owner} retries at a time.
  */
 public final class SimpleRetryPolicyTemplate extends AbstractPolicyTemplate {
 
@@ -27,6 +38,12 @@ public final class SimpleRetryPolicyTemplate extends AbstractPolicyTemplate {
 
   protected volatile int count = DEFAULT_RETRY_COUNT;
   protected volatile long frequency = DEFAULT_FREQUENCY;
+  private volatile long maxFrequency = -1;
+  private volatile double backoffMultiplier = 1;
+  private volatile double jitter = 0;
+  private volatile boolean sharedCircuitBreaker;
+  // Weak keys, so the breakers of owners that are no longer used, such as expired dynamic configurations, are discarded
+  private final Map<Object, RetryCircuitBreaker> circuitBreakers = synchronizedMap(new WeakHashMap<>());
 
   public SimpleRetryPolicyTemplate() {
     super();
@@ -53,8 +70,87 @@ public final class SimpleRetryPolicyTemplate extends AbstractPolicyTemplate {
     this.count = count;
   }
 
+  /**
+   * @return the maximum time to wait, in milliseconds, between retries when using a backoff multiplier. A non-positive value
+   *         means no maximum.
+   * @since 4.2
+   */
+  public long getMaxFrequency() {
+    return maxFrequency;
+  }
+
+  /**
+   * @param maxFrequency the maximum time to wait, in milliseconds, between retries when using a backoff multiplier
+   * @since 4.2
+   */
+  public void setMaxFrequency(long maxFrequency) {
+    this.maxFrequency = maxFrequency;
+  }
+
+  /**
+   * @return by how much the time to wait is multiplied after each retry
+   * @since 4.2
+   */
+  public double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  /**
+   * @param backoffMultiplier by how much the time to wait is multiplied after each retry. {@code 1} means a fixed frequency.
+   * @since 4.2
+   */
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  /**
+   * @return the fraction by which the time to wait is randomly increased or decreased
+   * @since 4.2
+   */
+  public double getJitter() {
+    return jitter;
+  }
+
+  /**
+   * @param jitter the fraction, between {@code 0} and {@code 1}, by which the time to wait is randomly increased or decreased
+   * @since 4.2
+   */
+  public void setJitter(double jitter) {
+    if (jitter < 0 || jitter > 1) {
+      throw new IllegalArgumentException("jitter must be between 0 and 1, but was " + jitter);
+    }
+    this.jitter = jitter;
+  }
+
+  /**
+   * @return whether the policies created by this template share a circuit breaker
+   * @since 4.2
+   */
+  public boolean isSharedCircuitBreaker() {
+    return sharedCircuitBreaker;
+  }
+
+  /**
+   * @param sharedCircuitBreaker whether the policies created by this template for the same owner share a circuit breaker, so when
+   *        retrying only one of them probes the resource while the others wait for the outcome. If the retries are exhausted, the
+   *        others fail fast for the {@link #getFrequency() frequency}.
+   * @since 4.2
+   */
+  public void setSharedCircuitBreaker(boolean sharedCircuitBreaker) {
+    this.sharedCircuitBreaker = sharedCircuitBreaker;
+  }
+
   public RetryPolicy createRetryInstance() {
-    return new SimpleRetryPolicy(frequency, count);
+    return createRetryInstance(null);
+  }
+
+  @Override
+  public RetryPolicy createRetryInstance(Object owner) {
+    RetryCircuitBreaker circuitBreaker = null;
+    if (sharedCircuitBreaker) {
+      circuitBreaker = circuitBreakers.computeIfAbsent(owner == null ? this : owner, o -> new RetryCircuitBreaker());
+    }
+    return new SimpleRetryPolicy(frequency, count, maxFrequency, backoffMultiplier, jitter, circuitBreaker);
   }
 
   @Override
@@ -63,6 +159,16 @@ public final class SimpleRetryPolicyTemplate extends AbstractPolicyTemplate {
     sb.append("SimpleRetryPolicy");
     sb.append("{frequency=").append(frequency);
     sb.append(", retryCount=").append(count);
+    if (backoffMultiplier != 1) {
+      sb.append(", backoffMultiplier=").append(backoffMultiplier);
+      sb.append(", maxFrequency=").append(maxFrequency);
+    }
+    if (jitter > 0) {
+      sb.append(", jitter=").append(jitter);
+    }
+    if (sharedCircuitBreaker) {
+      sb.append(", sharedCircuitBreaker=true");
+    }
     sb.append('}');
 
     return sb.toString();
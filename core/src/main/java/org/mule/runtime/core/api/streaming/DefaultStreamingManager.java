@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.api.streaming;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_OFF_HEAP;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
@@ -28,6 +30,7 @@ import org.mule.runtime.core.internal.streaming.CursorManager;
 import org.mule.runtime.core.internal.streaming.ManagedCursorProvider;
 import org.mule.runtime.core.internal.streaming.MutableStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.bytes.DefaultByteStreamingManager;
+import org.mule.runtime.core.internal.streaming.bytes.DirectByteBufferManager;
 import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
 import org.mule.runtime.core.internal.streaming.object.DefaultObjectStreamingManager;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
@@ -50,7 +53,6 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
   private MutableStreamingStatistics statistics;
   private boolean initialised = false;
 
-  private Scheduler allocationScheduler;
   private Scheduler disposalScheduler;
 
   @Inject
@@ -66,12 +68,10 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
   public void initialise() throws InitialisationException {
     if (!initialised) {
       statistics = new MutableStreamingStatistics();
-      allocationScheduler =
-          schedulerService.ioScheduler(muleContext.getSchedulerBaseConfig().withName("StreamingManager-allocate"));
       disposalScheduler =
           schedulerService.cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig().withName("StreamingManager-dispose"));
       cursorManager = new CursorManager(statistics, disposalScheduler);
-      bufferManager = new PoolingByteBufferManager(allocationScheduler);
+      bufferManager = createBufferManager();
       byteStreamingManager = createByteStreamingManager();
       objectStreamingManager = createObjectStreamingManager();
 
@@ -81,6 +81,16 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
     }
   }
 
+  private ByteBufferManager createBufferManager() {
+    if (getBoolean(MULE_STREAMING_OFF_HEAP)) {
+      DirectByteBufferManager directBufferManager = new DirectByteBufferManager();
+      statistics.setOffHeapMemoryUsage(directBufferManager::getRetainedMemory);
+      return directBufferManager;
+    }
+
+    return new PoolingByteBufferManager();
+  }
+
   protected ByteStreamingManager createByteStreamingManager() {
     return new DefaultByteStreamingManager(bufferManager, this);
   }
@@ -99,7 +109,6 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
     disposeIfNeeded(bufferManager, LOGGER);
     disposeIfNeeded(cursorManager, LOGGER);
     disposalScheduler.stop();
-    allocationScheduler.stop();
 
     initialised = false;
   }
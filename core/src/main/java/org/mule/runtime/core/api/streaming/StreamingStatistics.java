@@ -27,4 +27,13 @@ public interface StreamingStatistics {
    * @return How many {@link CursorStream} instances are currently open
    */
   int getOpenCursorsCount();
+
+  /**
+   * @return How many bytes of off-heap memory are retained by streaming buffers, both in use and pooled. Always {@code 0}
+   *         unless buffers are allocated off-heap.
+   * @since 4.2
+   */
+  default long getOffHeapMemoryUsage() {
+    return 0;
+  }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.streaming.bytes;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A stream which can write its remaining content to a destination straight from the buffers that hold it, instead of having
+ * it read into an intermediate array first.
+ * <p>
+ * The {@link CursorStream cursors} created by the runtime implement this interface. Components which copy a stream into
+ * another, such as an HTTP response or a file, should check for it.
+ *
+ * @since 4.2
+ */
+public interface TransferableStream {
+
+  /**
+   * Writes all the remaining content of this stream into the given {@code channel}. Once finished, this stream is positioned
+   * at its end.
+   *
+   * @param channel the channel to write to. It is not closed.
+   * @return the amount of bytes written
+   * @throws IOException if the content could not be read or written
+   */
+  long transferTo(WritableByteChannel channel) throws IOException;
+
+  /**
+   * Writes all the remaining content of this stream into the given {@code outputStream}. Once finished, this stream is
+   * positioned at its end.
+   *
+   * @param outputStream the stream to write to. It is not closed.
+   * @return the amount of bytes written
+   * @throws IOException if the content could not be read or written
+   */
+  long transferTo(OutputStream outputStream) throws IOException;
+}
@@ -7,6 +7,8 @@
 package org.mule.runtime.core.api.util;
 
 import static java.lang.System.getProperty;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.apache.commons.collections.CollectionUtils.isEmpty;
 import static org.apache.commons.io.FilenameUtils.getBaseName;
 import static org.apache.commons.io.IOUtils.copy;
@@ -35,9 +37,16 @@ import java.nio.channels.Channel;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
@@ -307,6 +316,94 @@ public class FileUtils {
     }
   }
 
+  /**
+   * Unzip the specified archive to the given directory, decompressing and writing its entries concurrently.
+   * <p>
+   * Directories are created upfront, and then the file entries, biggest first, are extracted by {@code parallelism} threads
+   * using the random access provided by {@link ZipFile}. Archives with few entries, or a {@code parallelism} lower than 2, are
+   * extracted serially as in {@link #unzip(File, File)}.
+   *
+   * @param archive the archive to extract
+   * @param directory the directory to extract the archive to
+   * @param parallelism the maximum amount of entries to extract at the same time
+   * @throws IOException if there was an error reading the archive or writing its entries
+   * @since 4.2
+   */
+  public static void unzip(File archive, File directory, int parallelism) throws IOException {
+    if (parallelism < 2) {
+      unzip(archive, directory);
+      return;
+    }
+
+    try (ZipFile zip = new ZipFile(archive)) {
+      if (zip.size() < parallelism) {
+        unzip(archive, directory);
+        return;
+      }
+
+      verifyZipFilePaths(zip);
+
+      if (directory.exists()) {
+        if (!directory.isDirectory()) {
+          throw new IOException("Directory is not a directory: " + directory);
+        }
+      } else if (!directory.mkdirs()) {
+        throw new IOException("Could not create directory: " + directory);
+      }
+
+      List<ZipEntry> fileEntries = new ArrayList<>(zip.size());
+      for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+        ZipEntry entry = entries.nextElement();
+        File f = FileUtils.newFile(directory, entry.getName());
+        if (entry.isDirectory()) {
+          if (!f.exists() && !f.mkdirs()) {
+            throw new IOException("Could not create directory: " + f);
+          }
+        } else {
+          if (!f.getParentFile().exists() && !f.getParentFile().mkdirs()) {
+            throw new IOException("Unable to create folders for zip entry: " + entry.getName());
+          }
+          fileEntries.add(entry);
+        }
+      }
+      // Start with the biggest entries (usually nested jars) so the threads finish at about the same time
+      fileEntries.sort(comparingLong(ZipEntry::getSize).reversed());
+
+      List<Callable<Void>> tasks = new ArrayList<>(fileEntries.size());
+      for (ZipEntry entry : fileEntries) {
+        tasks.add(() -> {
+          try (InputStream is = zip.getInputStream(entry);
+              OutputStream os = new BufferedOutputStream(new FileOutputStream(new File(directory, entry.getName())))) {
+            copy(is, os);
+          }
+          return null;
+        });
+      }
+
+      AtomicInteger threadCount = new AtomicInteger();
+      ExecutorService executor = newFixedThreadPool(parallelism, r -> {
+        Thread thread = new Thread(r, "unzip." + archive.getName() + "." + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+      try {
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+          future.get();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while extracting " + archive, e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException("Error extracting " + archive, e.getCause());
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
   public static void verifyZipFilePaths(ZipFile zip) throws InvalidZipFileException {
     for (Enumeration entries = zip.entries(); entries.hasMoreElements();) {
       ZipEntry entry = (ZipEntry) entries.nextElement();
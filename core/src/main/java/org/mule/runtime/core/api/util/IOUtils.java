@@ -16,6 +16,7 @@ import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.message.ds.ByteArrayDataSource;
 import org.mule.runtime.core.api.message.ds.InputStreamDataSource;
 import org.mule.runtime.core.api.message.ds.StringDataSource;
+import org.mule.runtime.core.api.streaming.bytes.TransferableStream;
 import org.mule.runtime.core.api.util.func.CheckedConsumer;
 import org.mule.runtime.core.api.util.func.CheckedFunction;
 
@@ -259,9 +260,15 @@ public class IOUtils {
 
   /**
    * Copies the data read from the {@link InputStream} into the {@link OutputStream}
-   * using a buffer of size {@code bufferSize}
+   * using a buffer of size {@code bufferSize}.
+   * <p>
+   * If the {@code input} is a {@link TransferableStream}, its content is transferred without the intermediate buffer.
    */
   public static long copyLarge(InputStream input, OutputStream output, int bufferSize) throws IOException {
+    if (input instanceof TransferableStream) {
+      return ((TransferableStream) input).transferTo(output);
+    }
+
     byte[] buffer = new byte[bufferSize];
     long count = 0;
     int n = 0;
@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+
+import org.mule.runtime.api.config.PoolingProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.pool.BaseObjectPool;
+import org.apache.commons.pool.ObjectPool;
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ObjectPool} for connections which, unlike {@link org.apache.commons.pool.impl.GenericObjectPool}, doesn't synchronize
+ * borrowing and returning on a single monitor.
+ * <p/>
+ * Each pooled connection holds its own state, which is changed atomically when borrowed or returned. Idle connections are kept
+ * in a {@link ConcurrentLinkedDeque} and borrowed in LIFO order, so the most recently used connection is reused first. The limit
+ * of active connections is enforced with a {@link Semaphore}, which only blocks when the pool is exhausted.
+ * <p/>
+ * Connections are never validated when borrowed. Instead, {@link #evict()} is meant to be run periodically off the hot path to
+ * destroy the idle connections that expired or are no longer valid.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.2
+ */
+final class ConcurrentConnectionPool<C> extends BaseObjectPool<C> implements ConnectionPoolStatistics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentConnectionPool.class);
+
+  private final PoolableObjectFactory<C> factory;
+  private final int maxIdle;
+  private final long maxWait;
+  private final int exhaustedAction;
+  private final long minEvictableIdleMillis;
+  private final Semaphore permits;
+
+  private final ConcurrentMap<ConnectionKey, PooledConnection<C>> connections = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedDeque<PooledConnection<C>> idle = new ConcurrentLinkedDeque<>();
+
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final LongAdder borrowCount = new LongAdder();
+  private final LongAdder exhaustedCount = new LongAdder();
+  private final LongAdder totalBorrowWaitNanos = new LongAdder();
+  private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+
+  /**
+   * Creates a new instance
+   *
+   * @param factory the factory of the pooled connections
+   * @param poolingProfile the {@link PoolingProfile} which configures this pool
+   */
+  ConcurrentConnectionPool(PoolableObjectFactory<C> factory, PoolingProfile poolingProfile) {
+    this.factory = factory;
+    this.maxIdle = poolingProfile.getMaxIdle();
+    this.maxWait = poolingProfile.getMaxWait();
+    this.exhaustedAction = poolingProfile.getExhaustedAction();
+    this.minEvictableIdleMillis = poolingProfile.getMinEvictionMillis();
+    this.permits = poolingProfile.getMaxActive() < 0 || exhaustedAction == WHEN_EXHAUSTED_GROW
+        ? null
+        : new Semaphore(poolingProfile.getMaxActive());
+  }
+
+  @Override
+  public C borrowObject() throws Exception {
+    assertOpen();
+    final long start = nanoTime();
+    acquirePermit();
+
+    try {
+      PooledConnection<C> pooled = pollIdle();
+      if (pooled == null) {
+        pooled = new PooledConnection<>(factory.makeObject());
+        connections.put(pooled.key, pooled);
+      }
+      activeCount.incrementAndGet();
+
+      recordBorrow(nanoTime() - start);
+      return pooled.connection;
+    } catch (Exception e) {
+      releasePermit();
+      throw e;
+    }
+  }
+
+  private void acquirePermit() throws Exception {
+    if (permits == null || permits.tryAcquire()) {
+      return;
+    }
+
+    exhaustedCount.increment();
+    if (exhaustedAction == WHEN_EXHAUSTED_FAIL) {
+      throw new NoSuchElementException("Pool exhausted");
+    } else if (maxWait > 0) {
+      if (!permits.tryAcquire(maxWait, MILLISECONDS)) {
+        throw new NoSuchElementException("Timeout waiting for idle object");
+      }
+    } else {
+      permits.acquire();
+    }
+  }
+
+  private void releasePermit() {
+    if (permits != null) {
+      permits.release();
+    }
+  }
+
+  private PooledConnection<C> pollIdle() throws Exception {
+    PooledConnection<C> pooled;
+    while ((pooled = idle.pollFirst()) != null) {
+      if (activate(pooled)) {
+        return pooled;
+      }
+    }
+    return null;
+  }
+
+  private boolean activate(PooledConnection<C> pooled) throws Exception {
+    // The connection may have been taken by the evictor after it was polled, in which case the evictor now owns it
+    if (!pooled.state.compareAndSet(PooledConnection.IDLE, PooledConnection.IN_USE)) {
+      return false;
+    }
+    idleCount.decrementAndGet();
+
+    try {
+      factory.activateObject(pooled.connection);
+      return true;
+    } catch (Exception e) {
+      destroy(pooled);
+      throw e;
+    }
+  }
+
+  private void recordBorrow(long waitNanos) {
+    borrowCount.increment();
+    totalBorrowWaitNanos.add(waitNanos);
+
+    long currentMax = maxBorrowWaitNanos.get();
+    while (waitNanos > currentMax && !maxBorrowWaitNanos.compareAndSet(currentMax, waitNanos)) {
+      currentMax = maxBorrowWaitNanos.get();
+    }
+  }
+
+  @Override
+  public void returnObject(C connection) throws Exception {
+    PooledConnection<C> pooled = connections.get(new ConnectionKey(connection));
+    if (pooled == null) {
+      factory.destroyObject(connection);
+      return;
+    }
+
+    // Only the thread that moves the connection out of IN_USE may release its permit, so returning it twice is harmless
+    if (!pooled.state.compareAndSet(PooledConnection.IN_USE, PooledConnection.RETURNING)) {
+      LOGGER.warn("Connection of type {} was returned to the pool although it was not borrowed",
+                  connection.getClass().getName());
+      return;
+    }
+
+    activeCount.decrementAndGet();
+    try {
+      factory.passivateObject(connection);
+
+      if (isClosed() || !reserveIdleSlot()) {
+        destroy(pooled);
+      } else {
+        pooled.lastReturnedMillis = currentTimeMillis();
+        pooled.state.set(PooledConnection.IDLE);
+        idle.offerFirst(pooled);
+        if (isClosed()) {
+          // The pool was closed meanwhile and may have missed this connection
+          clear();
+        }
+      }
+    } catch (Exception e) {
+      destroy(pooled);
+      throw e;
+    } finally {
+      releasePermit();
+    }
+  }
+
+  private boolean reserveIdleSlot() {
+    if (maxIdle < 0) {
+      idleCount.incrementAndGet();
+      return true;
+    }
+
+    int current;
+    do {
+      current = idleCount.get();
+      if (current >= maxIdle) {
+        return false;
+      }
+    } while (!idleCount.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  @Override
+  public void invalidateObject(C connection) throws Exception {
+    PooledConnection<C> pooled = connections.get(new ConnectionKey(connection));
+    if (pooled == null) {
+      factory.destroyObject(connection);
+      return;
+    }
+
+    if (!pooled.state.compareAndSet(PooledConnection.IN_USE, PooledConnection.RETURNING)) {
+      LOGGER.warn("Connection of type {} was invalidated although it was not borrowed", connection.getClass().getName());
+      return;
+    }
+
+    activeCount.decrementAndGet();
+    try {
+      destroy(pooled);
+    } finally {
+      releasePermit();
+    }
+  }
+
+  private void destroy(PooledConnection<C> pooled) {
+    pooled.state.set(PooledConnection.REMOVED);
+    connections.remove(pooled.key, pooled);
+    try {
+      factory.destroyObject(pooled.connection);
+    } catch (Exception e) {
+      LOGGER.warn("Exception was found trying to destroy connection of type " + pooled.connection.getClass().getName(), e);
+    }
+  }
+
+  /**
+   * Destroys the idle connections that have been idle for longer than the configured
+   * {@link PoolingProfile#getMinEvictionMillis() eviction time}, or that are no longer
+   * {@link PoolableObjectFactory#validateObject(Object) valid}.
+   */
+  void evict() {
+    final long now = currentTimeMillis();
+    // The surviving connections are put back once all have been checked, otherwise iterating the live deque would visit them
+    // again and never finish
+    List<PooledConnection<C>> survivors = new ArrayList<>();
+    for (PooledConnection<C> pooled : new ArrayList<>(idle)) {
+      // Take the connection out of the idle ones while it is being checked, so it is not borrowed meanwhile. If a borrower
+      // polled it concurrently, it will skip it since the state is no longer IDLE.
+      if (!pooled.state.compareAndSet(PooledConnection.IDLE, PooledConnection.EVICTING)) {
+        continue;
+      }
+      idle.removeFirstOccurrence(pooled);
+
+      boolean expired = minEvictableIdleMillis > 0 && now - pooled.lastReturnedMillis > minEvictableIdleMillis;
+      if (expired || !isValid(pooled)) {
+        idleCount.decrementAndGet();
+        destroy(pooled);
+      } else {
+        survivors.add(pooled);
+      }
+    }
+
+    for (PooledConnection<C> pooled : survivors) {
+      pooled.state.set(PooledConnection.IDLE);
+      idle.offerLast(pooled);
+    }
+    if (isClosed()) {
+      // The pool was closed meanwhile and may have missed the surviving connections
+      clear();
+    }
+  }
+
+  private boolean isValid(PooledConnection<C> pooled) {
+    try {
+      return factory.validateObject(pooled.connection);
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  @Override
+  public void clear() {
+    PooledConnection<C> pooled;
+    while ((pooled = idle.pollFirst()) != null) {
+      if (pooled.state.compareAndSet(PooledConnection.IDLE, PooledConnection.REMOVED)) {
+        idleCount.decrementAndGet();
+        destroy(pooled);
+      }
+    }
+  }
+
+  /**
+   * Closes this pool, destroying the idle connections. Connections currently borrowed are destroyed when returned.
+   */
+  @Override
+  public void close() throws Exception {
+    super.close();
+    clear();
+  }
+
+  @Override
+  public int getNumActive() {
+    return getActiveCount();
+  }
+
+  @Override
+  public int getNumIdle() {
+    return getIdleCount();
+  }
+
+  @Override
+  public int getActiveCount() {
+    return activeCount.get();
+  }
+
+  @Override
+  public int getIdleCount() {
+    return idleCount.get();
+  }
+
+  @Override
+  public long getBorrowCount() {
+    return borrowCount.sum();
+  }
+
+  @Override
+  public long getExhaustedCount() {
+    return exhaustedCount.sum();
+  }
+
+  @Override
+  public long getTotalBorrowWaitNanos() {
+    return totalBorrowWaitNanos.sum();
+  }
+
+  @Override
+  public long getMaxBorrowWaitNanos() {
+    return maxBorrowWaitNanos.get();
+  }
+
+  private static final class PooledConnection<C> {
+
+    private static final int IDLE = 0;
+    private static final int IN_USE = 1;
+    private static final int RETURNING = 2;
+    private static final int EVICTING = 3;
+    private static final int REMOVED = 4;
+
+    private final C connection;
+    private final ConnectionKey key;
+    private final AtomicInteger state = new AtomicInteger(IN_USE);
+    private volatile long lastReturnedMillis;
+
+    private PooledConnection(C connection) {
+      this.connection = connection;
+      this.key = new ConnectionKey(connection);
+    }
+  }
+
+  /**
+   * Compares connections by identity, since connections may implement {@link Object#equals(Object)} in terms of their
+   * configuration.
+   */
+  private static final class ConnectionKey {
+
+    private final Object connection;
+
+    private ConnectionKey(Object connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof ConnectionKey && ((ConnectionKey) obj).connection == connection;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(connection);
+    }
+  }
+}
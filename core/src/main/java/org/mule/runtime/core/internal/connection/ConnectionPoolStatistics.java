@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+/**
+ * Statistics about the usage of a pool of connections.
+ *
+ * @since 4.2
+ */
+public interface ConnectionPoolStatistics {
+
+  /**
+   * @return the amount of connections currently borrowed from the pool
+   */
+  int getActiveCount();
+
+  /**
+   * @return the amount of connections currently idle in the pool
+   */
+  int getIdleCount();
+
+  /**
+   * @return the amount of connections successfully borrowed from the pool
+   */
+  long getBorrowCount();
+
+  /**
+   * @return how many times a connection was requested while the pool was exhausted, whether the request ended up waiting or
+   *         failing
+   */
+  long getExhaustedCount();
+
+  /**
+   * @return the total time, in nanoseconds, spent obtaining connections from the pool
+   */
+  long getTotalBorrowWaitNanos();
+
+  /**
+   * @return the longest time, in nanoseconds, spent obtaining a single connection from the pool
+   */
+  long getMaxBorrowWaitNanos();
+}
@@ -6,33 +6,50 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.lang.Boolean.getBoolean;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_CONCURRENT_CONNECTION_POOL;
+import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.connection.PoolingListener;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.DefaultMuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import org.apache.commons.pool.ObjectPool;
 import org.apache.commons.pool.PoolableObjectFactory;
 import org.apache.commons.pool.impl.GenericObjectPool;
+import org.slf4j.Logger;
 
 /**
  * A {@link ConnectionManagementStrategy} which returns connections obtained from a {@link #pool}
+ * <p/>
+ * By default the pool is a {@link GenericObjectPool}. If the {@code mule.connection.pool.concurrent} system property is set,
+ * a {@link ConcurrentConnectionPool} is used instead, which doesn't synchronize borrowing and returning connections and
+ * provides {@link #getPoolStatistics() statistics}, which are also logged at debug level when the pool is closed.
  *
  * @param <C> the generic type of the connections to be managed
  * @since 4.0
  */
 final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementStrategy<C> {
 
+  private static final Logger LOGGER = getLogger(PoolingConnectionManagementStrategy.class);
+
   private final PoolingProfile poolingProfile;
   private final ObjectPool<C> pool;
   private final PoolingListener<C> poolingListener;
+  private Scheduler evictionScheduler;
 
   /**
    * Creates a new instance
@@ -89,6 +106,12 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   // TODO: MULE-9082 - pool.close() doesn't destroy unreturned connections
   @Override
   public void close() throws MuleException {
+    if (evictionScheduler != null) {
+      evictionScheduler.stop();
+    }
+    if (LOGGER.isDebugEnabled() && pool instanceof ConnectionPoolStatistics) {
+      logStatistics((ConnectionPoolStatistics) pool);
+    }
     try {
       pool.close();
     } catch (Exception e) {
@@ -97,6 +120,10 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   }
 
   private ObjectPool<C> createPool() {
+    if (getBoolean(MULE_CONCURRENT_CONNECTION_POOL)) {
+      return createConcurrentPool();
+    }
+
     GenericObjectPool.Config config = new GenericObjectPool.Config();
     config.maxIdle = poolingProfile.getMaxIdle();
     config.maxActive = poolingProfile.getMaxActive();
@@ -109,10 +136,39 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     return genericPool;
   }
 
+  private ObjectPool<C> createConcurrentPool() {
+    ConcurrentConnectionPool<C> concurrentPool = new ConcurrentConnectionPool<>(new ObjectFactoryAdapter(), poolingProfile);
+
+    final long evictionInterval = poolingProfile.getEvictionCheckIntervalMillis();
+    if (evictionInterval > 0) {
+      evictionScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withName("ConnectionPool-Evictor"));
+      evictionScheduler.scheduleWithFixedDelay(concurrentPool::evict, evictionInterval, evictionInterval, MILLISECONDS);
+    }
+
+    return concurrentPool;
+  }
+
   public PoolingProfile getPoolingProfile() {
     return poolingProfile;
   }
 
+  /**
+   * @return the statistics of the {@link #pool}, if it provides them
+   */
+  public Optional<ConnectionPoolStatistics> getPoolStatistics() {
+    return pool instanceof ConnectionPoolStatistics ? of((ConnectionPoolStatistics) pool) : empty();
+  }
+
+  private void logStatistics(ConnectionPoolStatistics statistics) {
+    long borrowCount = statistics.getBorrowCount();
+    LOGGER.debug("Closing connection pool for {}. Borrowed {} times, exhausted {} times, average borrow wait {} ns, "
+        + "max borrow wait {} ns, {} connections still active", connectionProvider, borrowCount,
+                 statistics.getExhaustedCount(),
+                 borrowCount == 0 ? 0 : statistics.getTotalBorrowWaitNanos() / borrowCount,
+                 statistics.getMaxBorrowWaitNanos(), statistics.getActiveCount());
+  }
+
   private class ObjectFactoryAdapter implements PoolableObjectFactory<C> {
 
     @Override
@@ -126,8 +182,9 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     }
 
     @Override
-    public boolean validateObject(C obj) {
-      return false;
+    public boolean validateObject(C connection) {
+      ConnectionValidationResult result = connectionProvider.validate(connection);
+      return result != null && result.isValid();
     }
 
     @Override
@@ -16,6 +16,9 @@ import java.util.List;
 
 /**
  * Keeps context information about the message processors that were executed as part of the processing of an event.
+ * <p/>
+ * If the executions are being {@link #recordedBy(FlowTraceRecorder, String) recorded} by a {@link FlowTraceRecorder}, the
+ * executed processors are obtained from it instead, so they are not added one by one to this trace.
  */
 public class DefaultProcessorsTrace implements ProcessorsTrace {
 
@@ -23,6 +26,9 @@ public class DefaultProcessorsTrace implements ProcessorsTrace {
 
   private final List<String> executedProcessors = new ArrayList<>();
 
+  private transient String eventId;
+  private transient volatile FlowTraceRecorder recorder;
+
   /**
    * Adds a message processor path to the list of processors that were executed as part of the processing of this event.
    * 
@@ -32,9 +38,34 @@ public class DefaultProcessorsTrace implements ProcessorsTrace {
     executedProcessors.add(processorPath);
   }
 
+  /**
+   * Makes this trace obtain the executed processors from the given {@code recorder}.
+   *
+   * @param recorder the recorder where the executions of the processors for this event are recorded
+   * @param eventId the id the executions are recorded with
+   */
+  public void recordedBy(FlowTraceRecorder recorder, String eventId) {
+    this.eventId = eventId;
+    this.recorder = recorder;
+  }
+
+  /**
+   * @return whether the executed processors are obtained from a {@link FlowTraceRecorder}
+   */
+  public boolean isRecorded() {
+    return recorder != null;
+  }
+
   @Override
-  public synchronized List<String> getExecutedProcessors() {
-    return unmodifiableList(executedProcessors);
+  public List<String> getExecutedProcessors() {
+    FlowTraceRecorder currentRecorder = recorder;
+    if (currentRecorder != null) {
+      return currentRecorder.dump(eventId);
+    }
+
+    synchronized (this) {
+      return unmodifiableList(executedProcessors);
+    }
   }
 
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toList;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flight recorder of the processors executed for each event.
+ * <p/>
+ * Processors are {@link #register(String) registered} once, getting an integer id. Then, each execution is recorded as an
+ * {@code (eventId, processorId, timestamp)} entry in a fixed-size ring buffer owned by the current thread, so recording neither
+ * allocates nor contends with other threads. Once a buffer is full, the oldest entries are overwritten.
+ * <p/>
+ * The entries still held in the buffers of all the threads can be obtained at any time with {@link #dump()}. The buffers of the
+ * threads that are gone are discarded when a new thread starts recording.
+ *
+ * @since 4.2
+ */
+public final class FlowTraceRecorder {
+
+  private final int bufferSize;
+
+  private final Map<String, Integer> processorIds = new HashMap<>();
+  private volatile String[] processors = new String[0];
+
+  private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<Buffer> threadBuffer = ThreadLocal.withInitial(this::createThreadBuffer);
+
+  /**
+   * Creates a new instance
+   *
+   * @param bufferSize how many entries to keep for each thread. Rounded down to a power of two.
+   */
+  public FlowTraceRecorder(int bufferSize) {
+    this.bufferSize = highestOneBit(max(bufferSize, 2));
+  }
+
+  /**
+   * @param processor the representation of a processor
+   * @return the id to use for the given processor when {@link #record(String, int) recording} its executions. Registering the
+   *         same representation again returns the same id.
+   */
+  public synchronized int register(String processor) {
+    Integer id = processorIds.get(processor);
+    if (id == null) {
+      id = processors.length;
+      String[] newProcessors = copyOf(processors, id + 1);
+      newProcessors[id] = processor;
+      processorIds.put(processor, id);
+      processors = newProcessors;
+    }
+    return id;
+  }
+
+  /**
+   * @param processorId an id obtained from {@link #register(String)}
+   * @return the representation of the processor with the given id
+   */
+  public String getProcessor(int processorId) {
+    return processors[processorId];
+  }
+
+  /**
+   * Records the execution of a processor for an event in the buffer of the current thread.
+   *
+   * @param eventId the id of the event being processed
+   * @param processorId the id of the processor, obtained from {@link #register(String)}
+   */
+  public void record(String eventId, int processorId) {
+    threadBuffer.get().record(eventId, processorId, nanoTime());
+  }
+
+  private Buffer createThreadBuffer() {
+    // Discard the buffers of the threads that are gone, so they are not retained forever
+    buffers.removeIf(buffer -> !buffer.isOwnerAlive());
+
+    Buffer buffer = new Buffer(currentThread(), bufferSize);
+    buffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * Entries being recorded concurrently with this method may be missing from the result.
+   *
+   * @return the entries currently held by the buffers of all the threads, ordered by timestamp.
+   */
+  public List<FlowTraceEntry> dump() {
+    List<FlowTraceEntry> entries = new ArrayList<>();
+    for (Buffer buffer : buffers) {
+      buffer.dumpTo(entries, this);
+    }
+    entries.sort(comparingLong(FlowTraceEntry::getTimestamp));
+    return unmodifiableList(entries);
+  }
+
+  /**
+   * @param eventId the id of an event
+   * @return the representations of the processors executed for the given event that are still held in the buffers, ordered by
+   *         timestamp.
+   */
+  public List<String> dump(String eventId) {
+    return dump().stream().filter(entry -> entry.getEventId().equals(eventId)).map(FlowTraceEntry::getProcessor)
+        .collect(toList());
+  }
+
+  private static final class Buffer {
+
+    private final WeakReference<Thread> owner;
+    private final String threadName;
+    private final int mask;
+    private final String[] eventIds;
+    private final int[] processorIds;
+    private final long[] timestamps;
+    private final AtomicLong position = new AtomicLong();
+
+    private Buffer(Thread owner, int size) {
+      this.owner = new WeakReference<>(owner);
+      this.threadName = owner.getName();
+      this.mask = size - 1;
+      this.eventIds = new String[size];
+      this.processorIds = new int[size];
+      this.timestamps = new long[size];
+    }
+
+    // Only ever called from the owner thread
+    private void record(String eventId, int processorId, long timestamp) {
+      long current = position.get();
+      int index = (int) (current & mask);
+      eventIds[index] = eventId;
+      processorIds[index] = processorId;
+      timestamps[index] = timestamp;
+      position.lazySet(current + 1);
+    }
+
+    private boolean isOwnerAlive() {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+
+    private void dumpTo(List<FlowTraceEntry> entries, FlowTraceRecorder recorder) {
+      long end = position.get();
+      long start = max(0, end - eventIds.length);
+
+      List<FlowTraceEntry> bufferEntries = new ArrayList<>((int) (end - start));
+      for (long i = start; i < end; ++i) {
+        int index = (int) (i & mask);
+        bufferEntries.add(new FlowTraceEntry(eventIds[index], recorder.getProcessor(processorIds[index]), threadName,
+                                             timestamps[index]));
+      }
+
+      // Discard the entries that may have been overwritten by the owner thread while copying
+      long overwritten = max(0, position.get() - eventIds.length) - start;
+      if (overwritten > 0) {
+        bufferEntries = bufferEntries.subList((int) min(overwritten, bufferEntries.size()), bufferEntries.size());
+      }
+      entries.addAll(bufferEntries);
+    }
+  }
+
+  /**
+   * The execution of a processor for an event, as recorded by a {@link FlowTraceRecorder}.
+   */
+  public static final class FlowTraceEntry {
+
+    private final String eventId;
+    private final String processor;
+    private final String threadName;
+    private final long timestamp;
+
+    private FlowTraceEntry(String eventId, String processor, String threadName, long timestamp) {
+      this.eventId = eventId;
+      this.processor = processor;
+      this.threadName = threadName;
+      this.timestamp = timestamp;
+    }
+
+    /**
+     * @return the id of the event that was processed
+     */
+    public String getEventId() {
+      return eventId;
+    }
+
+    /**
+     * @return the representation of the processor that was executed
+     */
+    public String getProcessor() {
+      return processor;
+    }
+
+    /**
+     * @return the name of the thread that executed the processor
+     */
+    public String getThreadName() {
+      return threadName;
+    }
+
+    /**
+     * @return when the processor was executed, as given by {@link System#nanoTime()}
+     */
+    public long getTimestamp() {
+      return timestamp;
+    }
+
+    @Override
+    public String toString() {
+      return timestamp + " [" + threadName + "] " + eventId + ": " + processor;
+    }
+  }
+}
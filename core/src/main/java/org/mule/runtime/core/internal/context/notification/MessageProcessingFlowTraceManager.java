@@ -6,9 +6,13 @@
  */
 package org.mule.runtime.core.internal.context.notification;
 
+import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.lang.Integer.getInteger;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static org.mule.runtime.core.api.config.DefaultMuleConfiguration.isFlowTrace;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_FLOW_TRACE_BUFFER_SIZE;
+
 import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.event.EventContext;
 import org.mule.runtime.api.lifecycle.Disposable;
@@ -32,11 +36,16 @@ import org.mule.runtime.core.internal.logging.LogConfigChangeSubject;
 import java.beans.PropertyChangeListener;
 import java.util.Map;
 
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.spi.LoggerContext;
 
 /**
  * Manager for handling message processing troubleshooting data.
+ * <p/>
+ * If the {@code mule.flowTrace.bufferSize} system property is set, the processors executed for each event are recorded in a
+ * {@link FlowTraceRecorder} with buffers of that size, and the {@link ProcessorsTrace} of the events is obtained from it.
  */
 public class MessageProcessingFlowTraceManager extends LocationExecutionContextProvider
     implements FlowTraceManager, MuleContextAware, Initialisable, Disposable {
@@ -46,11 +55,39 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
   private final FlowNotificationTextDebugger pipelineProcessorDebugger;
   private final MessageProcessorTextDebugger messageProcessorTextDebugger;
 
+  private final FlowTraceRecorder recorder;
+  private final boolean recording;
+  // The representation of a processor doesn't change, so it is resolved only once for each one
+  private final LoadingCache<Component, Integer> processorIds = newBuilder().weakKeys()
+      .build(new CacheLoader<Component, Integer>() {
+
+        @Override
+        public Integer load(Component component) {
+          return recorder.register(resolveProcessorRepresentation(muleContext.getConfiguration().getId(),
+                                                                  component.getLocation() != null
+                                                                      ? component.getLocation().getLocation()
+                                                                      : null,
+                                                                  component));
+        }
+      });
+
   private MuleContext muleContext;
 
   private PropertyChangeListener logConfigChangeListener = evt -> handleNotificationListeners();
 
   public MessageProcessingFlowTraceManager() {
+    this(getInteger(MULE_FLOW_TRACE_BUFFER_SIZE, 0));
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param traceBufferSize how many processor executions to record for each thread, or {@code 0} not to record them
+   */
+  MessageProcessingFlowTraceManager(int traceBufferSize) {
+    // The recorder is still used to keep the representation of each processor when not recording
+    recorder = new FlowTraceRecorder(traceBufferSize);
+    recording = traceBufferSize > 0;
     messageProcessorTextDebugger = new MessageProcessorTextDebugger(this);
     pipelineProcessorDebugger = new FlowNotificationTextDebugger(this);
   }
@@ -78,6 +115,7 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
     }
 
     removeNotificationListeners();
+    processorIds.invalidateAll();
   }
 
   protected void handleNotificationListeners() {
@@ -101,7 +139,8 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
   /**
    * Callback method for when a message processor is about to be invoked.
    * <p/>
-   * Updates the internal state of the event's {@link ProcessorsTrace} and {@link FlowCallStack} accordingly.
+   * Updates the internal state of the event's {@link ProcessorsTrace} and {@link FlowCallStack} accordingly. When recording, the
+   * invocation is recorded in the {@link FlowTraceRecorder} instead of being added to the {@link ProcessorsTrace}.
    *
    * @see DefaultProcessorsTrace#addExecutedProcessors(String)
    * @see DefaultFlowCallStack#setCurrentProcessorPath(String)
@@ -109,17 +148,23 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
    * @param notification the notification that contains the event and the processor that is about to be invoked.
    */
   public void onMessageProcessorNotificationPreInvoke(MessageProcessorNotification notification) {
-    String resolveProcessorRepresentation =
-        resolveProcessorRepresentation(muleContext.getConfiguration().getId(),
-                                       notification.getComponent().getLocation() != null
-                                           ? notification.getComponent().getLocation().getLocation()
-                                           : null,
-                                       notification.getComponent());
+    int processorId = processorIds.getUnchecked(notification.getComponent());
+    String resolveProcessorRepresentation = recorder.getProcessor(processorId);
 
     EventContext eventContext = notification.getEventContext();
     if (eventContext != null) {
-      ((DefaultProcessorsTrace) ((BaseEventContext) eventContext).getProcessorsTrace())
-          .addExecutedProcessors(resolveProcessorRepresentation);
+      DefaultProcessorsTrace processorsTrace =
+          (DefaultProcessorsTrace) ((BaseEventContext) eventContext).getProcessorsTrace();
+      if (recording) {
+        // The trace is the one of the root context, so the executions are recorded with its id
+        String rootEventId = ((BaseEventContext) eventContext).getRootContext().getId();
+        if (!processorsTrace.isRecorded()) {
+          processorsTrace.recordedBy(recorder, rootEventId);
+        }
+        recorder.record(rootEventId, processorId);
+      } else {
+        processorsTrace.addExecutedProcessors(resolveProcessorRepresentation);
+      }
     }
 
     FlowCallStack flowCallStack = ((CoreEvent) notification.getEvent()).getFlowCallStack();
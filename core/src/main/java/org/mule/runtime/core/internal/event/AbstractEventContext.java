@@ -20,6 +20,8 @@ import org.mule.runtime.core.api.exception.NullExceptionHandler;
 import org.mule.runtime.core.api.functional.Either;
 import org.mule.runtime.core.internal.context.notification.DefaultFlowCallStack;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.streaming.EventStreamingState;
+import org.mule.runtime.core.internal.streaming.EventStreamingStateHolder;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
 import org.reactivestreams.Publisher;
@@ -36,6 +38,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
@@ -45,7 +48,7 @@ import reactor.core.publisher.MonoSink;
  *
  * @since 4.0
  */
-abstract class AbstractEventContext implements BaseEventContext {
+abstract class AbstractEventContext implements BaseEventContext, EventStreamingStateHolder {
 
   private static final int STATE_READY = 0;
   private static final int STATE_RESPONSE = 1;
@@ -69,6 +72,8 @@ abstract class AbstractEventContext implements BaseEventContext {
 
   private final Set<ResponsePublisher> responsePublishers = new HashSet<>();
 
+  private transient volatile EventStreamingState streamingState;
+
   protected FlowCallStack flowCallStack = new DefaultFlowCallStack();
 
   public AbstractEventContext() {
@@ -295,6 +300,26 @@ abstract class AbstractEventContext implements BaseEventContext {
     return Mono.create(responsePublisher);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public EventStreamingState getStreamingState(Supplier<EventStreamingState> streamingStateFactory) {
+    EventStreamingState state = streamingState;
+    if (state == null) {
+      synchronized (this) {
+        state = streamingState;
+        if (state == null) {
+          final EventStreamingState created = streamingStateFactory.get();
+          streamingState = created;
+          onTerminated((response, throwable) -> created.dispose());
+          state = created;
+        }
+      }
+    }
+    return state;
+  }
+
   public void forEachChild(Consumer<BaseEventContext> childConsumer) {
     childContextsReadWriteLock.readLock().lock();
     try {
@@ -9,7 +9,6 @@ package org.mule.runtime.core.internal.event;
 
 import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
-import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
@@ -37,10 +36,10 @@ import org.mule.runtime.core.api.context.notification.FlowCallStack;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.message.GroupCorrelation;
 import org.mule.runtime.core.api.transformer.MessageTransformerException;
-import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
 import org.mule.runtime.core.internal.message.DefaultMessageBuilder;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.PersistentStringMap;
 import org.mule.runtime.core.privileged.connector.DefaultReplyToHandler;
 import org.mule.runtime.core.privileged.connector.ReplyToHandler;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
@@ -52,10 +51,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.charset.Charset;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -65,8 +64,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   private BaseEventContext context;
   private Message message;
-  private Map<String, TypedValue<?>> flowVariables = new HashMap<>();
-  private Map<String, Object> internalParameters = new HashMap<>(4);
+  private PersistentStringMap<TypedValue<?>> flowVariables = PersistentStringMap.empty(true);
+  private PersistentStringMap<Object> internalParameters = PersistentStringMap.empty(false);
   private Error error;
   private Optional<ItemSequenceInfo> itemSequenceInfo = empty();
   private String legacyCorrelationId;
@@ -96,8 +95,9 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     this.error = event.getError().orElse(null);
     this.notificationsEnabled = event.isNotificationsEnabled();
 
-    this.flowVariables.putAll(event.getVariables());
-    this.internalParameters.putAll(event.getInternalParameters());
+    // No copy is done if the event already holds persistent maps, entries are only copied when actually modified
+    this.flowVariables = PersistentStringMap.copyOf(true, event.getVariables());
+    this.internalParameters = PersistentStringMap.copyOf(false, event.getInternalParameters());
   }
 
   public DefaultEventBuilder(BaseEventContext messageContext, InternalEvent event) {
@@ -116,13 +116,21 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder variables(Map<String, ?> flowVariables) {
-    copyFromTo(flowVariables, this.flowVariables);
+    PersistentStringMap<TypedValue<?>> variables = PersistentStringMap.empty(true);
+    for (Map.Entry<String, ?> entry : flowVariables.entrySet()) {
+      Object value = entry.getValue();
+      variables = variables.plus(entry.getKey(), value instanceof TypedValue
+          ? (TypedValue<?>) value
+          : new TypedValue<>(value, DataType.fromObject(value)));
+    }
+    this.flowVariables = variables;
+    this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder addVariable(String key, Object value) {
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, DataType.fromObject(value)));
     this.modified = true;
     return this;
 
@@ -130,35 +138,38 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder addVariable(String key, Object value, DataType dataType) {
-    flowVariables.put(key, new TypedValue<>(value, dataType));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, dataType));
     this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder removeVariable(String key) {
-    this.modified = flowVariables.remove(key) != null || modified;
+    PersistentStringMap<TypedValue<?>> original = flowVariables;
+    flowVariables = flowVariables.minus(key);
+    this.modified = flowVariables != original || modified;
     return this;
   }
 
   @Override
   public DefaultEventBuilder internalParameters(Map<String, ?> internalParameters) {
-    this.internalParameters.clear();
-    this.internalParameters.putAll(internalParameters);
+    this.internalParameters = PersistentStringMap.copyOf(false, internalParameters);
     this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder addInternalParameter(String key, Object value) {
-    internalParameters.put(key, value);
+    internalParameters = internalParameters.plus(key, value);
     this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder removeInternalParameter(String key) {
-    this.modified = internalParameters.remove(key) != null || modified;
+    PersistentStringMap<Object> original = internalParameters;
+    internalParameters = internalParameters.minus(key);
+    this.modified = internalParameters != original || modified;
     return this;
   }
 
@@ -240,13 +251,6 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     }
   }
 
-  private void copyFromTo(Map<String, ?> source, Map<String, TypedValue<?>> target) {
-    target.clear();
-    source.forEach((s, o) -> target
-        .put(s, o instanceof TypedValue ? (TypedValue<Object>) o : new TypedValue<>(o, DataType.fromObject(o))));
-    this.modified = true;
-  }
-
   /**
    * <code>EventImplementation</code> represents any data event occurring in the Mule environment. All data sent or received
    * within the Mule environment will be passed between components as an MuleEvent.
@@ -274,8 +278,9 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     private final boolean notificationsEnabled;
 
-    private final CaseInsensitiveHashMap<String, TypedValue<?>> variables;
-    private final Map<String, ?> internalParameters;
+    // Declared as plain maps to keep the serialized form, they always hold a PersistentStringMap once constructed or deserialized
+    private Map<String, TypedValue<?>> variables;
+    private Map<String, ?> internalParameters;
 
     private final String legacyCorrelationId;
     private final Error error;
@@ -283,8 +288,10 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     private ItemSequenceInfo itemSequenceInfo;
 
     // Use this constructor from the builder
-    private InternalEventImplementation(BaseEventContext context, Message message, Map<String, TypedValue<?>> variables,
-                                        Map<String, ?> internalParameters, MuleSession session, SecurityContext securityContext,
+    private InternalEventImplementation(BaseEventContext context, Message message,
+                                        PersistentStringMap<TypedValue<?>> variables,
+                                        PersistentStringMap<Object> internalParameters, MuleSession session,
+                                        SecurityContext securityContext,
                                         Object replyToDestination, ReplyToHandler replyToHandler,
                                         Optional<ItemSequenceInfo> itemSequenceInfo,
                                         Error error,
@@ -293,7 +300,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       this.session = session;
       this.securityContext = securityContext;
       this.message = message;
-      this.variables = new CaseInsensitiveHashMap<>(variables);
+      this.variables = variables;
       this.internalParameters = internalParameters;
 
       this.replyToHandler = replyToHandler;
@@ -450,13 +457,19 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       }
     }
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      in.defaultReadObject();
+      variables = PersistentStringMap.copyOf(true, variables);
+      internalParameters = PersistentStringMap.copyOf(false, internalParameters);
+    }
+
     private void setMessage(Message message) {
       this.message = message;
     }
 
     @Override
     public Map<String, TypedValue<?>> getVariables() {
-      return unmodifiableMap(variables);
+      return variables;
     }
 
     @Override
@@ -476,7 +489,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     @Override
     public Map<String, ?> getInternalParameters() {
-      return unmodifiableMap(internalParameters);
+      return internalParameters;
     }
 
     @Override
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.interception;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Optional.ofNullable;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.interception.ProcessorParameterValue;
+import org.mule.runtime.core.internal.processor.interceptor.InterceptionException;
+import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The parameters of an intercepted processor, as handed to a {@link org.mule.runtime.api.interception.ProcessorInterceptor}.
+ * <p/>
+ * Nothing is resolved until the interceptor first reads from this map, so interceptors that don't care about the parameters
+ * don't pay for their resolution. When the processor resolves its parameters through an {@link ExecutionContext}, that
+ * context is kept so the processor can execute with it instead of resolving its parameters again.
+ * <p/>
+ * Once {@link #close() closed}, reading the parameters no longer creates an {@link ExecutionContext}, since nobody would be
+ * left to dispose it.
+ *
+ * @since 4.2
+ */
+public final class LazyInterceptionParameters extends AbstractMap<String, ProcessorParameterValue> {
+
+  /**
+   * Performs the actual resolution of the parameters.
+   */
+  @FunctionalInterface
+  public interface ParametersResolver {
+
+    /**
+     * Resolves the parameters of the intercepted processor.
+     *
+     * @param resolvedParameters where to put the resolved parameters
+     * @param resolveExecutionContext whether the parameters of the processor's {@link ExecutionContext} may be resolved
+     * @return the {@link ExecutionContext} created to resolve the parameters, or {@code null} if none was created
+     * @throws MuleException if the parameters could not be resolved
+     */
+    ExecutionContext resolve(Map<String, ProcessorParameterValue> resolvedParameters, boolean resolveExecutionContext)
+        throws MuleException;
+  }
+
+  private final ParametersResolver resolver;
+
+  private Map<String, ProcessorParameterValue> resolvedParameters;
+  private ExecutionContext resolvedContext;
+  private boolean closed = false;
+
+  public LazyInterceptionParameters(ParametersResolver resolver) {
+    this.resolver = resolver;
+  }
+
+  @Override
+  public Set<Entry<String, ProcessorParameterValue>> entrySet() {
+    return resolve().entrySet();
+  }
+
+  @Override
+  public ProcessorParameterValue get(Object key) {
+    return resolve().get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return resolve().containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return resolve().size();
+  }
+
+  private synchronized Map<String, ProcessorParameterValue> resolve() {
+    if (resolvedParameters == null) {
+      Map<String, ProcessorParameterValue> parameters = new HashMap<>();
+      try {
+        resolvedContext = resolver.resolve(parameters, !closed);
+      } catch (MuleException e) {
+        throw new InterceptionException(e);
+      }
+      resolvedParameters = unmodifiableMap(parameters);
+    }
+    return resolvedParameters;
+  }
+
+  /**
+   * @return whether the parameters have already been read
+   */
+  public synchronized boolean isResolved() {
+    return resolvedParameters != null;
+  }
+
+  /**
+   * @return the {@link ExecutionContext} created when reading the parameters, if they were read and the processor creates one.
+   */
+  public synchronized Optional<ExecutionContext> getResolvedContext() {
+    return ofNullable(resolvedContext);
+  }
+
+  /**
+   * Prevents any further {@link ExecutionContext} from being created.
+   *
+   * @return the {@link ExecutionContext} that was created when reading the parameters, to be disposed by the caller.
+   */
+  public synchronized Optional<ExecutionContext> close() {
+    closed = true;
+    ExecutionContext context = resolvedContext;
+    resolvedContext = null;
+    return ofNullable(context);
+  }
+
+  @Override
+  public String toString() {
+    return isResolved() ? resolvedParameters.toString() : "{<unresolved>}";
+  }
+}
@@ -10,6 +10,7 @@ import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.Objects.requireNonNull;
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
@@ -61,6 +62,7 @@ import java.util.TreeSet;
 import java.util.function.Function;
 
 import javax.activation.DataHandler;
+import javax.activation.DataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,10 +81,12 @@ public final class DefaultMessageBuilder
 
   private ExceptionPayload exceptionPayload;
 
-  private Map<String, TypedValue<Serializable>> inboundProperties = new CaseInsensitiveMapWrapper<>();
-  private Map<String, TypedValue<Serializable>> outboundProperties = new CaseInsensitiveMapWrapper<>();
-  private Map<String, DataHandler> inboundAttachments = new HashMap<>();
-  private Map<String, DataHandler> outboundAttachments = new HashMap<>();
+  // The legacy properties and attachments are seldom used, so these are only created when written. Until then, these hold either
+  // a shared empty map or the read-only maps of the message being copied.
+  private Map<String, TypedValue<Serializable>> inboundProperties = emptyMap();
+  private Map<String, TypedValue<Serializable>> outboundProperties = emptyMap();
+  private Map<String, DataHandler> inboundAttachments = emptyMap();
+  private Map<String, DataHandler> outboundAttachments = emptyMap();
 
   public DefaultMessageBuilder() {}
 
@@ -111,11 +115,21 @@ public final class DefaultMessageBuilder
     this.payload = message.getPayload();
     this.attributes = message.getAttributes();
 
-    if (message instanceof InternalMessage) {
+    if (message instanceof MessageImplementation) {
+      shareMessageAttributes((MessageImplementation) message);
+    } else if (message instanceof InternalMessage) {
       copyMessageAttributes((InternalMessage) message);
     }
   }
 
+  private void shareMessageAttributes(MessageImplementation message) {
+    this.exceptionPayload = message.exceptionPayload;
+    this.inboundProperties = share(message.inboundMap);
+    this.outboundProperties = share(message.outboundMap);
+    this.inboundAttachments = share(message.inboundAttachments);
+    this.outboundAttachments = share(message.outboundAttachments);
+  }
+
   @Override
   public InternalMessage.Builder payload(TypedValue<?> payload) {
     this.payload = payload;
@@ -240,81 +254,89 @@ public final class DefaultMessageBuilder
 
   @Override
   public InternalMessage.CollectionBuilder addInboundProperty(String key, Serializable value) {
-    inboundProperties.put(key, new TypedValue<>(value, value != null ? fromObject(value) : OBJECT));
+    writableInboundProperties().put(key, new TypedValue<>(value, value != null ? fromObject(value) : OBJECT));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addInboundProperty(String key, Serializable value, MediaType mediaType) {
-    inboundProperties.put(key,
-                          new TypedValue<>(value, builder().type(value.getClass()).mediaType(mediaType).build()));
+    writableInboundProperties().put(key,
+                                    new TypedValue<>(value, builder().type(value.getClass()).mediaType(mediaType).build()));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addInboundProperty(String key, Serializable value, DataType dataType) {
-    inboundProperties.put(key, new TypedValue<>(value, dataType));
+    writableInboundProperties().put(key, new TypedValue<>(value, dataType));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addOutboundProperty(String key, Serializable value) {
-    outboundProperties.put(key, new TypedValue<>(value, value != null ? fromObject(value) : OBJECT));
+    writableOutboundProperties().put(key, new TypedValue<>(value, value != null ? fromObject(value) : OBJECT));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addOutboundProperty(String key, Serializable value, MediaType mediaType) {
-    outboundProperties.put(key, new TypedValue<>(value, builder().type(value.getClass()).mediaType(mediaType).build()));
+    writableOutboundProperties().put(key, new TypedValue<>(value, builder().type(value.getClass()).mediaType(mediaType).build()));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addOutboundProperty(String key, Serializable value, DataType dataType) {
-    outboundProperties.put(key, new TypedValue<>(value, dataType));
+    writableOutboundProperties().put(key, new TypedValue<>(value, dataType));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder removeInboundProperty(String key) {
-    inboundProperties.remove(key);
+    if (inboundProperties.containsKey(key)) {
+      writableInboundProperties().remove(key);
+    }
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder removeOutboundProperty(String key) {
-    outboundProperties.remove(key);
+    if (outboundProperties.containsKey(key)) {
+      writableOutboundProperties().remove(key);
+    }
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addInboundAttachment(String key, DataHandler value) {
-    inboundAttachments.put(key, value);
+    writableInboundAttachments().put(key, value);
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addOutboundAttachment(String key, DataHandler value) {
-    outboundAttachments.put(key, value);
+    writableOutboundAttachments().put(key, value);
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder removeInboundAttachment(String key) {
-    inboundAttachments.remove(key);
+    if (inboundAttachments.containsKey(key)) {
+      writableInboundAttachments().remove(key);
+    }
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder removeOutboundAttachment(String key) {
-    outboundAttachments.remove(key);
+    if (outboundAttachments.containsKey(key)) {
+      writableOutboundAttachments().remove(key);
+    }
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder inboundProperties(Map<String, Serializable> inboundProperties) {
     requireNonNull(inboundProperties);
-    this.inboundProperties.clear();
+    this.inboundProperties = emptyMap();
     inboundProperties.forEach(this::addInboundProperty);
     return this;
   }
@@ -322,7 +344,7 @@ public final class DefaultMessageBuilder
   @Override
   public InternalMessage.CollectionBuilder outboundProperties(Map<String, Serializable> outboundProperties) {
     requireNonNull(outboundProperties);
-    this.outboundProperties.clear();
+    this.outboundProperties = emptyMap();
     outboundProperties.forEach(this::addOutboundProperty);
     return this;
   }
@@ -330,29 +352,84 @@ public final class DefaultMessageBuilder
   @Override
   public InternalMessage.CollectionBuilder inboundAttachments(Map<String, DataHandler> inboundAttachments) {
     requireNonNull(inboundAttachments);
-    this.inboundAttachments = new HashMap<>(inboundAttachments);
+    this.inboundAttachments = inboundAttachments.isEmpty() ? emptyMap() : new HashMap<>(inboundAttachments);
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder outboundAttachments(Map<String, DataHandler> outbundAttachments) {
     requireNonNull(outbundAttachments);
-    this.outboundAttachments = new HashMap<>(outbundAttachments);
+    this.outboundAttachments = outbundAttachments.isEmpty() ? emptyMap() : new HashMap<>(outbundAttachments);
     return this;
   }
 
   @Override
   public InternalMessage build() {
+    // The built message and this builder share the maps from now on, so any further change done with this builder must copy them
+    inboundProperties = share(inboundProperties);
+    outboundProperties = share(outboundProperties);
+    inboundAttachments = share(inboundAttachments);
+    outboundAttachments = share(outboundAttachments);
+
     return new MessageImplementation(payload, attributes,
                                      inboundProperties, outboundProperties, inboundAttachments,
                                      outboundAttachments, exceptionPayload);
   }
 
+  private Map<String, TypedValue<Serializable>> writableInboundProperties() {
+    if (!isWritable(inboundProperties)) {
+      Map<String, TypedValue<Serializable>> copy = new CaseInsensitiveMapWrapper<>();
+      copy.putAll(inboundProperties);
+      inboundProperties = copy;
+    }
+    return inboundProperties;
+  }
+
+  private Map<String, TypedValue<Serializable>> writableOutboundProperties() {
+    if (!isWritable(outboundProperties)) {
+      Map<String, TypedValue<Serializable>> copy = new CaseInsensitiveMapWrapper<>();
+      copy.putAll(outboundProperties);
+      outboundProperties = copy;
+    }
+    return outboundProperties;
+  }
+
+  private Map<String, DataHandler> writableInboundAttachments() {
+    if (!isWritable(inboundAttachments)) {
+      inboundAttachments = new HashMap<>(inboundAttachments);
+    }
+    return inboundAttachments;
+  }
+
+  private Map<String, DataHandler> writableOutboundAttachments() {
+    if (!isWritable(outboundAttachments)) {
+      outboundAttachments = new HashMap<>(outboundAttachments);
+    }
+    return outboundAttachments;
+  }
+
+  /**
+   * @return whether the given map was created by this builder, so it can be changed without affecting any built message.
+   */
+  private static boolean isWritable(Map<String, ?> map) {
+    return map instanceof CaseInsensitiveMapWrapper || map instanceof HashMap;
+  }
+
+  /**
+   * @return a read-only view of the given map, to be shared between messages and builders.
+   */
+  private static <V> Map<String, V> share(Map<String, V> map) {
+    if (map.isEmpty()) {
+      return emptyMap();
+    }
+    return isWritable(map) ? unmodifiableMap(map) : map;
+  }
+
   private DataType resolveDataType(Object value) {
     if (payload == null) {
       return DataType.fromObject(value);
     } else {
-      return DataType.builder(payload.getDataType()).fromObject(value).build();
+      return resolveDataType(payload.getDataType(), value);
     }
   }
 
@@ -360,8 +437,17 @@ public final class DefaultMessageBuilder
     if (attributes == null) {
       return DataType.fromObject(value);
     } else {
-      return DataType.builder(attributes.getDataType()).fromObject(value).build();
+      return resolveDataType(attributes.getDataType(), value);
+    }
+  }
+
+  private static DataType resolveDataType(DataType current, Object value) {
+    Class<?> type = value == null ? Object.class : value.getClass();
+    if (type == current.getType() && !(value instanceof DataHandler) && !(value instanceof DataSource)) {
+      // Building the DataType for the new value would just yield the current one, so avoid the builder and the cache lookup
+      return current;
     }
+    return DataType.builder(current).fromObject(value).build();
   }
 
   /**
@@ -395,18 +481,18 @@ public final class DefaultMessageBuilder
     /**
      * Collection of attachments that were attached to the incoming message
      */
-    private transient Map<String, DataHandler> inboundAttachments = new HashMap<>();
+    private transient Map<String, DataHandler> inboundAttachments;
 
     /**
      * Collection of attachments that will be sent out with this message
      */
-    private transient Map<String, DataHandler> outboundAttachments = new HashMap<>();
+    private transient Map<String, DataHandler> outboundAttachments;
 
     private transient TypedValue typedValue;
     private TypedValue typedAttributes;
 
-    private Map<String, TypedValue<Serializable>> inboundMap = new CaseInsensitiveMapWrapper<>();
-    private Map<String, TypedValue<Serializable>> outboundMap = new CaseInsensitiveMapWrapper<>();
+    private Map<String, TypedValue<Serializable>> inboundMap;
+    private Map<String, TypedValue<Serializable>> outboundMap;
 
     private MessageImplementation(TypedValue typedValue, TypedValue typedAttributes,
                                   Map<String, TypedValue<Serializable>> inboundProperties,
@@ -415,8 +501,9 @@ public final class DefaultMessageBuilder
                                   ExceptionPayload exceptionPayload) {
       this.typedValue = typedValue;
       this.typedAttributes = typedAttributes;
-      this.inboundMap.putAll(inboundProperties);
-      this.outboundMap.putAll(outboundProperties);
+      // These maps are not modified by the builder once the message is built, so no copy is needed
+      this.inboundMap = inboundProperties;
+      this.outboundMap = outboundProperties;
       this.inboundAttachments = inboundAttachments;
       this.outboundAttachments = outboundAttachments;
       this.exceptionPayload = exceptionPayload;
@@ -653,11 +740,11 @@ public final class DefaultMessageBuilder
      */
     public void initAfterDeserialisation(MuleContext context) throws MuleException {
       if (this.inboundAttachments == null) {
-        this.inboundAttachments = new HashMap<>();
+        this.inboundAttachments = emptyMap();
       }
 
       if (this.outboundAttachments == null) {
-        this.outboundAttachments = new HashMap<>();
+        this.outboundAttachments = emptyMap();
       }
     }
 
@@ -27,6 +27,7 @@ import org.mule.runtime.api.interception.InterceptionEvent;
 import org.mule.runtime.api.interception.ProcessorInterceptor;
 import org.mule.runtime.api.interception.ProcessorInterceptorFactory;
 import org.mule.runtime.api.interception.ProcessorParameterValue;
+import org.mule.runtime.api.util.Reference;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -34,6 +35,7 @@ import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.interception.DefaultInterceptionEvent;
+import org.mule.runtime.core.internal.interception.LazyInterceptionParameters;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.processor.LoggerMessageProcessor;
 import org.mule.runtime.core.internal.processor.ParametersResolverProcessor;
@@ -201,15 +203,19 @@ public class ReactiveInterceptorAdapter implements BiFunction<Processor, Reactiv
   private InternalEvent removeResolvedParameters(InternalEvent event) {
     if (internalParametersFrom(event).containsKey(INTERCEPTION_RESOLVED_CONTEXT)) {
       Processor processor = (Processor) internalParametersFrom(event).get(INTERCEPTION_COMPONENT);
+      Object resolvedContext = internalParametersFrom(event).get(INTERCEPTION_RESOLVED_CONTEXT);
 
-      if (processor instanceof ParametersResolverProcessor) {
+      if (resolvedContext instanceof LazyInterceptionParameters) {
+        resolvedContext = ((LazyInterceptionParameters) resolvedContext).close().orElse(null);
+      }
+
+      if (processor instanceof ParametersResolverProcessor && resolvedContext != null) {
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("Disposing resolved parameters for processor {}...",
                        ((Component) processor).getLocation().getLocation());
         }
 
-        ((ParametersResolverProcessor) processor)
-            .disposeResolvedParameters((ExecutionContext) internalParametersFrom(event).get(INTERCEPTION_RESOLVED_CONTEXT));
+        ((ParametersResolverProcessor) processor).disposeResolvedParameters((ExecutionContext) resolvedContext);
       }
     }
 
@@ -225,7 +231,28 @@ public class ReactiveInterceptorAdapter implements BiFunction<Processor, Reactiv
   }
 
   private InternalEvent resolveParameters(InternalEvent event, Processor processor, Map<String, String> parameters) {
-    Map<String, ProcessorParameterValue> resolvedParameters = new HashMap<>();
+    Map<String, Object> interceptionEventParams = new HashMap<>();
+    // Nothing is resolved until the interceptor actually reads the parameters.
+    LazyInterceptionParameters resolvedParameters =
+        new LazyInterceptionParameters((target, resolveExecutionContext) -> doResolveParameters(event, processor, parameters,
+                                                                                               interceptionEventParams, target,
+                                                                                               resolveExecutionContext));
+
+    interceptionEventParams.put(INTERCEPTION_RESOLVED_PARAMS, resolvedParameters);
+    interceptionEventParams.put(INTERCEPTION_COMPONENT, processor);
+    if (processor instanceof ParametersResolverProcessor) {
+      // The processor will use the context resolved for the interceptor, if any, instead of resolving its parameters again.
+      interceptionEventParams.put(INTERCEPTION_RESOLVED_CONTEXT, resolvedParameters);
+    }
+
+    return InternalEvent.builder(event).internalParameters(interceptionEventParams).build();
+  }
+
+  private ExecutionContext doResolveParameters(InternalEvent event, Processor processor, Map<String, String> parameters,
+                                               Map<String, Object> interceptionEventParams,
+                                               Map<String, ProcessorParameterValue> resolvedParameters,
+                                               boolean resolveExecutionContext)
+      throws MuleException {
     for (Map.Entry<String, String> entry : parameters.entrySet()) {
       String providedValue = entry.getValue();
       resolvedParameters.put(entry.getKey(), new DefaultProcessorParameterValue(entry.getKey(), providedValue, () -> {
@@ -246,32 +273,21 @@ public class ReactiveInterceptorAdapter implements BiFunction<Processor, Reactiv
       }));
     }
 
-    InternalEvent.Builder builder = InternalEvent.builder(event);
-
-    if (processor instanceof ParametersResolverProcessor) {
-      try {
-        ((ParametersResolverProcessor<?>) processor).resolveParameters(builder, (params, context) -> {
-          resolvedParameters.putAll(params.entrySet().stream()
-              .collect(toMap(e -> e.getKey(),
-                             e -> new DefaultProcessorParameterValue(e.getKey(), null, () -> e.getValue().get()))));
-          Map<String, Object> interceptionEventParams = new HashMap<>();
-          interceptionEventParams.put(INTERCEPTION_RESOLVED_CONTEXT, context);
-          interceptionEventParams.put(INTERCEPTION_RESOLVED_PARAMS, resolvedParameters);
-          interceptionEventParams.put(INTERCEPTION_COMPONENT, processor);
-
-          builder.internalParameters(interceptionEventParams);
-        });
-      } catch (MuleException e) {
-        throw new InterceptionException(e);
-      }
-    } else {
-      Map<String, Object> interceptionEventParams = new HashMap<>();
-      interceptionEventParams.put(INTERCEPTION_RESOLVED_PARAMS, resolvedParameters);
-      interceptionEventParams.put(INTERCEPTION_COMPONENT, processor);
-      builder.internalParameters(interceptionEventParams);
+    if (!resolveExecutionContext || !(processor instanceof ParametersResolverProcessor)) {
+      return null;
     }
 
-    return builder.build();
+    Reference<ExecutionContext> resolvedContext = new Reference<>();
+    InternalEvent.Builder builder = InternalEvent.builder(event);
+    ((ParametersResolverProcessor<?>) processor).resolveParameters(builder, (params, context) -> {
+      resolvedParameters.putAll(params.entrySet().stream()
+          .collect(toMap(e -> e.getKey(),
+                         e -> new DefaultProcessorParameterValue(e.getKey(), null, () -> e.getValue().get()))));
+      resolvedContext.set(context);
+      // The event of the context has to carry the interception parameters so they are disposed after the processor runs.
+      builder.internalParameters(interceptionEventParams);
+    });
+    return resolvedContext.get();
   }
 
   protected MessagingException createMessagingException(CoreEvent event, Throwable cause, Component processor,
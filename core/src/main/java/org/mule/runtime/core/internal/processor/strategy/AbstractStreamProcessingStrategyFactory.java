@@ -13,8 +13,11 @@ import static java.lang.System.currentTimeMillis;
 import static java.lang.System.getProperty;
 import static java.lang.Thread.currentThread;
 import static java.time.Duration.ofMillis;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy.SinkDispatch.AFFINITY;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy.SinkDispatch.SHARED;
 import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy.WaitStrategy.LITE_BLOCKING;
 import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy.WaitStrategy.valueOf;
 import static reactor.util.concurrent.Queues.SMALL_BUFFER_SIZE;
@@ -37,6 +40,8 @@ import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Supplier;
 
@@ -64,10 +69,13 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
       getInteger(SYSTEM_PROPERTY_PREFIX + "DEFAULT_SUBSCRIBER_COUNT", Integer.max(1, (CORES / 2)));
   protected static final String DEFAULT_WAIT_STRATEGY =
       getProperty(SYSTEM_PROPERTY_PREFIX + "DEFAULT_WAIT_STRATEGY", LITE_BLOCKING.name());
+  protected static final String DEFAULT_SINK_DISPATCH =
+      getProperty(SYSTEM_PROPERTY_PREFIX + "DEFAULT_SINK_DISPATCH", SHARED.name());
   protected static String RING_BUFFER_SCHEDULER_NAME_SUFFIX = ".ring-buffer";
   private int bufferSize = DEFAULT_BUFFER_SIZE;
   private int subscriberCount = DEFAULT_SUBSCRIBER_COUNT;
   private String waitStrategy = DEFAULT_WAIT_STRATEGY;
+  private String sinkDispatch = DEFAULT_SINK_DISPATCH;
 
   /**
    * Configure the size of the ring-buffer size used to buffer and de-multiplexes events from multiple source threads. This value
@@ -103,6 +111,20 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
     this.waitStrategy = waitStrategy;
   }
 
+  /**
+   * Configure how events are dispatched to the ring-buffer subscribers:
+   * <ul>
+   * <li>{@code SHARED}: a single ring-buffer is shared by all subscribers.</li>
+   * <li>{@code AFFINITY}: each subscriber has its own ring-buffer, and each source thread always emits to the same one.</li>
+   * <li>{@code ROUND_ROBIN}: each subscriber has its own ring-buffer, and events are emitted to them in turns.</li>
+   * </ul>
+   *
+   * @param sinkDispatch
+   */
+  public void setSinkDispatch(String sinkDispatch) {
+    this.sinkDispatch = sinkDispatch;
+  }
+
   protected int getBufferSize() {
     return bufferSize;
   }
@@ -115,6 +137,18 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
     return waitStrategy;
   }
 
+  protected String getSinkDispatch() {
+    return sinkDispatch;
+  }
+
+  /**
+   * Applies the configured {@link #setSinkDispatch(String) sink dispatch} to a newly created strategy.
+   */
+  protected <T extends AbstractStreamProcessingStrategy> T withSinkDispatch(T processingStrategy) {
+    processingStrategy.setSinkDispatch(getSinkDispatch());
+    return processingStrategy;
+  }
+
   @Override
   public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
     return AbstractStreamProcessingStrategy.class;
@@ -143,6 +177,7 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
     final protected WaitStrategy waitStrategy;
     final protected int maxConcurrency;
     final private ClassLoader executionClassloader;
+    private SinkDispatch sinkDispatch = SinkDispatch.valueOf(DEFAULT_SINK_DISPATCH);
 
     protected AbstractStreamProcessingStrategy(Supplier<Scheduler> ringBufferSchedulerSupplier, int bufferSize, int subscribers,
                                                String waitStrategy, int maxConcurrency) {
@@ -154,31 +189,71 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
       this.executionClassloader = currentThread().getContextClassLoader();
     }
 
+    void setSinkDispatch(String sinkDispatch) {
+      this.sinkDispatch = SinkDispatch.valueOf(sinkDispatch);
+    }
+
     @Override
     public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
       final long shutdownTimeout = flowConstruct.getMuleContext().getConfiguration().getShutdownTimeout();
-      WorkQueueProcessor<CoreEvent> processor =
-          WorkQueueProcessor.<CoreEvent>builder().executor(ringBufferSchedulerSupplier.get()).bufferSize(bufferSize)
-              .waitStrategy(waitStrategy.getReactorWaitStrategy()).build();
       int subscriberCount = maxConcurrency < subscribers ? maxConcurrency : subscribers;
       CountDownLatch completionLatch = new CountDownLatch(subscriberCount);
-      for (int i = 0; i < subscriberCount; i++) {
-        processor.doOnSubscribe(subscription -> currentThread().setContextClassLoader(executionClassloader)).transform(function)
-            .subscribe(null, e -> completionLatch.countDown(), completionLatch::countDown);
+      if (sinkDispatch == SHARED || subscriberCount == 1) {
+        WorkQueueProcessor<CoreEvent> processor = createRingBuffer(ringBufferSchedulerSupplier.get());
+        for (int i = 0; i < subscriberCount; i++) {
+          subscribe(processor, function, completionLatch);
+        }
+        return new ReactorSink(processor.sink(), () -> awaitAndShutdown(singletonList(processor), completionLatch,
+                                                                        shutdownTimeout),
+                               createOnEventConsumer(), bufferSize);
+      } else {
+        // One ring-buffer per subscriber, so emitting threads don't contend on a single ring-buffer. Each one has its own
+        // executor, since shutting a ring-buffer down also shuts its executor down.
+        List<WorkQueueProcessor<CoreEvent>> processors = new ArrayList<>(subscriberCount);
+        List<Sink> shards = new ArrayList<>(subscriberCount);
+        for (int i = 0; i < subscriberCount; i++) {
+          WorkQueueProcessor<CoreEvent> processor = createRingBuffer(ringBufferSchedulerSupplier.get());
+          subscribe(processor, function, completionLatch);
+          processors.add(processor);
+          // The shards only complete their ring-buffer when disposed, shutdown is done for all of them afterwards.
+          shards.add(new ReactorSink(processor.sink(), () -> {
+          }, event -> {
+          }, bufferSize));
+        }
+        return new ShardedSink(shards, sinkDispatch == AFFINITY, createOnEventConsumer(),
+                               () -> awaitAndShutdown(processors, completionLatch, shutdownTimeout));
       }
-      return new ReactorSink(processor.sink(), () -> {
-        long start = currentTimeMillis();
-        if (!processor.awaitAndShutdown(ofMillis(shutdownTimeout))) {
+    }
+
+    private WorkQueueProcessor<CoreEvent> createRingBuffer(Scheduler ringBufferScheduler) {
+      return WorkQueueProcessor.<CoreEvent>builder().executor(ringBufferScheduler).bufferSize(bufferSize)
+          .waitStrategy(waitStrategy.getReactorWaitStrategy()).build();
+    }
+
+    private void subscribe(WorkQueueProcessor<CoreEvent> processor, ReactiveProcessor function,
+                           CountDownLatch completionLatch) {
+      processor.doOnSubscribe(subscription -> currentThread().setContextClassLoader(executionClassloader)).transform(function)
+          .subscribe(null, e -> completionLatch.countDown(), completionLatch::countDown);
+    }
+
+    private void awaitAndShutdown(List<WorkQueueProcessor<CoreEvent>> processors, CountDownLatch completionLatch,
+                                  long shutdownTimeout) {
+      long start = currentTimeMillis();
+      for (WorkQueueProcessor<CoreEvent> processor : processors) {
+        if (!processor.awaitAndShutdown(ofMillis(max(start - currentTimeMillis() + shutdownTimeout, 0l)))) {
           processor.forceShutdown();
         }
-        try {
-          completionLatch.await(max(start - currentTimeMillis() + shutdownTimeout, 0l), MILLISECONDS);
-        } catch (InterruptedException e) {
-          currentThread().interrupt();
-          throw new MuleRuntimeException(e);
-        }
+      }
+      try {
+        completionLatch.await(max(start - currentTimeMillis() + shutdownTimeout, 0l), MILLISECONDS);
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        throw new MuleRuntimeException(e);
+      }
+    }
 
-      }, createOnEventConsumer(), bufferSize);
+    protected enum SinkDispatch {
+      SHARED, AFFINITY, ROUND_ROBIN
     }
 
     protected enum WaitStrategy {
@@ -59,19 +59,20 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
-    return new ProactorStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
-                                                getBufferSize(),
-                                                getSubscriberCount(),
-                                                getWaitStrategy(),
-                                                getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix),
-                                                () -> muleContext.getSchedulerService()
-                                                    .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                        .withName(schedulersNamePrefix + "." + BLOCKING.name())),
-                                                () -> muleContext.getSchedulerService()
-                                                    .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
-                                                        .withName(schedulersNamePrefix + "." + CPU_INTENSIVE.name())),
-                                                resolveParallelism(),
-                                                getMaxConcurrency());
+    return withSinkDispatch(
+        new ProactorStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                             getBufferSize(),
+                                             getSubscriberCount(),
+                                             getWaitStrategy(),
+                                             getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                             () -> muleContext.getSchedulerService()
+                                                 .ioScheduler(muleContext.getSchedulerBaseConfig()
+                                                     .withName(schedulersNamePrefix + "." + BLOCKING.name())),
+                                             () -> muleContext.getSchedulerService()
+                                                 .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                     .withName(schedulersNamePrefix + "." + CPU_INTENSIVE.name())),
+                                             resolveParallelism(),
+                                             getMaxConcurrency()));
   }
 
   @Override
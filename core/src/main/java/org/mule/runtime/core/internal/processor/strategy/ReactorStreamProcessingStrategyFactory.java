@@ -38,12 +38,13 @@ public class ReactorStreamProcessingStrategyFactory extends AbstractStreamProces
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
-    return new ReactorStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
-                                               getBufferSize(), getSubscriberCount(),
-                                               getWaitStrategy(),
-                                               getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix),
-                                               resolveParallelism(),
-                                               getMaxConcurrency());
+    return withSinkDispatch(
+        new ReactorStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                            getBufferSize(), getSubscriberCount(),
+                                            getWaitStrategy(),
+                                            getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                            resolveParallelism(),
+                                            getMaxConcurrency()));
   }
 
   protected int resolveParallelism() {
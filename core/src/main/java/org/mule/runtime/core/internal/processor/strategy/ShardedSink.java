@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Sink;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * {@link Sink} that spreads the events among several shards, each one of them being a {@link Sink} with its own ring-buffer and
+ * subscriber, instead of having every emitting thread contend on a single ring-buffer.
+ * <p/>
+ * The shard for an event is chosen either from the emitting thread, so each thread always emits to the same shard, or in turns.
+ * If the chosen shard is full when {@link #emit(CoreEvent) emitting}, the other shards are tried before rejecting the event.
+ *
+ * @since 4.2
+ */
+class ShardedSink implements Sink, Disposable {
+
+  private final Sink[] shards;
+  private final boolean threadAffinity;
+  private final Consumer<CoreEvent> onEventConsumer;
+  private final Runnable onDispose;
+  private final AtomicInteger nextShard = new AtomicInteger();
+
+  /**
+   * Creates a new instance
+   *
+   * @param shards the sinks to dispatch the events to
+   * @param threadAffinity whether events should be dispatched to a shard based on the emitting thread, or in turns
+   * @param onEventConsumer consumer for each event before it is dispatched to a shard
+   * @param onDispose what to do after every shard has been disposed
+   */
+  ShardedSink(List<Sink> shards, boolean threadAffinity, Consumer<CoreEvent> onEventConsumer, Runnable onDispose) {
+    this.shards = shards.toArray(new Sink[shards.size()]);
+    this.threadAffinity = threadAffinity;
+    this.onEventConsumer = onEventConsumer;
+    this.onDispose = onDispose;
+  }
+
+  @Override
+  public void accept(CoreEvent event) {
+    onEventConsumer.accept(event);
+    shards[nextShardIndex()].accept(event);
+  }
+
+  @Override
+  public boolean emit(CoreEvent event) {
+    onEventConsumer.accept(event);
+    int shardIndex = nextShardIndex();
+    for (int i = 0; i < shards.length; ++i) {
+      if (shards[(shardIndex + i) % shards.length].emit(event)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int nextShardIndex() {
+    if (shards.length == 1) {
+      return 0;
+    } else if (threadAffinity) {
+      return (int) (currentThread().getId() % shards.length);
+    } else {
+      return (nextShard.getAndIncrement() & Integer.MAX_VALUE) % shards.length;
+    }
+  }
+
+  @Override
+  public void dispose() {
+    try {
+      for (Sink shard : shards) {
+        if (shard instanceof Disposable) {
+          ((Disposable) shard).dispose();
+        }
+      }
+    } finally {
+      onDispose.run();
+    }
+  }
+}
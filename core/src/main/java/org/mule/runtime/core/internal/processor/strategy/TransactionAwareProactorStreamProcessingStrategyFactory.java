@@ -37,22 +37,23 @@ public class TransactionAwareProactorStreamProcessingStrategyFactory extends Rea
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
-    return new TransactionAwareProactorStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
-                                                                getBufferSize(),
-                                                                getSubscriberCount(),
-                                                                getWaitStrategy(), () -> muleContext.getSchedulerService()
-                                                                    .cpuLightScheduler(muleContext.getSchedulerBaseConfig()
-                                                                        .withName(schedulersNamePrefix + "."
-                                                                            + CPU_LITE.name())),
-                                                                () -> muleContext.getSchedulerService()
-                                                                    .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                                        .withName(schedulersNamePrefix + "."
-                                                                            + BLOCKING.name())),
-                                                                () -> muleContext.getSchedulerService()
-                                                                    .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
-                                                                        .withName(schedulersNamePrefix + "."
-                                                                            + CPU_INTENSIVE.name())),
-                                                                getMaxConcurrency());
+    return withSinkDispatch(
+        new TransactionAwareProactorStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                                             getBufferSize(),
+                                                             getSubscriberCount(),
+                                                             getWaitStrategy(), () -> muleContext.getSchedulerService()
+                                                                 .cpuLightScheduler(muleContext.getSchedulerBaseConfig()
+                                                                     .withName(schedulersNamePrefix + "."
+                                                                         + CPU_LITE.name())),
+                                                             () -> muleContext.getSchedulerService()
+                                                                 .ioScheduler(muleContext.getSchedulerBaseConfig()
+                                                                     .withName(schedulersNamePrefix + "."
+                                                                         + BLOCKING.name())),
+                                                             () -> muleContext.getSchedulerService()
+                                                                 .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                                     .withName(schedulersNamePrefix + "."
+                                                                         + CPU_INTENSIVE.name())),
+                                                             getMaxConcurrency()));
   }
 
   @Override
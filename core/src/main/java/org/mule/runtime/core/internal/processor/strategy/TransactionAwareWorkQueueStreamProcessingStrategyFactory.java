@@ -36,17 +36,18 @@ public class TransactionAwareWorkQueueStreamProcessingStrategyFactory extends Wo
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
-    return new TransactionAwareWorkQueueStreamProcessingStrategy(() -> muleContext.getSchedulerService()
-        .customScheduler(muleContext.getSchedulerBaseConfig()
-            .withName(schedulersNamePrefix + RING_BUFFER_SCHEDULER_NAME_SUFFIX)
-            .withMaxConcurrentTasks(getSubscriberCount() + 1).withWaitAllowed(true)),
-                                                                 getBufferSize(),
-                                                                 getSubscriberCount(),
-                                                                 getWaitStrategy(),
-                                                                 () -> muleContext.getSchedulerService()
-                                                                     .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                                         .withName(schedulersNamePrefix + "." + BLOCKING.name())),
-                                                                 getMaxConcurrency());
+    return withSinkDispatch(
+        new TransactionAwareWorkQueueStreamProcessingStrategy(() -> muleContext.getSchedulerService()
+            .customScheduler(muleContext.getSchedulerBaseConfig()
+                .withName(schedulersNamePrefix + RING_BUFFER_SCHEDULER_NAME_SUFFIX)
+                .withMaxConcurrentTasks(getSubscriberCount() + 1).withWaitAllowed(true)),
+                                                              getBufferSize(),
+                                                              getSubscriberCount(),
+                                                              getWaitStrategy(),
+                                                              () -> muleContext.getSchedulerService()
+                                                                  .ioScheduler(muleContext.getSchedulerBaseConfig()
+                                                                      .withName(schedulersNamePrefix + "." + BLOCKING.name())),
+                                                              getMaxConcurrency()));
   }
 
   @Override
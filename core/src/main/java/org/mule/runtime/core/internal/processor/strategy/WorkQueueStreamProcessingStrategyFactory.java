@@ -42,14 +42,15 @@ public class WorkQueueStreamProcessingStrategyFactory extends AbstractStreamProc
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
-    return new WorkQueueStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
-                                                 getBufferSize(),
-                                                 getSubscriberCount(),
-                                                 getWaitStrategy(),
-                                                 () -> muleContext.getSchedulerService()
-                                                     .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                         .withName(schedulersNamePrefix + "." + BLOCKING.name())),
-                                                 getMaxConcurrency());
+    return withSinkDispatch(
+        new WorkQueueStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                              getBufferSize(),
+                                              getSubscriberCount(),
+                                              getWaitStrategy(),
+                                              () -> muleContext.getSchedulerService()
+                                                  .ioScheduler(muleContext.getSchedulerBaseConfig()
+                                                      .withName(schedulersNamePrefix + "." + BLOCKING.name())),
+                                              getMaxConcurrency()));
   }
 
   @Override
@@ -22,6 +22,7 @@ import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.internal.transformer.DataTypePair;
 import org.mule.runtime.core.internal.transformer.ResolverException;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 
@@ -59,10 +60,8 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
   /**
    * We cache transformer searches so that we only search once
    */
-  protected ConcurrentHashMap/* <String, Transformer> */ exactTransformerCache =
-      new ConcurrentHashMap/* <String, Transformer> */(8);
-  protected ConcurrentHashMap/* Map<String, List<Transformer>> */ transformerListCache =
-      new ConcurrentHashMap/* <String, List<Transformer>> */(8);
+  protected ConcurrentHashMap<DataTypePair, Transformer> exactTransformerCache = new ConcurrentHashMap<>(8);
+  protected ConcurrentHashMap<DataTypePair, List<Transformer>> transformerListCache = new ConcurrentHashMap<>(8);
 
   private MuleContext muleContext;
 
@@ -142,8 +141,8 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     //the provided, it will be found.
     result = builder(result).mediaType(ANY).charset((Charset) null).build();
 
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-    Transformer cachedTransformer = (Transformer) exactTransformerCache.get(dataTypePairHash);
+    final DataTypePair dataTypePair = new DataTypePair(source, result);
+    Transformer cachedTransformer = exactTransformerCache.get(dataTypePair);
     if (cachedTransformer != null) {
       return cachedTransformer;
     }
@@ -151,7 +150,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     Transformer trans = resolveTransformer(source, result);
 
     if (trans != null) {
-      Transformer concurrentlyAddedTransformer = (Transformer) exactTransformerCache.putIfAbsent(dataTypePairHash, trans);
+      Transformer concurrentlyAddedTransformer = exactTransformerCache.putIfAbsent(dataTypePair, trans);
       if (concurrentlyAddedTransformer != null) {
         return concurrentlyAddedTransformer;
       } else {
@@ -195,9 +194,9 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     //the provided, it will be found.
     result = builder(result).mediaType(ANY).charset((Charset) null).build();
 
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
+    final DataTypePair dataTypePair = new DataTypePair(source, result);
 
-    List<Transformer> results = (List<Transformer>) transformerListCache.get(dataTypePairHash);
+    List<Transformer> results = transformerListCache.get(dataTypePair);
     if (results != null) {
       return results;
     }
@@ -222,7 +221,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     }
 
     List<Transformer> concurrentlyAddedTransformers =
-        (List<Transformer>) transformerListCache.putIfAbsent(dataTypePairHash, results);
+        transformerListCache.putIfAbsent(dataTypePair, results);
     if (concurrentlyAddedTransformers != null) {
       return concurrentlyAddedTransformers;
     } else {
@@ -533,10 +532,6 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     return false;
   }
 
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    return source.getClass().getName() + source.hashCode() + ":" + result.getClass().getName() + result.hashCode();
-  }
-
   private class TransformerResolverComparator implements Comparator<TransformerResolver> {
 
     @Override
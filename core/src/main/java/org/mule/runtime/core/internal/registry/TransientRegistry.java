@@ -26,8 +26,6 @@ import org.mule.runtime.core.privileged.registry.PreInitProcessor;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 import org.mule.runtime.core.privileged.transport.LegacyConnector;
 
-import org.apache.commons.collections.functors.InstanceofPredicate;
-
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -117,23 +115,8 @@ public class TransientRegistry extends AbstractRegistry {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <T> Map<String, T> lookupByType(Class<T> type) {
-    final Map<String, T> results = new HashMap<>();
-    try {
-      registryMap.lockForReading();
-
-      for (Map.Entry<String, Object> entry : registryMap.entrySet()) {
-        final Class<?> clazz = entry.getValue().getClass();
-        if (type.isAssignableFrom(clazz)) {
-          results.put(entry.getKey(), (T) entry.getValue());
-        }
-      }
-    } finally {
-      registryMap.unlockForReading();
-    }
-
-    return results;
+    return registryMap.selectByType(type);
   }
 
   @Override
@@ -147,9 +130,8 @@ public class TransientRegistry extends AbstractRegistry {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <T> Collection<T> lookupObjects(Class<T> returntype) {
-    return (Collection<T>) registryMap.select(new InstanceofPredicate(returntype));
+    return registryMap.selectValuesByType(returntype);
   }
 
   @Override
@@ -19,6 +19,7 @@ import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
+import org.mule.runtime.core.internal.transformer.DataTypePair;
 import org.mule.runtime.core.internal.transformer.ResolverException;
 import org.mule.runtime.core.internal.transformer.graph.GraphTransformerResolver;
 import org.mule.runtime.core.internal.transformer.simple.ObjectToByteArray;
@@ -53,7 +54,7 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
 
   private MuleContext muleContext;
 
-  protected Map<String, Transformer> exactTransformerCache = new ConcurrentHashMap/* <String, Transformer> */(8);
+  protected Map<DataTypePair, Transformer> exactTransformerCache = new ConcurrentHashMap<>(8);
 
   protected TransformerResolver graphTransformerResolver = new GraphTransformerResolver();
 
@@ -78,7 +79,8 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
   }
 
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    Transformer transformer = exactTransformerCache.get(source.toString() + result.toString());
+    DataTypePair cacheKey = new DataTypePair(source, result);
+    Transformer transformer = exactTransformerCache.get(cacheKey);
     if (transformer != null) {
       return transformer;
     }
@@ -122,7 +124,7 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
     }
 
     if (transformer != null) {
-      exactTransformerCache.put(source.toString() + result.toString(), transformer);
+      exactTransformerCache.put(cacheKey, transformer);
     }
     return transformer;
   }
@@ -9,9 +9,11 @@ package org.mule.runtime.core.internal.registry.map;
 
 import org.mule.runtime.api.lifecycle.Disposable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
@@ -25,10 +27,34 @@ import org.slf4j.Logger;
 /**
  * This class encapsulates the {@link HashMap} that's used for storing the objects in the transient registry and also shields
  * client code from having to deal with locking the {@link ReadWriteLock} for the exposed Map operations.
+ * <p/>
+ * Objects are also indexed by every class and interface they are an instance of, so that lookups by type only go through
+ * the matching objects.
  */
 public class RegistryMap {
 
+  private static final ClassValue<Set<Class<?>>> ASSIGNABLE_TYPES = new ClassValue<Set<Class<?>>>() {
+
+    @Override
+    protected Set<Class<?>> computeValue(Class<?> type) {
+      Set<Class<?>> types = new LinkedHashSet<>();
+      collectAssignableTypes(type, types);
+      return types;
+    }
+
+    private void collectAssignableTypes(Class<?> type, Set<Class<?>> types) {
+      if (type == null || !types.add(type)) {
+        return;
+      }
+      collectAssignableTypes(type.getSuperclass(), types);
+      for (Class<?> implementedInterface : type.getInterfaces()) {
+        collectAssignableTypes(implementedInterface, types);
+      }
+    }
+  };
+
   private final Map<String, Object> registry = new HashMap<>();
+  private final Map<Class<?>, Map<String, Object>> registryByType = new HashMap<>();
   private final ReadWriteLock registryLock = new ReentrantReadWriteLock();
   private final Set<Object> lostObjects = new TreeSet<>(new Comparator<Object>() {
 
@@ -59,11 +85,78 @@ public class RegistryMap {
     }
   }
 
+  /**
+   * @param type the type of the objects to look for
+   * @return the objects that are an instance of the given {@code type}, by key
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Map<String, T> selectByType(Class<T> type) {
+    Lock readLock = registryLock.readLock();
+    try {
+      readLock.lock();
+      if (type.isArray()) {
+        // Array covariance is not captured by the index
+        Map<String, T> results = new HashMap<>();
+        for (Map.Entry<String, Object> entry : registry.entrySet()) {
+          if (type.isInstance(entry.getValue())) {
+            results.put(entry.getKey(), (T) entry.getValue());
+          }
+        }
+        return results;
+      }
+      Map<String, Object> objects = registryByType.get(type);
+      return objects == null ? new HashMap<>() : new HashMap<>((Map<String, T>) objects);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * @param type the type of the objects to look for
+   * @return the objects that are an instance of the given {@code type}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Collection<T> selectValuesByType(Class<T> type) {
+    Lock readLock = registryLock.readLock();
+    try {
+      readLock.lock();
+      if (type.isArray()) {
+        return selectByType(type).values();
+      }
+      Map<String, Object> objects = registryByType.get(type);
+      return objects == null ? new ArrayList<>() : new ArrayList<>((Collection<T>) objects.values());
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private void index(String key, Object object) {
+    if (object == null) {
+      return;
+    }
+    for (Class<?> type : ASSIGNABLE_TYPES.get(object.getClass())) {
+      registryByType.computeIfAbsent(type, t -> new HashMap<>()).put(key, object);
+    }
+  }
+
+  private void unindex(String key, Object object) {
+    if (object == null) {
+      return;
+    }
+    for (Class<?> type : ASSIGNABLE_TYPES.get(object.getClass())) {
+      Map<String, Object> objects = registryByType.get(type);
+      if (objects != null && objects.remove(key) != null && objects.isEmpty()) {
+        registryByType.remove(type);
+      }
+    }
+  }
+
   public void clear() {
     Lock writeLock = registryLock.writeLock();
     try {
       writeLock.lock();
       registry.clear();
+      registryByType.clear();
       lostObjects.clear();
     } finally {
       writeLock.unlock();
@@ -76,6 +169,8 @@ public class RegistryMap {
       writeLock.lock();
 
       final Object previousObject = registry.put(key, object);
+      unindex(key, previousObject);
+      index(key, object);
       if (previousObject != null && previousObject != object) {
         if (previousObject instanceof Disposable) {
           lostObjects.add(previousObject);
@@ -96,7 +191,10 @@ public class RegistryMap {
     Lock writeLock = registryLock.writeLock();
     try {
       writeLock.lock();
-      registry.putAll(map);
+      for (Map.Entry<String, Object> entry : map.entrySet()) {
+        unindex(entry.getKey(), registry.put(entry.getKey(), entry.getValue()));
+        index(entry.getKey(), entry.getValue());
+      }
     } finally {
       writeLock.unlock();
     }
@@ -117,7 +215,9 @@ public class RegistryMap {
     Lock writeLock = registryLock.writeLock();
     try {
       writeLock.lock();
-      return registry.remove(key);
+      Object removed = registry.remove(key);
+      unindex(key, removed);
+      return removed;
     } finally {
       writeLock.unlock();
     }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry.policies;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker shared by the {@link SimpleRetryPolicy retry policies} created from the same template for the same owner of a
+ * resource, so that when the resource fails only one of its concurrent callers probes it by retrying.
+ * <p/>
+ * While a probe is ongoing, the other callers wait for its outcome without retrying on their own. If the probe is exhausted, the
+ * circuit remains open for the amount of time given by the probing policy, making new callers fail fast instead of retrying.
+ *
+ * @since 4.2
+ */
+public final class RetryCircuitBreaker {
+
+  private final AtomicReference<CompletableFuture<Void>> probe = new AtomicReference<>();
+  private volatile long openUntilNanos;
+
+  public RetryCircuitBreaker() {
+    this.openUntilNanos = nanoTime();
+  }
+
+  /**
+   * @return {@code true} if a probe was recently exhausted and callers are to fail without retrying
+   */
+  boolean isOpen() {
+    return nanoTime() - openUntilNanos < 0;
+  }
+
+  /**
+   * @return {@code true} if the caller becomes the one probing the resource, in which case it must then call either
+   *         {@link #probeSucceeded()} or {@link #probeFailed()}.
+   */
+  boolean tryStartProbe() {
+    return probe.compareAndSet(null, new CompletableFuture<>());
+  }
+
+  /**
+   * @return the future completed when the ongoing probe ends, or {@code null} if there is no ongoing probe
+   */
+  CompletableFuture<Void> currentProbe() {
+    return probe.get();
+  }
+
+  /**
+   * Ends the ongoing probe, letting the callers waiting for it retry.
+   */
+  void probeSucceeded() {
+    CompletableFuture<Void> ended = probe.getAndSet(null);
+    if (ended != null) {
+      ended.complete(null);
+    }
+  }
+
+  /**
+   * Ends the ongoing probe, opening the circuit and making the callers waiting for it fail.
+   *
+   * @param openMillis for how long, in milliseconds, new callers fail fast
+   */
+  void probeFailed(long openMillis) {
+    openUntilNanos = nanoTime() + MILLISECONDS.toNanos(openMillis);
+    CompletableFuture<Void> ended = probe.getAndSet(null);
+    if (ended != null) {
+      ended.completeExceptionally(new IllegalStateException("Retries exhausted by a concurrent caller"));
+    }
+  }
+}
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.retry.policies;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
 import static java.time.Duration.ZERO;
@@ -15,10 +18,13 @@ import static org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate.D
 import static org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate.RETRY_COUNT_FOREVER;
 import static org.mule.runtime.core.api.rx.Exceptions.unwrap;
 import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
+import static org.mule.runtime.core.internal.util.rx.TimerScheduler.timerScheduler;
 import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Mono.defer;
 import static reactor.core.publisher.Mono.delay;
 import static reactor.core.publisher.Mono.error;
 import static reactor.core.publisher.Mono.from;
+import static reactor.core.publisher.Mono.fromFuture;
 import static reactor.core.publisher.Mono.just;
 import static reactor.core.scheduler.Schedulers.fromExecutorService;
 import static reactor.core.scheduler.Schedulers.immediate;
@@ -33,6 +39,8 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -47,6 +55,10 @@ import reactor.retry.RetryExhaustedException;
 
 /**
  * Allows to configure how many times a retry should be attempted and how long to wait between retries.
+ * <p/>
+ * The wait may grow exponentially between attempts, up to a maximum, and be randomized with some jitter so concurrent callers
+ * don't retry in lockstep. Optionally, a {@link RetryCircuitBreaker} shared with other instances makes only one of the callers
+ * retry while the others wait for it, without holding a thread.
  */
 public class SimpleRetryPolicy implements RetryPolicy {
 
@@ -57,10 +69,34 @@ public class SimpleRetryPolicy implements RetryPolicy {
 
   private volatile int count = DEFAULT_RETRY_COUNT;
   private volatile Duration frequency = ofMillis(DEFAULT_FREQUENCY);
+  private final long maxFrequency;
+  private final double backoffMultiplier;
+  private final double jitter;
+  private final RetryCircuitBreaker circuitBreaker;
 
   public SimpleRetryPolicy(long frequency, int retryCount) {
+    this(frequency, retryCount, frequency, 1, 0, null);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param frequency the time to wait, in milliseconds, before the first retry
+   * @param retryCount how many retries to attempt, or {@code RETRY_COUNT_FOREVER}
+   * @param maxFrequency the maximum time to wait, in milliseconds, between retries, or a non-positive value for no maximum
+   * @param backoffMultiplier by how much the time to wait is multiplied after each retry
+   * @param jitter the fraction, between {@code 0} and {@code 1}, by which the time to wait is randomly increased or decreased
+   * @param circuitBreaker the {@link RetryCircuitBreaker} shared with the policies for the same resource, or {@code null}
+   * @since 4.2
+   */
+  public SimpleRetryPolicy(long frequency, int retryCount, long maxFrequency, double backoffMultiplier, double jitter,
+                           RetryCircuitBreaker circuitBreaker) {
     this.frequency = ofMillis(frequency);
     this.count = retryCount;
+    this.maxFrequency = maxFrequency;
+    this.backoffMultiplier = backoffMultiplier;
+    this.jitter = jitter;
+    this.circuitBreaker = circuitBreaker;
     this.retryCounter = new RetryCounter();
   }
 
@@ -71,46 +107,97 @@ public class SimpleRetryPolicy implements RetryPolicy {
                                       Function<Throwable, Throwable> errorFunction,
                                       Scheduler retryScheduler) {
     return from(publisher).onErrorResume(e -> {
-      if (shouldRetry.test(e)) {
-        Retry<T> retry = (Retry<T>) onlyIf(ctx -> shouldRetry.test(unwrap(ctx.exception())))
-            .backoff(ctx -> new BackoffDelay(frequency, ZERO, ZERO));
-
-        if (count != RETRY_COUNT_FOREVER) {
-          retry = retry.retryMax(count - 1);
-        }
-
-        reactor.core.scheduler.Scheduler reactorRetryScheduler =
-            fromExecutorService(new ConditionalExecutorServiceDecorator(retryScheduler, s -> isTransactionActive()));
-
-        Mono<T> retryMono = from(publisher)
-            .retryWhen(retry.withBackoffScheduler(reactorRetryScheduler))
-            .doOnError(e2 -> onExhausted.accept(unwrap(e2)))
-            .onErrorMap(RetryExhaustedException.class, e2 -> errorFunction.apply(unwrap(e2.getCause())));
-        return delay(frequency, reactorRetryScheduler).then(isTransactionActive() ? just(retryMono.block()) : retryMono);
-
-      } else {
-        e = unwrap(e);
-        onExhausted.accept(e);
-        return error(errorFunction.apply(e));
+      if (!shouldRetry.test(e)) {
+        return exhausted(e, onExhausted, errorFunction);
+      } else if (circuitBreaker == null || isTransactionActive()) {
+        return retry(publisher, shouldRetry, onExhausted, errorFunction, retryScheduler);
+      } else if (circuitBreaker.isOpen()) {
+        return exhausted(e, onExhausted, errorFunction);
+      } else if (circuitBreaker.tryStartProbe()) {
+        return retry(publisher, shouldRetry, onExhausted, errorFunction, retryScheduler)
+            .doOnSuccess(v -> circuitBreaker.probeSucceeded())
+            .doOnError(e2 -> circuitBreaker.probeFailed(frequency.toMillis()))
+            // Let the waiting callers retry by themselves
+            .doOnCancel(() -> circuitBreaker.probeSucceeded());
       }
+
+      CompletableFuture<Void> probe = circuitBreaker.currentProbe();
+      if (probe == null) {
+        // The probe ended meanwhile, so try again as if it had just succeeded
+        return from(applyPolicy(publisher, shouldRetry, onExhausted, errorFunction, retryScheduler));
+      }
+      return fromFuture(probe)
+          .onErrorResume(probeError -> exhausted(e, onExhausted, errorFunction))
+          .then(defer(() -> from(applyPolicy(publisher, shouldRetry, onExhausted, errorFunction, retryScheduler))));
     });
   }
 
+  private <T> Mono<T> retry(Publisher<T> publisher,
+                            Predicate<Throwable> shouldRetry,
+                            Consumer<Throwable> onExhausted,
+                            Function<Throwable, Throwable> errorFunction,
+                            Scheduler retryScheduler) {
+    Retry<T> retry = (Retry<T>) onlyIf(ctx -> shouldRetry.test(unwrap(ctx.exception())))
+        // The first retry is delayed before subscribing, so the backoff of reactor's first iteration is for the second retry
+        .backoff(ctx -> new BackoffDelay(ofMillis(delayFor((int) ctx.iteration() + 1)), ZERO, ZERO));
+
+    if (count != RETRY_COUNT_FOREVER) {
+      retry = retry.retryMax(count - 1);
+    }
+
+    // Outside of a transaction the delays are waited for in the shared timer, so pending retries don't hold scheduled tasks
+    reactor.core.scheduler.Scheduler reactorRetryScheduler = isTransactionActive()
+        ? fromExecutorService(new ConditionalExecutorServiceDecorator(retryScheduler, s -> isTransactionActive()))
+        : timerScheduler(retryScheduler);
+
+    Mono<T> retryMono = from(publisher)
+        .retryWhen(retry.withBackoffScheduler(reactorRetryScheduler))
+        .doOnError(e2 -> onExhausted.accept(unwrap(e2)))
+        .onErrorMap(RetryExhaustedException.class, e2 -> errorFunction.apply(unwrap(e2.getCause())));
+    return delay(ofMillis(delayFor(1)), reactorRetryScheduler)
+        .then(isTransactionActive() ? just(retryMono.block()) : retryMono);
+  }
+
+  private <T> Mono<T> exhausted(Throwable e, Consumer<Throwable> onExhausted, Function<Throwable, Throwable> errorFunction) {
+    e = unwrap(e);
+    onExhausted.accept(e);
+    return error(errorFunction.apply(e));
+  }
+
+  /**
+   * @param attempt the number of the retry, starting at {@code 1}
+   * @return how long to wait, in milliseconds, before the given retry
+   */
+  long delayFor(int attempt) {
+    double delay = frequency.toMillis();
+    if (backoffMultiplier != 1) {
+      delay *= pow(backoffMultiplier, attempt - 1);
+      if (maxFrequency > 0) {
+        delay = min(delay, maxFrequency);
+      }
+    }
+    if (jitter > 0) {
+      delay += delay * jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+    }
+    return max(0, (long) delay);
+  }
+
   @Override
   public PolicyStatus applyPolicy(Throwable cause) {
     if (isExhausted() || !isApplicableTo(cause)) {
       return PolicyStatus.policyExhausted(cause);
     } else {
+      long delay = delayFor(retryCounter.current().get() + 1);
       if (LOGGER.isInfoEnabled()) {
         LOGGER.info(
-                    "Waiting for " + frequency.toMillis() + "ms before reconnecting. Failed attempt "
+                    "Waiting for " + delay + "ms before reconnecting. Failed attempt "
                         + (retryCounter.current().get() + 1)
                         + " of " + (count != RETRY_COUNT_FOREVER ? String.valueOf(count) : "unlimited"));
       }
 
       try {
         retryCounter.current().getAndIncrement();
-        Thread.sleep(frequency.toMillis());
+        Thread.sleep(delay);
         return PolicyStatus.policyOk();
       } catch (InterruptedException e) {
         // If we get an interrupt exception, some one is telling us to stop
@@ -64,8 +64,17 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
   }
 
   public EventGroup(Object groupId, MuleContext muleContext, Optional<Integer> expectedSize, String storePrefix) {
+    this(groupId, muleContext, expectedSize, storePrefix, System.currentTimeMillis(), 0);
+  }
+
+  /**
+   * Restores a group from its serialized state.
+   */
+  EventGroup(Object groupId, MuleContext muleContext, Optional<Integer> expectedSize, String storePrefix, long created,
+             int arrivalOrderCounter) {
     super();
-    this.created = System.currentTimeMillis();
+    this.created = created;
+    this.arrivalOrderCounter = arrivalOrderCounter;
     this.muleContext = muleContext;
 
     this.storePrefix = storePrefix;
@@ -239,6 +248,16 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
     return created;
   }
 
+  String getStorePrefix() {
+    return storePrefix;
+  }
+
+  int getArrivalOrderCounter() {
+    synchronized (this) {
+      return arrivalOrderCounter;
+    }
+  }
+
   /**
    * Returns the number of events collected so far.
    *
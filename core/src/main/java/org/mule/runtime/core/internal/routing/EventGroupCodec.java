@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Optional.ofNullable;
+
+import org.mule.runtime.core.internal.serialization.compact.CompactObjectInput;
+import org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput;
+import org.mule.runtime.core.internal.serialization.compact.CompactTypeCodec;
+
+import java.io.IOException;
+
+/**
+ * {@link CompactTypeCodec} for {@link EventGroup}s. The events of the group live in their own object store partition, so only
+ * the group state is written.
+ *
+ * @since 4.2
+ */
+public class EventGroupCodec implements CompactTypeCodec<EventGroup> {
+
+  @Override
+  public Class<EventGroup> getType() {
+    return EventGroup.class;
+  }
+
+  @Override
+  public void write(EventGroup value, CompactObjectOutput output) throws IOException {
+    output.writeObject(value.getGroupId());
+    output.writeString(value.getStorePrefix());
+    output.writeVarLong(value.getCreated());
+    output.writeObject(value.expectedSize().orElse(null));
+    output.writeVarInt(value.getArrivalOrderCounter());
+  }
+
+  @Override
+  public EventGroup read(CompactObjectInput input) throws IOException {
+    Object groupId = input.readObject();
+    String storePrefix = input.readString();
+    long created = input.readVarLong();
+    Integer expectedSize = (Integer) input.readObject();
+    int arrivalOrderCounter = input.readVarInt();
+    return new EventGroup(groupId, input.getMuleContext(), ofNullable(expectedSize), storePrefix, created,
+                          arrivalOrderCounter);
+  }
+}
@@ -20,6 +20,8 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.util.store.BloomFilterObjectStore.DEFAULT_FALSE_POSITIVE_RATE;
+import static org.mule.runtime.core.internal.util.store.BloomFilterObjectStore.DEFAULT_MAX_MEMORY;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.component.AbstractComponent;
@@ -38,6 +40,7 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.util.store.BloomFilterObjectStore;
 
 import org.slf4j.Logger;
 
@@ -55,6 +58,8 @@ public class IdempotentMessageValidator extends AbstractComponent
 
   private static final Logger LOGGER = getLogger(IdempotentMessageValidator.class);
 
+  private static final long MESSAGE_ID_STORE_TTL = MINUTES.toMillis(5);
+
   protected MuleContext muleContext;
 
   protected volatile ObjectStore<String> store;
@@ -64,6 +69,10 @@ public class IdempotentMessageValidator extends AbstractComponent
   protected String idExpression = format("%s%s%s", DEFAULT_EXPRESSION_PREFIX, CORRELATION_ID, DEFAULT_EXPRESSION_POSTFIX);
   protected String valueExpression = format("%s%s%s", DEFAULT_EXPRESSION_PREFIX, CORRELATION_ID, DEFAULT_EXPRESSION_POSTFIX);
 
+  protected boolean bloomFilter = false;
+  protected double bloomFilterFalsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+  protected long bloomFilterMaxMemory = DEFAULT_MAX_MEMORY;
+
   @Override
   public void setMuleContext(MuleContext context) {
     this.muleContext = context;
@@ -85,14 +94,23 @@ public class IdempotentMessageValidator extends AbstractComponent
       throw new InitialisationException(createStaticMessage("Ambiguous definition of object store, both reference and private were configured"),
                                         this);
     }
+    boolean storeCreated = false;
     if (store == null) {
       if (privateStore == null) { // If no object store was defined, create one
         this.store = createMessageIdStore();
+        storeCreated = true;
       } else { // If object store was defined privately
         this.store = privateStore;
       }
     }
     initialiseIfNeeded(store, true, muleContext);
+
+    if (bloomFilter) {
+      // The entry TTL of a configured store is unknown, so its keys are kept in the filter. That only causes false positives,
+      // which are checked against the store.
+      this.store = new BloomFilterObjectStore<>(store, bloomFilterFalsePositiveRate, bloomFilterMaxMemory,
+                                                storeCreated ? MESSAGE_ID_STORE_TTL : 0);
+    }
   }
 
   @Override
@@ -114,7 +132,7 @@ public class IdempotentMessageValidator extends AbstractComponent
     ObjectStoreManager objectStoreManager = ((MuleContextWithRegistries) muleContext).getRegistry().get(OBJECT_STORE_MANAGER);
     return objectStoreManager.createObjectStore(storePrefix, ObjectStoreSettings.builder()
         .persistent(false)
-        .entryTtl(MINUTES.toMillis(5))
+        .entryTtl(MESSAGE_ID_STORE_TTL)
         .expirationInterval(SECONDS.toMillis(6))
         .build());
   }
@@ -210,4 +228,27 @@ public class IdempotentMessageValidator extends AbstractComponent
   public void setPrivateObjectStore(ObjectStore<String> privateStore) {
     this.privateStore = privateStore;
   }
+
+  /**
+   * @param bloomFilter whether to keep a Bloom filter of the stored ids, so that checking a new id doesn't hit the object store.
+   *        Storing the ids is still done on every accepted message.
+   */
+  public void setBloomFilter(boolean bloomFilter) {
+    this.bloomFilter = bloomFilter;
+  }
+
+  /**
+   * @param bloomFilterFalsePositiveRate the probability of a new id having to be checked against the object store
+   */
+  public void setBloomFilterFalsePositiveRate(double bloomFilterFalsePositiveRate) {
+    this.bloomFilterFalsePositiveRate = bloomFilterFalsePositiveRate;
+  }
+
+  /**
+   * @param bloomFilterMaxMemory the maximum memory, in bytes, for the Bloom filter. Once reached, every id is checked against the
+   *        object store.
+   */
+  public void setBloomFilterMaxMemory(long bloomFilterMaxMemory) {
+    this.bloomFilterMaxMemory = bloomFilterMaxMemory;
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.internal.util.rx.TimerScheduler.timerScheduler;
+import static reactor.core.Exceptions.propagate;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Mono.just;
+
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Emits a result event as soon as the {@link #getRequiredSuccesses(int) required number} of routes complete successfully,
+ * cancelling the routes that are still running.
+ * <li>Merges the variables of the successful routes using a last-wins strategy.
+ * <li>Collects the results of the successful routes into a result {@link CoreEvent} with a {@link java.util.Map<String,
+ * org.mule.runtime.api.message.Message>} payload where the {@link java.util.Map} key is a string representation of the sequence
+ * number of the {@link ForkJoinStrategy.RoutingPair}.
+ * <li>Tolerates failed routes, regardless of {@code delayErrors}, until there aren't enough remaining routes to reach the required
+ * number of successes, in which case a composite exception is propagated.
+ * </ul>
+ *
+ * @since 4.2
+ */
+public abstract class AbstractEarlyCompletionForkJoinStrategyFactory extends CollectMapForkJoinStrategyFactory {
+
+  @Override
+  public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
+                                                 long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType) {
+    reactor.core.scheduler.Scheduler reactorTimeoutScheduler = timerScheduler(timeoutScheduler);
+    return (original, routingPairs) -> {
+      final AtomicInteger count = new AtomicInteger();
+      final CoreEvent.Builder resultBuilder = builder(original);
+      return from(routingPairs)
+          .map(addSequence(count))
+          .collectList()
+          .flatMap(pairs -> {
+            final int required = getRequiredSuccesses(pairs.size());
+            if (required == 0) {
+              // There is nothing to wait for, for instance when there are no routes
+              return just(createResultEvent(original, resultBuilder).apply(emptyList()));
+            }
+            final AtomicInteger successes = new AtomicInteger();
+            final AtomicInteger failures = new AtomicInteger();
+
+            return fromIterable(pairs)
+                // Errors are always delayed, since other routes may still succeed
+                .flatMap(processRoutePair(processingStrategy, maxConcurrency, true, timeout, reactorTimeoutScheduler,
+                                          timeoutErrorType),
+                         maxConcurrency)
+                // Once the outcome is known, the routes still running are cancelled
+                .takeUntil(event -> event.getError().isPresent()
+                    ? failures.incrementAndGet() > pairs.size() - required
+                    : successes.incrementAndGet() >= required)
+                .collectList()
+                .doOnNext(list -> {
+                  if (successes.get() < required) {
+                    throw propagate(createCompositeRoutingException(list));
+                  }
+                })
+                .map(list -> list.stream().filter(event -> !event.getError().isPresent()).collect(toList()))
+                .doOnNext(mergeVariables(original, resultBuilder))
+                .map(createResultEvent(original, resultBuilder));
+          });
+    };
+  }
+
+  /**
+   * @param routes the number of routing pairs to process
+   * @return how many of the routes have to complete successfully for the result to be emitted. Zero emits an empty result
+   *         without processing any route.
+   */
+  protected abstract int getRequiredSuccesses(int routes);
+
+}
@@ -12,6 +12,8 @@ import static java.util.Optional.empty;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
 import static org.mule.runtime.core.api.rx.Exceptions.checkedConsumer;
+import static org.mule.runtime.core.internal.util.rx.TimerScheduler.timerScheduler;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChildContext;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processWithChildContext;
 import static reactor.core.Exceptions.propagate;
 import static reactor.core.publisher.Flux.from;
@@ -46,12 +48,12 @@ import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategyFactory;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
 import org.mule.runtime.core.privileged.routing.RoutingResult;
 
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 /**
  * Abstract {@link ForkJoinStrategy} that provides the base behavior for strategies that will
@@ -71,7 +73,7 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   @Override
   public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
                                                  long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType) {
-    reactor.core.scheduler.Scheduler reactorTimeoutScheduler = Schedulers.fromExecutorService(timeoutScheduler);
+    reactor.core.scheduler.Scheduler reactorTimeoutScheduler = timerScheduler(timeoutScheduler);
     return (original, routingPairs) -> {
       final AtomicInteger count = new AtomicInteger();
       final CoreEvent.Builder resultBuilder = builder(original);
@@ -102,25 +104,38 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   protected abstract Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
                                                                             CoreEvent.Builder resultBuilder);
 
-  private Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
+  /**
+   * @param count the counter used to number the routing pairs
+   * @return a function that sets the sequence number of each routing pair in the {@link GroupCorrelation} of its event.
+   */
+  protected Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
     return pair -> of(builder(pair.getEvent()).groupCorrelation(Optional.of(GroupCorrelation.of(count.getAndIncrement())))
         .build(), pair.getRoute());
   }
 
-  private Function<RoutingPair, Publisher<? extends CoreEvent>> processRoutePair(ProcessingStrategy processingStrategy,
-                                                                                 int maxConcurrency,
-                                                                                 boolean delayErrors, long timeout,
-                                                                                 reactor.core.scheduler.Scheduler timeoutScheduler,
-                                                                                 ErrorType timeoutErrorType) {
+  /**
+   * Creates the function that processes each routing pair in a child context of its event, applying the route timeout.
+   * <p/>
+   * When {@code delayErrors} is {@code true}, a failed route results in an event with the corresponding error instead of an
+   * error signal.
+   * <p/>
+   * A route cancelled before it completes, for instance once the outcome of the fork-join is already known, completes its child
+   * context with no result, so that the parent context can still complete.
+   */
+  protected Function<RoutingPair, Publisher<? extends CoreEvent>> processRoutePair(
+      ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors, long timeout,
+      reactor.core.scheduler.Scheduler timeoutScheduler, ErrorType timeoutErrorType) {
 
     return pair -> {
       ReactiveProcessor route = publisher -> from(publisher)
           .transform(pair.getRoute())
           .timeout(ofMillis(timeout), onTimeout(processingStrategy, delayErrors, timeoutErrorType, pair), timeoutScheduler);
+      BaseEventContext childContext = newChildContext(pair.getEvent(), empty());
       return from(processWithChildContext(pair.getEvent(),
-                                          applyProcessingStrategy(processingStrategy, route, maxConcurrency), empty()))
+                                          applyProcessingStrategy(processingStrategy, route, maxConcurrency), childContext))
                                               .onErrorResume(MessagingException.class,
-                                                             me -> delayErrors ? just(me.getEvent()) : error(me));
+                                                             me -> delayErrors ? just(me.getEvent()) : error(me))
+                                              .doOnCancel(childContext::success);
     };
   }
 
@@ -151,7 +166,11 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
         .build();
   }
 
-  private CompositeRoutingException createCompositeRoutingException(List<CoreEvent> results) {
+  /**
+   * @param results the events resulting from the routes, successful or not
+   * @return the exception that describes the failed routes along with the results of the successful ones.
+   */
+  protected CompositeRoutingException createCompositeRoutingException(List<CoreEvent> results) {
     Map<String, Message> successMap = new LinkedHashMap<>();
     Map<String, Error> errorMap = new LinkedHashMap<>();
 
@@ -166,7 +185,12 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     return new CompositeRoutingException(new RoutingResult(successMap, errorMap));
   }
 
-  private Consumer<List<CoreEvent>> mergeVariables(CoreEvent original, CoreEvent.Builder result) {
+  /**
+   * @param original the original event
+   * @param result the builder of the result event
+   * @return a consumer that adds to {@code result} the variables added or modified by the given route results.
+   */
+  protected Consumer<List<CoreEvent>> mergeVariables(CoreEvent original, CoreEvent.Builder result) {
     return list -> {
       Map<String, TypedValue> routeVars = new HashMap<>();
       list.forEach(event -> event.getVariables().forEach((key, value) -> {
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Math.min;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+/**
+ * {@link ForkJoinStrategy} that emits the results of the first {@link #setCount(int) count} routes that complete successfully,
+ * cancelling the remaining ones.
+ *
+ * @see AbstractEarlyCompletionForkJoinStrategyFactory
+ * @since 4.2
+ */
+public class FirstSuccessfulForkJoinStrategyFactory extends AbstractEarlyCompletionForkJoinStrategyFactory {
+
+  private int count = 1;
+
+  @Override
+  protected int getRequiredSuccesses(int routes) {
+    return min(count, routes);
+  }
+
+  /**
+   * @param count how many routes have to complete successfully. Default value is 1.
+   * @throws IllegalArgumentException if the value is zero or less.
+   */
+  public void setCount(int count) {
+    checkArgument(count > 0, "Count must be one or more.");
+    this.count = count;
+  }
+
+}
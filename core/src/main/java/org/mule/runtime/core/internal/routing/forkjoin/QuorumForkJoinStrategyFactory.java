@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+/**
+ * {@link ForkJoinStrategy} that emits the results once a majority of the routes complete successfully, cancelling the remaining
+ * ones.
+ * <p/>
+ * When there are no routes an empty result is emitted.
+ *
+ * @see AbstractEarlyCompletionForkJoinStrategyFactory
+ * @since 4.2
+ */
+public class QuorumForkJoinStrategyFactory extends AbstractEarlyCompletionForkJoinStrategyFactory {
+
+  /**
+   * @return a majority of the routes, or zero if there are no routes, since an empty quorum is trivially reached.
+   */
+  @Override
+  protected int getRequiredSuccesses(int routes) {
+    if (routes == 0) {
+      return 0;
+    }
+    return routes / 2 + 1;
+  }
+
+}
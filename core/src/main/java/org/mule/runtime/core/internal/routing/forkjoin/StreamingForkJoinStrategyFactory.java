@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Math.min;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.internal.util.rx.TimerScheduler.timerScheduler;
+import static reactor.core.Exceptions.propagate;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Mono.subscriberContext;
+import static reactor.util.concurrent.Queues.SMALL_BUFFER_SIZE;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Emits a result event right away, without waiting for the routes to complete.
+ * <li>The payload of the result event is an {@link Iterator} of the {@link Message}s of the successful routes, in the order the
+ * routes complete. Consuming it blocks until the next route completes, so no route result is held longer than needed.
+ * <li>Only holds the results of up to {@code maxConcurrency} routes that were not consumed yet, further routes are not started
+ * until the {@link Iterator} is consumed.
+ * <li>Since consuming the {@link Iterator} blocks, the result event is emitted as if by a {@link ProcessingType#BLOCKING}
+ * processor, so the processing strategy does not have the processors that consume it run in a {@code CPU_LITE} thread.
+ * <li>Waiting for the next route result is subject to {@code timeout}, after which the remaining routes are cancelled.
+ * <li>Does not merge the variables from the routes, since they are still running when the result is emitted.
+ * <li>Will process all routes, regardless of errors, and the {@link Iterator} throws a composite exception once exhausted if there
+ * were one or more errors. Such exception only has the details of the failed routes, since the successful ones were already
+ * consumed.
+ * <li>Closing the {@link Iterator} cancels the routes that are still running. It is closed once the event context of the original
+ * event terminates, so routes are not left waiting for an {@link Iterator} that is no longer going to be consumed.
+ * </ul>
+ *
+ * @since 4.2
+ */
+public class StreamingForkJoinStrategyFactory extends AbstractForkJoinStrategyFactory {
+
+  private static final DataType RESULT_DATA_TYPE = DataType.builder().streamType(Iterator.class).itemType(Message.class).build();
+
+  @Override
+  public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
+                                                 long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType) {
+    reactor.core.scheduler.Scheduler reactorTimeoutScheduler = timerScheduler(timeoutScheduler);
+    ReactiveProcessor emitResult = processingStrategy.onProcessor(new BlockingConsumerProcessor());
+    int prefetch = min(maxConcurrency, SMALL_BUFFER_SIZE);
+    return (original, routingPairs) -> from(emitResult.apply(subscriberContext().map(ctx -> {
+      final AtomicInteger count = new AtomicInteger();
+      final RouteResultsIterator results = new RouteResultsIterator(prefetch, timeout);
+      results.disposable = from(routingPairs)
+          .map(addSequence(count))
+          .flatMap(processRoutePair(processingStrategy, maxConcurrency, true, timeout, reactorTimeoutScheduler,
+                                    timeoutErrorType),
+                   maxConcurrency)
+          .subscriberContext(ctx)
+          .subscribe(results::onResult, results::onError, results::onComplete, results::onSubscribe);
+      ((BaseEventContext) original.getContext()).onTerminated((response, throwable) -> results.close());
+
+      return builder(original).message(Message.builder().streamValue(results, Message.class).build()).build();
+    })));
+  }
+
+  /**
+   * Creates a result event for routes that already completed, with the same payload type as the one emitted by the strategy.
+   */
+  @Override
+  protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original, CoreEvent.Builder resultBuilder) {
+    return list -> resultBuilder
+        .message(Message.builder().streamValue(list.stream().map(CoreEvent::getMessage).iterator(), Message.class).build())
+        .build();
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return RESULT_DATA_TYPE;
+  }
+
+  /**
+   * Identity processor that only declares its {@link ProcessingType}, so the processing strategy emits the result event in a
+   * thread where the {@link Iterator} may be consumed.
+   */
+  private static final class BlockingConsumerProcessor implements ReactiveProcessor {
+
+    @Override
+    public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+      return publisher;
+    }
+
+    @Override
+    public ProcessingType getProcessingType() {
+      return BLOCKING;
+    }
+  }
+
+  /**
+   * {@link Iterator} fed by the routes as they complete. Route results are only requested as they are consumed.
+   */
+  private final class RouteResultsIterator implements Iterator<Message>, Closeable {
+
+    private final Object end = new Object();
+    private final int prefetch;
+    private final long timeout;
+    // Room for the requested results plus the terminal signal and the one added by close()
+    private final BlockingQueue<Object> queue;
+    private volatile Subscription subscription;
+    private volatile Disposable disposable;
+
+    // Only accessed by the consumer of the iterator
+    private final List<CoreEvent> failures = new ArrayList<>();
+    private boolean failuresReported;
+    private Object next;
+
+    private RouteResultsIterator(int prefetch, long timeout) {
+      this.prefetch = prefetch;
+      this.timeout = timeout;
+      this.queue = new ArrayBlockingQueue<>(prefetch + 2);
+    }
+
+    private void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(prefetch);
+    }
+
+    private void onResult(CoreEvent event) {
+      queue.offer(event);
+    }
+
+    private void onError(Throwable error) {
+      queue.offer(error);
+    }
+
+    private void onComplete() {
+      queue.offer(end);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null) {
+        Object item = poll();
+        if (item instanceof Throwable) {
+          next = end;
+          throw propagate((Throwable) item);
+        }
+        if (item == end) {
+          next = end;
+        } else {
+          // Request another route result for the one just taken from the queue
+          subscription.request(1);
+          CoreEvent event = (CoreEvent) item;
+          if (event.getError().isPresent()) {
+            failures.add(event);
+          } else {
+            next = event.getMessage();
+          }
+        }
+      }
+
+      if (next == end && !failures.isEmpty() && !failuresReported) {
+        failuresReported = true;
+        throw new MuleRuntimeException(createCompositeRoutingException(failures));
+      }
+      return next != end;
+    }
+
+    @Override
+    public Message next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Message message = (Message) next;
+      next = null;
+      return message;
+    }
+
+    @Override
+    public void close() {
+      Disposable currentDisposable = disposable;
+      if (currentDisposable != null) {
+        currentDisposable.dispose();
+      }
+      queue.offer(end);
+    }
+
+    private Object poll() {
+      Object item;
+      try {
+        item = queue.poll(timeout, MILLISECONDS);
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        throw new MuleRuntimeException(e);
+      }
+
+      if (item == null) {
+        close();
+        next = end;
+        throw new MuleRuntimeException(createStaticMessage(TIMEOUT_EXCEPTION_DESCRIPTION),
+                                       new TimeoutException(TIMEOUT_EXCEPTION_DETAILED_DESCRIPTION_PREFIX
+                                           + " no route completed in " + timeout + " ms"));
+      }
+      return item;
+    }
+  }
+}
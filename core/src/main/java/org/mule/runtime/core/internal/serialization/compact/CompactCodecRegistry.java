@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import static java.lang.String.format;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the {@link CompactTypeCodec}s known by a {@link CompactSerializationProtocol}, indexed by their ids and by the concrete
+ * classes they were resolved for.
+ *
+ * @since 4.2
+ */
+public final class CompactCodecRegistry {
+
+  private final Map<Integer, CompactTypeCodec<?>> codecsById = new ConcurrentHashMap<>();
+  private final CopyOnWriteArrayList<RegisteredCodec> codecs = new CopyOnWriteArrayList<>();
+  private final Map<Class<?>, Optional<RegisteredCodec>> codecsByClass = new ConcurrentHashMap<>();
+
+  /**
+   * Registers a codec.
+   *
+   * @param id the id that identifies the codec in the serialized data. Has to be positive.
+   * @param codec the codec to register
+   * @throws IllegalArgumentException if the {@code id} is already in use
+   */
+  public void register(int id, CompactTypeCodec<?> codec) {
+    checkArgument(id > 0, "Codec id must be positive");
+    CompactTypeCodec<?> previous = codecsById.putIfAbsent(id, codec);
+    if (previous != null) {
+      throw new IllegalArgumentException(format("Codec id %d is already used by the codec for '%s'", id,
+                                                previous.getType().getName()));
+    }
+    codecs.add(new RegisteredCodec(id, codec));
+    codecsByClass.clear();
+  }
+
+  /**
+   * @param id the id of the codec
+   * @return the codec registered with the given {@code id}, or {@code null} if there is none.
+   */
+  CompactTypeCodec<?> get(int id) {
+    return codecsById.get(id);
+  }
+
+  /**
+   * @param type the concrete class of a value to serialize
+   * @return the first registered codec that handles the given {@code type}
+   */
+  Optional<RegisteredCodec> lookup(Class<?> type) {
+    return codecsByClass.computeIfAbsent(type, t -> codecs.stream()
+        .filter(registered -> registered.getCodec().getType().isAssignableFrom(t))
+        .findFirst());
+  }
+
+  static final class RegisteredCodec {
+
+    private final int id;
+    private final CompactTypeCodec codec;
+
+    private RegisteredCodec(int id, CompactTypeCodec<?> codec) {
+      this.id = id;
+      this.codec = codec;
+    }
+
+    int getId() {
+      return id;
+    }
+
+    CompactTypeCodec getCodec() {
+      return codec;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.BYTES;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.DOUBLE;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.FALSE;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.INTEGER;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.JAVA;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.LONG;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.NULL;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.REGISTERED;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.STREAM;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.STRING;
+import static org.mule.runtime.core.internal.serialization.compact.CompactObjectOutput.TRUE;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.SerializationUtils;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Reads values written by a {@link CompactObjectOutput}.
+ *
+ * @since 4.2
+ */
+public final class CompactObjectInput {
+
+  private final DataInputStream in;
+  private final CompactCodecRegistry registry;
+  private final ClassLoader classLoader;
+  private final MuleContext muleContext;
+
+  CompactObjectInput(DataInputStream in, CompactCodecRegistry registry, ClassLoader classLoader, MuleContext muleContext) {
+    this.in = in;
+    this.registry = registry;
+    this.classLoader = classLoader;
+    this.muleContext = muleContext;
+  }
+
+  /**
+   * Reads a value written with {@link CompactObjectOutput#writeObject(Object)}.
+   * <p>
+   * Streams are read back as a {@code byte[]} with their full content.
+   *
+   * @return the read value
+   * @throws IOException if there was an error reading the value
+   */
+  public Object readObject() throws IOException {
+    int tag = in.readUnsignedByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString();
+      case INTEGER:
+        return (int) unZigZag(readVarLong());
+      case LONG:
+        return unZigZag(readVarLong());
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      case DOUBLE:
+        return in.readDouble();
+      case BYTES:
+        return readBytes();
+      case STREAM:
+        return readStream();
+      case REGISTERED:
+        return readRegistered();
+      case JAVA:
+        return SerializationUtils.deserialize(new ByteArrayInputStream(readBytes()), classLoader, muleContext);
+      default:
+        throw new IOException(format("Unknown value tag %d", tag));
+    }
+  }
+
+  /**
+   * @return a string written with {@link CompactObjectOutput#writeString(String)}.
+   * @throws IOException if there was an error reading the value
+   */
+  public String readString() throws IOException {
+    return new String(readBytes(), UTF_8);
+  }
+
+  /**
+   * @return a byte array written with {@link CompactObjectOutput#writeBytes(byte[])}.
+   * @throws IOException if there was an error reading the value
+   */
+  public byte[] readBytes() throws IOException {
+    byte[] bytes = new byte[readVarInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  /**
+   * @return an int written with {@link CompactObjectOutput#writeVarInt(int)}.
+   * @throws IOException if there was an error reading the value
+   */
+  public int readVarInt() throws IOException {
+    return (int) readVarLong();
+  }
+
+  /**
+   * @return a long written with {@link CompactObjectOutput#writeVarLong(long)}.
+   * @throws IOException if there was an error reading the value
+   */
+  public long readVarLong() throws IOException {
+    long value = 0;
+    int shift = 0;
+    int b;
+    do {
+      if (shift > 63) {
+        throw new IOException("Malformed variable length number");
+      }
+      b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  /**
+   * @return a boolean written with {@link CompactObjectOutput#writeBoolean(boolean)}.
+   * @throws IOException if there was an error reading the value
+   */
+  public boolean readBoolean() throws IOException {
+    return in.readBoolean();
+  }
+
+  /**
+   * Reads a class name written with {@link CompactObjectOutput#writeString(String)} and loads it with the deserialization
+   * {@link ClassLoader}.
+   *
+   * @return the loaded class
+   * @throws IOException if there was an error reading the name or the class could not be loaded
+   */
+  public Class<?> readClass() throws IOException {
+    String className = readString();
+    try {
+      return ClassUtils.getClass(classLoader, className, false);
+    } catch (ClassNotFoundException e) {
+      throw new IOException(format("Could not load class '%s'", className), e);
+    }
+  }
+
+  /**
+   * @return the {@link MuleContext} of the artifact deserializing the value.
+   */
+  public MuleContext getMuleContext() {
+    return muleContext;
+  }
+
+  private Object readRegistered() throws IOException {
+    int id = readVarInt();
+    CompactTypeCodec<?> codec = registry.get(id);
+    if (codec == null) {
+      throw new IOException(format("There is no codec registered with id %d", id));
+    }
+    Object value = codec.read(this);
+    if (value instanceof DeserializationPostInitialisable) {
+      try {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      } catch (Exception e) {
+        throw new IOException(format("Could not initialize instance of %s after deserialization", value.getClass().getName()),
+                              e);
+      }
+    }
+    return value;
+  }
+
+  private byte[] readStream() throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    byte[] buffer = new byte[0];
+    int chunkSize;
+    while ((chunkSize = readVarInt()) > 0) {
+      if (buffer.length < chunkSize) {
+        buffer = new byte[chunkSize];
+      }
+      in.readFully(buffer, 0, chunkSize);
+      content.write(buffer, 0, chunkSize);
+    }
+    return content.toByteArray();
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
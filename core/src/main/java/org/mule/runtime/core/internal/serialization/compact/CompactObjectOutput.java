@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.internal.serialization.compact.CompactCodecRegistry.RegisteredCodec;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Optional;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+/**
+ * Writes values in the format of the {@link CompactSerializationProtocol}.
+ * <p>
+ * Each value is preceded by a one byte tag. Common JDK types are written inline, values handled by a registered
+ * {@link CompactTypeCodec} are written as the id of the codec followed by whatever the codec writes, and anything else is
+ * written with Java serialization.
+ *
+ * @since 4.2
+ */
+public final class CompactObjectOutput {
+
+  static final int NULL = 0;
+  static final int STRING = 1;
+  static final int INTEGER = 2;
+  static final int LONG = 3;
+  static final int TRUE = 4;
+  static final int FALSE = 5;
+  static final int DOUBLE = 6;
+  static final int BYTES = 7;
+  static final int STREAM = 8;
+  static final int REGISTERED = 9;
+  static final int JAVA = 10;
+
+  private static final int STREAM_CHUNK_SIZE = 8 * 1024;
+
+  private final DataOutputStream out;
+  private final CompactCodecRegistry registry;
+
+  CompactObjectOutput(DataOutputStream out, CompactCodecRegistry registry) {
+    this.out = out;
+    this.registry = registry;
+  }
+
+  /**
+   * Writes any value, choosing the most compact representation available for it.
+   *
+   * @param value the value to write. May be {@code null}
+   * @throws IOException if there was an error writing the value
+   */
+  public void writeObject(Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString((String) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INTEGER);
+      writeVarLong(zigZag((Integer) value));
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      writeVarLong(zigZag((Long) value));
+    } else if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? TRUE : FALSE);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof byte[]) {
+      out.writeByte(BYTES);
+      writeBytes((byte[]) value);
+    } else if (value instanceof CursorStreamProvider) {
+      out.writeByte(STREAM);
+      writeStream((CursorStreamProvider) value);
+    } else {
+      Optional<RegisteredCodec> registered = registry.lookup(value.getClass());
+      if (registered.isPresent() && registered.get().getCodec().supports(value)) {
+        out.writeByte(REGISTERED);
+        writeVarInt(registered.get().getId());
+        registered.get().getCodec().write(value, this);
+      } else {
+        writeJava(value);
+      }
+    }
+  }
+
+  /**
+   * Writes a non null string.
+   *
+   * @param value the value to write
+   * @throws IOException if there was an error writing the value
+   */
+  public void writeString(String value) throws IOException {
+    writeBytes(value.getBytes(UTF_8));
+  }
+
+  /**
+   * Writes a non null byte array, prefixed with its length.
+   *
+   * @param value the value to write
+   * @throws IOException if there was an error writing the value
+   */
+  public void writeBytes(byte[] value) throws IOException {
+    writeVarInt(value.length);
+    out.write(value);
+  }
+
+  /**
+   * Writes a non negative int using as few bytes as possible.
+   *
+   * @param value the value to write
+   * @throws IOException if there was an error writing the value
+   */
+  public void writeVarInt(int value) throws IOException {
+    writeVarLong(value & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Writes a non negative long using as few bytes as possible.
+   *
+   * @param value the value to write
+   * @throws IOException if there was an error writing the value
+   */
+  public void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  /**
+   * Writes a boolean.
+   *
+   * @param value the value to write
+   * @throws IOException if there was an error writing the value
+   */
+  public void writeBoolean(boolean value) throws IOException {
+    out.writeBoolean(value);
+  }
+
+  private void writeStream(CursorStreamProvider provider) throws IOException {
+    byte[] buffer = new byte[STREAM_CHUNK_SIZE];
+    try (CursorStream cursor = provider.openCursor()) {
+      int read;
+      while ((read = cursor.read(buffer)) != -1) {
+        if (read > 0) {
+          writeVarInt(read);
+          out.write(buffer, 0, read);
+        }
+      }
+    }
+    writeVarInt(0);
+  }
+
+  private void writeJava(Object value) throws IOException {
+    if (!(value instanceof Serializable)) {
+      throw new SerializationException(String.format("Was expecting a Serializable type. %s was found instead",
+                                                     value.getClass().getName()));
+    }
+    out.writeByte(JAVA);
+    writeBytes(SerializationUtils.serialize((Serializable) value));
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  void flush() throws IOException {
+    out.flush();
+  }
+}
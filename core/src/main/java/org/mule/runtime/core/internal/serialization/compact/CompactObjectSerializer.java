@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.internal.message.DefaultMessageBuilder;
+import org.mule.runtime.core.internal.routing.EventGroup;
+import org.mule.runtime.core.internal.routing.EventGroupCodec;
+import org.mule.runtime.core.internal.serialization.JavaExternalSerializerProtocol;
+
+/**
+ * {@link ObjectSerializer} that uses a {@link CompactSerializationProtocol} for the data that stays within Mule (object stores,
+ * aggregation groups, clustering) and Java serialization for the external protocol.
+ * <p>
+ * Out of the box it knows how to write {@link org.mule.runtime.api.metadata.TypedValue}s,
+ * {@link org.mule.runtime.api.metadata.DataType}s, messages and {@link EventGroup}s. Other types can be added through
+ * {@link #registerCodec(int, CompactTypeCodec)}, using ids from {@link #FIRST_CUSTOM_CODEC_ID} onwards.
+ *
+ * @since 4.2
+ */
+public class CompactObjectSerializer implements ObjectSerializer, MuleContextAware {
+
+  public static final int TYPED_VALUE_CODEC_ID = 1;
+  public static final int DATA_TYPE_CODEC_ID = 2;
+  public static final int MESSAGE_CODEC_ID = 3;
+  public static final int EVENT_GROUP_CODEC_ID = 4;
+
+  /**
+   * Ids lower than this one are reserved for the codecs provided by the runtime.
+   */
+  public static final int FIRST_CUSTOM_CODEC_ID = 100;
+
+  private final CompactCodecRegistry registry = new CompactCodecRegistry();
+  private final CompactSerializationProtocol internalProtocol = new CompactSerializationProtocol(registry);
+  private final JavaExternalSerializerProtocol externalProtocol = new JavaExternalSerializerProtocol();
+
+  public CompactObjectSerializer() {
+    registry.register(MESSAGE_CODEC_ID, new MessageCodec(DefaultMessageBuilder.getMessageImplementationClass()));
+    registry.register(TYPED_VALUE_CODEC_ID, new TypedValueCodec());
+    registry.register(DATA_TYPE_CODEC_ID, new DataTypeCodec());
+    registry.register(EVENT_GROUP_CODEC_ID, new EventGroupCodec());
+  }
+
+  /**
+   * Registers a codec for a custom type.
+   *
+   * @param id the id of the codec. Must not be lower than {@link #FIRST_CUSTOM_CODEC_ID} and be the same on every node
+   * @param codec the codec to register
+   */
+  public void registerCodec(int id, CompactTypeCodec<?> codec) {
+    if (id < FIRST_CUSTOM_CODEC_ID) {
+      throw new IllegalArgumentException("Codec ids lower than " + FIRST_CUSTOM_CODEC_ID + " are reserved");
+    }
+    registry.register(id, codec);
+  }
+
+  @Override
+  public SerializationProtocol getInternalProtocol() {
+    return internalProtocol;
+  }
+
+  @Override
+  public SerializationProtocol getExternalProtocol() {
+    return externalProtocol;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    internalProtocol.setMuleContext(context);
+    externalProtocol.setMuleContext(context);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
+
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.internal.serialization.AbstractSerializationProtocol;
+import org.mule.runtime.core.internal.util.SerializationUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * {@link SerializationProtocol} that writes values in a compact binary format.
+ * <p>
+ * Types with a {@link CompactTypeCodec} registered in its {@link CompactCodecRegistry} are written field by field, identified by
+ * the id of the codec instead of a class descriptor. Repeatable streams are copied in chunks instead of being buffered first,
+ * and any other value falls back to Java serialization.
+ * <p>
+ * Data that doesn't start with the header of this format is read with Java serialization, so values stored with the
+ * {@link org.mule.runtime.core.internal.serialization.JavaExternalSerializerProtocol} can still be read.
+ *
+ * @since 4.2
+ */
+public class CompactSerializationProtocol extends AbstractSerializationProtocol {
+
+  private static final byte[] HEADER = new byte[] {'M', 'C', 1};
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final CompactCodecRegistry registry;
+
+  /**
+   * @param registry the codecs to use
+   */
+  public CompactSerializationProtocol(CompactCodecRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void serialize(Object object, OutputStream out) throws SerializationException {
+    try {
+      write(object, new BufferedOutputStream(out, BUFFER_SIZE));
+    } catch (IOException e) {
+      throw new SerializationException("Could not serialize object", e);
+    } finally {
+      closeQuietly(out);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    write(object, out);
+    return out.toByteArray();
+  }
+
+  private void write(Object object, OutputStream out) throws IOException {
+    DataOutputStream dataOut = new DataOutputStream(out);
+    dataOut.write(HEADER);
+    CompactObjectOutput output = new CompactObjectOutput(dataOut, registry);
+    output.writeObject(object);
+    output.flush();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    checkArgument(inputStream != null, "Cannot deserialize a null stream");
+    checkArgument(classLoader != null, "Cannot deserialize with a null classloader");
+
+    InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream, BUFFER_SIZE);
+    in.mark(HEADER.length);
+    byte[] header = new byte[HEADER.length];
+    int read = 0;
+    int count;
+    while (read < header.length && (count = in.read(header, read, header.length - read)) != -1) {
+      read += count;
+    }
+
+    if (read == HEADER.length && Arrays.equals(header, HEADER)) {
+      return (T) new CompactObjectInput(new DataInputStream(in), registry, classLoader, muleContext).readObject();
+    } else {
+      in.reset();
+      return (T) SerializationUtils.deserialize(in, classLoader, muleContext);
+    }
+  }
+
+  @Override
+  protected <T> T postInitialize(T object) {
+    // does nothing since both the compact input and SerializationUtils already do this on their own
+    return object;
+  }
+}
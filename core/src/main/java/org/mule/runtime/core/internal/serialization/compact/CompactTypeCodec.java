@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads the fields of instances of a given type for the {@link CompactSerializationProtocol}.
+ * <p>
+ * Codecs are registered with a numeric id that is written instead of the class descriptor, so the same id has to be used for
+ * the same codec on every node that reads the serialized data.
+ *
+ * @param <T> the type of the values handled by this codec
+ * @since 4.2
+ */
+public interface CompactTypeCodec<T> {
+
+  /**
+   * @return the type of the values handled by this codec. Subtypes are handled too.
+   */
+  Class<T> getType();
+
+  /**
+   * Allows a codec to handle only some of the instances of its type. For the ones it doesn't, Java serialization is used.
+   *
+   * @param value the value to serialize
+   * @return whether this codec can serialize the given {@code value}
+   */
+  default boolean supports(T value) {
+    return true;
+  }
+
+  /**
+   * Writes the fields of {@code value} into {@code output}.
+   *
+   * @param value the value to serialize
+   * @param output where to write the value
+   * @throws IOException if there was an error writing the value
+   */
+  void write(T value, CompactObjectOutput output) throws IOException;
+
+  /**
+   * Reads a value previously written with {@link #write(Object, CompactObjectOutput)}.
+   *
+   * @param input where to read the value from
+   * @return the deserialized value
+   * @throws IOException if there was an error reading the value
+   */
+  T read(CompactObjectInput input) throws IOException;
+
+}
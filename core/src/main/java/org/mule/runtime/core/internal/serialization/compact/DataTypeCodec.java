@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.FunctionDataType;
+import org.mule.runtime.api.metadata.MapDataType;
+import org.mule.runtime.api.metadata.MediaType;
+
+import java.io.IOException;
+
+/**
+ * {@link CompactTypeCodec} for simple {@link DataType}s, written as the name of the type and the media type. Collection, map and
+ * function data types are left to Java serialization.
+ *
+ * @since 4.2
+ */
+class DataTypeCodec implements CompactTypeCodec<DataType> {
+
+  @Override
+  public Class<DataType> getType() {
+    return DataType.class;
+  }
+
+  @Override
+  public boolean supports(DataType value) {
+    return !(value instanceof CollectionDataType || value instanceof MapDataType || value instanceof FunctionDataType);
+  }
+
+  @Override
+  public void write(DataType value, CompactObjectOutput output) throws IOException {
+    output.writeString(value.getType().getName());
+    output.writeString(value.getMediaType().toRfcString());
+  }
+
+  @Override
+  public DataType read(CompactObjectInput input) throws IOException {
+    Class<?> type = input.readClass();
+    MediaType mediaType = MediaType.parse(input.readString());
+    return DataType.builder().type(type).mediaType(mediaType).build();
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.internal.message.InternalMessage;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * {@link CompactTypeCodec} for messages, written as their payload and attributes.
+ * <p>
+ * Messages with legacy properties, attachments or an exception payload, or with a payload that can only be serialized through a
+ * transformation, are left to Java serialization.
+ *
+ * @since 4.2
+ */
+class MessageCodec implements CompactTypeCodec<Message> {
+
+  private final Class<Message> messageImplementationClass;
+
+  MessageCodec(Class messageImplementationClass) {
+    this.messageImplementationClass = messageImplementationClass;
+  }
+
+  @Override
+  public Class<Message> getType() {
+    return messageImplementationClass;
+  }
+
+  @Override
+  public boolean supports(Message value) {
+    InternalMessage message = (InternalMessage) value;
+    Object payload = message.getPayload().getValue();
+    return message.getExceptionPayload() == null
+        && message.getInboundPropertyNames().isEmpty() && message.getOutboundPropertyNames().isEmpty()
+        && message.getInboundAttachmentNames().isEmpty() && message.getOutboundAttachmentNames().isEmpty()
+        && (payload == null || payload instanceof Serializable || payload instanceof CursorStreamProvider);
+  }
+
+  @Override
+  public void write(Message value, CompactObjectOutput output) throws IOException {
+    output.writeObject(value.getPayload());
+    output.writeObject(value.getAttributes());
+  }
+
+  @Override
+  public Message read(CompactObjectInput input) throws IOException {
+    TypedValue<?> payload = (TypedValue<?>) input.readObject();
+    TypedValue<?> attributes = (TypedValue<?>) input.readObject();
+    return InternalMessage.builder().payload(payload).attributes(attributes).build();
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization.compact;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+
+import java.io.IOException;
+
+/**
+ * {@link CompactTypeCodec} for {@link TypedValue}s. Repeatable streams are read back as a {@code byte[]}, keeping the media type
+ * of the original value.
+ *
+ * @since 4.2
+ */
+class TypedValueCodec implements CompactTypeCodec<TypedValue> {
+
+  @Override
+  public Class<TypedValue> getType() {
+    return TypedValue.class;
+  }
+
+  @Override
+  public void write(TypedValue value, CompactObjectOutput output) throws IOException {
+    output.writeObject(value.getValue());
+    if (value.getValue() instanceof CursorStreamProvider) {
+      output.writeObject(DataType.builder(value.getDataType()).type(byte[].class).build());
+    } else {
+      output.writeObject(value.getDataType());
+    }
+  }
+
+  @Override
+  public TypedValue read(CompactObjectInput input) throws IOException {
+    Object value = input.readObject();
+    return new TypedValue<>(value, (DataType) input.readObject());
+  }
+}
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.store;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.i18n.I18nMessage;
+import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
@@ -30,7 +31,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 
 public class PartitionedPersistentObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
-    implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware {
+    implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware, Disposable {
 
   private static final Logger LOGGER = getLogger(PartitionedPersistentObjectStore.class);
   public static final String OBJECT_STORE_DIR = "objectstore";
@@ -211,4 +212,9 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
     getPartitionObjectStore(partitionName).expire(entryTTL, maxEntries);
   }
+
+  @Override
+  public void dispose() {
+    partitionsByName.values().forEach(PersistentObjectStorePartition::dispose);
+  }
 }
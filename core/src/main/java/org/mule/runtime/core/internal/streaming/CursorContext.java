@@ -18,16 +18,20 @@ public final class CursorContext {
 
   private final CursorProvider cursorProvider;
   private final BaseEventContext ownerContext;
+  private final EventStreamingState.ProviderState providerState;
 
   /**
    * Creates a new instance
    *
    * @param cursorProvider the {@link CursorProvider} which will be managed
    * @param ownerContext   the {@link BaseEventContext} which owns the {@code cursorProvider}
+   * @param providerState  the tracking state of the {@code cursorProvider}
    */
-  public CursorContext(CursorProvider cursorProvider, BaseEventContext ownerContext) {
+  CursorContext(CursorProvider cursorProvider, BaseEventContext ownerContext,
+                EventStreamingState.ProviderState providerState) {
     this.cursorProvider = cursorProvider;
     this.ownerContext = ownerContext;
+    this.providerState = providerState;
   }
 
   /**
@@ -43,4 +47,11 @@ public final class CursorContext {
   public BaseEventContext getOwnerContext() {
     return ownerContext;
   }
+
+  /**
+   * @return the tracking state of the {@code cursorProvider} within its {@link EventStreamingState}
+   */
+  EventStreamingState.ProviderState getProviderState() {
+    return providerState;
+  }
 }
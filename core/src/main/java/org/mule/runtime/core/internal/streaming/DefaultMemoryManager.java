@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.internal.streaming;
 
+import static java.lang.management.ManagementFactory.getRuntimeMXBean;
+
+import java.util.List;
+
 /**
  * Default implementation of {@link MemoryManager}
  *
@@ -13,6 +17,8 @@ package org.mule.runtime.core.internal.streaming;
  */
 public class DefaultMemoryManager implements MemoryManager {
 
+  private static final String MAX_DIRECT_MEMORY_ARGUMENT = "-XX:MaxDirectMemorySize=";
+
   /**
    * {@inheritDoc}
    */
@@ -20,4 +26,50 @@ public class DefaultMemoryManager implements MemoryManager {
   public long getMaxMemory() {
     return Runtime.getRuntime().maxMemory();
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getMaxDirectMemory() {
+    return getMaxDirectMemory(getRuntimeMXBean().getInputArguments());
+  }
+
+  /**
+   * @param inputArguments the arguments the JVM was started with
+   * @return the max direct memory set by the last {@code -XX:MaxDirectMemorySize} argument, since that is the one the JVM honors,
+   *         or {@link #getMaxMemory()} if there is none.
+   */
+  long getMaxDirectMemory(List<String> inputArguments) {
+    for (int i = inputArguments.size() - 1; i >= 0; i--) {
+      String argument = inputArguments.get(i);
+      if (argument.startsWith(MAX_DIRECT_MEMORY_ARGUMENT)) {
+        return parseMemorySize(argument.substring(MAX_DIRECT_MEMORY_ARGUMENT.length()));
+      }
+    }
+
+    return getMaxMemory();
+  }
+
+  private long parseMemorySize(String size) {
+    final String value = size.trim().toLowerCase();
+    final char unit = value.charAt(value.length() - 1);
+    if (Character.isDigit(unit)) {
+      return Long.parseLong(value);
+    }
+
+    long amount = Long.parseLong(value.substring(0, value.length() - 1));
+    switch (unit) {
+      case 'k':
+        return amount << 10;
+      case 'm':
+        return amount << 20;
+      case 'g':
+        return amount << 30;
+      case 't':
+        return amount << 40;
+      default:
+        throw new IllegalArgumentException("Invalid memory size: " + size);
+    }
+  }
 }
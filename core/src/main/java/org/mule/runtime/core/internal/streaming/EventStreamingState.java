@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.streaming.Cursor;
+import org.mule.runtime.api.streaming.CursorProvider;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the {@link CursorProvider providers} and open {@link Cursor cursors} of a root {@link BaseEventContext}.
+ * <p/>
+ * Instances are owned by the root context itself, so tracking a cursor doesn't require any lookup. Providers are tracked by
+ * identity and, along with their cursors, guarded by this instance's monitor.
+ *
+ * @since 4.2
+ */
+public final class EventStreamingState {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EventStreamingState.class);
+
+  private final MutableStreamingStatistics statistics;
+  private final Scheduler disposalScheduler;
+
+  private final Map<CursorProvider, ProviderState> providers = new IdentityHashMap<>(4);
+  private int cursorCount = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param statistics statistics which values should be kept updated
+   * @param disposalScheduler where to run the disposal
+   */
+  EventStreamingState(MutableStreamingStatistics statistics, Scheduler disposalScheduler) {
+    this.statistics = statistics;
+    this.disposalScheduler = disposalScheduler;
+  }
+
+  synchronized ProviderState addProvider(CursorProvider provider) {
+    ProviderState providerState = providers.get(provider);
+    if (providerState == null) {
+      providerState = new ProviderState(provider);
+      attach(providerState);
+    }
+    return providerState;
+  }
+
+  private void attach(ProviderState providerState) {
+    providers.put(providerState.provider, providerState);
+    providerState.attached = true;
+    if (!providerState.counted) {
+      // A provider re-attached after a dispose is still the same open provider
+      providerState.counted = true;
+      statistics.incrementOpenProviders();
+    }
+  }
+
+  private synchronized void addCursor(ProviderState providerState, Cursor cursor) {
+    if (!providerState.attached) {
+      // The state was disposed but the provider is still being used
+      attach(providerState);
+    }
+    providerState.cursors.add(cursor);
+    cursorCount++;
+    statistics.incrementOpenCursors();
+  }
+
+  private void removeCursor(ProviderState providerState, Cursor cursor) {
+    boolean dispose;
+    synchronized (this) {
+      if (!providerState.cursors.remove(cursor)) {
+        return;
+      }
+      statistics.decrementOpenCursors();
+      dispose = --cursorCount <= 0 && providerState.provider.isClosed();
+    }
+
+    if (dispose) {
+      dispose();
+    }
+  }
+
+  /**
+   * Closes and releases every tracked provider and its open cursors.
+   */
+  public void dispose() {
+    List<CursorProvider> disposedProviders;
+    List<List<Cursor>> disposedCursors;
+    synchronized (this) {
+      if (providers.isEmpty()) {
+        return;
+      }
+      disposedProviders = new ArrayList<>(providers.size());
+      disposedCursors = new ArrayList<>(providers.size());
+      for (ProviderState providerState : providers.values()) {
+        disposedProviders.add(providerState.provider);
+        disposedCursors.add(providerState.detach());
+      }
+      providers.clear();
+      cursorCount = 0;
+    }
+
+    try {
+      disposalScheduler.execute(() -> release(disposedProviders, disposedCursors));
+    } catch (RejectedExecutionException e) {
+      // If the Scheduler is busy and can't accept the task, we perform it in the current thread.
+      release(disposedProviders, disposedCursors);
+    }
+  }
+
+  private void release(List<CursorProvider> disposedProviders, List<List<Cursor>> disposedCursors) {
+    for (int i = 0; i < disposedProviders.size(); i++) {
+      CursorProvider provider = disposedProviders.get(i);
+      try {
+        closeProvider(provider);
+        releaseAll(disposedCursors.get(i));
+      } finally {
+        provider.releaseResources();
+      }
+    }
+  }
+
+  private void releaseAll(List<Cursor> cursors) {
+    cursors.forEach(cursor -> {
+      try {
+        cursor.release();
+        statistics.decrementOpenCursors();
+      } catch (Exception e) {
+        LOGGER.warn("Exception was found trying to close cursor. Execution will continue", e);
+      }
+    });
+  }
+
+  private void closeProvider(CursorProvider provider) {
+    if (!provider.isClosed()) {
+      provider.close();
+      statistics.decrementOpenProviders();
+    }
+  }
+
+  /**
+   * The open cursors of a tracked {@link CursorProvider}. Guarded by the owning {@link EventStreamingState}.
+   */
+  final class ProviderState {
+
+    private final CursorProvider provider;
+    private List<Cursor> cursors = new ArrayList<>(2);
+    private boolean attached;
+    private boolean counted;
+
+    private ProviderState(CursorProvider provider) {
+      this.provider = provider;
+    }
+
+    /**
+     * Acknowledges that the given {@code cursor} has been opened
+     */
+    void addCursor(Cursor cursor) {
+      EventStreamingState.this.addCursor(this, cursor);
+    }
+
+    /**
+     * Acknowledges that the given {@code cursor} has been closed, disposing the whole {@link EventStreamingState} if it was the
+     * last open cursor and the provider is closed.
+     */
+    void removeCursor(Cursor cursor) {
+      EventStreamingState.this.removeCursor(this, cursor);
+    }
+
+    private List<Cursor> detach() {
+      List<Cursor> detached = cursors;
+      cursors = new ArrayList<>(2);
+      attached = false;
+      return detached;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link BaseEventContext} which holds the {@link EventStreamingState} of the streams opened while processing it, so that the
+ * {@link CursorManager} doesn't have to keep a registry of them.
+ *
+ * @since 4.2
+ */
+public interface EventStreamingStateHolder {
+
+  /**
+   * Returns the state of the streams opened while processing this context, creating it the first time. The state is disposed
+   * once this context terminates.
+   *
+   * @param streamingStateFactory creates the state if this context doesn't have one yet
+   * @return the {@link EventStreamingState} of this context
+   */
+  EventStreamingState getStreamingState(Supplier<EventStreamingState> streamingStateFactory);
+}
@@ -18,6 +18,14 @@ public interface MemoryManager {
    * following the same semantics as {@link Runtime#totalMemory()}
    */
   long getMaxMemory();
+
+  /**
+   * Returns the maximum amount of direct (off-heap) memory that the runtime will attempt to use, which is the one set through
+   * {@code -XX:MaxDirectMemorySize} or, if not set, the same as {@link #getMaxMemory()}
+   *
+   * @since 4.2
+   */
+  long getMaxDirectMemory();
 }
 
 
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.streaming;
 import org.mule.runtime.core.api.streaming.StreamingStatistics;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 /**
  * Mutable implementation of {@link StreamingStatistics}
@@ -19,6 +20,7 @@ public class MutableStreamingStatistics implements StreamingStatistics {
 
   private final AtomicInteger openProviders = new AtomicInteger(0);
   private final AtomicInteger openCursors = new AtomicInteger(0);
+  private volatile LongSupplier offHeapMemoryUsage = () -> 0;
 
   void incrementOpenProviders() {
     openProviders.incrementAndGet();
@@ -36,6 +38,14 @@ public class MutableStreamingStatistics implements StreamingStatistics {
     openCursors.decrementAndGet();
   }
 
+  /**
+   * @param offHeapMemoryUsage supplies the off-heap memory retained by the streaming buffers
+   * @since 4.2
+   */
+  public void setOffHeapMemoryUsage(LongSupplier offHeapMemoryUsage) {
+    this.offHeapMemoryUsage = offHeapMemoryUsage;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -51,4 +61,12 @@ public class MutableStreamingStatistics implements StreamingStatistics {
   public int getOpenCursorsCount() {
     return openCursors.get();
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getOffHeapMemoryUsage() {
+    return offHeapMemoryUsage.getAsLong();
+  }
 }
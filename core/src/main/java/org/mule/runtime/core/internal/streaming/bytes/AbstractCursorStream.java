@@ -6,10 +6,16 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static org.mule.runtime.core.internal.streaming.bytes.OutputStreamChannel.toChannel;
+
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.TransferableStream;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Base class for implementations of {@link CursorStream}.
@@ -18,7 +24,7 @@ import java.io.IOException;
  *
  * @since 4.0
  */
-abstract class AbstractCursorStream extends CursorStream {
+abstract class AbstractCursorStream extends CursorStream implements TransferableStream {
 
   private final CursorStreamProvider provider;
   private long mark = 0;
@@ -128,6 +134,41 @@ abstract class AbstractCursorStream extends CursorStream {
    */
   protected abstract int doRead(byte[] b, int off, int len) throws IOException;
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final long transferTo(WritableByteChannel channel) throws IOException {
+    assertNotDisposed();
+    return doTransferTo(channel);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final long transferTo(OutputStream outputStream) throws IOException {
+    return transferTo(toChannel(outputStream));
+  }
+
+  /**
+   * Template method to support the {@link #transferTo(WritableByteChannel)} method
+   *
+   * @param channel the channel to write to
+   * @return the amount of bytes written
+   * @throws IOException
+   */
+  protected abstract long doTransferTo(WritableByteChannel channel) throws IOException;
+
+  /**
+   * Writes all the remaining content of the given {@code data} into the {@code channel}
+   */
+  protected static void writeFully(ByteBuffer data, WritableByteChannel channel) throws IOException {
+    while (data.hasRemaining()) {
+      channel.write(data);
+    }
+  }
+
   /**
    * {@inheritDoc}
    * Equivalent to {@code this.seek(this.getPosition() + n)}
@@ -8,7 +8,6 @@ package org.mule.runtime.core.internal.streaming.bytes;
 
 import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
-import static java.lang.System.arraycopy;
 import static java.nio.channels.Channels.newChannel;
 import static org.mule.runtime.api.util.Preconditions.checkState;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -187,18 +186,24 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
   protected abstract boolean canDoSoftCopy();
 
   private ByteBuffer softCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    final ByteBuffer b = buffer.get();
-    return ByteBuffer.wrap(b.array(), offset, min(length, b.limit() - offset)).slice();
+    return window(position, length).slice();
   }
 
   private ByteBuffer hardCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    final ByteBuffer bf = buffer.get();
-    length = min(length, bf.limit() - offset);
-
-    byte[] b = new byte[length];
-    arraycopy(bf.array(), offset, b, 0, length);
+    final ByteBuffer window = window(position, length);
+    byte[] b = new byte[window.remaining()];
+    window.get(b);
     return ByteBuffer.wrap(b);
   }
+
+  /**
+   * Works on a duplicate so that it doesn't depend on the buffer having a backing array, which direct buffers lack.
+   */
+  private ByteBuffer window(long position, int length) {
+    final int offset = toIntExact(position);
+    final ByteBuffer window = buffer.get().duplicate();
+    window.position(offset);
+    window.limit(offset + min(length, window.limit() - offset));
+    return window;
+  }
 }
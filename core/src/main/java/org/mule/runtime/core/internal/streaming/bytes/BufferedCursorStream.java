@@ -13,6 +13,7 @@ import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * A {@link CursorStream} which pulls its data from an {@link InputStreamBuffer}.
@@ -117,6 +118,29 @@ public final class BufferedCursorStream extends AbstractCursorStream {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Whatever is left in the local buffer is written first. The rest is written by the {@link InputStreamBuffer} straight from
+   * where it holds the data.
+   */
+  @Override
+  protected long doTransferTo(WritableByteChannel channel) throws IOException {
+    long transferred = localBuffer.remaining();
+    if (transferred > 0) {
+      writeFully(localBuffer, channel);
+      position += transferred;
+    }
+
+    int read;
+    while ((read = streamBuffer.transferTo(position, LOCAL_BUFFER_SIZE, channel)) != -1) {
+      position += read;
+      transferred += read;
+    }
+
+    return transferred;
+  }
+
   private int assureDataInLocalBuffer(int len) {
     if (len <= localBuffer.remaining()) {
       return toIntExact(len);
@@ -13,6 +13,8 @@ import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * A {@link CursorStream} which is backed by a fixed {@link byte[]}.
@@ -63,4 +65,18 @@ public class ByteArrayCursorStream extends AbstractCursorStream {
     this.position += len;
     return len;
   }
+
+  @Override
+  protected long doTransferTo(WritableByteChannel channel) throws IOException {
+    final int position = toIntExact(getPosition());
+    if (position >= content.length) {
+      return 0;
+    }
+
+    int len = content.length - position;
+    writeFully(ByteBuffer.wrap(content, position, len), channel);
+
+    this.position += len;
+    return len;
+  }
 }
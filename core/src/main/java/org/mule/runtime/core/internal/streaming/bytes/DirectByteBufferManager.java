@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.lang.System.identityHashCode;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_MAX_OFF_HEAP_MEMORY;
+import static org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager.calculateMaxStreamingMemory;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link ByteBufferManager} implementation which allocates direct buffers, so that the streamed content lives outside of the
+ * heap and doesn't add to garbage collection pauses.
+ * <p>
+ * Direct buffers are expensive to allocate, so they are pooled in power of two size classes, the same way that
+ * {@link PoolingByteBufferManager} does it. The retained off-heap memory has its own budget, set through the
+ * {@link org.mule.runtime.core.api.config.MuleProperties#MULE_STREAMING_MAX_OFF_HEAP_MEMORY} system property or, by default,
+ * 50% of {@link MemoryManager#getMaxDirectMemory()}. Deallocated buffers are always kept pooled, since the budget already bounds
+ * them. When the budget is exhausted, a pooled buffer of a larger size class is used if there is one. Otherwise
+ * {@link #allocate(int)} blocks until a buffer is deallocated or memory is freed, or until {@link #waitTimeoutMillis} elapse, in
+ * which case a {@link MaxStreamingMemoryExceededException} is thrown.
+ * <p>
+ * Since native memory is not reclaimed by the garbage collector in a timely fashion, every allocated buffer is tracked until
+ * it is deallocated:
+ * <ul>
+ * <li>Deallocating a buffer twice, or one which was not allocated by this manager, is logged and ignored.</li>
+ * <li>Buffers which are garbage collected without having been deallocated are reported as leaks, and their memory is
+ * recovered the next time that a buffer is allocated or deallocated.</li>
+ * </ul>
+ * <p>
+ * Pooled buffers of smaller size classes are only discarded when the budget is exhausted, or when this manager is disposed. The
+ * native memory of a discarded buffer is only freed once the garbage collector finds it, and every buffer sliced from it,
+ * unreachable. Discarded buffers are therefore still accounted for until they become phantom reachable, which is polled for while
+ * waiting. A garbage collection is never requested, since explicit collections may be disabled or stop the whole runtime.
+ *
+ * @since 4.2
+ */
+public class DirectByteBufferManager implements ByteBufferManager, Disposable {
+
+  private static final Logger LOGGER = getLogger(DirectByteBufferManager.class);
+
+  private static final int MIN_SIZE_CLASS_SHIFT = 10;
+  private static final int MAX_SIZE_CLASS_SHIFT = 30;
+  private static final long FREED_POLL_NANOS = MILLISECONDS.toNanos(10);
+
+  /**
+   * Retained off-heap memory, by buffers in use, pooled, and discarded but not yet freed. Only reserved through a CAS, so the
+   * limit is never exceeded.
+   */
+  private final AtomicLong offHeapMemory = new AtomicLong();
+  private final long maxOffHeapMemory;
+  private final long waitTimeoutMillis;
+
+  private final SizeClass[] sizeClasses = new SizeClass[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+  private final ConcurrentHashMap<TrackedBuffer, TrackedBuffer> allocated = new ConcurrentHashMap<>();
+  private final ReferenceQueue<ByteBuffer> collected = new ReferenceQueue<>();
+  private final AtomicInteger leakedBuffers = new AtomicInteger();
+  private final Set<DiscardedBuffer> discarded = newKeySet();
+  private final ReferenceQueue<ByteBuffer> freed = new ReferenceQueue<>();
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition memoryAvailable = lock.newCondition();
+  private final AtomicInteger waiting = new AtomicInteger();
+
+  /**
+   * Creates a new instance which allows the pool to grow up to 50% of the runtime's max direct memory and has a wait timeout
+   * of 10 seconds. The definition of max direct memory is that of {@link MemoryManager#getMaxDirectMemory()}
+   */
+  public DirectByteBufferManager() {
+    this(new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT);
+  }
+
+  /**
+   * Creates a new instance which allows the pool to grow up to 50% of calling {@link MemoryManager#getMaxDirectMemory()} on
+   * the given {@code memoryManager}, and has {@code waitTimeoutMillis} as wait timeout.
+   *
+   * @param memoryManager a {@link MemoryManager} used to determine the runtime's max direct memory
+   * @param waitTimeoutMillis how long to wait when the pool is exhausted
+   */
+  public DirectByteBufferManager(MemoryManager memoryManager, long waitTimeoutMillis) {
+    maxOffHeapMemory = calculateMaxStreamingMemory(MULE_STREAMING_MAX_OFF_HEAP_MEMORY, memoryManager::getMaxDirectMemory);
+    this.waitTimeoutMillis = waitTimeoutMillis;
+    for (int i = 0; i < sizeClasses.length; i++) {
+      sizeClasses[i] = new SizeClass(1 << (i + MIN_SIZE_CLASS_SHIFT));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ByteBuffer allocate(int capacity) {
+    releaseFreed();
+    recoverLeaks();
+    try {
+      SizeClass sizeClass = sizeClassFor(capacity);
+      ByteBuffer chunk = sizeClass.take();
+      if (chunk == null) {
+        chunk = create(sizeClass);
+        // It may be a pooled buffer of a larger size class, which has to go back to its own pool
+        sizeClass = sizeClassFor(chunk.capacity());
+      }
+
+      chunk.clear().limit(capacity);
+      ByteBuffer buffer = chunk.slice();
+      TrackedBuffer tracked = new TrackedBuffer(buffer, chunk, sizeClass, collected);
+      allocated.put(tracked, tracked);
+      return buffer;
+    } catch (Exception e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not allocate byte buffer. " + e.getMessage()), e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void deallocate(ByteBuffer byteBuffer) {
+    TrackedBuffer tracked = allocated.remove(new TrackedBuffer(byteBuffer));
+    if (tracked == null) {
+      LOGGER.warn("Attempted to deallocate a buffer of {} bytes which was already deallocated or not allocated by this manager",
+                  byteBuffer.capacity());
+    } else {
+      // Clear it so that it isn't reported as a leak once the buffer is collected
+      tracked.clear();
+      recycle(tracked.sizeClass, tracked.chunk);
+    }
+
+    recoverLeaks();
+    releaseFreed();
+  }
+
+  /**
+   * @return the off-heap memory retained by the buffers of this manager, in use, pooled, or discarded but not yet freed
+   */
+  public long getRetainedMemory() {
+    releaseFreed();
+    return offHeapMemory.get();
+  }
+
+  /**
+   * @return how many buffers were garbage collected without having been deallocated
+   */
+  public int getLeakedBuffersCount() {
+    return leakedBuffers.get();
+  }
+
+  @Override
+  public void dispose() {
+    recoverLeaks();
+    reclaim();
+
+    if (!allocated.isEmpty()) {
+      LOGGER.warn("{} streaming buffers were not deallocated when disposing the buffer manager. Their off-heap memory will be "
+          + "freed once they are garbage collected", allocated.size());
+    }
+  }
+
+  private SizeClass sizeClassFor(int capacity) {
+    if (capacity > 1 << MAX_SIZE_CLASS_SHIFT) {
+      throw new IllegalArgumentException(format("Buffers larger than %d bytes are not supported, %d were requested",
+                                                1 << MAX_SIZE_CLASS_SHIFT, capacity));
+    }
+
+    return sizeClasses[sizeClassIndex(capacity)];
+  }
+
+  private int sizeClassIndex(int capacity) {
+    int shift = capacity <= 1 << MIN_SIZE_CLASS_SHIFT ? MIN_SIZE_CLASS_SHIFT : 32 - numberOfLeadingZeros(capacity - 1);
+    return shift - MIN_SIZE_CLASS_SHIFT;
+  }
+
+  private ByteBuffer create(SizeClass sizeClass) throws Exception {
+    if (reserve(sizeClass.size)) {
+      return ByteBuffer.allocateDirect(sizeClass.size);
+    }
+
+    waiting.incrementAndGet();
+    lock.lock();
+    try {
+      long remainingNanos = MILLISECONDS.toNanos(waitTimeoutMillis);
+      while (true) {
+        ByteBuffer chunk = takeFromSizeClassesFrom(sizeClass);
+        if (chunk != null) {
+          return chunk;
+        }
+
+        if (reserve(sizeClass.size)) {
+          return ByteBuffer.allocateDirect(sizeClass.size);
+        }
+
+        if (releaseFreed() || recoverLeaks()) {
+          continue;
+        }
+
+        // The pooled buffers left are all smaller, so they are discarded to give their memory back once collected
+        reclaim();
+
+        if (remainingNanos <= 0) {
+          throw new MaxStreamingMemoryExceededException(createStaticMessage(format(
+                                                                                   "Max off-heap streaming memory limit of %d bytes was exceeded",
+                                                                                   maxOffHeapMemory)));
+        }
+        // Collected buffers don't signal, so they are polled for while waiting for a deallocated one
+        long waitNanos = min(remainingNanos, FREED_POLL_NANOS);
+        remainingNanos -= waitNanos - memoryAvailable.awaitNanos(waitNanos);
+      }
+    } finally {
+      lock.unlock();
+      waiting.decrementAndGet();
+    }
+  }
+
+  /**
+   * @return a pooled buffer of the given size class or, if there is none, of the smallest larger size class that has one
+   */
+  private ByteBuffer takeFromSizeClassesFrom(SizeClass sizeClass) {
+    for (int i = sizeClassIndex(sizeClass.size); i < sizeClasses.length; i++) {
+      ByteBuffer chunk = sizeClasses[i].take();
+      if (chunk != null) {
+        return chunk;
+      }
+    }
+    return null;
+  }
+
+  private boolean reserve(int size) {
+    long current;
+    do {
+      current = offHeapMemory.get();
+      if (current + size > maxOffHeapMemory) {
+        return false;
+      }
+    } while (!offHeapMemory.compareAndSet(current, current + size));
+    return true;
+  }
+
+  /**
+   * Keeps the memory of the given pooled buffer accounted until the garbage collector frees it.
+   */
+  private void discard(SizeClass sizeClass, ByteBuffer chunk) {
+    discarded.add(new DiscardedBuffer(chunk, sizeClass.size, freed));
+  }
+
+  /**
+   * Releases the accounted memory of the discarded buffers that were collected.
+   *
+   * @return whether any memory was released
+   */
+  private boolean releaseFreed() {
+    long size = 0;
+    DiscardedBuffer discardedBuffer;
+    while ((discardedBuffer = (DiscardedBuffer) freed.poll()) != null) {
+      if (discarded.remove(discardedBuffer)) {
+        size += discardedBuffer.size;
+      }
+    }
+
+    if (size == 0) {
+      return false;
+    }
+
+    offHeapMemory.addAndGet(-size);
+    signalWaiting();
+    return true;
+  }
+
+  private void recycle(SizeClass sizeClass, ByteBuffer chunk) {
+    // The buffer is pooled even if someone is waiting for memory, so that they can take it right away
+    sizeClass.give(chunk);
+    signalWaiting();
+  }
+
+  private void signalWaiting() {
+    if (waiting.get() > 0) {
+      lock.lock();
+      try {
+        memoryAvailable.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Returns to the pool the buffers which were garbage collected without having been deallocated.
+   *
+   * @return whether any buffer was recovered
+   */
+  private boolean recoverLeaks() {
+    boolean recovered = false;
+    TrackedBuffer tracked;
+    while ((tracked = (TrackedBuffer) collected.poll()) != null) {
+      if (allocated.remove(tracked) != null) {
+        leakedBuffers.incrementAndGet();
+        LOGGER.warn("A streaming buffer of {} bytes was garbage collected without having been deallocated. Its off-heap memory "
+            + "was recovered", tracked.capacity);
+        recycle(tracked.sizeClass, tracked.chunk);
+        recovered = true;
+      }
+    }
+    return recovered;
+  }
+
+  /**
+   * Discards all the pooled buffers.
+   */
+  private void reclaim() {
+    for (SizeClass sizeClass : sizeClasses) {
+      sizeClass.discardAll();
+    }
+  }
+
+  /**
+   * A power of two buffer size, with its idle buffers.
+   */
+  private final class SizeClass {
+
+    private final int size;
+    private final ConcurrentLinkedQueue<ByteBuffer> idle = new ConcurrentLinkedQueue<>();
+
+    private SizeClass(int size) {
+      this.size = size;
+    }
+
+    private ByteBuffer take() {
+      return idle.poll();
+    }
+
+    private void give(ByteBuffer chunk) {
+      idle.add(chunk);
+    }
+
+    private void discardAll() {
+      ByteBuffer chunk;
+      while ((chunk = take()) != null) {
+        discard(this, chunk);
+      }
+    }
+  }
+
+  /**
+   * Tracks an allocated buffer until it's deallocated, holding the pooled buffer it was sliced from.
+   * <p>
+   * Equality is that of the identity of the tracked buffer, so that instances created just for looking up an allocated one
+   * are equal to it.
+   */
+  private static final class TrackedBuffer extends WeakReference<ByteBuffer> {
+
+    private final int hash;
+    private final int capacity;
+    private final ByteBuffer chunk;
+    private final SizeClass sizeClass;
+
+    private TrackedBuffer(ByteBuffer buffer) {
+      this(buffer, null, null, null);
+    }
+
+    private TrackedBuffer(ByteBuffer buffer, ByteBuffer chunk, SizeClass sizeClass, ReferenceQueue<ByteBuffer> queue) {
+      super(buffer, queue);
+      hash = identityHashCode(buffer);
+      capacity = buffer.capacity();
+      this.chunk = chunk;
+      this.sizeClass = sizeClass;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof TrackedBuffer)) {
+        return false;
+      }
+
+      ByteBuffer buffer = get();
+      return buffer != null && buffer == ((TrackedBuffer) obj).get();
+    }
+  }
+
+  /**
+   * Becomes phantom reachable once the garbage collector finds a discarded buffer, and so every buffer sliced from it,
+   * unreachable, which is when its native memory is freed.
+   */
+  private static final class DiscardedBuffer extends PhantomReference<ByteBuffer> {
+
+    private final int size;
+
+    private DiscardedBuffer(ByteBuffer chunk, int size, ReferenceQueue<ByteBuffer> queue) {
+      super(chunk, queue);
+      this.size = size;
+    }
+  }
+}
@@ -6,7 +6,9 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * A buffer which provides concurrent random access to the entirety
@@ -35,6 +37,34 @@ public interface InputStreamBuffer {
    */
   ByteBuffer get(long position, int length);
 
+  /**
+   * Writes up to {@code length} amount of bytes starting from the given {@code position} into the given {@code channel}. Less
+   * information than requested may be written.
+   * <p>
+   * The data is written without holding any lock of this buffer, since writing to the channel may block. This default
+   * implementation writes the {@link ByteBuffer} obtained through {@link #get(long, int)}, which is a slice of the buffered data
+   * when the buffer can no longer be expanded and a copy otherwise.
+   *
+   * @param position the stream position from which the data should be written
+   * @param length   how many bytes to write
+   * @param channel  the channel to write to
+   * @return the amount of bytes written or {@code -1} if no information available at all
+   * @throws IOException if the data could not be written
+   * @since 4.2
+   */
+  default int transferTo(long position, int length, WritableByteChannel channel) throws IOException {
+    ByteBuffer data = get(position, length);
+    if (data == null) {
+      return -1;
+    }
+
+    final int transferred = data.remaining();
+    while (data.hasRemaining()) {
+      channel.write(data);
+    }
+    return transferred;
+  }
+
   /**
    * Releases all the resources held by this buffer
    */
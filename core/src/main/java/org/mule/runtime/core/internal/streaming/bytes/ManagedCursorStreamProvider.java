@@ -6,14 +6,20 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.nio.channels.Channels.newOutputStream;
+import static org.mule.runtime.core.api.util.IOUtils.copyLarge;
+
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.TransferableStream;
 import org.mule.runtime.core.internal.streaming.CursorContext;
 import org.mule.runtime.core.internal.streaming.CursorManager;
 import org.mule.runtime.core.internal.streaming.ManagedCursorProvider;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * {@link ManagedCursorProvider} implementation for {@link CursorStreamProvider} instances
@@ -37,7 +43,7 @@ public class ManagedCursorStreamProvider extends ManagedCursorProvider<CursorStr
     return new ManagedCursorDecorator(cursor, handle);
   }
 
-  private class ManagedCursorDecorator extends CursorStream {
+  private class ManagedCursorDecorator extends CursorStream implements TransferableStream {
 
     private final CursorStream delegate;
     private final CursorContext cursorContext;
@@ -120,5 +126,21 @@ public class ManagedCursorStreamProvider extends ManagedCursorProvider<CursorStr
     public boolean markSupported() {
       return delegate.markSupported();
     }
+
+    @Override
+    public long transferTo(WritableByteChannel channel) throws IOException {
+      if (delegate instanceof TransferableStream) {
+        return ((TransferableStream) delegate).transferTo(channel);
+      }
+      return copyLarge(delegate, newOutputStream(channel));
+    }
+
+    @Override
+    public long transferTo(OutputStream outputStream) throws IOException {
+      if (delegate instanceof TransferableStream) {
+        return ((TransferableStream) delegate).transferTo(outputStream);
+      }
+      return copyLarge(delegate, outputStream);
+    }
   }
 }
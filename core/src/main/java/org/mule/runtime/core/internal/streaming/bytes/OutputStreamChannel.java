@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link WritableByteChannel} which writes into an {@link OutputStream}.
+ * <p>
+ * Unlike the one returned by {@link java.nio.channels.Channels#newChannel(OutputStream)}, heap buffers are written straight
+ * from their backing array instead of being copied into an intermediate one first. Closing this channel does not close the
+ * {@link OutputStream}.
+ *
+ * @since 4.2
+ */
+final class OutputStreamChannel implements WritableByteChannel {
+
+  private static final int DIRECT_BUFFER_CHUNK_SIZE = 8 * 1024;
+
+  private final OutputStream outputStream;
+  private boolean open = true;
+
+  /**
+   * @param outputStream the stream to write to
+   * @return a {@link WritableByteChannel} which writes into the given {@code outputStream}
+   */
+  static WritableByteChannel toChannel(OutputStream outputStream) {
+    if (outputStream instanceof FileOutputStream) {
+      return ((FileOutputStream) outputStream).getChannel();
+    }
+    return new OutputStreamChannel(outputStream);
+  }
+
+  private OutputStreamChannel(OutputStream outputStream) {
+    this.outputStream = outputStream;
+  }
+
+  @Override
+  public int write(ByteBuffer src) throws IOException {
+    if (!open) {
+      throw new ClosedChannelException();
+    }
+
+    final int length = src.remaining();
+    if (src.hasArray()) {
+      outputStream.write(src.array(), src.arrayOffset() + src.position(), length);
+      src.position(src.limit());
+    } else {
+      byte[] chunk = new byte[min(length, DIRECT_BUFFER_CHUNK_SIZE)];
+      while (src.hasRemaining()) {
+        int chunkLength = min(src.remaining(), chunk.length);
+        src.get(chunk, 0, chunkLength);
+        outputStream.write(chunk, 0, chunkLength);
+      }
+    }
+    return length;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void close() {
+    open = false;
+  }
+}
@@ -6,141 +6,151 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Math.round;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.System.identityHashCode;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.newSetFromMap;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_MAX_MEMORY;
-import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
-import static org.mule.runtime.core.internal.util.ConcurrencyUtils.withLock;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
-import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
 import org.mule.runtime.core.internal.streaming.MemoryManager;
 
-import org.apache.commons.pool2.BasePooledObjectFactory;
-import org.apache.commons.pool2.KeyedObjectPool;
-import org.apache.commons.pool2.ObjectPool;
-import org.apache.commons.pool2.PooledObject;
-import org.apache.commons.pool2.impl.DefaultPooledObject;
-import org.apache.commons.pool2.impl.GenericObjectPool;
-import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
-import org.slf4j.Logger;
-
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.cache.RemovalListener;
-
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
-import java.util.concurrent.ExecutorService;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
 
 /**
  * {@link ByteBufferManager} implementation which pools instances for better performance.
  * <p>
- * Buffers are kept in separate pools depending on their capacity.
+ * Buffers are pooled in power of two size classes. The returned buffers have the requested capacity, but are backed by an array
+ * with the capacity of the size class, so that buffers of similar capacities share the same pool. Each thread keeps a small
+ * magazine of buffers per size class, so that most allocations and deallocations don't touch any shared state. Full magazines
+ * are handed to a shared depot, from which other threads take them when theirs are empty. The magazines of a thread which
+ * doesn't use them for {@link #idleTimeoutNanos} are handed to the depot, and the magazines which stay in the depot for that
+ * long are discarded, so idle threads don't retain memory.
  * <p>
- * Idle buffers and capacity pools are automatically expired.
+ * Every allocated array is tracked until it is deallocated, the same way that {@link DirectByteBufferManager} does it.
+ * Deallocating an array twice, or one which was not allocated by this manager, is logged and ignored. The memory of arrays
+ * which are garbage collected without having been deallocated is released.
  * <p>
  * Unlike traditional pools which are exhausted in terms of number of instances, we don't care about
  * the number of buffers pooled but in the amount of memory they retain. This pool will be exhausted
- * when a certain threshold of retained memory is reached. When exhausted, invokations to
- * {@link #allocate(int)} will block until more memory becomes available (by invoking {@link #deallocate(ByteBuffer)}).
- * If {@link #allocate(int)} is blocked by more than {@link #waitTimeoutMillis} milliseconds, then a
- * {@link MaxStreamingMemoryExceededException} is thrown.
+ * when a certain threshold of retained memory is reached. When exhausted, the idle buffers of all threads are discarded and
+ * invokations to {@link #allocate(int)} will block until more memory becomes available (by invoking
+ * {@link #deallocate(ByteBuffer)}). If {@link #allocate(int)} is blocked by more than {@link #waitTimeoutMillis} milliseconds,
+ * then a {@link MaxStreamingMemoryExceededException} is thrown.
  *
  * @since 4.0
  */
 public class PoolingByteBufferManager implements ByteBufferManager, Disposable {
 
   private static final Logger LOGGER = getLogger(PoolingByteBufferManager.class);
-  private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors();
 
-  private final AtomicLong streamingMemory = new AtomicLong(0);
-  private final long maxStreamingMemory;
-  private final long waitTimeoutMillis;
+  private static final int MIN_SIZE_CLASS_SHIFT = 4;
+  private static final int MAX_SIZE_CLASS_SHIFT = 30;
+  private static final int MAGAZINE_MEMORY = 1024 * 1024;
+  private static final int MAX_MAGAZINE_SIZE = 16;
+  private static final int MAX_DEPOT_MAGAZINES = Runtime.getRuntime().availableProcessors();
+  private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = SECONDS.toMillis(10);
 
   /**
-   * Using a cache of pools instead of a {@link KeyedObjectPool} because performance tests indicates that this
-   * option is slightly faster, plus it gives us the ability to expire unfrequent capacity buffers without the use
-   * of a reaper thread (those performance test did not include such a reaper, so it's very possible that this is more
-   * than just slightly faster)
+   * Retained memory, both by buffers in use and pooled. Only reserved through a CAS, so the limit is never exceeded.
    */
-  private final LoadingCache<Integer, BufferPool> pools = CacheBuilder.newBuilder()
-      .expireAfterAccess(10, SECONDS)
-      .removalListener((RemovalListener<Integer, BufferPool>) notification -> {
-        try {
-          notification.getValue().close();
-        } catch (Exception e) {
-          if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Found exception trying to dispose buffer pool for capacity " + notification.getKey(), e);
-          }
-        }
-      }).build(new CacheLoader<Integer, BufferPool>() {
-
-        @Override
-        public BufferPool load(Integer capacity) throws Exception {
-          // This has to be run in another executor, since the creation of the pool will create its own thread to handle
-          // eviction.
-          //
-          // If this code runs in the same thread, it may be a 'custom' scheduler (for instance, a HTTP requester selector) and
-          // the created pool evictor thread will have that custom scheduler thread group. This will fail the destruction of the
-          // custom thread group when the app is undeployed, and that will cause a memory leak.
-          return withContextClassLoader(PoolingByteBufferManager.class.getClassLoader(),
-                                        () -> allocationScheduler.submit(() -> new BufferPool(capacity)).get());
-        }
-      });
+  private final AtomicLong streamingMemory = new AtomicLong();
+  private final long maxStreamingMemory;
+  private final long waitTimeoutMillis;
+  private final long idleTimeoutNanos;
+  private final AtomicLong nextIdleEviction;
 
-  private ExecutorService allocationScheduler;
+  private final SizeClass[] sizeClasses = new SizeClass[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+  private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::createThreadCache);
+  private final Set<ThreadCache> threadCaches = newSetFromMap(new ConcurrentHashMap<>());
+  private final ConcurrentHashMap<TrackedArray, TrackedArray> allocated = new ConcurrentHashMap<>();
+  private final ReferenceQueue<byte[]> collected = new ReferenceQueue<>();
+  private final AtomicInteger leakedBuffers = new AtomicInteger();
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition memoryAvailable = lock.newCondition();
+  private final AtomicInteger waiting = new AtomicInteger();
 
   /**
    * Creates a new instance which allows the pool to grow up to 50% of the runtime's max memory and has a wait timeout of 10
    * seconds. The definition of max memory is that of {@link MemoryManager#getMaxMemory()}
+   */
+  public PoolingByteBufferManager() {
+    this(new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT);
+  }
+
+  /**
+   * Creates a new instance which allows the pool to grow up to 50% of calling {@link MemoryManager#getMaxMemory()} on the given
+   * {@code memoryManager}, and has {@code waitTimeoutMillis} as wait timeout.
    *
-   * @param allocationScheduler executor to use to allocate the buffer. The pools expiration thread group will be inherited by
-   *        this schedulet threadGroup.
+   * @param memoryManager a {@link MemoryManager} used to determine the runtime's max memory
+   * @param waitTimeoutMillis how long to wait when the pool is exhausted
    */
-  public PoolingByteBufferManager(ExecutorService allocationScheduler) {
-    this(allocationScheduler, new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT);
+  public PoolingByteBufferManager(MemoryManager memoryManager, long waitTimeoutMillis) {
+    this(memoryManager, waitTimeoutMillis, DEFAULT_IDLE_TIMEOUT_MILLIS);
   }
 
   /**
    * Creates a new instance which allows the pool to grow up to 50% of calling {@link MemoryManager#getMaxMemory()} on the given
    * {@code memoryManager}, and has {@code waitTimeoutMillis} as wait timeout.
    *
-   * @param allocationScheduler executor to use to allocate the buffer. The pools expiration thread group will be inherited by
-   *        this schedulet threadGroup.
    * @param memoryManager a {@link MemoryManager} used to determine the runtime's max memory
    * @param waitTimeoutMillis how long to wait when the pool is exhausted
+   * @param idleTimeoutMillis how long the pooled buffers of a thread may go unused before they are given to other threads or
+   *        discarded
    */
-  public PoolingByteBufferManager(ExecutorService allocationScheduler, MemoryManager memoryManager, long waitTimeoutMillis) {
-    this.allocationScheduler = allocationScheduler;
-    maxStreamingMemory = calculateMaxStreamingMemory(memoryManager);
+  PoolingByteBufferManager(MemoryManager memoryManager, long waitTimeoutMillis, long idleTimeoutMillis) {
+    maxStreamingMemory = calculateMaxStreamingMemory(MULE_STREAMING_MAX_MEMORY, memoryManager::getMaxMemory);
     this.waitTimeoutMillis = waitTimeoutMillis;
+    this.idleTimeoutNanos = MILLISECONDS.toNanos(idleTimeoutMillis);
+    this.nextIdleEviction = new AtomicLong(nanoTime() + idleTimeoutNanos);
+    for (int i = 0; i < sizeClasses.length; i++) {
+      sizeClasses[i] = new SizeClass(i, 1 << (i + MIN_SIZE_CLASS_SHIFT));
+    }
   }
 
-  private long calculateMaxStreamingMemory(MemoryManager memoryManager) {
-    String maxMemoryProperty = getProperty(MULE_STREAMING_MAX_MEMORY);
+  /**
+   * @param property the system property which may set the max streaming memory
+   * @param maxMemory supplies the memory to use 50% of when {@code property} is not set
+   * @return the amount of memory, in bytes, that the buffers may retain
+   */
+  static long calculateMaxStreamingMemory(String property, LongSupplier maxMemory) {
+    String maxMemoryProperty = getProperty(property);
     if (maxMemoryProperty == null) {
-      return round(memoryManager.getMaxMemory() * 0.5);
+      return round(maxMemory.getAsLong() * 0.5);
     } else {
       try {
         return Long.valueOf(maxMemoryProperty);
       } catch (Exception e) {
         throw new IllegalArgumentException(format("Invalid value for system property '%s'. A memory size (in bytes) was "
             + "expected, got '%s' instead",
-                                                  MULE_STREAMING_MAX_MEMORY, maxMemoryProperty));
+                                                  property, maxMemoryProperty));
       }
     }
   }
@@ -150,8 +160,18 @@ public class PoolingByteBufferManager implements ByteBufferManager, Disposable {
    */
   @Override
   public ByteBuffer allocate(int capacity) {
+    evictIdle();
+    recoverLeaks();
     try {
-      return pools.getUnchecked(capacity).take();
+      SizeClass sizeClass = sizeClassFor(capacity);
+      byte[] array = threadCache.get().take(sizeClass);
+      if (array == null) {
+        array = create(sizeClass);
+      }
+
+      TrackedArray tracked = new TrackedArray(array, sizeClass, collected);
+      allocated.put(tracked, tracked);
+      return ByteBuffer.wrap(array, 0, capacity).slice();
     } catch (Exception e) {
       throw new MuleRuntimeException(createStaticMessage("Could not allocate byte buffer. " + e.getMessage()), e);
     }
@@ -162,120 +182,432 @@ public class PoolingByteBufferManager implements ByteBufferManager, Disposable {
    */
   @Override
   public void deallocate(ByteBuffer byteBuffer) {
-    int capacity = byteBuffer.capacity();
-    BufferPool pool = pools.getIfPresent(capacity);
-    if (pool != null) {
-      try {
-        pool.returnBuffer(byteBuffer);
-      } catch (Exception e) {
-        throw new MuleRuntimeException(createStaticMessage("Could not deallocate buffer of capacity " + capacity), e);
-      }
+    TrackedArray tracked = byteBuffer.hasArray() ? allocated.remove(new TrackedArray(byteBuffer.array())) : null;
+    if (tracked == null) {
+      LOGGER.warn("Attempted to deallocate a buffer of {} bytes which was already deallocated or not allocated by this manager",
+                  byteBuffer.capacity());
+    } else {
+      // Clear it so that it isn't reported as a leak once the array is collected
+      tracked.clear();
+      recycle(tracked.sizeClass, byteBuffer.array());
     }
+
+    recoverLeaks();
+    evictIdle();
+  }
+
+  /**
+   * @return the memory retained by the buffers of this manager, both in use and pooled
+   */
+  public long getRetainedMemory() {
+    return streamingMemory.get();
+  }
+
+  /**
+   * @return how many buffers were garbage collected without having been deallocated
+   */
+  public int getLeakedBuffersCount() {
+    return leakedBuffers.get();
   }
 
   @Override
   public void dispose() {
-    try {
-      pools.invalidateAll();
-    } catch (Exception e) {
-      if (LOGGER.isWarnEnabled()) {
-        LOGGER.warn("Error disposing pool of byte buffers", e);
-      }
+    reclaim();
+  }
+
+  private SizeClass sizeClassFor(int capacity) {
+    if (capacity > 1 << MAX_SIZE_CLASS_SHIFT) {
+      throw new IllegalArgumentException(format("Buffers larger than %d bytes are not supported, %d were requested",
+                                                1 << MAX_SIZE_CLASS_SHIFT, capacity));
     }
+
+    int shift = capacity <= 1 << MIN_SIZE_CLASS_SHIFT ? MIN_SIZE_CLASS_SHIFT : 32 - numberOfLeadingZeros(capacity - 1);
+    return sizeClasses[shift - MIN_SIZE_CLASS_SHIFT];
   }
 
-  private class BufferPool {
-
-    private final int bufferCapacity;
-    private final ObjectPool<ByteBuffer> pool;
-    private final Lock lock = new ReentrantLock();
-    private final Condition poolNotFull = lock.newCondition();
-
-    private BufferPool(int bufferCapacity) {
-      this.bufferCapacity = bufferCapacity;
-      GenericObjectPoolConfig config = new GenericObjectPoolConfig();
-      config.setMaxIdle(MAX_IDLE);
-      config.setMaxTotal(-1);
-      config.setBlockWhenExhausted(false);
-      config.setTimeBetweenEvictionRunsMillis(SECONDS.toMillis(30));
-      config.setTestOnBorrow(false);
-      config.setTestOnReturn(false);
-      config.setTestWhileIdle(false);
-      config.setTestOnCreate(false);
-      config.setJmxEnabled(false);
-
-      pool = new GenericObjectPool<>(new BasePooledObjectFactory<ByteBuffer>() {
-
-        @Override
-        public ByteBuffer create() throws Exception {
-          if (streamingMemory.addAndGet(bufferCapacity) <= maxStreamingMemory) {
-            return ByteBuffer.allocate(bufferCapacity);
-          }
-
-          streamingMemory.addAndGet(-bufferCapacity);
+  private byte[] create(SizeClass sizeClass) throws Exception {
+    if (reserve(sizeClass.size)) {
+      return new byte[sizeClass.size];
+    }
+
+    waiting.incrementAndGet();
+    lock.lock();
+    try {
+      long remainingNanos = MILLISECONDS.toNanos(waitTimeoutMillis);
+      while (true) {
+        byte[] array = threadCache.get().take(sizeClass);
+        if (array != null) {
+          return array;
+        }
+
+        if (reserve(sizeClass.size)) {
+          return new byte[sizeClass.size];
+        }
+
+        if (reclaim()) {
+          continue;
+        }
+
+        if (remainingNanos <= 0) {
           throw new MaxStreamingMemoryExceededException(createStaticMessage(format(
                                                                                    "Max streaming memory limit of %d bytes was exceeded",
                                                                                    maxStreamingMemory)));
         }
+        remainingNanos = memoryAvailable.awaitNanos(remainingNanos);
+      }
+    } finally {
+      lock.unlock();
+      waiting.decrementAndGet();
+    }
+  }
+
+  private boolean reserve(int size) {
+    long current;
+    do {
+      current = streamingMemory.get();
+      if (current + size > maxStreamingMemory) {
+        return false;
+      }
+    } while (!streamingMemory.compareAndSet(current, current + size));
+    return true;
+  }
+
+  private void release(int size, int count) {
+    streamingMemory.addAndGet(-(long) size * count);
+    if (waiting.get() > 0) {
+      lock.lock();
+      try {
+        memoryAvailable.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void recycle(SizeClass sizeClass, byte[] array) {
+    // Someone is waiting for memory, so release it right away instead of pooling the buffer
+    if (waiting.get() > 0 || !threadCache.get().give(sizeClass, array)) {
+      release(sizeClass.size, 1);
+    }
+  }
+
+  /**
+   * Releases the memory of the arrays which were garbage collected without having been deallocated.
+   */
+  private void recoverLeaks() {
+    TrackedArray tracked;
+    while ((tracked = (TrackedArray) collected.poll()) != null) {
+      if (allocated.remove(tracked) != null) {
+        leakedBuffers.incrementAndGet();
+        LOGGER.warn("A streaming buffer of {} bytes was garbage collected without having been deallocated. Its memory was "
+            + "released", tracked.sizeClass.size);
+        release(tracked.sizeClass.size, 1);
+      }
+    }
+  }
+
+  /**
+   * Once every {@link #idleTimeoutNanos}, discards the magazines that stayed in the depot since the previous time and hands the
+   * magazines of the threads which didn't use them meanwhile to the depot.
+   */
+  private void evictIdle() {
+    long next = nextIdleEviction.get();
+    if (nanoTime() - next < 0 || !nextIdleEviction.compareAndSet(next, nanoTime() + idleTimeoutNanos)) {
+      return;
+    }
+
+    for (SizeClass sizeClass : sizeClasses) {
+      sizeClass.discardDepotIfIdle();
+    }
+    discardDeadThreadCaches();
+    for (ThreadCache cache : threadCaches) {
+      cache.flushIfIdle();
+    }
+  }
+
+  /**
+   * Discards all the pooled buffers, both from the depot and the magazines of every thread.
+   *
+   * @return whether any memory was released
+   */
+  private boolean reclaim() {
+    boolean released = false;
+    for (ThreadCache cache : threadCaches) {
+      released |= cache.discardAll();
+    }
+    for (SizeClass sizeClass : sizeClasses) {
+      released |= sizeClass.discardDepot();
+    }
+
+    return released;
+  }
+
+  private ThreadCache createThreadCache() {
+    discardDeadThreadCaches();
+
+    ThreadCache cache = new ThreadCache();
+    threadCaches.add(cache);
+    return cache;
+  }
+
+  /**
+   * Discards the caches of the threads that are gone, so they don't retain memory forever
+   */
+  private void discardDeadThreadCaches() {
+    threadCaches.removeIf(cache -> {
+      if (cache.isOwnerAlive()) {
+        return false;
+      }
+      cache.discardAll();
+      return true;
+    });
+  }
+
+  /**
+   * A power of two buffer size, with its depot of full magazines.
+   */
+  private final class SizeClass {
+
+    private final int index;
+    private final int size;
+    private final int magazineSize;
+    private final ConcurrentLinkedQueue<Magazine> depot = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depotSize = new AtomicInteger();
+    private volatile boolean depotUsed;
+
+    private SizeClass(int index, int size) {
+      this.index = index;
+      this.size = size;
+      magazineSize = max(1, min(MAX_MAGAZINE_SIZE, MAGAZINE_MEMORY / size));
+    }
+
+    private Magazine takeFromDepot() {
+      Magazine magazine = depot.poll();
+      if (magazine != null) {
+        depotSize.decrementAndGet();
+        depotUsed = true;
+      }
+      return magazine;
+    }
+
+    private boolean giveToDepot(Magazine magazine) {
+      if (depotSize.incrementAndGet() > MAX_DEPOT_MAGAZINES) {
+        depotSize.decrementAndGet();
+        return false;
+      }
+
+      depot.add(magazine);
+      return true;
+    }
+
+    private boolean discardDepot() {
+      boolean released = false;
+      Magazine magazine;
+      while ((magazine = takeFromDepot()) != null) {
+        released |= discard(magazine);
+      }
+      return released;
+    }
+
+    private void discardDepotIfIdle() {
+      if (depotUsed) {
+        depotUsed = false;
+      } else {
+        discardDepot();
+      }
+    }
+
+    private boolean discard(Magazine magazine) {
+      int count = magazine.clear();
+      if (count > 0) {
+        release(size, count);
+        return true;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * A fixed size stack of pooled arrays.
+   */
+  private static final class Magazine {
+
+    private final byte[][] arrays;
+    private int count;
+
+    private Magazine(int size) {
+      arrays = new byte[size][];
+    }
+
+    private byte[] pop() {
+      if (count == 0) {
+        return null;
+      }
+
+      byte[] array = arrays[--count];
+      arrays[count] = null;
+      return array;
+    }
+
+    private boolean push(byte[] array) {
+      if (count == arrays.length) {
+        return false;
+      }
 
-        @Override
-        public PooledObject<ByteBuffer> wrap(ByteBuffer obj) {
-          return new DefaultPooledObject<>(obj);
+      arrays[count++] = array;
+      return true;
+    }
+
+    private boolean isEmpty() {
+      return count == 0;
+    }
+
+    private int clear() {
+      int cleared = count;
+      while (count > 0) {
+        arrays[--count] = null;
+      }
+      return cleared;
+    }
+  }
+
+  /**
+   * The magazines of a thread, one per {@link SizeClass}.
+   * <p>
+   * Only accessed by its owner thread, except when reclaiming memory or evicting idle magazines, so acquiring its monitor is
+   * uncontended.
+   */
+  private final class ThreadCache {
+
+    private final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+    private final Magazine[] magazines = new Magazine[sizeClasses.length];
+    private boolean used;
+
+    private synchronized byte[] take(SizeClass sizeClass) {
+      used = true;
+      Magazine magazine = magazines[sizeClass.index];
+      byte[] array = magazine != null ? magazine.pop() : null;
+      if (array == null) {
+        magazine = sizeClass.takeFromDepot();
+        if (magazine != null) {
+          magazines[sizeClass.index] = magazine;
+          array = magazine.pop();
         }
+      }
 
-        @Override
-        public void activateObject(PooledObject<ByteBuffer> p) throws Exception {
-          p.getObject().clear();
+      return array;
+    }
+
+    /**
+     * @return whether the array was pooled
+     */
+    private synchronized boolean give(SizeClass sizeClass, byte[] array) {
+      used = true;
+      Magazine magazine = magazines[sizeClass.index];
+      if (magazine == null) {
+        magazine = magazines[sizeClass.index] = new Magazine(sizeClass.magazineSize);
+      }
+
+      if (magazine.push(array)) {
+        return true;
+      }
+
+      if (!sizeClass.giveToDepot(magazine)) {
+        return false;
+      }
+
+      magazine = magazines[sizeClass.index] = new Magazine(sizeClass.magazineSize);
+      return magazine.push(array);
+    }
+
+    private boolean discardAll() {
+      Magazine[] discarded;
+      synchronized (this) {
+        discarded = removeMagazines();
+      }
+
+      // Released out of the monitor, since releasing may signal waiting threads
+      boolean released = false;
+      for (int i = 0; i < discarded.length; i++) {
+        if (discarded[i] != null) {
+          released |= sizeClasses[i].discard(discarded[i]);
         }
+      }
+      return released;
+    }
 
-        @Override
-        public void destroyObject(PooledObject<ByteBuffer> p) throws Exception {
-          if (streamingMemory.addAndGet(-bufferCapacity) < maxStreamingMemory) {
-            signalPoolNotFull();
-          }
+    /**
+     * Hands the magazines to the depot, or discards them if it is full, unless they were used since the last time.
+     */
+    private void flushIfIdle() {
+      Magazine[] flushed;
+      synchronized (this) {
+        if (used) {
+          used = false;
+          return;
         }
-      }, config);
-    }
-
-    private ByteBuffer take() throws Exception {
-      ByteBuffer buffer = null;
-      do {
-        try {
-          buffer = pool.borrowObject();
-        } catch (MaxStreamingMemoryExceededException e) {
-          signal(() -> {
-            while (streamingMemory.get() >= maxStreamingMemory) {
-              if (!poolNotFull.await(waitTimeoutMillis, MILLISECONDS)) {
-                throw e;
-              }
-            }
-          });
+        flushed = removeMagazines();
+      }
+
+      for (int i = 0; i < flushed.length; i++) {
+        if (flushed[i] != null && !flushed[i].isEmpty() && !sizeClasses[i].giveToDepot(flushed[i])) {
+          sizeClasses[i].discard(flushed[i]);
         }
-      } while (buffer == null);
+      }
+    }
 
-      return buffer;
+    private Magazine[] removeMagazines() {
+      Magazine[] removed = new Magazine[magazines.length];
+      for (int i = 0; i < magazines.length; i++) {
+        removed[i] = magazines[i];
+        magazines[i] = null;
+      }
+      return removed;
     }
 
-    private void returnBuffer(ByteBuffer buffer) throws Exception {
-      pool.returnObject(buffer);
-      signalPoolNotFull();
+    private boolean isOwnerAlive() {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
     }
+  }
 
-    private void signalPoolNotFull() {
-      signal(poolNotFull::signal);
+  /**
+   * Tracks an allocated array until it's deallocated.
+   * <p>
+   * Equality is that of the identity of the tracked array, so that instances created just for looking up an allocated one are
+   * equal to it.
+   */
+  private static final class TrackedArray extends WeakReference<byte[]> {
+
+    private final int hash;
+    private final SizeClass sizeClass;
+
+    private TrackedArray(byte[] array) {
+      this(array, null, null);
     }
 
-    private void close() {
-      streamingMemory.addAndGet(-bufferCapacity * (pool.getNumActive() + pool.getNumIdle()));
-      try {
-        pool.close();
-      } finally {
-        signal(poolNotFull::signalAll);
-      }
+    private TrackedArray(byte[] array, SizeClass sizeClass, ReferenceQueue<byte[]> queue) {
+      super(array, queue);
+      hash = identityHashCode(array);
+      this.sizeClass = sizeClass;
     }
 
-    private void signal(CheckedRunnable task) {
-      withLock(lock, task);
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof TrackedArray)) {
+        return false;
+      }
+
+      byte[] array = get();
+      return array != null && array == ((TrackedArray) obj).get();
     }
   }
 }
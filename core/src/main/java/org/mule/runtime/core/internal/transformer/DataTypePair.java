@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.transformer;
+
+import org.mule.runtime.api.metadata.DataType;
+
+/**
+ * Immutable key for caches of transformations from a source {@link DataType} to a result {@link DataType}.
+ * <p/>
+ * Avoids building a {@link String} out of both types on every lookup.
+ *
+ * @since 4.2
+ */
+public final class DataTypePair {
+
+  private final DataType source;
+  private final DataType result;
+  private final int hashCode;
+
+  public DataTypePair(DataType source, DataType result) {
+    this.source = source;
+    this.result = result;
+    this.hashCode = 31 * source.hashCode() + result.hashCode();
+  }
+
+  public DataType getSource() {
+    return source;
+  }
+
+  public DataType getResult() {
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DataTypePair)) {
+      return false;
+    }
+    DataTypePair other = (DataTypePair) obj;
+    return hashCode == other.hashCode && source.equals(other.source) && result.equals(other.result);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    return source + " -> " + result;
+  }
+}
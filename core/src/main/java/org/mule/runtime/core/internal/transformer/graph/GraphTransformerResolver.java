@@ -6,50 +6,64 @@
  */
 package org.mule.runtime.core.internal.transformer.graph;
 
+import static java.util.Optional.ofNullable;
+
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.internal.registry.TransformerResolver;
+import org.mule.runtime.core.internal.transformer.DataTypePair;
 import org.mule.runtime.core.internal.transformer.ResolverException;
 import org.mule.runtime.core.api.config.i18n.CoreMessages;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Optional;
 
-import org.apache.commons.collections.map.LRUMap;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 public class GraphTransformerResolver implements TransformerResolver {
 
-  private ReentrantReadWriteLock readWriteLock;
+  private static final int CACHE_SIZE = 256;
+
+  private final Object changeLock = new Object();
   private SynchronizedTransformationGraph graph;
   private CompositeConverterFilter converterFilter;
-  private LRUMap cache;
+  private volatile Cache<DataTypePair, Optional<Transformer>> cache;
   private TransformationGraphLookupStrategy lookupStrategyTransformation;
 
   public GraphTransformerResolver() {
-    this.readWriteLock = new ReentrantReadWriteLock();
     this.graph = new SynchronizedTransformationGraph();
     lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
     converterFilter = new CompositeConverterFilter(new TypeMatchingVertexesFilter(),
                                                    new TransformationLengthConverterFilter(),
                                                    new PriorityWeightingConverterFilter(),
                                                    new NameConverterFilter());
-    cache = new LRUMap();
+    cache = createCache();
+  }
+
+  private static Cache<DataTypePair, Optional<Transformer>> createCache() {
+    return CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
   }
 
   @Override
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    String cacheKey = getDataTypeSourceResultPairHash(source, result);
+    DataTypePair cacheKey = new DataTypePair(source, result);
+    // Keep a reference to the cache, so a resolution done while the graph changes doesn't end up in the new one
+    Cache<DataTypePair, Optional<Transformer>> currentCache = cache;
 
-    readWriteLock.readLock().lock();
-    try {
-      if (cache.containsKey(cacheKey)) {
-        return (Converter) cache.get(cacheKey);
-      }
-    } finally {
-      readWriteLock.readLock().unlock();
+    Optional<Transformer> cached = currentCache.getIfPresent(cacheKey);
+    if (cached != null) {
+      return cached.orElse(null);
     }
 
+    Transformer converter = lookupConverter(source, result);
+    currentCache.put(cacheKey, ofNullable(converter));
+    return converter;
+  }
+
+  private Transformer lookupConverter(DataType source, DataType result) throws ResolverException {
     List<Converter> converters =
         converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
 
@@ -57,48 +71,40 @@ public class GraphTransformerResolver implements TransformerResolver {
       throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
     }
 
-    Transformer converter = (converters.size() == 0) ? null : converters.get(0);
-
-
-    readWriteLock.writeLock().lock();
-    try {
-      cache.put(cacheKey, converter);
-    } finally {
-      readWriteLock.writeLock().unlock();
-    }
-
-    return converter;
-  }
-
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    StringBuilder builder = new StringBuilder();
-    builder.append(source.getClass().getName());
-    builder.append(source.hashCode());
-    builder.append(":");
-    builder.append(result.getClass().getName());
-    builder.append(result.hashCode());
-
-    return builder.toString();
+    return (converters.size() == 0) ? null : converters.get(0);
   }
 
   @Override
   public void transformerChange(Transformer transformer, RegistryAction registryAction) {
-    readWriteLock.writeLock().lock();
-
-    try {
-      if (!(transformer instanceof Converter)) {
-        return;
-      }
-
-      cache.clear();
+    if (!(transformer instanceof Converter)) {
+      return;
+    }
 
+    synchronized (changeLock) {
       if (registryAction == RegistryAction.ADDED) {
         graph.addConverter((Converter) transformer);
       } else if (registryAction == RegistryAction.REMOVED) {
         graph.removeConverter((Converter) transformer);
       }
-    } finally {
-      readWriteLock.writeLock().unlock();
+
+      // Only published once the graph is updated, so it never gets conversions resolved against the previous graph
+      cache = precomputeConversions(cache.asMap().keySet());
+    }
+  }
+
+  /**
+   * Resolves again, against the updated graph, the conversions that were already requested so that the hot paths that use
+   * them don't have to go through the graph after it changes.
+   */
+  private Cache<DataTypePair, Optional<Transformer>> precomputeConversions(Collection<DataTypePair> pairs) {
+    Cache<DataTypePair, Optional<Transformer>> newCache = createCache();
+    for (DataTypePair pair : pairs) {
+      try {
+        newCache.put(pair, ofNullable(lookupConverter(pair.getSource(), pair.getResult())));
+      } catch (ResolverException e) {
+        // Not cached, so the error is reported by the next resolution of this pair
+      }
     }
+    return newCache;
   }
 }
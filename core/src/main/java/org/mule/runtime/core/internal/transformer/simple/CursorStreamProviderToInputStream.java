@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.transformer.simple;
 import static org.mule.runtime.api.metadata.DataType.CURSOR_STREAM_PROVIDER;
 import static org.mule.runtime.api.metadata.DataType.INPUT_STREAM;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.TransferableStream;
 import org.mule.runtime.core.api.transformer.DiscoverableTransformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.api.transformer.AbstractTransformer;
@@ -18,6 +19,9 @@ import java.nio.charset.Charset;
 
 /**
  * Transforms a {@link CursorStreamProvider} to an {@link InputStream} by getting a cursor from it
+ * <p>
+ * The cursors created by the runtime are {@link TransferableStream}s, so consumers which copy the returned stream somewhere
+ * else can do it without intermediate buffers.
  *
  * @since 4.0
  */
@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.bitCount;
+import static java.lang.System.arraycopy;
+
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable {@link Map} with {@link String} keys that is modified by creating new instances through {@link #plus(String, Object)}
+ * and {@link #minus(String)}. The new instances share most of their structure with the original one, so those operations are
+ * {@code O(log n)} instead of requiring a full copy.
+ * <p/>
+ * The entries are kept in a hash array mapped trie. Optionally, the keys may be treated without case sensitivity, in the same
+ * way as {@link CaseInsensitiveHashMap} does: the casing of a key is the one it had when first added.
+ * <p/>
+ * Any of the mutating methods of {@link Map} throw {@link UnsupportedOperationException}.
+ *
+ * @param <V> the type of the values
+ * @since 4.2
+ */
+public final class PersistentStringMap<V> extends AbstractMap<String, V> implements Serializable {
+
+  private static final long serialVersionUID = 8215127004306811427L;
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private final boolean caseInsensitive;
+  private transient BitmapNode<V> root;
+  private transient int size;
+  private transient Set<Entry<String, V>> entrySet;
+
+  /**
+   * @param caseInsensitive whether the keys of the map are to be treated without case sensitivity
+   * @return an empty map
+   */
+  public static <V> PersistentStringMap<V> empty(boolean caseInsensitive) {
+    return new PersistentStringMap<>(caseInsensitive, null, 0);
+  }
+
+  /**
+   * @param caseInsensitive whether the keys of the map are to be treated without case sensitivity
+   * @param map the entries to put in the new map
+   * @return a map with the entries of the given {@code map}, or the same instance if it already is a compatible
+   *         {@link PersistentStringMap}.
+   */
+  public static <V> PersistentStringMap<V> copyOf(boolean caseInsensitive, Map<String, ? extends V> map) {
+    if (map instanceof PersistentStringMap && ((PersistentStringMap<? extends V>) map).caseInsensitive == caseInsensitive) {
+      // Safe since the map is immutable, so no value that is not a V can ever be put into it
+      return (PersistentStringMap<V>) map;
+    }
+    return PersistentStringMap.<V>empty(caseInsensitive).plusAll(map);
+  }
+
+  private PersistentStringMap(boolean caseInsensitive, BitmapNode<V> root, int size) {
+    this.caseInsensitive = caseInsensitive;
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * @param key the key of the entry to add
+   * @param value the value of the entry to add
+   * @return a map with the entries of this one plus the given one, replacing any entry with the same key
+   */
+  public PersistentStringMap<V> plus(String key, V value) {
+    int hash = hash(key);
+    ImmutableEntry<V> entry = new ImmutableEntry<>(key, hash, value);
+    boolean[] added = new boolean[1];
+    BitmapNode<V> newRoot = root == null
+        ? new BitmapNode<>(bit(hash, 0), new Object[] {entry})
+        : (BitmapNode<V>) put(root, 0, entry, added);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentStringMap<>(caseInsensitive, newRoot, root == null || added[0] ? size + 1 : size);
+  }
+
+  /**
+   * @param entries the entries to add
+   * @return a map with the entries of this one plus the given ones, replacing any entry with the same key
+   */
+  public PersistentStringMap<V> plusAll(Map<String, ? extends V> entries) {
+    PersistentStringMap<V> result = this;
+    for (Entry<String, ? extends V> entry : entries.entrySet()) {
+      result = result.plus(entry.getKey(), entry.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * @param key the key of the entry to remove
+   * @return a map with the entries of this one except the one for the given {@code key}
+   */
+  public PersistentStringMap<V> minus(String key) {
+    if (root == null) {
+      return this;
+    }
+    Object newRoot = remove(root, 0, hash(key), key);
+    if (newRoot == root) {
+      return this;
+    } else if (size == 1) {
+      return empty(caseInsensitive);
+    } else if (newRoot instanceof ImmutableEntry) {
+      ImmutableEntry<V> remaining = (ImmutableEntry<V>) newRoot;
+      return new PersistentStringMap<>(caseInsensitive, new BitmapNode<>(bit(remaining.hash, 0), new Object[] {remaining}),
+                                       size - 1);
+    } else {
+      return new PersistentStringMap<>(caseInsensitive, (BitmapNode<V>) newRoot, size - 1);
+    }
+  }
+
+  /**
+   * @return whether the keys of this map are treated without case sensitivity
+   */
+  public boolean isCaseInsensitive() {
+    return caseInsensitive;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public V get(Object key) {
+    ImmutableEntry<V> entry = getEntry(key);
+    return entry == null ? null : entry.value;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return getEntry(key) != null;
+  }
+
+  private ImmutableEntry<V> getEntry(Object key) {
+    if (root == null || !(key instanceof String)) {
+      return null;
+    }
+
+    String stringKey = (String) key;
+    int hash = hash(stringKey);
+    Object node = root;
+    int shift = 0;
+    while (true) {
+      if (node instanceof BitmapNode) {
+        BitmapNode<V> bitmapNode = (BitmapNode<V>) node;
+        int bit = bit(hash, shift);
+        if ((bitmapNode.bitmap & bit) == 0) {
+          return null;
+        }
+        node = bitmapNode.children[index(bitmapNode.bitmap, bit)];
+        shift += BITS;
+      } else if (node instanceof ImmutableEntry) {
+        ImmutableEntry<V> entry = (ImmutableEntry<V>) node;
+        return entry.hash == hash && sameKey(entry.key, stringKey) ? entry : null;
+      } else {
+        for (ImmutableEntry<V> entry : ((CollisionNode<V>) node).entries) {
+          if (sameKey(entry.key, stringKey)) {
+            return entry;
+          }
+        }
+        return null;
+      }
+    }
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new AbstractSet<Entry<String, V>>() {
+
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+          return new EntryIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+    return entrySet;
+  }
+
+  private int hash(String key) {
+    int hash;
+    if (caseInsensitive) {
+      // Consistent with String#equalsIgnoreCase, without creating a lower case copy of the key
+      hash = 0;
+      for (int i = 0; i < key.length(); ++i) {
+        hash = 31 * hash + toLowerCase(toUpperCase(key.charAt(i)));
+      }
+    } else {
+      hash = key.hashCode();
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private boolean sameKey(String key1, String key2) {
+    return caseInsensitive ? key1.equalsIgnoreCase(key2) : key1.equals(key2);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  private static int index(int bitmap, int bit) {
+    return bitCount(bitmap & (bit - 1));
+  }
+
+  private Object put(Object node, int shift, ImmutableEntry<V> entry, boolean[] added) {
+    if (node instanceof BitmapNode) {
+      BitmapNode<V> bitmapNode = (BitmapNode<V>) node;
+      int bit = bit(entry.hash, shift);
+      int index = index(bitmapNode.bitmap, bit);
+      if ((bitmapNode.bitmap & bit) == 0) {
+        added[0] = true;
+        Object[] children = new Object[bitmapNode.children.length + 1];
+        arraycopy(bitmapNode.children, 0, children, 0, index);
+        children[index] = entry;
+        arraycopy(bitmapNode.children, index, children, index + 1, bitmapNode.children.length - index);
+        return new BitmapNode<>(bitmapNode.bitmap | bit, children);
+      }
+
+      Object child = bitmapNode.children[index];
+      Object newChild = put(child, shift + BITS, entry, added);
+      if (newChild == child) {
+        return bitmapNode;
+      }
+      Object[] children = bitmapNode.children.clone();
+      children[index] = newChild;
+      return new BitmapNode<>(bitmapNode.bitmap, children);
+    } else if (node instanceof ImmutableEntry) {
+      ImmutableEntry<V> existing = (ImmutableEntry<V>) node;
+      if (existing.hash == entry.hash && sameKey(existing.key, entry.key)) {
+        if (existing.value == entry.value) {
+          return existing;
+        }
+        // Keep the casing of the key the entry was first added with
+        return new ImmutableEntry<>(existing.key, existing.hash, entry.value);
+      }
+      added[0] = true;
+      return merge(existing, existing.hash, entry, shift);
+    } else {
+      CollisionNode<V> collisionNode = (CollisionNode<V>) node;
+      if (collisionNode.hash != entry.hash) {
+        added[0] = true;
+        return merge(collisionNode, collisionNode.hash, entry, shift);
+      }
+
+      ImmutableEntry<V>[] entries = collisionNode.entries;
+      for (int i = 0; i < entries.length; ++i) {
+        if (sameKey(entries[i].key, entry.key)) {
+          ImmutableEntry<V>[] newEntries = entries.clone();
+          newEntries[i] = new ImmutableEntry<>(entries[i].key, entry.hash, entry.value);
+          return new CollisionNode<>(entry.hash, newEntries);
+        }
+      }
+      added[0] = true;
+      ImmutableEntry<V>[] newEntries = new ImmutableEntry[entries.length + 1];
+      arraycopy(entries, 0, newEntries, 0, entries.length);
+      newEntries[entries.length] = entry;
+      return new CollisionNode<>(entry.hash, newEntries);
+    }
+  }
+
+  /**
+   * Creates the node that holds both an existing node (an entry or a collision node) and a new entry with a different key.
+   */
+  private Object merge(Object existing, int existingHash, ImmutableEntry<V> entry, int shift) {
+    if (existingHash == entry.hash) {
+      return new CollisionNode<>(entry.hash, new ImmutableEntry[] {(ImmutableEntry<V>) existing, entry});
+    }
+
+    int existingBit = bit(existingHash, shift);
+    int entryBit = bit(entry.hash, shift);
+    if (existingBit == entryBit) {
+      return new BitmapNode<>(existingBit, new Object[] {merge(existing, existingHash, entry, shift + BITS)});
+    } else if (Integer.compareUnsigned(existingBit, entryBit) < 0) {
+      return new BitmapNode<>(existingBit | entryBit, new Object[] {existing, entry});
+    } else {
+      return new BitmapNode<>(existingBit | entryBit, new Object[] {entry, existing});
+    }
+  }
+
+  /**
+   * @return the node without the entry for the given key, the same node if there was no such entry, an entry if it is the only
+   *         one left in the node, or {@code null} if the node is left empty.
+   */
+  private Object remove(Object node, int shift, int hash, String key) {
+    if (node instanceof BitmapNode) {
+      BitmapNode<V> bitmapNode = (BitmapNode<V>) node;
+      int bit = bit(hash, shift);
+      if ((bitmapNode.bitmap & bit) == 0) {
+        return bitmapNode;
+      }
+      int index = index(bitmapNode.bitmap, bit);
+      Object child = bitmapNode.children[index];
+      Object newChild = remove(child, shift + BITS, hash, key);
+      if (newChild == child) {
+        return bitmapNode;
+      }
+
+      if (newChild == null) {
+        if (bitmapNode.children.length == 1) {
+          return null;
+        }
+        Object[] children = new Object[bitmapNode.children.length - 1];
+        arraycopy(bitmapNode.children, 0, children, 0, index);
+        arraycopy(bitmapNode.children, index + 1, children, index, children.length - index);
+        if (children.length == 1 && children[0] instanceof ImmutableEntry) {
+          return children[0];
+        }
+        return new BitmapNode<>(bitmapNode.bitmap & ~bit, children);
+      }
+
+      if (bitmapNode.children.length == 1 && newChild instanceof ImmutableEntry) {
+        return newChild;
+      }
+      Object[] children = bitmapNode.children.clone();
+      children[index] = newChild;
+      return new BitmapNode<>(bitmapNode.bitmap, children);
+    } else if (node instanceof ImmutableEntry) {
+      ImmutableEntry<V> entry = (ImmutableEntry<V>) node;
+      return entry.hash == hash && sameKey(entry.key, key) ? null : entry;
+    } else {
+      CollisionNode<V> collisionNode = (CollisionNode<V>) node;
+      ImmutableEntry<V>[] entries = collisionNode.entries;
+      for (int i = 0; i < entries.length; ++i) {
+        if (sameKey(entries[i].key, key)) {
+          if (entries.length == 2) {
+            return entries[1 - i];
+          }
+          ImmutableEntry<V>[] newEntries = new ImmutableEntry[entries.length - 1];
+          arraycopy(entries, 0, newEntries, 0, i);
+          arraycopy(entries, i + 1, newEntries, i, newEntries.length - i);
+          return new CollisionNode<>(collisionNode.hash, newEntries);
+        }
+      }
+      return collisionNode;
+    }
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    for (Entry<String, V> entry : entrySet()) {
+      out.writeObject(entry.getKey());
+      out.writeObject(entry.getValue());
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int entries = in.readInt();
+    PersistentStringMap<V> map = empty(caseInsensitive);
+    for (int i = 0; i < entries; ++i) {
+      map = map.plus((String) in.readObject(), (V) in.readObject());
+    }
+    this.root = map.root;
+    this.size = map.size;
+  }
+
+  private static final class BitmapNode<V> {
+
+    private final int bitmap;
+    // Each child is either an ImmutableEntry, a BitmapNode or a CollisionNode
+    private final Object[] children;
+
+    private BitmapNode(int bitmap, Object[] children) {
+      this.bitmap = bitmap;
+      this.children = children;
+    }
+  }
+
+  /**
+   * Holds the entries whose keys have the exact same hash.
+   */
+  private static final class CollisionNode<V> {
+
+    private final int hash;
+    private final ImmutableEntry<V>[] entries;
+
+    private CollisionNode(int hash, ImmutableEntry<V>[] entries) {
+      this.hash = hash;
+      this.entries = entries;
+    }
+  }
+
+  private static final class ImmutableEntry<V> implements Entry<String, V> {
+
+    private final String key;
+    private final int hash;
+    private final V value;
+
+    private ImmutableEntry(String key, int hash, V value) {
+      this.key = key;
+      this.hash = hash;
+      this.value = value;
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> that = (Entry<?, ?>) o;
+      return key.equals(that.getKey()) && Objects.equals(value, that.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  private static final class EntryIterator<V> implements Iterator<Entry<String, V>> {
+
+    private final Deque<Object> pending = new ArrayDeque<>();
+
+    private EntryIterator(BitmapNode<V> root) {
+      if (root != null) {
+        pending.push(root);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !pending.isEmpty();
+    }
+
+    @Override
+    public Entry<String, V> next() {
+      while (!pending.isEmpty()) {
+        Object node = pending.pop();
+        if (node instanceof ImmutableEntry) {
+          return (ImmutableEntry<V>) node;
+        }
+
+        Object[] children = node instanceof BitmapNode ? ((BitmapNode<V>) node).children : ((CollisionNode<V>) node).entries;
+        for (int i = children.length - 1; i >= 0; --i) {
+          pending.push(children[i]);
+        }
+      }
+      throw new NoSuchElementException();
+    }
+  }
+}
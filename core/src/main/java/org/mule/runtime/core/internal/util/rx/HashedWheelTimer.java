@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.slf4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Timer that keeps its pending timeouts in a wheel of buckets advanced by a single thread, so that registering or cancelling a
+ * timeout is O(1) and does not create any task in an executor queue.
+ * <p/>
+ * Timeouts expire at the first tick after their deadline, so they are never early but may be late by up to one tick. The expired
+ * tasks are run by the timer thread, so they have to be short, for instance dispatching the actual work to an executor as
+ * {@link TimerScheduler} does.
+ * <p/>
+ * A single timer is {@link #sharedTimer() shared} by the whole runtime.
+ *
+ * @since 4.2
+ */
+public final class HashedWheelTimer {
+
+  private static final Logger LOGGER = getLogger(HashedWheelTimer.class);
+
+  private static final long DEFAULT_TICK_MILLIS = 10;
+  private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+  private static final class SharedTimerHolder {
+
+    private static final HashedWheelTimer SHARED_TIMER =
+        new HashedWheelTimer("[MuleRuntime].timer", DEFAULT_TICK_MILLIS, MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+
+    static {
+      Thread shutdownHook = new Thread(SHARED_TIMER::doStop, "[MuleRuntime].timer.shutdownHook");
+      shutdownHook.setContextClassLoader(HashedWheelTimer.class.getClassLoader());
+      Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+  }
+
+  /**
+   * @return the timer shared by the whole runtime, which cannot be stopped by its users. Its thread is stopped when the JVM shuts
+   *         down.
+   */
+  public static HashedWheelTimer sharedTimer() {
+    return SharedTimerHolder.SHARED_TIMER;
+  }
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final long startTime;
+  private final Thread workerThread;
+  private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger scheduled = new AtomicInteger();
+  private volatile boolean stopped;
+
+  /**
+   * Creates a new timer and starts its thread.
+   *
+   * @param threadName the name of the thread that advances the wheel
+   * @param tickDuration the precision of the timer
+   * @param unit the unit of {@code tickDuration}
+   * @param ticksPerWheel the number of buckets in the wheel. Rounded down to a power of two.
+   */
+  public HashedWheelTimer(String threadName, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+    this.tickNanos = max(1, unit.toNanos(tickDuration));
+    this.wheel = new Bucket[highestOneBit(max(ticksPerWheel, 1))];
+    for (int i = 0; i < wheel.length; ++i) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = wheel.length - 1;
+    this.startTime = nanoTime();
+
+    this.workerThread = new Thread(this::run, threadName);
+    // The timer outlives any artifact that uses it, so it must not keep a reference to the classloader of the artifact that
+    // happened to create it
+    workerThread.setContextClassLoader(HashedWheelTimer.class.getClassLoader());
+    workerThread.setDaemon(true);
+    workerThread.start();
+  }
+
+  /**
+   * Schedules the given task to be run by the timer thread once the delay elapses.
+   *
+   * @param task the task to run. It has to be short, since it delays the other timeouts expiring in the same tick.
+   * @param delay how long to wait before running the task
+   * @param unit the unit of {@code delay}
+   * @return the handle to cancel the timeout
+   * @throws RejectedExecutionException if this timer was stopped
+   */
+  public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+    if (stopped) {
+      throw new RejectedExecutionException("Timer '" + workerThread.getName() + "' is stopped");
+    }
+
+    long deadline = nanoTime() - startTime + max(0, unit.toNanos(delay));
+    // Guard against overflow
+    if (deadline < 0) {
+      deadline = Long.MAX_VALUE;
+    }
+
+    Timeout timeout = new Timeout(this, task, deadline);
+    scheduled.incrementAndGet();
+    pendingTimeouts.add(timeout);
+    return timeout;
+  }
+
+  /**
+   * @return the number of timeouts that have neither expired nor been cancelled yet.
+   */
+  public int getPendingTimeouts() {
+    return scheduled.get();
+  }
+
+  /**
+   * Stops the thread of this timer. Pending timeouts never expire.
+   */
+  public void stop() {
+    if (this == sharedTimer()) {
+      throw new IllegalStateException("The shared timer cannot be stopped");
+    }
+    doStop();
+  }
+
+  private void doStop() {
+    stopped = true;
+    workerThread.interrupt();
+  }
+
+  private void run() {
+    long tick = 0;
+    while (!stopped) {
+      long deadline = waitForNextTick(tick);
+      if (deadline < 0) {
+        break;
+      }
+
+      removeCancelledTimeouts();
+      transferPendingTimeouts(tick);
+      wheel[(int) (tick & mask)].expireTimeouts(deadline);
+      ++tick;
+    }
+  }
+
+  private long waitForNextTick(long tick) {
+    long deadline = tickNanos * (tick + 1);
+
+    while (true) {
+      long current = nanoTime() - startTime;
+      long sleepMillis = NANOSECONDS.toMillis(deadline - current + 999999);
+      if (sleepMillis <= 0) {
+        return current;
+      }
+
+      try {
+        sleep(sleepMillis);
+      } catch (InterruptedException e) {
+        if (stopped) {
+          return -1;
+        }
+      }
+    }
+  }
+
+  private void removeCancelledTimeouts() {
+    Timeout timeout;
+    while ((timeout = cancelledTimeouts.poll()) != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+    }
+  }
+
+  private void transferPendingTimeouts(long tick) {
+    Timeout timeout;
+    while ((timeout = pendingTimeouts.poll()) != null) {
+      if (timeout.isCancelled()) {
+        continue;
+      }
+
+      long expirationTick = timeout.deadline / tickNanos;
+      timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+      // Timeouts already past their deadline go to the current bucket
+      wheel[(int) (max(expirationTick, tick) & mask)].add(timeout);
+    }
+  }
+
+  /**
+   * A task scheduled in a {@link HashedWheelTimer}.
+   */
+  public static final class Timeout {
+
+    private static final int ST_INIT = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER = newUpdater(Timeout.class, "state");
+
+    private final HashedWheelTimer timer;
+    private final Runnable task;
+    private final long deadline;
+    private volatile int state = ST_INIT;
+
+    // Only accessed by the timer thread
+    private long remainingRounds;
+    private Bucket bucket;
+    private Timeout next;
+    private Timeout prev;
+
+    private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+      this.timer = timer;
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels this timeout, so its task is not run if it hasn't been already.
+     *
+     * @return {@code true} if the timeout was cancelled by this call.
+     */
+    public boolean cancel() {
+      if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+        return false;
+      }
+      timer.scheduled.decrementAndGet();
+      timer.cancelledTimeouts.add(this);
+      return true;
+    }
+
+    /**
+     * @return {@code true} if this timeout was cancelled before expiring.
+     */
+    public boolean isCancelled() {
+      return state == ST_CANCELLED;
+    }
+
+    /**
+     * @return {@code true} if this timeout expired and its task was run.
+     */
+    public boolean isExpired() {
+      return state == ST_EXPIRED;
+    }
+
+    private void expire() {
+      if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+        return;
+      }
+      timer.scheduled.decrementAndGet();
+
+      try {
+        task.run();
+      } catch (Throwable t) {
+        LOGGER.warn("Task of timer '" + timer.workerThread.getName() + "' failed", t);
+      }
+    }
+  }
+
+  /**
+   * Doubly linked list of the timeouts expiring at the same wheel position. Only accessed by the timer thread.
+   */
+  private static final class Bucket {
+
+    private Timeout head;
+    private Timeout tail;
+
+    private void add(Timeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+        tail = timeout;
+      }
+    }
+
+    private void expireTimeouts(long deadline) {
+      Timeout timeout = head;
+      while (timeout != null) {
+        Timeout next = timeout.next;
+        if (timeout.isCancelled()) {
+          remove(timeout);
+        } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+          remove(timeout);
+          timeout.expire();
+        } else if (timeout.remainingRounds > 0) {
+          --timeout.remainingRounds;
+        }
+        timeout = next;
+      }
+    }
+
+    private void remove(Timeout timeout) {
+      if (timeout.bucket != this) {
+        return;
+      }
+
+      if (timeout.prev != null) {
+        timeout.prev.next = timeout.next;
+      } else {
+        head = timeout.next;
+      }
+      if (timeout.next != null) {
+        timeout.next.prev = timeout.prev;
+      } else {
+        tail = timeout.prev;
+      }
+
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+    }
+  }
+}
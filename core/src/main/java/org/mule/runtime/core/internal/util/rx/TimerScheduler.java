@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.internal.util.rx.HashedWheelTimer.sharedTimer;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.internal.util.rx.HashedWheelTimer.Timeout;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Reactor {@link Scheduler} that waits for delayed tasks in a {@link HashedWheelTimer} and then runs them in an executor, such as
+ * one of the {@link org.mule.runtime.api.scheduler.Scheduler schedulers} provided by the
+ * {@link org.mule.runtime.api.scheduler.SchedulerService}.
+ * <p/>
+ * This allows operators such as {@code timeout} or {@code delay} to register and cancel their timeouts in O(1), instead of
+ * having a scheduled future waiting in the executor queue for each event.
+ * <p/>
+ * Delayed tasks are rejected when scheduled if the executor is already shut down, so the operator propagates the rejection to its
+ * subscriber. If the executor rejects a task once its delay has elapsed, the task is handed to a small bounded fallback executor,
+ * so its subscriber is still signaled without blocking the timer thread, which is shared by the whole runtime.
+ * <p/>
+ * Disposing this scheduler does not shutdown the executor, the owner of the executor is responsible for that.
+ *
+ * @since 4.2
+ */
+public final class TimerScheduler implements Scheduler {
+
+  private static final Logger LOGGER = getLogger(TimerScheduler.class);
+
+  private static final int FALLBACK_QUEUE_SIZE = 1024;
+
+  /**
+   * Lazily creates the executor for the delayed tasks rejected by the executor of their scheduler.
+   */
+  private static final class FallbackExecutorHolder {
+
+    private static final ThreadPoolExecutor FALLBACK_EXECUTOR = createFallbackExecutor();
+
+    private static ThreadPoolExecutor createFallbackExecutor() {
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(1, 1, 60, SECONDS, new ArrayBlockingQueue<>(FALLBACK_QUEUE_SIZE), r -> {
+            Thread thread = new Thread(r, "[MuleRuntime].timer.fallback");
+            thread.setContextClassLoader(TimerScheduler.class.getClassLoader());
+            thread.setDaemon(true);
+            return thread;
+          });
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
+
+  /**
+   * @param executor where to run the tasks
+   * @return a reactor {@link Scheduler} that runs tasks in the given executor, using the {@link HashedWheelTimer#sharedTimer()
+   *         shared timer} for delayed tasks.
+   */
+  public static Scheduler timerScheduler(ExecutorService executor) {
+    return new TimerScheduler(sharedTimer(), executor);
+  }
+
+  private final HashedWheelTimer timer;
+  private final ExecutorService executor;
+
+  /**
+   * Creates a new instance
+   *
+   * @param timer the timer to wait for delayed tasks on
+   * @param executor where to run the tasks
+   */
+  public TimerScheduler(HashedWheelTimer timer, ExecutorService executor) {
+    this.timer = timer;
+    this.executor = executor;
+  }
+
+  @Override
+  public Disposable schedule(Runnable task) {
+    Future<?> future = executor.submit(task);
+    return () -> future.cancel(false);
+  }
+
+  @Override
+  public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+    if (delay <= 0) {
+      return schedule(task);
+    }
+    if (executor.isShutdown()) {
+      throw new RejectedExecutionException("Executor " + executor + " is shut down");
+    }
+    TimedTask timedTask = new TimedTask(task, executor);
+    timedTask.timeout = timer.newTimeout(timedTask, delay, unit);
+    return timedTask;
+  }
+
+  @Override
+  public Worker createWorker() {
+    return new TimerWorker();
+  }
+
+  @Override
+  public void dispose() {
+    // Nothing to do, the timer is shared and the executor is not owned by this scheduler
+  }
+
+  @Override
+  public String toString() {
+    return "TimerScheduler{" + executor + "}";
+  }
+
+  /**
+   * Dispatches a task to the executor once its timeout expires, unless it is disposed before running.
+   */
+  private static final class TimedTask implements Runnable, Disposable {
+
+    private final Runnable task;
+    private final ExecutorService executor;
+    private volatile Timeout timeout;
+    private volatile boolean disposed;
+
+    private TimedTask(Runnable task, ExecutorService executor) {
+      this.task = task;
+      this.executor = executor;
+    }
+
+    @Override
+    public void run() {
+      if (disposed) {
+        return;
+      }
+      // Called from the timer thread, the actual task is run in the executor
+      try {
+        executor.execute(this::runTask);
+      } catch (RejectedExecutionException e) {
+        // The executor is stopping or saturated. The subscriber waiting for the task is no longer reachable to propagate the
+        // rejection to, so the task is run elsewhere, never in the timer thread
+        try {
+          FallbackExecutorHolder.FALLBACK_EXECUTOR.execute(this::runTask);
+        } catch (RejectedExecutionException fallbackRejected) {
+          LOGGER.error("Delayed task dropped, both executor " + executor + " and the fallback executor rejected it", e);
+        }
+      }
+    }
+
+    private void runTask() {
+      if (!disposed) {
+        task.run();
+      }
+    }
+
+    @Override
+    public void dispose() {
+      disposed = true;
+      Timeout currentTimeout = timeout;
+      if (currentTimeout != null) {
+        currentTimeout.cancel();
+      }
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return disposed;
+    }
+  }
+
+  /**
+   * {@link Worker} that tracks the tasks scheduled through it, so they are all cancelled when the worker is disposed.
+   */
+  private final class TimerWorker implements Worker {
+
+    private final Set<Disposable> tasks = newKeySet();
+    private volatile boolean disposed;
+
+    @Override
+    public Disposable schedule(Runnable task) {
+      return schedule(task, 0, NANOSECONDS);
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+      if (disposed) {
+        throw new RejectedExecutionException("Worker is disposed");
+      }
+
+      WorkerTask workerTask = new WorkerTask(task);
+      tasks.add(workerTask);
+      try {
+        workerTask.scheduled = TimerScheduler.this.schedule(workerTask, delay, unit);
+      } catch (RejectedExecutionException e) {
+        tasks.remove(workerTask);
+        throw e;
+      }
+      return workerTask;
+    }
+
+    @Override
+    public void dispose() {
+      disposed = true;
+      tasks.forEach(Disposable::dispose);
+      tasks.clear();
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return disposed;
+    }
+
+    private final class WorkerTask implements Runnable, Disposable {
+
+      private final Runnable task;
+      private volatile Disposable scheduled;
+      private volatile boolean disposed;
+
+      private WorkerTask(Runnable task) {
+        this.task = task;
+      }
+
+      @Override
+      public void run() {
+        try {
+          if (!disposed) {
+            task.run();
+          }
+        } finally {
+          tasks.remove(this);
+        }
+      }
+
+      @Override
+      public void dispose() {
+        disposed = true;
+        tasks.remove(this);
+        Disposable currentScheduled = scheduled;
+        if (currentScheduled != null) {
+          currentScheduled.dispose();
+        }
+      }
+
+      @Override
+      public boolean isDisposed() {
+        return disposed;
+      }
+    }
+  }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Math.log;
+import static java.lang.System.nanoTime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.TemplateObjectStore;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link ObjectStore} wrapper that keeps a Bloom filter of the stored keys, so that checking whether a key that was never stored
+ * is contained doesn't hit the wrapped store, which is costly for persistent stores.
+ * <p/>
+ * The filter grows as keys are stored, by adding slices with twice the capacity and a tighter false positive rate, up to the
+ * given memory budget. Once the budget is exhausted, every check goes to the wrapped store. When the wrapped store expires its
+ * entries, the filter can be made to expire as well by keeping two generations of it: keys are added to the current one and,
+ * once the expiration time passes, the oldest generation is dropped.
+ * <p/>
+ * The filter is loaded from the keys of the wrapped store when first used, and reloaded after each {@link #start()}. Keys
+ * stored in the wrapped store without going through this wrapper, for instance by another node of a cluster, are not seen until
+ * it is reloaded.
+ *
+ * @since 4.2
+ */
+public class BloomFilterObjectStore<T extends Serializable> extends TemplateObjectStore<T>
+    implements Startable, Stoppable, Disposable {
+
+  private static final Logger LOGGER = getLogger(BloomFilterObjectStore.class);
+
+  public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+  public static final long DEFAULT_MAX_MEMORY = 4 * 1024 * 1024;
+
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final double TIGHTENING_RATIO = 0.5;
+
+  private final ObjectStore<T> delegate;
+  private final double falsePositiveRate;
+  private final long maxMemoryBits;
+  private final long expirationNanos;
+
+  private volatile Generation current;
+  private volatile Generation previous;
+  private volatile boolean loaded;
+  private volatile boolean saturated;
+
+  /**
+   * Creates a new instance
+   *
+   * @param delegate the store to wrap
+   * @param falsePositiveRate the probability of a key that was never stored being reported as possibly contained, in which case
+   *        the wrapped store is checked
+   * @param maxMemory the maximum memory, in bytes, to use for the filter
+   * @param expirationMillis how long, at least, to keep the stored keys in the filter, or {@code 0} to keep them for as long as
+   *        this store exists. Must not be shorter than the time the wrapped store keeps its entries.
+   */
+  public BloomFilterObjectStore(ObjectStore<T> delegate, double falsePositiveRate, long maxMemory, long expirationMillis) {
+    checkArgument(falsePositiveRate > 0 && falsePositiveRate < 1, "False positive rate must be between 0 and 1");
+    checkArgument(maxMemory > 0, "Max memory must be greater than zero");
+    this.delegate = delegate;
+    this.falsePositiveRate = falsePositiveRate;
+    this.maxMemoryBits = maxMemory * 8;
+    this.expirationNanos = MILLISECONDS.toNanos(expirationMillis);
+    reset();
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    if (!mightContain(key)) {
+      return false;
+    }
+    return delegate.contains(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    // Added before storing, so concurrent checks don't miss it
+    put(key);
+    delegate.store(key, value);
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    return delegate.retrieve(key);
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    // Keys can't be removed from the filter, this just causes a false positive
+    return delegate.remove(key);
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return delegate.isPersistent();
+  }
+
+  @Override
+  public synchronized void clear() throws ObjectStoreException {
+    delegate.clear();
+    reset();
+    loaded = true;
+  }
+
+  @Override
+  public void open() throws ObjectStoreException {
+    delegate.open();
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    delegate.close();
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    return delegate.allKeys();
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    return delegate.retrieveAll();
+  }
+
+  @Override
+  public void start() throws MuleException {
+    startIfNeeded(delegate);
+    loaded = false;
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    stopIfNeeded(delegate);
+  }
+
+  @Override
+  public void dispose() {
+    disposeIfNeeded(delegate, LOGGER);
+  }
+
+  /**
+   * @return the store wrapped by this one
+   */
+  public ObjectStore<T> getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * @return the approximate memory used by the filter, in bytes
+   */
+  public long getMemoryUsage() {
+    Generation previousGeneration = previous;
+    return (current.bits() + (previousGeneration != null ? previousGeneration.bits() : 0)) / 8;
+  }
+
+  /**
+   * @return {@code true} if the memory budget was exhausted and every check goes to the wrapped store
+   */
+  public boolean isSaturated() {
+    return saturated;
+  }
+
+  private boolean mightContain(String key) {
+    load();
+    if (saturated) {
+      return true;
+    }
+
+    Generation previousGeneration = previous;
+    return current.mightContain(key) || (previousGeneration != null && previousGeneration.mightContain(key));
+  }
+
+  private void put(String key) {
+    load();
+    add(key);
+  }
+
+  private void add(String key) {
+    if (saturated) {
+      return;
+    }
+
+    rotateIfExpired();
+    if (!current.put(key, this)) {
+      saturated = true;
+      LOGGER.warn("Bloom filter in front of object store '{}' exhausted its memory budget of {} bytes, "
+          + "every check will go to the object store", delegate, maxMemoryBits / 8);
+    }
+  }
+
+  private void load() {
+    if (loaded) {
+      return;
+    }
+
+    synchronized (this) {
+      if (loaded) {
+        return;
+      }
+      reset();
+      try {
+        for (String key : delegate.allKeys()) {
+          add(key);
+        }
+      } catch (ObjectStoreException | RuntimeException e) {
+        LOGGER.warn("Could not load the keys of object store '" + delegate + "', every check will go to the object store", e);
+        saturated = true;
+      }
+      loaded = true;
+    }
+  }
+
+  private synchronized void reset() {
+    previous = null;
+    current = new Generation(falsePositiveRate);
+    saturated = false;
+  }
+
+  private void rotateIfExpired() {
+    if (expirationNanos <= 0 || nanoTime() - current.created < expirationNanos) {
+      return;
+    }
+
+    synchronized (this) {
+      if (nanoTime() - current.created >= expirationNanos) {
+        previous = current;
+        current = new Generation(falsePositiveRate);
+      }
+    }
+  }
+
+  private boolean hasMemoryFor(long bits) {
+    Generation previousGeneration = previous;
+    return current.bits() + (previousGeneration != null ? previousGeneration.bits() : 0) + bits <= maxMemoryBits;
+  }
+
+  /**
+   * Scalable Bloom filter: a sequence of slices, each with twice the capacity and a tighter false positive rate than the
+   * previous one, so that the overall false positive rate stays below the configured one.
+   */
+  private static final class Generation {
+
+    private final long created = nanoTime();
+    private final List<Slice> slices = new CopyOnWriteArrayList<>();
+    private volatile Slice last;
+
+    private Generation(double falsePositiveRate) {
+      last = new Slice(INITIAL_CAPACITY, falsePositiveRate * (1 - TIGHTENING_RATIO));
+      slices.add(last);
+    }
+
+    private boolean mightContain(String key) {
+      for (Slice slice : slices) {
+        if (slice.filter.mightContain(key)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean put(String key, BloomFilterObjectStore<?> store) {
+      Slice slice = last;
+      if (slice.count.incrementAndGet() > slice.capacity) {
+        synchronized (this) {
+          slice = last;
+          if (slice.count.get() > slice.capacity) {
+            int capacity = slice.capacity * 2;
+            double falsePositiveRate = slice.falsePositiveRate * TIGHTENING_RATIO;
+            if (!store.hasMemoryFor(Slice.bits(capacity, falsePositiveRate))) {
+              return false;
+            }
+            slice = new Slice(capacity, falsePositiveRate);
+            slices.add(slice);
+            last = slice;
+          }
+          slice.count.incrementAndGet();
+        }
+      }
+      slice.filter.put(key);
+      return true;
+    }
+
+    private long bits() {
+      long bits = 0;
+      for (Slice slice : slices) {
+        bits += slice.bits;
+      }
+      return bits;
+    }
+  }
+
+  private static final class Slice {
+
+    private final BloomFilter<CharSequence> filter;
+    private final int capacity;
+    private final double falsePositiveRate;
+    private final long bits;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private Slice(int capacity, double falsePositiveRate) {
+      this.filter = BloomFilter.create(Funnels.stringFunnel(UTF_8), capacity, falsePositiveRate);
+      this.capacity = capacity;
+      this.falsePositiveRate = falsePositiveRate;
+      this.bits = bits(capacity, falsePositiveRate);
+    }
+
+    /**
+     * @return the optimal number of bits for a Bloom filter with the given capacity and false positive rate
+     */
+    private static long bits(int capacity, double falsePositiveRate) {
+      return (long) (-capacity * log(falsePositiveRate) / (log(2) * log(2)));
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.System.getProperty;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+/**
+ * Defines when the changes done on a {@link PersistentObjectStorePartition} are considered persisted.
+ *
+ * @since 4.2
+ */
+public enum PersistentObjectStoreDurability {
+
+  /**
+   * Each operation writes its file before returning, leaving it to the operating system to flush it to the disk. This is the
+   * default.
+   */
+  NONE,
+
+  /**
+   * Each operation writes its file and forces it to the disk before returning.
+   */
+  OPERATION,
+
+  /**
+   * Operations done concurrently are written together and forced to the disk as a group. Each operation returns once the group
+   * containing it is persisted.
+   */
+  BATCH,
+
+  /**
+   * Operations return right away and are written and forced to the disk in groups by a background thread. Changes not yet
+   * persisted are lost if the runtime stops abruptly.
+   */
+  ASYNC;
+
+  /**
+   * System property to set the durability of the persistent object stores.
+   */
+  public static final String DURABILITY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.persistent.durability";
+
+  /**
+   * @return the durability set through the {@value #DURABILITY_PROPERTY} system property, or {@link #NONE} if not set.
+   */
+  public static PersistentObjectStoreDurability getConfiguredDurability() {
+    String durability = getProperty(DURABILITY_PROPERTY);
+    return durability == null ? NONE : valueOf(durability.trim().toUpperCase());
+  }
+}
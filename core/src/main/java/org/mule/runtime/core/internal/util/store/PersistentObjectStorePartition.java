@@ -15,7 +15,12 @@ import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
 import static org.mule.runtime.core.api.util.FileUtils.cleanDirectory;
 import static org.mule.runtime.core.api.util.FileUtils.newFile;
 import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStoreDurability.ASYNC;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStoreDurability.NONE;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStoreDurability.getConfiguredDurability;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.serialization.ObjectSerializer;
 import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectDoesNotExistException;
@@ -26,9 +31,11 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
 import org.mule.runtime.api.store.ExpirableObjectStore;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStoreWriter.PendingOperation;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.FileInputStream;
@@ -37,6 +44,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -45,6 +53,7 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.collections.BidiMap;
 import org.apache.commons.collections.bidimap.TreeBidiMap;
@@ -52,7 +61,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PersistentObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
-    implements ExpirableObjectStore<T> {
+    implements ExpirableObjectStore<T>, Disposable {
 
   private static final String OBJECT_FILE_EXTENSION = ".obj";
   private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
@@ -69,11 +78,21 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   private String partitionName;
   private final BidiMap realKeyToUUIDIndex = new TreeBidiMap();
 
+  private final PersistentObjectStoreWriter writer;
+  // Values already in the index but whose files are not written yet, by file name
+  private final Map<String, StoreValue<T>> pendingValues = new ConcurrentHashMap<>();
+
   public PersistentObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this(muleContext, partitionName, partitionDirectory, getConfiguredDurability());
+  }
+
+  public PersistentObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory,
+                                        PersistentObjectStoreDurability durability) {
     this.muleContext = muleContext;
     serializer = muleContext.getObjectSerializer();
     this.partitionName = partitionName;
     this.partitionDirectory = partitionDirectory;
+    this.writer = createWriter(partitionDirectory, durability);
   }
 
   public PersistentObjectStorePartition(MuleContext muleContext, File partitionDirectory)
@@ -82,6 +101,19 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     serializer = muleContext.getObjectSerializer();
     this.partitionDirectory = partitionDirectory;
     this.partitionName = readPartitionFileName(partitionDirectory);
+    this.writer = createWriter(partitionDirectory, getConfiguredDurability());
+  }
+
+  private PersistentObjectStoreWriter createWriter(File partitionDirectory, PersistentObjectStoreDurability durability) {
+    if (durability == NONE) {
+      return null;
+    }
+
+    Scheduler asyncScheduler = durability == ASYNC
+        ? muleContext.getSchedulerService()
+            .ioScheduler(muleContext.getSchedulerBaseConfig().withName("ObjectStore-" + partitionName + "-writer"))
+        : null;
+    return new PersistentObjectStoreWriter(partitionDirectory, durability, asyncScheduler);
   }
 
   private String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvailableException {
@@ -100,7 +132,16 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   }
 
   @Override
-  public void close() throws ObjectStoreException {}
+  public void close() throws ObjectStoreException {
+    flushWriter();
+  }
+
+  @Override
+  public void dispose() {
+    if (writer != null) {
+      writer.dispose();
+    }
+  }
 
   @Override
   public List<String> allKeys() throws ObjectStoreException {
@@ -124,19 +165,46 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   protected void doStore(String key, T value) throws ObjectStoreException {
     assureLoaded();
 
+    if (writer == null) {
+      synchronized (realKeyToUUIDIndex) {
+        if (realKeyToUUIDIndex.containsKey(key)) {
+          throw new ObjectAlreadyExistsException();
+        }
+        File newFile = createFileToStoreObject();
+        realKeyToUUIDIndex.put(key, newFile.getName());
+        serialize(newFile, new StoreValue<T>(key, value));
+      }
+      return;
+    }
+
+    StoreValue<T> storeValue = new StoreValue<>(key, value);
+    byte[] content = serialize(storeValue);
+    File newFile = createFileToStoreObject();
+    String filename = newFile.getName();
+    PendingOperation write;
     synchronized (realKeyToUUIDIndex) {
       if (realKeyToUUIDIndex.containsKey(key)) {
         throw new ObjectAlreadyExistsException();
       }
-      File newFile = createFileToStoreObject();
-      realKeyToUUIDIndex.put(key, newFile.getName());
-      serialize(newFile, new StoreValue<T>(key, value));
+      realKeyToUUIDIndex.put(key, filename);
+      pendingValues.put(filename, storeValue);
+      // Queued while holding the index lock so that file operations are applied in the same order as the index changes
+      write = writer.enqueueWrite(newFile, content, () -> pendingValues.remove(filename), () -> {
+        // Not persisted, so it's no longer in the store
+        synchronized (realKeyToUUIDIndex) {
+          realKeyToUUIDIndex.removeValue(filename);
+          pendingValues.remove(filename);
+        }
+      });
     }
+
+    writer.await(write);
   }
 
   @Override
   public void clear() throws ObjectStoreException {
     synchronized (realKeyToUUIDIndex) {
+      flushWriter();
       try {
         cleanDirectory(this.partitionDirectory);
       } catch (IOException e) {
@@ -144,6 +212,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
       }
 
       realKeyToUUIDIndex.clear();
+      pendingValues.clear();
     }
   }
 
@@ -176,6 +245,10 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
 
   private T load(String key) throws ObjectStoreException {
     String filename = (String) realKeyToUUIDIndex.get(key);
+    StoreValue<T> pendingValue = pendingValues.get(filename);
+    if (pendingValue != null) {
+      return pendingValue.getValue();
+    }
     File file = getValueFile(filename);
     return deserialize(file).getValue();
   }
@@ -184,11 +257,24 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   protected T doRemove(String key) throws ObjectStoreException {
     assureLoaded();
 
+    if (writer == null) {
+      synchronized (realKeyToUUIDIndex) {
+        T value = retrieve(key);
+        deleteStoreFile(getValueFile((String) realKeyToUUIDIndex.get(key)));
+        return value;
+      }
+    }
+
+    T value;
+    PendingOperation delete;
     synchronized (realKeyToUUIDIndex) {
-      T value = retrieve(key);
-      deleteStoreFile(getValueFile((String) realKeyToUUIDIndex.get(key)));
-      return value;
+      value = retrieve(key);
+      String filename = (String) realKeyToUUIDIndex.remove(key);
+      pendingValues.remove(filename);
+      delete = writer.enqueueDelete(getValueFile(filename));
     }
+    writer.await(delete);
+    return value;
   }
 
   @Override
@@ -201,6 +287,8 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     assureLoaded();
 
     synchronized (realKeyToUUIDIndex) {
+      // Expiration is based on the files on disk, so every pending change has to be there
+      flushWriter();
       File[] files = listValuesFiles();
       Arrays.sort(files, (f1, f2) -> {
         int result = Long.valueOf(f1.lastModified()).compareTo(f2.lastModified());
@@ -227,6 +315,12 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     }
   }
 
+  private void flushWriter() {
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
   private void assureLoaded() throws ObjectStoreException {
     if (!loaded) {
       loadStoredKeysAndFileNames();
@@ -332,8 +426,30 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   protected void serialize(File outputFile, StoreValue<T> storeValue) throws ObjectStoreException {
     try (
         FileOutputStream fileOutputStream = new FileOutputStream(outputFile);
-        BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(fileOutputStream);
-        ObjectOutputStream objectOutputStream = new ObjectOutputStream(bufferedOutputStream)) {
+        BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(fileOutputStream)) {
+      serialize(bufferedOutputStream, storeValue);
+    } catch (ObjectStoreException e) {
+      throw e;
+    } catch (Exception se) {
+      throw new ObjectStoreException(se);
+    }
+  }
+
+  /**
+   * Serializes the given {@code storeValue} with the same format used for the files of this partition.
+   *
+   * @param storeValue the value to serialize
+   * @return the content of the file for the {@code storeValue}
+   * @throws ObjectStoreException if the value could not be serialized
+   */
+  protected byte[] serialize(StoreValue<T> storeValue) throws ObjectStoreException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    serialize(content, storeValue);
+    return content.toByteArray();
+  }
+
+  private void serialize(OutputStream outputStream, StoreValue<T> storeValue) throws ObjectStoreException {
+    try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
       serializer.getInternalProtocol().serialize(storeValue, objectOutputStream);
       objectOutputStream.flush();
     } catch (Exception se) {
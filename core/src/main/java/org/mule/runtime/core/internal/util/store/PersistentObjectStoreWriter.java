@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Integer.getInteger;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStoreDurability.ASYNC;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStoreDurability.OPERATION;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies the file operations of a {@link PersistentObjectStorePartition} according to its
+ * {@link PersistentObjectStoreDurability}.
+ * <p/>
+ * Operations are queued in the order the partition performs them. The first thread that needs its operation persisted becomes
+ * the leader: it takes every queued operation (up to {@value #MAX_BATCH_SIZE_PROPERTY}) and writes them. Only writing is
+ * serialized: the leader forces the written files and the partition directory to the disk after letting the next leader in, so
+ * that the next group is written while this one is synced. Threads whose operations were part of the group just wait for it to
+ * be synced.
+ *
+ * @since 4.2
+ */
+class PersistentObjectStoreWriter {
+
+  /**
+   * Maximum amount of operations to persist as a single group.
+   */
+  static final String MAX_BATCH_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.persistent.maxBatchSize";
+
+  private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PersistentObjectStoreWriter.class);
+
+  private final File directory;
+  private final PersistentObjectStoreDurability durability;
+  private final Scheduler asyncScheduler;
+  private final int maxBatchSize;
+
+  private final Queue<PendingOperation> pendingOperations = new ConcurrentLinkedQueue<>();
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+  /**
+   * @param directory the directory of the partition
+   * @param durability the durability of the partition
+   * @param asyncScheduler the scheduler where operations are persisted when the {@code durability} is {@link
+   *        PersistentObjectStoreDurability#ASYNC}. It is stopped when this writer is disposed.
+   */
+  PersistentObjectStoreWriter(File directory, PersistentObjectStoreDurability durability, Scheduler asyncScheduler) {
+    this.directory = directory;
+    this.durability = durability;
+    this.asyncScheduler = asyncScheduler;
+    this.maxBatchSize = durability == OPERATION ? 1 : Math.max(1, getInteger(MAX_BATCH_SIZE_PROPERTY, DEFAULT_MAX_BATCH_SIZE));
+  }
+
+  /**
+   * Queues the writing of {@code content} into {@code file}.
+   *
+   * @param file the file to write
+   * @param content the content of the file
+   * @param onWritten callback invoked once the file is persisted
+   * @param onFailed callback invoked if the file could not be persisted
+   * @return the queued operation
+   */
+  PendingOperation enqueueWrite(File file, byte[] content, Runnable onWritten, Runnable onFailed) {
+    return enqueue(new WriteOperation(file, content, onWritten, onFailed));
+  }
+
+  /**
+   * Queues the removal of {@code file}. Removing a file that doesn't exist is not an error.
+   *
+   * @param file the file to remove
+   * @return the queued operation
+   */
+  PendingOperation enqueueDelete(File file) {
+    return enqueue(new DeleteOperation(file));
+  }
+
+  private PendingOperation enqueue(PendingOperation operation) {
+    pendingOperations.add(operation);
+    if (durability == ASYNC && flushScheduled.compareAndSet(false, true)) {
+      try {
+        asyncScheduler.execute(() -> {
+          flushScheduled.set(false);
+          flush();
+        });
+      } catch (RejectedExecutionException e) {
+        // The scheduler is stopped or busy, persist in the calling thread instead of losing the operation
+        flushScheduled.set(false);
+        flush();
+      }
+    }
+    return operation;
+  }
+
+  /**
+   * Waits until the given {@code operation} is persisted, if the durability requires so.
+   *
+   * @param operation an operation returned by this writer
+   * @throws ObjectStoreException if the operation failed
+   */
+  void await(PendingOperation operation) throws ObjectStoreException {
+    if (durability == ASYNC) {
+      return;
+    }
+
+    while (!operation.claimed) {
+      Batch batch = null;
+      writeLock.lock();
+      try {
+        if (!operation.claimed) {
+          batch = writeBatch();
+        }
+      } finally {
+        writeLock.unlock();
+      }
+      if (batch != null) {
+        batch.sync();
+      }
+    }
+
+    operation.awaitCompletion();
+    if (operation.failure != null) {
+      throw new ObjectStoreException(operation.failure);
+    }
+  }
+
+  /**
+   * Persists every queued operation. Operations of groups being forced to the disk by other threads may still be pending
+   * their sync when this returns.
+   */
+  void flush() {
+    Batch batch;
+    do {
+      // Acquired at least once, so that a group being written by another thread is on the disk when returning
+      writeLock.lock();
+      try {
+        batch = writeBatch();
+      } finally {
+        writeLock.unlock();
+      }
+      if (batch != null) {
+        batch.sync();
+      }
+    } while (batch != null);
+  }
+
+  /**
+   * Persists every queued operation and stops the scheduler of this writer. Operations queued afterwards are persisted by the
+   * thread that queues them.
+   */
+  void dispose() {
+    flush();
+    if (asyncScheduler != null) {
+      asyncScheduler.stop();
+    }
+  }
+
+  /**
+   * Takes the next group of queued operations and writes them, without forcing them to the disk. Must be invoked holding the
+   * {@link #writeLock}, so that operations are applied in the same order they were queued.
+   *
+   * @return the written group, or {@code null} if nothing was queued
+   */
+  private Batch writeBatch() {
+    List<PendingOperation> operations = new ArrayList<>();
+    PendingOperation operation;
+    while (operations.size() < maxBatchSize && (operation = pendingOperations.poll()) != null) {
+      operation.claimed = true;
+      operations.add(operation);
+    }
+    if (operations.isEmpty()) {
+      return null;
+    }
+
+    for (PendingOperation pending : operations) {
+      try {
+        pending.apply();
+      } catch (IOException e) {
+        pending.failure = e;
+      }
+    }
+    return new Batch(operations);
+  }
+
+  private void forceDirectory() {
+    try (FileChannel channel = FileChannel.open(directory.toPath(), READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // Not every platform allows to sync a directory, the files themselves are already synced at this point
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not sync object store directory " + directory.getAbsolutePath(), e);
+      }
+    }
+  }
+
+  /**
+   * A group of written operations to force to the disk.
+   */
+  private final class Batch {
+
+    private final List<PendingOperation> operations;
+
+    private Batch(List<PendingOperation> operations) {
+      this.operations = operations;
+    }
+
+    private void sync() {
+      for (PendingOperation pending : operations) {
+        if (pending.failure == null) {
+          try {
+            pending.force();
+          } catch (IOException e) {
+            pending.failure = e;
+          }
+        }
+      }
+      forceDirectory();
+
+      for (PendingOperation pending : operations) {
+        if (pending.failure == null) {
+          pending.onCompleted();
+        } else {
+          if (durability == ASYNC) {
+            LOGGER.error("Could not persist object store file " + pending.file.getAbsolutePath(), pending.failure);
+          }
+          pending.onFailed();
+        }
+        pending.complete();
+      }
+    }
+  }
+
+  /**
+   * A file operation waiting to be persisted.
+   */
+  abstract static class PendingOperation {
+
+    protected final File file;
+
+    private final CountDownLatch completion = new CountDownLatch(1);
+    private volatile boolean claimed;
+    private volatile IOException failure;
+
+    PendingOperation(File file) {
+      this.file = file;
+    }
+
+    /**
+     * Applies this operation, without forcing it to the disk.
+     */
+    protected abstract void apply() throws IOException;
+
+    /**
+     * Forces the applied operation to the disk.
+     */
+    protected void force() throws IOException {}
+
+    protected void onCompleted() {}
+
+    protected void onFailed() {}
+
+    private void complete() {
+      completion.countDown();
+    }
+
+    private void awaitCompletion() throws ObjectStoreException {
+      try {
+        completion.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ObjectStoreException(e);
+      }
+    }
+  }
+
+  private static class WriteOperation extends PendingOperation {
+
+    private final byte[] content;
+    private final Runnable onWritten;
+    private final Runnable onFailed;
+    private FileOutputStream outputStream;
+
+    WriteOperation(File file, byte[] content, Runnable onWritten, Runnable onFailed) {
+      super(file);
+      this.content = content;
+      this.onWritten = onWritten;
+      this.onFailed = onFailed;
+    }
+
+    @Override
+    protected void apply() throws IOException {
+      // Kept open until forced, so that the file doesn't have to be opened again
+      outputStream = new FileOutputStream(file);
+      try {
+        outputStream.write(content);
+      } catch (IOException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    protected void force() throws IOException {
+      try {
+        outputStream.getChannel().force(false);
+      } finally {
+        close();
+      }
+    }
+
+    private void close() {
+      try {
+        outputStream.close();
+      } catch (IOException e) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Could not close object store file " + file.getAbsolutePath(), e);
+        }
+      }
+    }
+
+    @Override
+    protected void onCompleted() {
+      onWritten.run();
+    }
+
+    @Override
+    protected void onFailed() {
+      onFailed.run();
+    }
+  }
+
+  private static class DeleteOperation extends PendingOperation {
+
+    DeleteOperation(File file) {
+      super(file);
+    }
+
+    @Override
+    protected void apply() throws IOException {
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+}
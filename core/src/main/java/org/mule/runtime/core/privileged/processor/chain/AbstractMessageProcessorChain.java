@@ -6,22 +6,27 @@
  */
 package org.mule.runtime.core.privileged.processor.chain;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
+import static java.util.Collections.singletonList;
 import static org.apache.commons.lang3.StringUtils.replace;
 import static org.mule.runtime.api.notification.MessageProcessorNotification.MESSAGE_PROCESSOR_POST_INVOKE;
 import static org.mule.runtime.api.notification.MessageProcessorNotification.MESSAGE_PROCESSOR_PRE_INVOKE;
 import static org.mule.runtime.api.notification.MessageProcessorNotification.createFrom;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_DISABLE_PROCESSOR_FUSION;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.setMuleContextIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateEventForStreaming;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
 import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentMuleContext;
 import static org.mule.runtime.core.privileged.event.PrivilegedEvent.setCurrentEvent;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.Exceptions.throwIfJvmFatal;
 import static reactor.core.publisher.Flux.from;
 import static reactor.core.publisher.Operators.lift;
 
@@ -78,6 +83,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private static final String TCCL_REACTOR_CTX_KEY = "mule.context.tccl";
   private static final String TCCL_ORIGINAL_REACTOR_CTX_KEY = "mule.context.tccl_original";
   private static final String REACTOR_ON_OPERATOR_ERROR_LOCAL = "reactor.onOperatorError.local";
+  private static final String APPLY_METHOD_NAME = "apply";
   private static final String UNEXPECTED_ERROR_HANDLER_STATE_MESSAGE =
       "Unexpected state. Error handler should be invoked with either an Event instance or a MessagingException";
 
@@ -99,6 +105,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private final List<Processor> processors;
   private ProcessingStrategy processingStrategy;
   private List<ReactiveInterceptorAdapter> additionalInterceptors = new LinkedList<>();
+  private final boolean fusionEnabled = !getBoolean(MULE_DISABLE_PROCESSOR_FUSION);
 
   @Inject
   private ProcessorInterceptorManager processorInterceptorManager;
@@ -122,10 +129,13 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
     List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors = resolveInterceptors();
     Flux<CoreEvent> stream = from(publisher);
-    for (Processor processor : getProcessorsToExecute()) {
+    for (List<Processor> processorsGroup : groupProcessorsToExecute()) {
       // Perform assembly for processor chain by transforming the existing publisher with a publisher function for each processor
       // along with the interceptors that decorate it.
-      stream = stream.transform(applyInterceptors(interceptors, processor))
+      final Processor processor = processorsGroup.get(0);
+      stream = stream.transform(processorsGroup.size() == 1
+          ? applyInterceptors(interceptors, processor)
+          : applyFused(processorsGroup))
           // #1 Register local error hook to wrap exceptions in a MessagingException maintaining failed event.
           .subscriberContext(context -> context.put(REACTOR_ON_OPERATOR_ERROR_LOCAL, getLocalOperatorErrorHook(processor)))
           // #2 Register continue error strategy to handle errors without stopping the stream.
@@ -144,6 +154,105 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     });
   }
 
+  /**
+   * Groups consecutive processors that can be {@link #isFusable(Processor) fused} together. Any other processor is in a group of
+   * its own.
+   */
+  private List<List<Processor>> groupProcessorsToExecute() {
+    List<List<Processor>> groups = new ArrayList<>();
+    List<Processor> fusableGroup = null;
+    for (Processor processor : getProcessorsToExecute()) {
+      if (isFusable(processor)) {
+        if (fusableGroup == null) {
+          fusableGroup = new ArrayList<>();
+          groups.add(fusableGroup);
+        }
+        fusableGroup.add(processor);
+      } else {
+        fusableGroup = null;
+        groups.add(singletonList(processor));
+      }
+    }
+    return groups;
+  }
+
+  /**
+   * A processor may be fused with its neighbours if it is a plain non-blocking {@link Processor}, that is, it doesn't provide
+   * its own reactive implementation, and no interceptor has to be applied to it.
+   */
+  private boolean isFusable(Processor processor) {
+    if (!fusionEnabled || !additionalInterceptors.isEmpty() || processor.getProcessingType() != CPU_LITE) {
+      return false;
+    }
+
+    try {
+      return processor.getClass().getMethod(APPLY_METHOD_NAME, Publisher.class).isDefault();
+    } catch (NoSuchMethodException | SecurityException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Executes a group of fusable processors within a single operator, rather than having each one of them decorated by its own
+   * operators. Notifications, current event tracking, streaming and error handling are applied for each processor just as
+   * {@link #resolveInterceptors()} does.
+   * <p/>
+   * Unlike for other processors, notifications are fired within the processing strategy operator. This is safe because only
+   * {@code CPU_LITE} processors are fused and no processing strategy switches threads for those, so notifications are still
+   * fired on the flow thread.
+   */
+  private ReactiveProcessor applyFused(List<Processor> processors) {
+    ReactiveProcessor fused = setThreadContext(stream -> from(stream).handle((event, sink) -> {
+      CoreEvent result = processFused(processors, event);
+      if (result != null) {
+        sink.next(result);
+      }
+    }));
+
+    return processingStrategy != null ? processingStrategy.onProcessor(fused) : fused;
+  }
+
+  private CoreEvent processFused(List<Processor> processors, CoreEvent event) {
+    CoreEvent current = event;
+    for (Processor processor : processors) {
+      setCurrentEvent((PrivilegedEvent) current);
+      preNotification(processor).accept((PrivilegedEvent) current);
+
+      CoreEvent result;
+      try {
+        result = processor.process(current);
+      } catch (Throwable t) {
+        throwIfJvmFatal(t);
+        handleFusedError(processor, current, t);
+        return null;
+      }
+
+      if (result == null) {
+        return null;
+      }
+
+      postNotification(processor).accept((PrivilegedEvent) result);
+      setCurrentEvent((PrivilegedEvent) result);
+      // If the processor returns a CursorProvider, then have the StreamingManager manage it
+      current = updateEventForStreaming(streamingManager).apply(result);
+    }
+    return current;
+  }
+
+  /*
+   * Same as the error hook and continue strategy registered for every processor, since the error of a fused processor is not
+   * propagated through the stream.
+   */
+  private void handleFusedError(Processor processor, CoreEvent event, Throwable t) {
+    Throwable throwable = Exceptions.unwrap(t);
+    MessagingException exception = throwable instanceof MessagingException
+        ? resolveMessagingException(processor).apply((MessagingException) throwable)
+        : resolveException(processor, event, throwable);
+
+    BaseEventContext context = (BaseEventContext) event.getContext();
+    errorNotification(processor).andThen(e -> context.error(e)).accept(exception);
+  }
+
   /*
    * Used to catch exceptions emitted by reactor operators and wrap these in a MessagingException while conserving a reference to
    * the failed Event.
@@ -207,24 +316,11 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
         new ArrayList<>();
 
     // Set thread context
-    interceptors.add((processor, next) -> stream -> from(stream)
-        // #2 Wrap execution, after processing strategy, on processor execution thread.
-        .cast(PrivilegedEvent.class)
-        .doOnNext(event -> {
-          currentMuleContext.set(muleContext);
-          setCurrentEvent(event);
-        })
-        .cast(CoreEvent.class)
-        // #1 Update TCCL with the one from the Region of the processor to execute once in execution thread.
-        .transform(doOnNextOrErrorWithContext(context -> context.getOrEmpty(TCCL_REACTOR_CTX_KEY)
-            .ifPresent(cl -> currentThread().setContextClassLoader((ClassLoader) cl))))
-        .transform(next)
-        // #1 Set back previous TCCL.
-        .transform(doOnNextOrErrorWithContext(context -> context.getOrEmpty(TCCL_ORIGINAL_REACTOR_CTX_KEY)
-            .ifPresent(cl -> currentThread().setContextClassLoader((ClassLoader) cl)))));
+    interceptors.add((processor, next) -> setThreadContext(next));
 
     // Apply processing strategy. This is done here to ensure notifications and interceptors do not execute on async processor
-    // threads which may be limited to avoid deadlocks.
+    // threads which may be limited to avoid deadlocks. Fused processors fire their notifications within the processing strategy
+    // instead, which doesn't switch threads for them (see applyFused).
     if (processingStrategy != null) {
       interceptors.add((processor, next) -> processingStrategy.onProcessor(new InterceptedReactiveProcessor(processor, next)));
     }
@@ -250,23 +346,59 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     return interceptors;
   }
 
-  private Function<? super Publisher<CoreEvent>, ? extends Publisher<CoreEvent>> doOnNextOrErrorWithContext(Consumer<Context> contextConsumer) {
+  private ReactiveProcessor setThreadContext(ReactiveProcessor next) {
+    return stream -> from(stream)
+        // #2 Wrap execution, after processing strategy, on processor execution thread.
+        // #1 Update TCCL with the one from the Region of the processor to execute once in execution thread.
+        .transform(doOnNextOrErrorWithContext(TCCL_REACTOR_CTX_KEY, event -> {
+          currentMuleContext.set(muleContext);
+          setCurrentEvent((PrivilegedEvent) event);
+        }))
+        .transform(next)
+        // #1 Set back previous TCCL. The processor may have moved the event to another thread, or its error may be consumed
+        // without reaching the end of the chain, so this can't be deferred until the chain is done.
+        .transform(doOnNextOrErrorWithContext(TCCL_ORIGINAL_REACTOR_CTX_KEY, null));
+  }
+
+  /**
+   * Sets the classloader found in the subscriber context under the given {@code classLoaderKey} as the TCCL for every signal,
+   * also performing the {@code eventConsumer} for every event, if provided.
+   * <p/>
+   * The classloader is looked up once per subscription rather than for every signal, and the TCCL is only actually set when it
+   * differs from the current one, which is the case only when crossing a region boundary or when the signal is emitted from a
+   * different thread than the previous one.
+   */
+  private Function<? super Publisher<CoreEvent>, ? extends Publisher<CoreEvent>> doOnNextOrErrorWithContext(String classLoaderKey,
+                                                                                                            Consumer<CoreEvent> eventConsumer) {
     return lift((scannable, subscriber) -> new CoreSubscriber<CoreEvent>() {
 
-      private Context context = subscriber.currentContext();
+      private final Context context = subscriber.currentContext();
+      private final ClassLoader classLoader = (ClassLoader) context.getOrEmpty(classLoaderKey).orElse(null);
 
       @Override
       public void onNext(CoreEvent event) {
-        contextConsumer.accept(context);
+        if (eventConsumer != null) {
+          eventConsumer.accept(event);
+        }
+        switchContextClassLoader();
         subscriber.onNext(event);
       }
 
       @Override
       public void onError(Throwable throwable) {
-        contextConsumer.accept(context);
+        switchContextClassLoader();
         subscriber.onError(throwable);
       }
 
+      private void switchContextClassLoader() {
+        if (classLoader != null) {
+          Thread currentThread = currentThread();
+          if (currentThread.getContextClassLoader() != classLoader) {
+            currentThread.setContextClassLoader(classLoader);
+          }
+        }
+      }
+
       @Override
       public void onComplete() {
         subscriber.onComplete();
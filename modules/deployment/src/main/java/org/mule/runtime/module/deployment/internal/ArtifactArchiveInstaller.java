@@ -11,6 +11,7 @@ import static org.apache.commons.io.FileUtils.deleteQuietly;
 import static org.apache.commons.io.FileUtils.toFile;
 import static org.apache.commons.io.FileUtils.writeStringToFile;
 import static org.apache.commons.io.FilenameUtils.getBaseName;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.util.FileUtils.deleteTree;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 import org.mule.runtime.api.i18n.I18nMessageFactory;
@@ -35,6 +36,12 @@ public class ArtifactArchiveInstaller {
   protected static final String ANCHOR_FILE_BLURB =
       "Delete this file while Mule is running to remove the artifact in a clean way.";
 
+  /**
+   * Maximum amount of archive entries extracted at the same time when exploding an artifact. Defaults to the number of
+   * available processors, and a value of {@code 1} extracts the archive serially.
+   */
+  public static final String UNZIP_PARALLELISM_PROPERTY = SYSTEM_PROPERTY_PREFIX + "deployment.unzipParallelism";
+
   private static final Logger logger = LoggerFactory.getLogger(ArtifactArchiveInstaller.class);
 
   private final File artifactParentDir;
@@ -85,7 +92,7 @@ public class ArtifactArchiveInstaller {
       // normalize the full path + protocol to make unzip happy
       final File source = artifactFile;
 
-      FileUtils.unzip(source, artifactDir);
+      FileUtils.unzip(source, artifactDir, getUnzipParallelism());
       if ("file".equals(artifactUri.getScheme())
           && toFile(artifactUri.toURL()).getAbsolutePath().startsWith(artifactParentDir.getAbsolutePath())) {
         deleteQuietly(source);
@@ -106,6 +113,13 @@ public class ArtifactArchiveInstaller {
     return artifactDir;
   }
 
+  /**
+   * @return the amount of archive entries to extract at the same time, as configured by {@link #UNZIP_PARALLELISM_PROPERTY}.
+   */
+  static int getUnzipParallelism() {
+    return Integer.getInteger(UNZIP_PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+  }
+
   /**
    * Uninstalls an artifact from the Mule container installation.
    *
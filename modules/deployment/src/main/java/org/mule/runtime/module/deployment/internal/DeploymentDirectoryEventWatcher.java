@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks changes on the deployment directories and on the directories containing the resources of the deployed artifacts
+ * using a {@link WatchService}, so that {@link DeploymentDirectoryWatcher} only has to scan the file system when something
+ * actually changed.
+ * <p/>
+ * When the platform doesn't provide native file system events (for instance, the JDK falls back to a polling
+ * {@link WatchService}) or any directory cannot be registered, the watcher reports that a full scan is required on every
+ * cycle, keeping the previous polling behavior.
+ *
+ * @since 4.2
+ */
+public class DeploymentDirectoryEventWatcher {
+
+  public static final String FILE_SYSTEM_EVENTS_PROPERTY = "mule.launcher.fileSystemEvents";
+
+  private static final String POLLING_WATCH_SERVICE_CLASS_NAME = "PollingWatchService";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeploymentDirectoryEventWatcher.class);
+
+  private final Runnable onChange;
+  // Changed directories, along with the sequence number of their last change
+  private final Map<Path, Long> changedDirectories = new ConcurrentHashMap<>();
+  private final AtomicLong changeSequence = new AtomicLong();
+  private final Set<Path> watchedDirectories = ConcurrentHashMap.newKeySet();
+  // Starts requiring a full scan, since there's no previous state to compare with
+  private final AtomicInteger fullScanRequests = new AtomicInteger(1);
+
+  private WatchService watchService;
+  private Thread eventsThread;
+  private volatile boolean pollingRequired;
+
+  /**
+   * @param onChange callback invoked from the events thread every time a change is detected on a watched directory.
+   */
+  public DeploymentDirectoryEventWatcher(Runnable onChange) {
+    this.onChange = onChange;
+  }
+
+  /**
+   * @return whether file system events were enabled through the {@value #FILE_SYSTEM_EVENTS_PROPERTY} system property.
+   */
+  public static boolean isFileSystemEventsEnabled() {
+    return Boolean.valueOf(System.getProperty(FILE_SYSTEM_EVENTS_PROPERTY, "true"));
+  }
+
+  /**
+   * Starts listening for file system events.
+   */
+  public void start() {
+    try {
+      watchService = FileSystems.getDefault().newWatchService();
+    } catch (IOException | UnsupportedOperationException e) {
+      LOGGER.warn("File system events are not supported, deployment directories will be polled", e);
+      pollingRequired = true;
+      return;
+    }
+
+    if (watchService.getClass().getSimpleName().contains(POLLING_WATCH_SERVICE_CLASS_NAME)) {
+      LOGGER.info("No native file system events available, deployment directories will be polled");
+      pollingRequired = true;
+      stop();
+      return;
+    }
+
+    eventsThread = new Thread(this::processEvents, "Mule.app.deployer.events");
+    eventsThread.setDaemon(true);
+    eventsThread.start();
+  }
+
+  /**
+   * Stops listening for file system events.
+   */
+  public void stop() {
+    if (watchService != null) {
+      try {
+        watchService.close();
+      } catch (IOException e) {
+        LOGGER.warn("Error closing the deployment directories watch service", e);
+      }
+    }
+    if (eventsThread != null) {
+      eventsThread.interrupt();
+    }
+  }
+
+  /**
+   * Starts watching the given {@code directory}, if it wasn't already watched. A newly watched directory is reported as
+   * changed, since it may have changed before being watched.
+   *
+   * @param directory the directory to watch
+   */
+  public void watch(File directory) {
+    if (watchService == null || pollingRequired) {
+      return;
+    }
+
+    Path path = directory.toPath().toAbsolutePath();
+    if (watchedDirectories.contains(path) || !directory.isDirectory() || !watchedDirectories.add(path)) {
+      return;
+    }
+    try {
+      path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+      markChanged(path);
+    } catch (IOException | UnsupportedOperationException e) {
+      LOGGER.warn("Unable to watch directory '{}', deployment directories will be polled", directory, e);
+      pollingRequired = true;
+    }
+  }
+
+  /**
+   * Returns the changes that are pending to be processed. They remain pending until {@link #processed(PendingChanges)} is
+   * invoked, so that they are not lost if processing them fails.
+   *
+   * @return the pending changes
+   */
+  public PendingChanges pendingChanges() {
+    if (pollingRequired || watchService == null) {
+      return new PendingChanges(null, emptyMap(), 0);
+    }
+
+    Map<Path, Long> snapshot = new HashMap<>(changedDirectories);
+    int fullScans = fullScanRequests.get();
+    return new PendingChanges(fullScans > 0 ? null : unmodifiableSet(snapshot.keySet()), snapshot, fullScans);
+  }
+
+  /**
+   * Discards the given {@code changes} once they were successfully processed. Changes that happened after they were obtained
+   * remain pending.
+   *
+   * @param changes changes obtained through {@link #pendingChanges()}
+   */
+  public void processed(PendingChanges changes) {
+    changes.snapshot.forEach(changedDirectories::remove);
+    if (changes.fullScanRequests > 0) {
+      fullScanRequests.compareAndSet(changes.fullScanRequests, 0);
+    }
+  }
+
+  private void markChanged(Path directory) {
+    changedDirectories.put(directory, changeSequence.incrementAndGet());
+  }
+
+  private void processEvents() {
+    while (!Thread.currentThread().isInterrupted()) {
+      WatchKey key;
+      try {
+        key = watchService.take();
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+
+      Path directory = (Path) key.watchable();
+      boolean overflow = key.pollEvents().stream().anyMatch(event -> event.kind() == OVERFLOW);
+      if (overflow) {
+        fullScanRequests.incrementAndGet();
+      }
+      markChanged(directory);
+
+      if (!key.reset()) {
+        // Directory is no longer accessible, it will be registered again if it's recreated
+        watchedDirectories.remove(directory);
+      }
+
+      try {
+        onChange.run();
+      } catch (Exception e) {
+        LOGGER.warn("Error processing deployment directory change", e);
+      }
+    }
+  }
+
+  /**
+   * Changes on the watched directories, as returned by {@link #pendingChanges()}.
+   */
+  public static final class PendingChanges {
+
+    private final Set<Path> changedDirectories;
+    private final Map<Path, Long> snapshot;
+    private final int fullScanRequests;
+
+    private PendingChanges(Set<Path> changedDirectories, Map<Path, Long> snapshot, int fullScanRequests) {
+      this.changedDirectories = changedDirectories;
+      this.snapshot = snapshot;
+      this.fullScanRequests = fullScanRequests;
+    }
+
+    /**
+     * @return the changed directories, or {@code null} if the changes can't be determined from file system events and a full
+     *         scan is required.
+     */
+    public Set<Path> getChangedDirectories() {
+      return changedDirectories;
+    }
+  }
+}
@@ -8,6 +8,7 @@ package org.mule.runtime.module.deployment.internal;
 
 import static java.lang.String.format;
 import static java.util.Arrays.sort;
+import static java.util.Collections.disjoint;
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -23,6 +24,7 @@ import static org.mule.runtime.core.internal.util.splash.SplashScreen.miniSplash
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.ARTIFACT_NAME_PROPERTY;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.ZIP_FILE_SUFFIX;
+import static org.mule.runtime.module.deployment.internal.DeploymentDirectoryEventWatcher.isFileSystemEventsEnabled;
 import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.core.internal.config.StartupContext;
 import org.mule.runtime.core.internal.logging.LogUtil;
@@ -34,6 +36,7 @@ import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.domain.Domain;
 import org.mule.runtime.module.artifact.api.Artifact;
 import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
+import org.mule.runtime.module.deployment.internal.DeploymentDirectoryEventWatcher.PendingChanges;
 import org.mule.runtime.module.deployment.internal.util.DebuggableReentrantLock;
 import org.mule.runtime.module.deployment.internal.util.ElementAddedEvent;
 import org.mule.runtime.module.deployment.internal.util.ElementRemovedEvent;
@@ -42,14 +45,19 @@ import org.mule.runtime.module.deployment.internal.util.ObservableList;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
@@ -68,6 +76,9 @@ import org.slf4j.LoggerFactory;
  * It will deploy the applications at the container startup process. It will periodically scan the artifact directories in order
  * to process new deployments, remove artifacts that were previously deployed but the anchor file was removed and redeploy those
  * applications which configuration has changed.
+ * <p/>
+ * Unless disabled through {@value DeploymentDirectoryEventWatcher#FILE_SYSTEM_EVENTS_PROPERTY}, file system events are used to
+ * detect changes as soon as they happen, and the periodic scans are skipped when nothing has changed.
  */
 public class DeploymentDirectoryWatcher implements Runnable {
 
@@ -78,6 +89,8 @@ public class DeploymentDirectoryWatcher implements Runnable {
   public static final IOFileFilter ZIP_ARTIFACT_FILTER =
       new AndFileFilter(new SuffixFileFilter(ZIP_FILE_SUFFIX, INSENSITIVE), FileFileFilter.FILE);
   protected static final int DEFAULT_CHANGES_CHECK_INTERVAL_MS = 5000;
+  // Time to wait after a file system event before scanning, so a burst of events (ie: copying a file) is processed only once
+  private static final int FILE_SYSTEM_EVENTS_DELAY_MS = 200;
 
   protected transient final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -93,6 +106,8 @@ public class DeploymentDirectoryWatcher implements Runnable {
   private final File appsDir;
   private final File domainsDir;
   private ScheduledExecutorService artifactDirMonitorTimer;
+  private DeploymentDirectoryEventWatcher eventWatcher;
+  private final AtomicBoolean changeScanScheduled = new AtomicBoolean(false);
 
   protected volatile boolean dirty;
 
@@ -226,11 +241,59 @@ public class DeploymentDirectoryWatcher implements Runnable {
     // TODO MULE-12337 migrate this to an scheduler
     artifactDirMonitorTimer = newSingleThreadScheduledExecutor(new ArtifactDeployerMonitorThreadFactory());
 
+    if (isFileSystemEventsEnabled()) {
+      eventWatcher = new DeploymentDirectoryEventWatcher(this::scheduleChangeScan);
+      eventWatcher.start();
+      watchDeploymentDirectories();
+    }
+
     artifactDirMonitorTimer.scheduleWithFixedDelay(this, reloadIntervalMs, reloadIntervalMs, MILLISECONDS);
 
     log(miniSplash(format("Mule is up and kicking (every %dms)", reloadIntervalMs)));
   }
 
+  private void scheduleChangeScan() {
+    if (changeScanScheduled.compareAndSet(false, true)) {
+      try {
+        artifactDirMonitorTimer.schedule(() -> {
+          changeScanScheduled.set(false);
+          run();
+        }, FILE_SYSTEM_EVENTS_DELAY_MS, MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // The watcher is being stopped
+        changeScanScheduled.set(false);
+      }
+    }
+  }
+
+  private void watchDeploymentDirectories() {
+    if (eventWatcher == null) {
+      return;
+    }
+
+    watchArtifactDirectories(domainsDir, domains);
+    watchArtifactDirectories(appsDir, applications);
+  }
+
+  private void watchArtifactDirectories(File artifactsDir, Collection<? extends Artifact> artifacts) {
+    eventWatcher.watch(artifactsDir);
+    // Exploded artifacts, including zombies, have their descriptor and configs at the root of their folder
+    String[] explodedArtifacts = artifactsDir.list(DirectoryFileFilter.DIRECTORY);
+    if (explodedArtifacts != null) {
+      for (String explodedArtifact : explodedArtifacts) {
+        eventWatcher.watch(new File(artifactsDir, explodedArtifact));
+      }
+    }
+    for (Artifact artifact : artifacts) {
+      for (File resourceFile : artifact.getResourceFiles()) {
+        File resourceDirectory = resourceFile.getAbsoluteFile().getParentFile();
+        if (resourceDirectory != null) {
+          eventWatcher.watch(resourceDirectory);
+        }
+      }
+    }
+  }
+
   protected void deployPackedApps(String[] zips) {
     for (String zip : zips) {
       try {
@@ -276,6 +339,18 @@ public class DeploymentDirectoryWatcher implements Runnable {
         return;
       }
 
+      final PendingChanges pendingChanges = eventWatcher != null ? eventWatcher.pendingChanges() : null;
+      final Set<Path> changedDirectories = pendingChanges != null ? pendingChanges.getChangedDirectories() : null;
+      if (changedDirectories != null && changedDirectories.isEmpty() && !dirty) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("No file system changes detected, skipping this cycle");
+        }
+        return;
+      }
+
+      // Watched before scanning, so that changes made to new directories while scanning are not missed
+      watchDeploymentDirectories();
+
       undeployRemovedApps();
 
       undeployRemovedDomains();
@@ -287,7 +362,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
 
       final String[] domainZips = domainsDir.list(JAR_ARTIFACT_FILTER);
 
-      redeployModifiedDomains();
+      redeployModifiedDomains(changedDirectories);
 
       deployPackedDomains(domainZips);
 
@@ -298,7 +373,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
 
       deployExplodedDomains(domains);
 
-      redeployModifiedApplications();
+      redeployModifiedApplications(changedDirectories);
 
       // list new apps
       String[] apps = appsDir.list(DirectoryFileFilter.DIRECTORY);
@@ -315,6 +390,12 @@ public class DeploymentDirectoryWatcher implements Runnable {
       // Sorts apps to ensure they are always deployed in the same order
       sort(apps);
       deployExplodedApps(apps);
+
+      // Watches the resource directories of the artifacts deployed in this cycle, which get checked on the next one
+      watchDeploymentDirectories();
+      if (pendingChanges != null) {
+        eventWatcher.processed(pendingChanges);
+      }
     } catch (Exception e) {
       // preserve the flag for the thread
       Thread.currentThread().interrupt();
@@ -452,14 +533,15 @@ public class DeploymentDirectoryWatcher implements Runnable {
     return appNames.toArray(new String[appNames.size()]);
   }
 
-  private void redeployModifiedDomains() {
+  private void redeployModifiedDomains(Set<Path> changedDirectories) {
     Collection redeployableDomains = getArtifactsToRedeploy(domains);
-    redeployModifiedArtifacts(redeployableDomains, domainTimestampListener, domainArchiveDeployer);
+    redeployModifiedArtifacts(redeployableDomains, domainTimestampListener, domainArchiveDeployer, changedDirectories);
   }
 
-  private void redeployModifiedApplications() {
+  private void redeployModifiedApplications(Set<Path> changedDirectories) {
     Collection redeployableApplications = getArtifactsToRedeploy(applications);
-    redeployModifiedArtifacts(redeployableApplications, applicationTimestampListener, applicationArchiveDeployer);
+    redeployModifiedArtifacts(redeployableApplications, applicationTimestampListener, applicationArchiveDeployer,
+                              changedDirectories);
   }
 
   private <T extends DeployableArtifact> Collection getArtifactsToRedeploy(Collection<T> collection) {
@@ -468,9 +550,10 @@ public class DeploymentDirectoryWatcher implements Runnable {
 
   private <T extends Artifact> void redeployModifiedArtifacts(Collection<T> artifacts,
                                                               ArtifactTimestampListener<T> artifactTimestampListener,
-                                                              ArchiveDeployer<T> artifactArchiveDeployer) {
+                                                              ArchiveDeployer<T> artifactArchiveDeployer,
+                                                              Set<Path> changedDirectories) {
     for (T artifact : artifacts) {
-      if (artifactTimestampListener.isArtifactResourceUpdated(artifact)) {
+      if (artifactTimestampListener.isArtifactResourceUpdated(artifact, changedDirectories)) {
         try {
           artifactArchiveDeployer.redeploy(artifact, empty());
         } catch (DeploymentException e) {
@@ -483,6 +566,9 @@ public class DeploymentDirectoryWatcher implements Runnable {
   }
 
   private void stopAppDirMonitorTimer() {
+    if (eventWatcher != null) {
+      eventWatcher.stop();
+    }
     if (artifactDirMonitorTimer != null) {
       artifactDirMonitorTimer.shutdown();
       try {
@@ -512,9 +598,18 @@ public class DeploymentDirectoryWatcher implements Runnable {
       }
     }
 
-    public boolean isArtifactResourceUpdated(T artifact) {
+    /**
+     * @param artifact the artifact to check
+     * @param changedDirectories the directories reported as changed by file system events, or {@code null} if every resource
+     *        has to be checked
+     * @return whether any of the resources of the artifact was modified
+     */
+    public boolean isArtifactResourceUpdated(T artifact, Set<Path> changedDirectories) {
       ArtifactResourcesTimestamp<T> applicationResourcesTimestamp =
           artifactConfigResourcesTimestaps.get(artifact.getArtifactName());
+      if (changedDirectories != null && !applicationResourcesTimestamp.isContainedIn(changedDirectories)) {
+        return false;
+      }
       return !applicationResourcesTimestamp.resourcesHaveSameTimestamp();
     }
   }
@@ -522,19 +617,32 @@ public class DeploymentDirectoryWatcher implements Runnable {
   private static class ArtifactResourcesTimestamp<T extends Artifact> {
 
     private final Map<String, Long> timestampsPerResource = new HashMap<>();
+    private final Set<Path> resourceDirectories = new HashSet<>();
 
     public ArtifactResourcesTimestamp(final Artifact artifact) {
       for (File configResourceFile : artifact.getResourceFiles()) {
-        timestampsPerResource.put(configResourceFile.getAbsolutePath(), configResourceFile.lastModified());
+        track(configResourceFile);
       }
       File descriptorFile =
           new File(((DeployableArtifactDescriptor) artifact.getDescriptor()).getArtifactLocation(),
                    ArtifactDescriptor.MULE_ARTIFACT_JSON_DESCRIPTOR_LOCATION);
       if (descriptorFile.exists()) {
-        timestampsPerResource.put(descriptorFile.getAbsolutePath(), descriptorFile.lastModified());
+        track(descriptorFile);
       }
     }
 
+    private void track(File resourceFile) {
+      File absoluteFile = resourceFile.getAbsoluteFile();
+      timestampsPerResource.put(absoluteFile.getPath(), absoluteFile.lastModified());
+      if (absoluteFile.getParentFile() != null) {
+        resourceDirectories.add(absoluteFile.getParentFile().toPath());
+      }
+    }
+
+    public boolean isContainedIn(Set<Path> directories) {
+      return !disjoint(resourceDirectories, directories);
+    }
+
     public boolean resourcesHaveSameTimestamp() {
       return !timestampsPerResource.entrySet().stream().filter(entry -> {
         File trackedFile = new File(entry.getKey());
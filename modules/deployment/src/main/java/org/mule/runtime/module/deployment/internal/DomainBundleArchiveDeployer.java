@@ -15,6 +15,7 @@ import static org.apache.commons.lang3.StringUtils.removeEndIgnoreCase;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.util.FileUtils.deleteTree;
 import static org.mule.runtime.core.api.util.FileUtils.unzip;
+import static org.mule.runtime.module.deployment.internal.ArtifactArchiveInstaller.getUnzipParallelism;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.ARTIFACT_NAME_PROPERTY;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.ZIP_FILE_SUFFIX;
@@ -211,7 +212,7 @@ public class DomainBundleArchiveDeployer {
     Domain domain = findDomain(domainName);
     if (domain != null) {
       domainDeployer.undeployArtifact(domainName);
-      unzip(domainFile, domain.getLocation());
+      unzip(domainFile, domain.getLocation(), getUnzipParallelism());
     }
 
     domainDeployer.deployPackagedArtifact(domainFile.toURI(), empty());
@@ -235,7 +236,7 @@ public class DomainBundleArchiveDeployer {
     File tempFolder = File.createTempFile(bundleFile.getName(), "tmp");
     tempFolder.delete();
     tempFolder.mkdirs();
-    FileUtils.unzip(bundleFile, tempFolder);
+    FileUtils.unzip(bundleFile, tempFolder, getUnzipParallelism());
     bundleFile.delete();
     return tempFolder;
   }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+import static org.mule.tck.probe.PollingProber.probe;
+
+import org.mule.runtime.module.deployment.internal.DeploymentDirectoryEventWatcher.PendingChanges;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class DeploymentDirectoryEventWatcherTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicInteger changes = new AtomicInteger();
+  private DeploymentDirectoryEventWatcher eventWatcher;
+
+  @Before
+  public void setUp() throws Exception {
+    eventWatcher = new DeploymentDirectoryEventWatcher(changes::incrementAndGet);
+    eventWatcher.start();
+    eventWatcher.watch(temporaryFolder.getRoot());
+  }
+
+  @After
+  public void tearDown() {
+    eventWatcher.stop();
+  }
+
+  @Test
+  public void requiresFullScanFirst() throws Exception {
+    assertThat(eventWatcher.pendingChanges().getChangedDirectories(), is(nullValue()));
+  }
+
+  @Test
+  public void fullScanRequiredUntilProcessed() throws Exception {
+    eventWatcher.pendingChanges();
+    PendingChanges pendingChanges = eventWatcher.pendingChanges();
+    assertThat(pendingChanges.getChangedDirectories(), is(nullValue()));
+
+    eventWatcher.processed(pendingChanges);
+    Set<Path> changed = eventWatcher.pendingChanges().getChangedDirectories();
+    assumeThat("Native file system events not available", changed, is(notNullValue()));
+    assertThat(changed, is(empty()));
+  }
+
+  @Test
+  public void reportsChangedDirectory() throws Exception {
+    eventWatcher.processed(eventWatcher.pendingChanges());
+    Set<Path> changed = eventWatcher.pendingChanges().getChangedDirectories();
+    assumeThat("Native file system events not available", changed, is(notNullValue()));
+    assertThat(changed, is(empty()));
+
+    File file = new File(temporaryFolder.getRoot(), "app-anchor.txt");
+    file.createNewFile();
+
+    probe(() -> eventWatcher.pendingChanges().getChangedDirectories().contains(rootPath()) && changes.get() > 0);
+
+    // Still pending, since they were not processed
+    PendingChanges pendingChanges = eventWatcher.pendingChanges();
+    assertThat(pendingChanges.getChangedDirectories(), hasItem(rootPath()));
+
+    eventWatcher.processed(pendingChanges);
+    assertThat(eventWatcher.pendingChanges().getChangedDirectories(), not(hasItem(rootPath())));
+  }
+
+  @Test
+  public void reportsNewlyWatchedDirectory() throws Exception {
+    eventWatcher.processed(eventWatcher.pendingChanges());
+    assumeThat("Native file system events not available", eventWatcher.pendingChanges().getChangedDirectories(),
+               is(notNullValue()));
+
+    File directory = temporaryFolder.newFolder("app");
+    eventWatcher.watch(directory);
+
+    assertThat(eventWatcher.pendingChanges().getChangedDirectories(), hasItem(directory.toPath().toAbsolutePath()));
+  }
+
+  private Path rootPath() {
+    return temporaryFolder.getRoot().toPath().toAbsolutePath();
+  }
+}
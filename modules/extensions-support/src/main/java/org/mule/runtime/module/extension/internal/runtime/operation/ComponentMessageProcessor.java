@@ -55,6 +55,7 @@ import org.mule.runtime.core.api.rx.Exceptions;
 import org.mule.runtime.core.api.streaming.CursorProviderFactory;
 import org.mule.runtime.core.internal.context.notification.DefaultFlowCallStack;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.interception.LazyInterceptionParameters;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.policy.OperationExecutionFunction;
 import org.mule.runtime.core.internal.policy.OperationPolicy;
@@ -138,6 +139,7 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
   private final ReflectionCache reflectionCache;
   protected ReturnDelegate returnDelegate;
   private boolean initialised = false;
+  private String processorRepresentation;
 
   public ComponentMessageProcessor(ExtensionModel extensionModel,
                                    T componentModel,
@@ -170,13 +172,11 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
     return from(publisher)
         .flatMap(checkedFunction(event -> {
           Optional<ConfigurationInstance> configuration;
+          // If the event already contains an execution context, use that one.
+          final ExecutionContextAdapter<T> precalculatedContext = getPrecalculatedContext(event);
 
-          if (getLocation() != null
-              && ((InternalEvent) event).getInternalParameters().containsKey(INTERCEPTION_RESOLVED_CONTEXT)) {
-            // If the event already contains an execution context, use that one.
-            // Only for interceptable components!
-            ExecutionContextAdapter<T> operationContext = getPrecalculatedContext(event);
-            configuration = operationContext.getConfiguration();
+          if (precalculatedContext != null) {
+            configuration = precalculatedContext.getConfiguration();
           } else {
             // Otherwise, generate the context as usual.
             configuration = getConfiguration(event);
@@ -189,13 +189,10 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
             final Scheduler currentScheduler =
                 ctx.getOrEmpty(PROCESSOR_SCHEDULER_CONTEXT_KEY).map(s -> (Scheduler) s).orElse(IMMEDIATE_SCHEDULER);
 
-            if (getLocation() != null
-                && ((InternalEvent) event).getInternalParameters().containsKey(INTERCEPTION_RESOLVED_CONTEXT)) {
-              ExecutionContextAdapter<T> operationContext = getPrecalculatedContext(event);
-
+            if (precalculatedContext != null) {
               operationExecutionFunction = (parameters, operationEvent) -> {
-                operationContext.setCurrentScheduler(currentScheduler);
-                return doProcessWithErrorMapping(operationEvent, operationContext);
+                precalculatedContext.setCurrentScheduler(currentScheduler);
+                return doProcessWithErrorMapping(operationEvent, precalculatedContext);
               };
             } else {
               operationExecutionFunction = (parameters, operationEvent) -> {
@@ -210,10 +207,7 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
             }
 
             if (getLocation() != null) {
-              String resolveProcessorRepresentation =
-                  resolveProcessorRepresentation(muleContext.getConfiguration().getId(), getLocation().getLocation(), this);
-
-              ((DefaultFlowCallStack) event.getFlowCallStack()).setCurrentProcessorPath(resolveProcessorRepresentation);
+              ((DefaultFlowCallStack) event.getFlowCallStack()).setCurrentProcessorPath(processorRepresentation);
               return Mono.from(policyManager
                   .createOperationPolicy(this, event, resolutionResult,
                                          operationExecutionFunction)
@@ -239,9 +233,20 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
         .onErrorMap(e -> !(e instanceof MessagingException), e -> new MessagingException(operationEvent, e, this));
   }
 
+  /**
+   * Only interceptable components may have their context resolved beforehand. If the interceptor didn't read the parameters,
+   * they were not resolved and the context has to be generated as usual.
+   */
   private PrecalculatedExecutionContextAdapter<T> getPrecalculatedContext(CoreEvent event) {
-    return (PrecalculatedExecutionContextAdapter) (((InternalEvent) event).getInternalParameters()
-        .get(INTERCEPTION_RESOLVED_CONTEXT));
+    if (getLocation() == null) {
+      return null;
+    }
+
+    Object context = ((InternalEvent) event).getInternalParameters().get(INTERCEPTION_RESOLVED_CONTEXT);
+    if (context instanceof LazyInterceptionParameters) {
+      context = ((LazyInterceptionParameters) context).getResolvedContext().orElse(null);
+    }
+    return (PrecalculatedExecutionContextAdapter<T>) context;
   }
 
   protected Mono<CoreEvent> doProcess(CoreEvent event, ExecutionContextAdapter<T> operationContext) {
@@ -281,6 +286,11 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
       componentExecutor = createComponentExecutor();
       executionMediator = createExecutionMediator();
       initialiseIfNeeded(componentExecutor, true, muleContext);
+      if (getLocation() != null) {
+        // Resolved only once instead of for every event
+        processorRepresentation =
+            resolveProcessorRepresentation(muleContext.getConfiguration().getId(), getLocation().getLocation(), this);
+      }
       initialised = true;
     }
   }
@@ -168,7 +168,8 @@ public final class DefaultExecutionMediator<T extends ComponentModel> implements
                          e -> extractConnectionException(e).isPresent(),
                          e -> stats.ifPresent(s -> s.discountInflightOperation()),
                          identity(),
-                         context.getCurrentScheduler())));
+                         context.getCurrentScheduler(),
+                         context.getConfiguration().orElse(null))));
   }
 
   private Throwable mapError(ExecutionContextAdapter context, List<Interceptor> interceptors, Throwable e) {
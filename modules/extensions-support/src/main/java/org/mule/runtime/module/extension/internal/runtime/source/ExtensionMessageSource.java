@@ -8,6 +8,7 @@ package org.mule.runtime.module.extension.internal.runtime.source;
 
 import static com.google.common.collect.ImmutableMap.copyOf;
 import static java.lang.String.format;
+import static java.util.function.Function.identity;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
@@ -229,7 +230,8 @@ public class ExtensionMessageSource extends ExtensionComponent<SourceModel> impl
                 exception);
 
     Mono<Void> reconnectionAction = sourceAdapter.getReconnectionAction(exception)
-        .map(p -> from(retryPolicyTemplate.applyPolicy(p, retryScheduler)))
+        .map(p -> from(retryPolicyTemplate.applyPolicy(p, e -> true, e -> {
+        }, identity(), retryScheduler, getConfigurationInstance().orElse(null))))
         .orElseGet(() -> create(sink -> {
           try {
             exception.getConnection().ifPresent(sourceConnectionManager::invalidate);
@@ -12,6 +12,8 @@ import static java.util.Optional.ofNullable;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedPersistent;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.util.store.BloomFilterObjectStore.DEFAULT_FALSE_POSITIVE_RATE;
+import static org.mule.runtime.core.internal.util.store.BloomFilterObjectStore.DEFAULT_MAX_MEMORY;
 import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
 import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ALREADY_IN_PROCESS;
 import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.FILTERED_BY_WATERMARK;
@@ -32,6 +34,7 @@ import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.source.scheduler.Scheduler;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
+import org.mule.runtime.core.internal.util.store.BloomFilterObjectStore;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.source.PollContext;
 import org.mule.runtime.extension.api.runtime.source.PollContext.PollItem;
@@ -111,7 +114,12 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
                                                                            .expirationInterval(20000L)
                                                                            .build());
 
-    recentlyProcessedIds = objectStoreManager.getOrCreateObjectStore(formatKey("recently-processed-ids"), unmanagedPersistent());
+    // Most polled items are new, so avoid looking each one up in the persistent store. Ids are only stored from here, and the
+    // filter is reloaded from the store on each start.
+    recentlyProcessedIds =
+        new BloomFilterObjectStore<>(objectStoreManager.getOrCreateObjectStore(formatKey("recently-processed-ids"),
+                                                                               unmanagedPersistent()),
+                                     DEFAULT_FALSE_POSITIVE_RATE, DEFAULT_MAX_MEMORY, 0);
 
     watermarkObjectStore = objectStoreManager.getOrCreateObjectStore(formatKey("watermark"), unmanagedPersistent());
     executor = schedulerService.customScheduler(SchedulerConfig.config()
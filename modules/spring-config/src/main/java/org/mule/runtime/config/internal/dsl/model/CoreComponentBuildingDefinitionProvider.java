@@ -165,6 +165,9 @@ import org.mule.runtime.core.internal.routing.SplitAggregateScope;
 import org.mule.runtime.core.internal.routing.Splitter;
 import org.mule.runtime.core.internal.routing.UntilSuccessful;
 import org.mule.runtime.core.internal.routing.forkjoin.CollectListForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.FirstSuccessfulForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.QuorumForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.StreamingForkJoinStrategyFactory;
 import org.mule.runtime.core.internal.routing.requestreply.SimpleAsyncRequestReplyRequester;
 import org.mule.runtime.core.internal.security.PasswordBasedEncryptionStrategy;
 import org.mule.runtime.core.internal.security.SecretKeyEncryptionStrategy;
@@ -247,6 +250,9 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
   private static final String SPLIT_AGGREGATE = "split-aggregate";
   private static final String FORK_JOIN_STRATEGY = "forkJoinStrategyFactory";
   private static final String COLLECT_LIST = "collect-list";
+  private static final String COLLECT_FIRST_SUCCESSFUL = "collect-first-successful";
+  private static final String COLLECT_QUORUM = "collect-quorum";
+  private static final String STREAM_RESULTS = "stream-results";
   private static final String ENRICHER = "enricher";
   private static final String ASYNC = "async";
   private static final String TRY = "try";
@@ -406,6 +412,16 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(COLLECT_LIST)
         .withTypeDefinition(fromType(CollectListForkJoinStrategyFactory.class))
         .build());
+    componentBuildingDefinitions.add(baseDefinition.withIdentifier(COLLECT_FIRST_SUCCESSFUL)
+        .withTypeDefinition(fromType(FirstSuccessfulForkJoinStrategyFactory.class))
+        .withSetterParameterDefinition("count", fromSimpleParameter("count").build())
+        .build());
+    componentBuildingDefinitions.add(baseDefinition.withIdentifier(COLLECT_QUORUM)
+        .withTypeDefinition(fromType(QuorumForkJoinStrategyFactory.class))
+        .build());
+    componentBuildingDefinitions.add(baseDefinition.withIdentifier(STREAM_RESULTS)
+        .withTypeDefinition(fromType(StreamingForkJoinStrategyFactory.class))
+        .build());
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(SCATTER_GATHER)
         .withTypeDefinition(fromType(ScatterGatherRouter.class))
         .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
@@ -821,7 +837,10 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withSetterParameterDefinition("throwOnUnaccepted", fromSimpleParameter("throwOnUnaccepted").build())
         .withSetterParameterDefinition("objectStore", fromSimpleReferenceParameter("objectStore").build())
         .withSetterParameterDefinition("unacceptedMessageProcessor", fromSimpleReferenceParameter("onUnaccepted").build())
-        .withSetterParameterDefinition("privateObjectStore", fromChildConfiguration(ValueResolver.class).build());
+        .withSetterParameterDefinition("privateObjectStore", fromChildConfiguration(ValueResolver.class).build())
+        .withSetterParameterDefinition("bloomFilter", fromSimpleParameter("bloomFilter").build())
+        .withSetterParameterDefinition("bloomFilterFalsePositiveRate", fromSimpleParameter("bloomFilterFalsePositiveRate").build())
+        .withSetterParameterDefinition("bloomFilterMaxMemory", fromSimpleParameter("bloomFilterMaxMemory").build());
 
     definitions.add(baseIdempotentMessageFilterDefinition
         .withIdentifier("idempotent-message-validator")
@@ -1163,7 +1182,11 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
     ComponentBuildingDefinition.Builder baseReconnectDefinition = baseDefinition
         .withTypeDefinition(fromType(RetryPolicyTemplate.class)).withObjectFactoryType(RetryPolicyTemplateObjectFactory.class)
         .withSetterParameterDefinition("blocking", fromSimpleParameter("blocking").build())
-        .withSetterParameterDefinition("frequency", fromSimpleParameter("frequency").build());
+        .withSetterParameterDefinition("frequency", fromSimpleParameter("frequency").build())
+        .withSetterParameterDefinition("maxFrequency", fromSimpleParameter("maxFrequency").build())
+        .withSetterParameterDefinition("backoffMultiplier", fromSimpleParameter("backoffMultiplier").build())
+        .withSetterParameterDefinition("jitter", fromSimpleParameter("jitter").build())
+        .withSetterParameterDefinition("sharedCircuitBreaker", fromSimpleParameter("sharedCircuitBreaker").build());
 
     buildingDefinitions.add(baseReconnectDefinition.withIdentifier(RECONNECT_FOREVER_ELEMENT_IDENTIFIER)
         .withSetterParameterDefinition("count", fromFixedValue(RETRY_COUNT_FOREVER).build()).build());
@@ -32,6 +32,10 @@ public class RetryPolicyTemplateObjectFactory extends AbstractComponentFactory<R
   private boolean blocking;
   private Integer count = DEFAULT_RETRY_COUNT;
   private Integer frequency = DEFAULT_FREQUENCY;
+  private long maxFrequency = -1;
+  private double backoffMultiplier = 1;
+  private double jitter = 0;
+  private boolean sharedCircuitBreaker;
   private RetryNotifier retryNotifier;
 
   @Inject
@@ -58,6 +62,34 @@ public class RetryPolicyTemplateObjectFactory extends AbstractComponentFactory<R
     this.frequency = frequency;
   }
 
+  /**
+   * @param maxFrequency maximum time between retries when using a backoff multiplier.
+   */
+  public void setMaxFrequency(long maxFrequency) {
+    this.maxFrequency = maxFrequency;
+  }
+
+  /**
+   * @param backoffMultiplier by how much the time between retries is multiplied after each one.
+   */
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  /**
+   * @param jitter fraction by which the time between retries is randomized.
+   */
+  public void setJitter(double jitter) {
+    this.jitter = jitter;
+  }
+
+  /**
+   * @param sharedCircuitBreaker true if concurrent executions of the policy must share a circuit breaker.
+   */
+  public void setSharedCircuitBreaker(boolean sharedCircuitBreaker) {
+    this.sharedCircuitBreaker = sharedCircuitBreaker;
+  }
+
   /**
    * @param retryNotifier the retry notifier to use when retrying in the template
    */
@@ -68,6 +100,10 @@ public class RetryPolicyTemplateObjectFactory extends AbstractComponentFactory<R
   @Override
   public RetryPolicyTemplate doGetObject() throws Exception {
     SimpleRetryPolicyTemplate retryPolicyTemplate = new SimpleRetryPolicyTemplate(frequency, count);
+    retryPolicyTemplate.setMaxFrequency(maxFrequency);
+    retryPolicyTemplate.setBackoffMultiplier(backoffMultiplier);
+    retryPolicyTemplate.setJitter(jitter);
+    retryPolicyTemplate.setSharedCircuitBreaker(sharedCircuitBreaker);
     retryPolicyTemplate.setNotificationFirer(notificationFirer);
     if (retryNotifier != null) {
       retryPolicyTemplate.setNotifier(retryNotifier);
@@ -6,8 +6,13 @@
  */
 package org.mule.runtime.module.tls.internal;
 
+import static java.lang.Long.getLong;
+import static java.lang.System.nanoTime;
 import static java.util.Arrays.copyOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.module.tls.internal.TlsResourceUtils.lastModified;
 
 import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.api.lifecycle.CreateException;
@@ -34,6 +39,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
@@ -45,12 +51,21 @@ import org.slf4j.LoggerFactory;
 /**
  * Default implementation of the {@code TlsContextFactory} interface, which delegates all its operations to a
  * {@code TlsConfiguration} object. Only enabled cipher suites and protocols will not delegate to it if configured.
+ * <p/>
+ * The {@link SSLContext} is created once and shared by every socket factory created from this context, so TLS sessions can be
+ * resumed across clients. It is created again when the key store or trust store files change. The stores are checked for changes
+ * at most once every {@value #DEFAULT_STORES_CHECK_INTERVAL} milliseconds, configurable through the
+ * {@value #STORES_CHECK_INTERVAL_PROPERTY} system property. The stores are loaded again into a new {@link TlsConfiguration}, so
+ * the one the current {@link SSLContext} was created from is never modified while in use.
  */
 public class DefaultTlsContextFactory extends AbstractComponent implements TlsContextFactory, Initialisable {
 
   private static final Logger logger = LoggerFactory.getLogger(DefaultTlsContextFactory.class);
   private static final String DEFAULT = "default";
 
+  public static final String STORES_CHECK_INTERVAL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "tls.storesCheckInterval";
+  public static final long DEFAULT_STORES_CHECK_INTERVAL = 1000;
+
   private String name;
 
   private final TlsConfiguration tlsConfiguration;
@@ -59,6 +74,14 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
   private boolean trustStoreInsecure = false;
   private String[] enabledProtocols;
   private String[] enabledCipherSuites;
+  private Integer sessionCacheSize;
+  private Integer sessionTimeout;
+  private RevocationCheck revocationCheck;
+
+  private final Object sslContextLock = new Object();
+  private volatile CachedSslContext cachedSslContext;
+  private final long storesCheckIntervalNanos =
+      MILLISECONDS.toNanos(getLong(STORES_CHECK_INTERVAL_PROPERTY, DEFAULT_STORES_CHECK_INTERVAL));
 
   public DefaultTlsContextFactory(Map<QName, Object> annotations) {
     tlsConfiguration = new TlsConfiguration(null);
@@ -215,18 +238,116 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
   }
 
   public void setRevocationCheck(RevocationCheck revocationCheck) {
+    this.revocationCheck = revocationCheck;
     tlsConfiguration.setRevocationCheck(revocationCheck);
   }
 
+  public Integer getSessionCacheSize() {
+    return sessionCacheSize;
+  }
+
+  /**
+   * @param sessionCacheSize the maximum amount of TLS sessions to keep for resumption, {@code 0} meaning no limit. If not set,
+   *        the JVM default is used.
+   */
+  public void setSessionCacheSize(Integer sessionCacheSize) {
+    this.sessionCacheSize = sessionCacheSize;
+  }
+
+  public Integer getSessionTimeout() {
+    return sessionTimeout;
+  }
+
+  /**
+   * @param sessionTimeout the time in seconds a TLS session may be resumed for, {@code 0} meaning no limit. If not set, the JVM
+   *        default is used.
+   */
+  public void setSessionTimeout(Integer sessionTimeout) {
+    this.sessionTimeout = sessionTimeout;
+  }
+
   @Override
   public SSLContext createSslContext() throws KeyManagementException, NoSuchAlgorithmException {
-    SSLContext sslContext;
-    if (trustStoreInsecure) {
-      sslContext = tlsConfiguration.getSslContext(new TrustManager[] {new InsecureTrustManager()});
-    } else {
-      sslContext = tlsConfiguration.getSslContext();
+    CachedSslContext cached = cachedSslContext;
+    long now = nanoTime();
+    if (cached != null && now - cached.nextStoresCheck < 0) {
+      return cached.sslContext;
+    }
+
+    long keyStoreLastModified = lastModified(getKeyStorePath(), getClass());
+    long trustStoreLastModified = lastModified(getTrustStorePath(), getClass());
+
+    if (cached != null && cached.isValidFor(keyStoreLastModified, trustStoreLastModified)) {
+      cached.nextStoresCheck = now + storesCheckIntervalNanos;
+      return cached.sslContext;
+    }
+
+    synchronized (sslContextLock) {
+      cached = cachedSslContext;
+      if (cached != null && cached.isValidFor(keyStoreLastModified, trustStoreLastModified)) {
+        return cached.sslContext;
+      }
+
+      TlsConfiguration configuration = tlsConfiguration;
+      if (cached != null && initialized.get()) {
+        // The stores changed since the context was created, so they have to be loaded again
+        if (logger.isDebugEnabled()) {
+          logger.debug("Key store or trust store of TLS context {} changed, reloading",
+                       name == null ? StringUtils.EMPTY : name);
+        }
+        configuration = reloadConfiguration();
+      }
+
+      SSLContext sslContext;
+      if (trustStoreInsecure) {
+        sslContext = configuration.getSslContext(new TrustManager[] {new InsecureTrustManager()});
+      } else {
+        sslContext = configuration.getSslContext();
+      }
+      configureSessionContext(sslContext.getClientSessionContext());
+      configureSessionContext(sslContext.getServerSessionContext());
+
+      cachedSslContext = new CachedSslContext(sslContext, keyStoreLastModified, trustStoreLastModified,
+                                              now + storesCheckIntervalNanos);
+      return sslContext;
+    }
+  }
+
+  /**
+   * Creates a new {@link TlsConfiguration} with the same settings as the configured one and initialises it, loading the stores
+   * again.
+   */
+  private TlsConfiguration reloadConfiguration() throws KeyManagementException {
+    try {
+      TlsConfiguration configuration = new TlsConfiguration(tlsConfiguration.getKeyStore());
+      configuration.setAnnotations(tlsConfiguration.getAnnotations());
+      configuration.setKeyStoreType(tlsConfiguration.getKeyStoreType());
+      configuration.setKeyAlias(tlsConfiguration.getKeyAlias());
+      configuration.setKeyStorePassword(tlsConfiguration.getKeyStorePassword());
+      configuration.setKeyPassword(tlsConfiguration.getKeyPassword());
+      configuration.setKeyManagerAlgorithm(tlsConfiguration.getKeyManagerAlgorithm());
+      configuration.setTrustStore(tlsConfiguration.getTrustStore());
+      configuration.setTrustStoreType(tlsConfiguration.getTrustStoreType());
+      configuration.setTrustStorePassword(tlsConfiguration.getTrustStorePassword());
+      configuration.setTrustManagerAlgorithm(tlsConfiguration.getTrustManagerAlgorithm());
+      configuration.setRevocationCheck(revocationCheck);
+      configuration.initialise(null == getKeyStorePath(), null);
+      return configuration;
+    } catch (IOException | CreateException e) {
+      throw new KeyManagementException("Unable to reload TLS configuration", e);
+    }
+  }
+
+  private void configureSessionContext(SSLSessionContext sessionContext) {
+    if (sessionContext == null) {
+      return;
+    }
+    if (sessionCacheSize != null) {
+      sessionContext.setSessionCacheSize(sessionCacheSize);
+    }
+    if (sessionTimeout != null) {
+      sessionContext.setSessionTimeout(sessionTimeout);
     }
-    return sslContext;
   }
 
   @Override
@@ -369,6 +490,29 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
     return tlsConfiguration.hashCode();
   }
 
+  /**
+   * An {@link SSLContext} along with the state of the stores it was created from.
+   */
+  private static final class CachedSslContext {
+
+    private final SSLContext sslContext;
+    private final long keyStoreLastModified;
+    private final long trustStoreLastModified;
+    private volatile long nextStoresCheck;
+
+    private CachedSslContext(SSLContext sslContext, long keyStoreLastModified, long trustStoreLastModified,
+                             long nextStoresCheck) {
+      this.sslContext = sslContext;
+      this.keyStoreLastModified = keyStoreLastModified;
+      this.trustStoreLastModified = trustStoreLastModified;
+      this.nextStoresCheck = nextStoresCheck;
+    }
+
+    private boolean isValidFor(long keyStoreLastModified, long trustStoreLastModified) {
+      return this.keyStoreLastModified == keyStoreLastModified && this.trustStoreLastModified == trustStoreLastModified;
+    }
+  }
+
   private static class InsecureTrustManager implements X509TrustManager {
 
     @Override
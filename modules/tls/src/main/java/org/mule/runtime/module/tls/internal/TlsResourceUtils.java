@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal;
+
+import static org.mule.runtime.core.api.util.IOUtils.getResourceAsUrl;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+
+/**
+ * Utilities for the resources a TLS context is built from, such as key stores, trust stores and CRL files.
+ *
+ * @since 4.2
+ */
+public final class TlsResourceUtils {
+
+  private TlsResourceUtils() {}
+
+  /**
+   * Resolves the resource the same way it is loaded, from the file system or the classpath, and returns its last modification
+   * time. Resources that are not plain files, such as the ones packaged in a jar, are considered to never change.
+   *
+   * @param path the path of the resource, may be {@code null}
+   * @param callingClass the class to use for looking up the resource in the classpath
+   * @return the last modification time of the resource, or {@code 0} if it is not a plain file
+   */
+  public static long lastModified(String path, Class<?> callingClass) {
+    if (path == null) {
+      return 0;
+    }
+    URL url = getResourceAsUrl(path, callingClass);
+    if (url == null || !"file".equals(url.getProtocol())) {
+      return 0;
+    }
+    try {
+      return new File(url.toURI()).lastModified();
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return 0;
+    }
+  }
+}
@@ -7,6 +7,7 @@
 package org.mule.runtime.module.tls.internal.revocation;
 
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.module.tls.internal.TlsResourceUtils.lastModified;
 
 import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.core.privileged.security.RevocationCheck;
@@ -46,6 +47,11 @@ public class CrlFile implements RevocationCheck {
 
   private String path;
 
+  // The parsed CRLs are kept until the file changes, so they aren't parsed again every time the trust manager is initialised
+  private Collection<? extends CRL> cachedCrls;
+  private String cachedCrlsPath;
+  private long cachedCrlsLastModified;
+
   public void setPath(String path) {
     this.path = path;
   }
@@ -73,21 +79,31 @@ public class CrlFile implements RevocationCheck {
     }
   }
 
-  private Collection<? extends CRL> loadCRL(String crlPath) throws CertificateException, IOException, CRLException {
-    Collection<? extends CRL> crlList = null;
-
-    if (crlPath != null) {
-      InputStream in = null;
-      try {
-        in = IOUtils.getResourceAsStream(crlPath, getClass());
-        crlList = CertificateFactory.getInstance("X.509").generateCRLs(in);
-      } finally {
-        if (in != null) {
-          in.close();
-        }
+  private synchronized Collection<? extends CRL> loadCRL(String crlPath)
+      throws CertificateException, IOException, CRLException {
+    if (crlPath == null) {
+      return null;
+    }
+
+    long lastModified = lastModified(crlPath, getClass());
+    if (cachedCrls != null && crlPath.equals(cachedCrlsPath) && lastModified == cachedCrlsLastModified) {
+      return cachedCrls;
+    }
+
+    Collection<? extends CRL> crlList;
+    InputStream in = null;
+    try {
+      in = IOUtils.getResourceAsStream(crlPath, getClass());
+      crlList = CertificateFactory.getInstance("X.509").generateCRLs(in);
+    } finally {
+      if (in != null) {
+        in.close();
       }
     }
 
+    cachedCrls = crlList;
+    cachedCrlsPath = crlPath;
+    cachedCrlsLastModified = lastModified;
     return crlList;
   }
 
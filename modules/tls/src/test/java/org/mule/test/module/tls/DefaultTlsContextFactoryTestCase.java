@@ -6,13 +6,18 @@
  */
 package org.mule.test.module.tls;
 
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Collections.emptyMap;
 import static org.hamcrest.Matchers.arrayContaining;
 import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.module.tls.internal.DefaultTlsContextFactory.STORES_CHECK_INTERVAL_PROPERTY;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.privileged.security.tls.TlsConfiguration.DEFAULT_SECURITY_MODEL;
 import static org.mule.runtime.core.privileged.security.tls.TlsConfiguration.PROPERTIES_FILE_PATTERN;
@@ -26,6 +31,8 @@ import org.mule.tck.junit4.AbstractMuleTestCase;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.security.KeyManagementException;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocketFactory;
@@ -35,12 +42,16 @@ import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
 public class DefaultTlsContextFactoryTestCase extends AbstractMuleTestCase {
 
   @Rule
   public ExpectedException expectedException = ExpectedException.none();
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @BeforeClass
   public static void createTlsPropertiesFile() throws Exception {
 
@@ -152,4 +163,110 @@ public class DefaultTlsContextFactoryTestCase extends AbstractMuleTestCase {
     assertThat(defaultFactory.getDefaultCipherSuites(), arrayContainingInAnyOrder(tls12Factory.getDefaultCipherSuites()));
   }
 
+  @Test
+  public void sslContextIsReused() throws Exception {
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.initialise();
+
+    assertThat(tlsContextFactory.createSslContext(), is(sameInstance(tlsContextFactory.createSslContext())));
+  }
+
+  @Test
+  public void sessionCacheIsConfigured() throws Exception {
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.setSessionCacheSize(10);
+    tlsContextFactory.setSessionTimeout(60);
+    tlsContextFactory.initialise();
+
+    SSLContext sslContext = tlsContextFactory.createSslContext();
+    assertThat(sslContext.getClientSessionContext().getSessionCacheSize(), is(10));
+    assertThat(sslContext.getClientSessionContext().getSessionTimeout(), is(60));
+    assertThat(sslContext.getServerSessionContext().getSessionCacheSize(), is(10));
+    assertThat(sslContext.getServerSessionContext().getSessionTimeout(), is(60));
+  }
+
+  @Test
+  public void sslContextIsReloadedWhenTrustStoreChanges() throws Exception {
+    File trustStore = copyTrustStore();
+
+    DefaultTlsContextFactory tlsContextFactory = createTlsContextFactory(trustStore.getAbsolutePath(), 0);
+
+    SSLContext sslContext = tlsContextFactory.createSslContext();
+    trustStore.setLastModified(trustStore.lastModified() - 10000);
+
+    assertThat(tlsContextFactory.createSslContext(), is(not(sameInstance(sslContext))));
+  }
+
+  @Test
+  public void sslContextIsReloadedWhenClasspathTrustStoreChanges() throws Exception {
+    File trustStore = new File(ClassUtils.getClassPathRoot(getClass()).getPath(), "trustStore");
+    long lastModified = trustStore.lastModified();
+
+    DefaultTlsContextFactory tlsContextFactory = createTlsContextFactory("trustStore", 0);
+
+    SSLContext sslContext = tlsContextFactory.createSslContext();
+    trustStore.setLastModified(lastModified - 10000);
+    try {
+      assertThat(tlsContextFactory.createSslContext(), is(not(sameInstance(sslContext))));
+    } finally {
+      trustStore.setLastModified(lastModified);
+    }
+  }
+
+  @Test
+  public void trustStoreChangesCheckedOncePerInterval() throws Exception {
+    File trustStore = copyTrustStore();
+
+    DefaultTlsContextFactory tlsContextFactory = createTlsContextFactory(trustStore.getAbsolutePath(), 60000);
+
+    SSLContext sslContext = tlsContextFactory.createSslContext();
+    trustStore.setLastModified(trustStore.lastModified() - 10000);
+
+    assertThat(tlsContextFactory.createSslContext(), is(sameInstance(sslContext)));
+  }
+
+  @Test
+  public void failedReloadKeepsConfiguration() throws Exception {
+    File trustStore = copyTrustStore();
+    byte[] trustStoreContent = Files.readAllBytes(trustStore.toPath());
+
+    DefaultTlsContextFactory tlsContextFactory = createTlsContextFactory(trustStore.getAbsolutePath(), 0);
+    SSLContext sslContext = tlsContextFactory.createSslContext();
+
+    Files.write(trustStore.toPath(), "corrupt".getBytes());
+    trustStore.setLastModified(trustStore.lastModified() - 10000);
+    try {
+      tlsContextFactory.createSslContext();
+      fail("Reloading a corrupt trust store should fail");
+    } catch (KeyManagementException e) {
+      // expected
+    }
+
+    Files.write(trustStore.toPath(), trustStoreContent);
+    trustStore.setLastModified(trustStore.lastModified() - 20000);
+    assertThat(tlsContextFactory.createSslContext(), is(not(sameInstance(sslContext))));
+    assertThat(tlsContextFactory.getEnabledProtocols(), is(StringUtils.splitAndTrim(getFileEnabledProtocols(), ",")));
+  }
+
+  private File copyTrustStore() throws IOException {
+    File trustStore = temporaryFolder.newFile("trustStore");
+    Files.copy(new File(ClassUtils.getClassPathRoot(getClass()).getPath(), "trustStore").toPath(), trustStore.toPath(),
+               REPLACE_EXISTING);
+    return trustStore;
+  }
+
+  private DefaultTlsContextFactory createTlsContextFactory(String trustStorePath, long storesCheckInterval) throws Exception {
+    DefaultTlsContextFactory tlsContextFactory;
+    System.setProperty(STORES_CHECK_INTERVAL_PROPERTY, Long.toString(storesCheckInterval));
+    try {
+      tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    } finally {
+      System.clearProperty(STORES_CHECK_INTERVAL_PROPERTY);
+    }
+    tlsContextFactory.setTrustStorePath(trustStorePath);
+    tlsContextFactory.setTrustStorePassword("mulepassword");
+    tlsContextFactory.initialise();
+    return tlsContextFactory;
+  }
+
 }
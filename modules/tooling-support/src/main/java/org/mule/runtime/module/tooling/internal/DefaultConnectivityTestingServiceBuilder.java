@@ -24,6 +24,8 @@ import org.mule.runtime.globalconfig.api.GlobalConfigLoader;
 import org.mule.runtime.module.deployment.impl.internal.application.DefaultApplicationFactory;
 import org.mule.runtime.module.deployment.impl.internal.application.DeployableMavenClassLoaderModelLoader;
 import org.mule.runtime.module.tooling.api.connectivity.ConnectivityTestingServiceBuilder;
+import org.mule.runtime.module.tooling.internal.TemporaryArtifactConnectivityTestingService.ApplicationSupplier;
+import org.mule.runtime.module.tooling.internal.ToolingArtifactPool.ToolingArtifactKey;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -39,11 +41,14 @@ import org.apache.maven.model.Model;
 class DefaultConnectivityTestingServiceBuilder implements ConnectivityTestingServiceBuilder {
 
   private final DefaultApplicationFactory defaultApplicationFactory;
+  private final ToolingArtifactPool artifactPool;
   private ArtifactDeclaration artifactDeclaration;
   private Model model;
 
-  DefaultConnectivityTestingServiceBuilder(DefaultApplicationFactory defaultApplicationFactory) {
+  DefaultConnectivityTestingServiceBuilder(DefaultApplicationFactory defaultApplicationFactory,
+                                           ToolingArtifactPool artifactPool) {
     this.defaultApplicationFactory = defaultApplicationFactory;
+    this.artifactPool = artifactPool;
     createTempMavenModel();
   }
 
@@ -89,7 +94,7 @@ class DefaultConnectivityTestingServiceBuilder implements ConnectivityTestingSer
   @Override
   public ConnectivityTestingService build() {
     checkState(artifactDeclaration != null, "artifact configuration cannot be null");
-    return new TemporaryArtifactConnectivityTestingService(() -> {
+    ApplicationSupplier applicationSupplier = () -> {
       String applicationName = UUID.getUUID() + "-connectivity-testing-temp-app";
       File applicationFolder = new File(getExecutionFolder(), applicationName);
       ApplicationDescriptor applicationDescriptor = new ApplicationDescriptor(applicationName);
@@ -105,7 +110,13 @@ class DefaultConnectivityTestingServiceBuilder implements ConnectivityTestingSer
               .createMavenClient(GlobalConfigLoader.getMavenConfig()), mavenClientProvider.getLocalRepositorySuppliers())
                   .load(applicationFolder, emptyMap(), ArtifactType.APP));
       return defaultApplicationFactory.createArtifact(applicationDescriptor);
-    });
+    };
+    if (artifactPool.isEnabled()) {
+      return new WarmArtifactConnectivityTestingService(artifactPool,
+                                                        new ToolingArtifactKey(model.getDependencies(), artifactDeclaration),
+                                                        applicationSupplier);
+    }
+    return new TemporaryArtifactConnectivityTestingService(applicationSupplier);
   }
 
 }
@@ -72,6 +72,7 @@ public class DefaultToolingService implements ToolingService {
   private final DefaultDomainFactory domainFactory;
   private final DefaultApplicationFactory applicationFactory;
   private final ToolingApplicationDescriptorFactory applicationDescriptorFactory;
+  private final ToolingArtifactPool artifactPool = new ToolingArtifactPool();
 
   private File toolingServiceAppsFolder;
   private ArtifactFileWriter artifactFileWriter;
@@ -97,7 +98,7 @@ public class DefaultToolingService implements ToolingService {
    */
   @Override
   public ConnectivityTestingServiceBuilder newConnectivityTestingServiceBuilder() {
-    return new DefaultConnectivityTestingServiceBuilder(applicationFactory);
+    return new DefaultConnectivityTestingServiceBuilder(applicationFactory, artifactPool);
   }
 
   /**
@@ -295,6 +296,7 @@ public class DefaultToolingService implements ToolingService {
    */
   @Override
   public void stop() throws MuleException {
+    artifactPool.invalidateAll();
     if (toolingServiceAppsFolder != null) {
       try {
         cleanDirectory(toolingServiceAppsFolder);
@@ -56,27 +56,15 @@ public class TemporaryArtifactConnectivityTestingService implements Connectivity
     try {
       application = applicationSupplier.get();
     } catch (Exception e) {
-      throw getCausalChain(e).stream()
-          .filter(exception -> exception.getClass().equals(ArtifactNotFoundException.class)
-              || exception.getClass().equals(ArtifactResolutionException.class))
-          .findFirst().map(exception -> (RuntimeException) new BundleNotFoundException(exception))
-          .orElse(new MuleRuntimeException(e));
+      throw resolveCreationException(e);
     }
     try {
       try {
         this.application.install();
         this.application.init();
         this.application.start();
-      } catch (DeploymentStartException e) {
-        return failure(e.getMessage(), e);
       } catch (Exception e) {
-        return getCausalChain(e).stream()
-            .filter(exception -> exception.getClass().equals(ConnectionException.class)
-                && ((ConnectionException) exception).getErrorType().isPresent())
-            .map(exception -> failure(exception.getMessage(), ((ConnectionException) exception).getErrorType().get(),
-                                      (Exception) exception))
-            .findFirst()
-            .orElse(failure(e.getMessage(), e));
+        return resolveStartFailure(e);
       }
       return application.getConnectivityTestingService().testConnection(location);
     } finally {
@@ -88,6 +76,41 @@ public class TemporaryArtifactConnectivityTestingService implements Connectivity
     }
   }
 
+  /**
+   * Translates an exception thrown while creating the temporary application, so that missing artifacts are reported as a
+   * {@link BundleNotFoundException}.
+   *
+   * @param e the exception thrown by the {@link ApplicationSupplier}
+   * @return the exception to throw to the caller
+   */
+  static RuntimeException resolveCreationException(Exception e) {
+    return getCausalChain(e).stream()
+        .filter(exception -> exception.getClass().equals(ArtifactNotFoundException.class)
+            || exception.getClass().equals(ArtifactResolutionException.class))
+        .findFirst().map(exception -> (RuntimeException) new BundleNotFoundException(exception))
+        .orElse(new MuleRuntimeException(e));
+  }
+
+  /**
+   * Translates an exception thrown while installing, initialising or starting the temporary application into a failed
+   * {@link ConnectionValidationResult}.
+   *
+   * @param e the exception thrown by the application lifecycle
+   * @return the failed connection validation result
+   */
+  static ConnectionValidationResult resolveStartFailure(Exception e) {
+    if (e instanceof DeploymentStartException) {
+      return failure(e.getMessage(), e);
+    }
+    return getCausalChain(e).stream()
+        .filter(exception -> exception.getClass().equals(ConnectionException.class)
+            && ((ConnectionException) exception).getErrorType().isPresent())
+        .map(exception -> failure(exception.getMessage(), ((ConnectionException) exception).getErrorType().get(),
+                                  (Exception) exception))
+        .findFirst()
+        .orElse(failure(e.getMessage(), e));
+  }
+
   public void doWithoutFail(Runnable runnable) {
     try {
       runnable.run();
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tooling.internal;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.FileUtils.deleteTree;
+import org.mule.runtime.app.declaration.api.ArtifactDeclaration;
+import org.mule.runtime.deployment.model.api.application.Application;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import org.apache.maven.model.Dependency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a bounded, least recently used set of already started tooling {@link Application}s so that design time requests that
+ * target the same plugin set and the same {@link ArtifactDeclaration} don't pay the full build, install and start cost of a
+ * temporary application every time.
+ * <p/>
+ * Applications are handed out as {@link Lease}s. Applications that get evicted, either because the pool is full or because they
+ * were not used for the configured expiration time, are stopped, disposed and their location removed once the last lease on
+ * them is released, so that requests still using them are not affected.
+ *
+ * @since 4.2
+ */
+class ToolingArtifactPool {
+
+  /**
+   * Maximum amount of warm applications to keep. A value of {@code 0} disables the pool.
+   */
+  static final String TOOLING_ARTIFACT_POOL_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "tooling.artifactPool.maxSize";
+
+  /**
+   * Time in milliseconds after which an application that was not used is evicted from the pool.
+   */
+  static final String TOOLING_ARTIFACT_POOL_EXPIRATION_PROPERTY = SYSTEM_PROPERTY_PREFIX + "tooling.artifactPool.expiration";
+
+  private static final int DEFAULT_POOL_SIZE = 10;
+  private static final long DEFAULT_EXPIRATION = 5 * 60 * 1000;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ToolingArtifactPool.class);
+
+  private final int maxSize;
+  private final Cache<ToolingArtifactKey, PooledApplication> warmApplications;
+
+  ToolingArtifactPool() {
+    this(getInteger(TOOLING_ARTIFACT_POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE),
+         getLong(TOOLING_ARTIFACT_POOL_EXPIRATION_PROPERTY, DEFAULT_EXPIRATION));
+  }
+
+  ToolingArtifactPool(int maxSize, long expirationMillis) {
+    this.maxSize = maxSize;
+    this.warmApplications = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterAccess(expirationMillis, MILLISECONDS)
+        .removalListener(new WarmApplicationRemovalListener())
+        .build();
+  }
+
+  /**
+   * @return whether this pool keeps applications at all.
+   */
+  boolean isEnabled() {
+    return maxSize > 0;
+  }
+
+  /**
+   * @param key the key of the application
+   * @return a lease on the warm application for the given {@code key}, if present. It has to be released once done with it.
+   */
+  Optional<Lease> acquire(ToolingArtifactKey key) {
+    PooledApplication pooled = warmApplications.getIfPresent(key);
+    return ofNullable(pooled != null ? pooled.lease() : null);
+  }
+
+  /**
+   * Offers a started application to the pool. If another application was pooled for the same {@code key} in the meantime,
+   * the given one is discarded and a lease on the pooled one returned.
+   *
+   * @param key the key of the application
+   * @param application a started application
+   * @return a lease on the application to use for the given {@code key}. It has to be released once done with it.
+   */
+  Lease offer(ToolingArtifactKey key, Application application) {
+    PooledApplication offered = new PooledApplication(key, application);
+    // Leased before being published, so that it can't be discarded by an eviction before the caller gets it
+    Lease offeredLease = offered.lease();
+    if (!isEnabled()) {
+      // Not pooled, so it is discarded as soon as it is released
+      offered.evict();
+      return offeredLease;
+    }
+
+    while (true) {
+      PooledApplication pooled = warmApplications.asMap().putIfAbsent(key, offered);
+      if (pooled == null) {
+        return offeredLease;
+      }
+
+      Lease lease = pooled.lease();
+      if (lease != null) {
+        offered.evict();
+        offeredLease.release();
+        return lease;
+      }
+      // The pooled one was evicted in the meantime
+      warmApplications.asMap().remove(key, pooled);
+    }
+  }
+
+  /**
+   * Removes the application of the given {@code lease} from the pool, so that no other request gets it. It is discarded once
+   * every lease on it is released. A newer application pooled for the same key is not affected.
+   *
+   * @param lease a lease on the application to invalidate
+   */
+  void invalidate(Lease lease) {
+    warmApplications.asMap().remove(lease.pooled.key, lease.pooled);
+    lease.pooled.evict();
+  }
+
+  /**
+   * Discards every pooled application.
+   */
+  void invalidateAll() {
+    warmApplications.invalidateAll();
+    warmApplications.cleanUp();
+  }
+
+  static void discard(Application application) {
+    File location = application.getLocation();
+    doWithoutFail(() -> application.stop());
+    doWithoutFail(() -> application.dispose());
+    doWithoutFail(() -> deleteTree(location));
+  }
+
+  private static void doWithoutFail(Runnable runnable) {
+    try {
+      runnable.run();
+    } catch (Exception e) {
+      LOGGER.warn(e.getMessage());
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(e.getMessage(), e);
+      }
+    }
+  }
+
+  private static class WarmApplicationRemovalListener implements RemovalListener<ToolingArtifactKey, PooledApplication> {
+
+    @Override
+    public void onRemoval(RemovalNotification<ToolingArtifactKey, PooledApplication> notification) {
+      if (notification.getValue() != null) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Evicting warm tooling application '{}' ({})", notification.getValue().application.getArtifactName(),
+                       notification.getCause());
+        }
+        notification.getValue().evict();
+      }
+    }
+  }
+
+  /**
+   * A pooled application along with how many leases on it are in use. Once evicted and with no leases, it is discarded.
+   */
+  private static final class PooledApplication {
+
+    private final ToolingArtifactKey key;
+    private final Application application;
+    private int leases;
+    private boolean evicted;
+
+    private PooledApplication(ToolingArtifactKey key, Application application) {
+      this.key = key;
+      this.application = application;
+    }
+
+    /**
+     * @return a new lease, or {@code null} if this application was already evicted
+     */
+    private synchronized Lease lease() {
+      if (evicted) {
+        return null;
+      }
+      leases++;
+      return new Lease(this);
+    }
+
+    private void evict() {
+      synchronized (this) {
+        if (evicted) {
+          return;
+        }
+        evicted = true;
+        if (leases > 0) {
+          return;
+        }
+      }
+      discard(application);
+    }
+
+    private void release() {
+      synchronized (this) {
+        if (--leases > 0 || !evicted) {
+          return;
+        }
+      }
+      discard(application);
+    }
+  }
+
+  /**
+   * Grants the use of a pooled {@link Application} until {@link #release() released}.
+   */
+  static final class Lease {
+
+    private final PooledApplication pooled;
+    private boolean released;
+
+    private Lease(PooledApplication pooled) {
+      this.pooled = pooled;
+    }
+
+    /**
+     * @return the leased application
+     */
+    Application getApplication() {
+      return pooled.application;
+    }
+
+    /**
+     * Gives the application back to the pool. Releasing a lease more than once has no effect.
+     */
+    synchronized void release() {
+      if (!released) {
+        released = true;
+        pooled.release();
+      }
+    }
+  }
+
+  /**
+   * Identifies the applications that can be shared between requests: the same set of dependencies (plugins and shared
+   * libraries) and the same {@link ArtifactDeclaration}.
+   */
+  static final class ToolingArtifactKey {
+
+    private final SortedSet<String> dependencies = new TreeSet<>();
+    private final ArtifactDeclaration artifactDeclaration;
+    private final int hashCode;
+
+    ToolingArtifactKey(Collection<Dependency> dependencies, ArtifactDeclaration artifactDeclaration) {
+      dependencies.forEach(dependency -> this.dependencies.add(dependency.getGroupId() + ":" + dependency.getArtifactId() + ":"
+          + dependency.getVersion() + ":" + dependency.getClassifier() + ":" + dependency.getType()));
+      this.artifactDeclaration = artifactDeclaration;
+      this.hashCode = Objects.hash(this.dependencies, artifactDeclaration);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ToolingArtifactKey)) {
+        return false;
+      }
+      ToolingArtifactKey other = (ToolingArtifactKey) obj;
+      return hashCode == other.hashCode && dependencies.equals(other.dependencies)
+          && Objects.equals(artifactDeclaration, other.artifactDeclaration);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tooling.internal;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.module.tooling.internal.TemporaryArtifactConnectivityTestingService.resolveCreationException;
+import static org.mule.runtime.module.tooling.internal.TemporaryArtifactConnectivityTestingService.resolveStartFailure;
+import static org.mule.runtime.module.tooling.internal.ToolingArtifactPool.discard;
+import org.mule.runtime.api.component.location.Location;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.api.connectivity.ConnectivityTestingService;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.tooling.internal.TemporaryArtifactConnectivityTestingService.ApplicationSupplier;
+import org.mule.runtime.module.tooling.internal.ToolingArtifactPool.Lease;
+import org.mule.runtime.module.tooling.internal.ToolingArtifactPool.ToolingArtifactKey;
+
+import java.util.Optional;
+
+/**
+ * {@link ConnectivityTestingService} that reuses an already started tooling application from a {@link ToolingArtifactPool}.
+ * <p/>
+ * The application is only built and started when there is no warm one for the same {@link ToolingArtifactKey}. Once started it
+ * is kept in the pool instead of being disposed, so that subsequent requests only pay for the connectivity test itself.
+ *
+ * @since 4.2
+ */
+class WarmArtifactConnectivityTestingService implements ConnectivityTestingService {
+
+  private final ToolingArtifactPool artifactPool;
+  private final ToolingArtifactKey artifactKey;
+  private final ApplicationSupplier applicationSupplier;
+
+  /**
+   * Creates a {@code WarmArtifactConnectivityTestingService}.
+   *
+   * @param artifactPool the pool of warm applications
+   * @param artifactKey the key that identifies the application in the {@code artifactPool}
+   * @param applicationSupplier supplier of the application to use when there's no warm one in the {@code artifactPool}
+   */
+  WarmArtifactConnectivityTestingService(ToolingArtifactPool artifactPool, ToolingArtifactKey artifactKey,
+                                         ApplicationSupplier applicationSupplier) {
+    this.artifactPool = artifactPool;
+    this.artifactKey = artifactKey;
+    this.applicationSupplier = applicationSupplier;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws MuleRuntimeException
+   */
+  @Override
+  public ConnectionValidationResult testConnection(Location location) {
+    checkArgument(location != null, "identifier cannot be null");
+    Optional<Lease> warmApplication = artifactPool.acquire(artifactKey);
+    Lease lease;
+    if (warmApplication.isPresent()) {
+      lease = warmApplication.get();
+    } else {
+      Application application;
+      try {
+        application = applicationSupplier.get();
+      } catch (Exception e) {
+        throw resolveCreationException(e);
+      }
+      try {
+        application.install();
+        application.init();
+        application.start();
+      } catch (Exception e) {
+        discard(application);
+        return resolveStartFailure(e);
+      }
+      lease = artifactPool.offer(artifactKey, application);
+    }
+
+    try {
+      return lease.getApplication().getConnectivityTestingService().testConnection(location);
+    } catch (RuntimeException e) {
+      // The application may have been left in an inconsistent state, don't let other requests reuse it
+      artifactPool.invalidate(lease);
+      throw e;
+    } finally {
+      lease.release();
+    }
+  }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tooling.internal;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.tooling.internal.ToolingArtifactPool.Lease;
+import org.mule.runtime.module.tooling.internal.ToolingArtifactPool.ToolingArtifactKey;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.apache.maven.model.Dependency;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ToolingArtifactPoolTestCase extends AbstractMuleTestCase {
+
+  private static final ToolingArtifactKey KEY = new ToolingArtifactKey(emptyList(), null);
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ToolingArtifactPool pool = new ToolingArtifactPool(1, 60000);
+
+  @Test
+  public void offeredApplicationReused() throws Exception {
+    Application application = createApplication();
+    pool.offer(KEY, application).release();
+
+    Lease lease = pool.acquire(KEY).get();
+    assertThat(lease.getApplication(), is(sameInstance(application)));
+    lease.release();
+    verify(application, never()).dispose();
+  }
+
+  @Test
+  public void concurrentlyOfferedApplicationDiscarded() throws Exception {
+    Application pooled = createApplication();
+    Application other = createApplication();
+    Lease pooledLease = pool.offer(KEY, pooled);
+
+    Lease otherLease = pool.offer(KEY, other);
+    assertThat(otherLease.getApplication(), is(sameInstance(pooled)));
+    verify(other).dispose();
+
+    pooledLease.release();
+    otherLease.release();
+    verify(pooled, never()).dispose();
+  }
+
+  @Test
+  public void evictedApplicationDisposedOnceReleased() throws Exception {
+    Application evicted = createApplication();
+    Lease lease = pool.offer(KEY, evicted);
+
+    pool.offer(new ToolingArtifactKey(singletonList(new Dependency()), null), createApplication()).release();
+    assertThat(pool.acquire(KEY).isPresent(), is(false));
+    verify(evicted, never()).dispose();
+
+    lease.release();
+    verify(evicted).stop();
+    verify(evicted).dispose();
+  }
+
+  @Test
+  public void invalidatedApplicationDisposedOnceReleased() throws Exception {
+    Application application = createApplication();
+    Lease lease = pool.offer(KEY, application);
+    Lease otherLease = pool.acquire(KEY).get();
+
+    pool.invalidate(lease);
+    lease.release();
+    assertThat(pool.acquire(KEY).isPresent(), is(false));
+    verify(application, never()).dispose();
+
+    otherLease.release();
+    verify(application).dispose();
+  }
+
+  @Test
+  public void invalidationDoesNotAffectNewerApplication() throws Exception {
+    Lease staleLease = pool.offer(KEY, createApplication());
+    pool.invalidate(staleLease);
+
+    Application newer = createApplication();
+    pool.offer(KEY, newer).release();
+
+    pool.invalidate(staleLease);
+    staleLease.release();
+
+    Lease lease = pool.acquire(KEY).get();
+    assertThat(lease.getApplication(), is(sameInstance(newer)));
+    lease.release();
+    verify(newer, never()).dispose();
+  }
+
+  @Test
+  public void releaseIsIdempotent() throws Exception {
+    Application application = createApplication();
+    Lease lease = pool.offer(KEY, application);
+    Lease otherLease = pool.acquire(KEY).get();
+
+    pool.invalidateAll();
+    lease.release();
+    lease.release();
+    verify(application, never()).dispose();
+
+    otherLease.release();
+    verify(application).dispose();
+  }
+
+  @Test
+  public void disabledPoolDiscardsOnRelease() throws Exception {
+    pool = new ToolingArtifactPool(0, 60000);
+    Application application = createApplication();
+
+    Lease lease = pool.offer(KEY, application);
+    assertThat(lease.getApplication(), is(sameInstance(application)));
+    assertThat(pool.acquire(KEY).isPresent(), is(false));
+
+    lease.release();
+    verify(application).dispose();
+  }
+
+  private Application createApplication() throws Exception {
+    Application application = mock(Application.class);
+    when(application.getLocation()).thenReturn(temporaryFolder.newFolder());
+    return application;
+  }
+}
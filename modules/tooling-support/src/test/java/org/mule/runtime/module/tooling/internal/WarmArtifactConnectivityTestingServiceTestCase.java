@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tooling.internal;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.connection.ConnectionValidationResult.success;
+
+import org.mule.runtime.api.component.location.Location;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.api.connectivity.ConnectivityTestingService;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.tooling.internal.TemporaryArtifactConnectivityTestingService.ApplicationSupplier;
+import org.mule.runtime.module.tooling.internal.ToolingArtifactPool.Lease;
+import org.mule.runtime.module.tooling.internal.ToolingArtifactPool.ToolingArtifactKey;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class WarmArtifactConnectivityTestingServiceTestCase extends AbstractMuleTestCase {
+
+  private static final Location LOCATION = Location.builder().globalName("config").build();
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ToolingArtifactPool pool = new ToolingArtifactPool(1, 60000);
+  private final ToolingArtifactKey key = new ToolingArtifactKey(emptyList(), null);
+  private final ApplicationSupplier applicationSupplier = mock(ApplicationSupplier.class);
+  private ConnectivityTestingService connectivityTestingService;
+  private ExecutorService executor;
+
+  @Before
+  public void before() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+    pool.invalidateAll();
+  }
+
+  @Test
+  public void applicationStartedOnceAndReused() throws Exception {
+    Application application = createApplication();
+    when(applicationSupplier.get()).thenReturn(application);
+    WarmArtifactConnectivityTestingService service = createService();
+
+    assertThat(service.testConnection(LOCATION).isValid(), is(true));
+    assertThat(service.testConnection(LOCATION).isValid(), is(true));
+
+    verify(applicationSupplier, times(1)).get();
+    verify(application, times(1)).start();
+    verify(connectivityTestingService, times(2)).testConnection(LOCATION);
+    verify(application, never()).dispose();
+  }
+
+  @Test
+  public void failedApplicationReplaced() throws Exception {
+    Application failing = createApplication();
+    Application replacement = createApplication();
+    when(applicationSupplier.get()).thenReturn(failing, replacement);
+    when(connectivityTestingService.testConnection(any())).thenThrow(new IllegalStateException("expected"))
+        .thenReturn(success());
+    WarmArtifactConnectivityTestingService service = createService();
+
+    try {
+      service.testConnection(LOCATION);
+      fail("Connectivity testing was expected to fail");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    verify(failing).dispose();
+
+    service.testConnection(LOCATION);
+    verify(applicationSupplier, times(2)).get();
+    verify(replacement, never()).dispose();
+  }
+
+  @Test
+  public void applicationInUseNotDisposedWhenAnotherRequestFails() throws Exception {
+    Application application = createApplication();
+    ConnectivityTestingService delegate = connectivityTestingService;
+    when(applicationSupplier.get()).thenReturn(application);
+    WarmArtifactConnectivityTestingService service = createService();
+    service.testConnection(LOCATION);
+
+    Latch testing = new Latch();
+    Latch finish = new Latch();
+    doAnswer(invocation -> {
+      testing.release();
+      finish.await();
+      return success();
+    }).when(delegate).testConnection(LOCATION);
+    Future<ConnectionValidationResult> inUse = executor.submit(() -> service.testConnection(LOCATION));
+    assertThat(testing.await(5, SECONDS), is(true));
+
+    doThrow(new IllegalStateException("expected")).when(delegate).testConnection(LOCATION);
+    try {
+      service.testConnection(LOCATION);
+      fail("Connectivity testing was expected to fail");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    verify(application, never()).dispose();
+
+    finish.release();
+    assertThat(inUse.get(5, SECONDS).isValid(), is(true));
+    verify(application).dispose();
+  }
+
+  @Test
+  public void startFailureDiscardsApplication() throws Exception {
+    Application application = createApplication();
+    doThrow(new IllegalStateException("expected")).when(application).start();
+    when(applicationSupplier.get()).thenReturn(application);
+
+    assertThat(createService().testConnection(LOCATION).isValid(), is(false));
+    verify(application).dispose();
+    assertThat(pool.acquire(key).isPresent(), is(false));
+  }
+
+  @Test
+  public void pooledApplicationUsed() throws Exception {
+    Application application = createApplication();
+    pool.offer(key, application).release();
+
+    createService().testConnection(LOCATION);
+    verify(applicationSupplier, never()).get();
+    Lease lease = pool.acquire(key).get();
+    assertThat(lease.getApplication(), is(sameInstance(application)));
+    lease.release();
+  }
+
+  private WarmArtifactConnectivityTestingService createService() {
+    return new WarmArtifactConnectivityTestingService(pool, key, applicationSupplier);
+  }
+
+  private Application createApplication() throws Exception {
+    Application application = mock(Application.class);
+    if (connectivityTestingService == null) {
+      connectivityTestingService = mock(ConnectivityTestingService.class);
+      when(connectivityTestingService.testConnection(any())).thenReturn(success());
+    }
+    when(application.getConnectivityTestingService()).thenReturn(connectivityTestingService);
+    when(application.getLocation()).thenReturn(temporaryFolder.newFolder());
+    return application;
+  }
+}
@@ -273,6 +273,9 @@ public interface AllureConstants {
       String COLLECT_LIST = "Collect List";
       String COLLECT_MAP = "Collect Map";
       String JOIN_ONLY = "Join Only";
+      String FIRST_SUCCESSFUL = "First Successful";
+      String QUORUM = "Quorum";
+      String STREAMING = "Streaming";
     }
 
   }
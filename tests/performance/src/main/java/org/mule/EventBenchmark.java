@@ -38,7 +38,7 @@ public class EventBenchmark extends AbstractBenchmark {
   private CoreEvent event;
   private CoreEvent eventWith10VariablesProperties;
   private CoreEvent eventWith50VariablesProperties;
-  private CoreEvent eventWith100VariablesProperties;
+  private CoreEvent eventWith200VariablesProperties;
 
   @Setup
   public void setup() throws Exception {
@@ -52,7 +52,7 @@ public class EventBenchmark extends AbstractBenchmark {
     event = eventBuilder.build();
     eventWith10VariablesProperties = createMuleEventWithFlowVarsAndProperties(10);
     eventWith50VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
-    eventWith100VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
+    eventWith200VariablesProperties = createMuleEventWithFlowVarsAndProperties(200);
   }
 
   @TearDown
@@ -78,8 +78,13 @@ public class EventBenchmark extends AbstractBenchmark {
   }
 
   @Benchmark
-  public CoreEvent copyEventWith100VariablesProperties() {
-    return CoreEvent.builder(eventWith100VariablesProperties).build();
+  public CoreEvent copyEventWith50VariablesProperties() {
+    return CoreEvent.builder(eventWith50VariablesProperties).build();
+  }
+
+  @Benchmark
+  public CoreEvent copyEventWith200VariablesProperties() {
+    return CoreEvent.builder(eventWith200VariablesProperties).build();
   }
 
   @Benchmark
@@ -100,9 +105,9 @@ public class EventBenchmark extends AbstractBenchmark {
   }
 
   @Benchmark
-  public CoreEvent deepCopyEventWith100VariablesProperties() {
-    return CoreEvent.builder(eventWith100VariablesProperties)
-        .message(Message.builder(eventWith100VariablesProperties.getMessage()).build()).build();
+  public CoreEvent deepCopyEventWith200VariablesProperties() {
+    return CoreEvent.builder(eventWith200VariablesProperties)
+        .message(Message.builder(eventWith200VariablesProperties.getMessage()).build()).build();
   }
 
   @Benchmark
@@ -121,8 +126,8 @@ public class EventBenchmark extends AbstractBenchmark {
   }
 
   @Benchmark
-  public CoreEvent addEventVariableEventWith100VariablesProperties() {
-    return CoreEvent.builder(eventWith100VariablesProperties).addVariable(KEY, VALUE).build();
+  public CoreEvent addEventVariableEventWith200VariablesProperties() {
+    return CoreEvent.builder(eventWith200VariablesProperties).addVariable(KEY, VALUE).build();
   }
 
 
@@ -159,10 +164,10 @@ public class EventBenchmark extends AbstractBenchmark {
   }
 
   @Benchmark
-  public CoreEvent copyWith100FlowVarsAndPropertiesWrite25OfEach() throws Exception {
-    final PrivilegedEvent.Builder eventBuilder = PrivilegedEvent.builder(eventWith100VariablesProperties);
-    eventBuilder.session(new DefaultMuleSession(((PrivilegedEvent) eventWith100VariablesProperties).getSession())).build();
-    InternalMessage.Builder builder = InternalMessage.builder(eventWith100VariablesProperties.getMessage());
+  public CoreEvent copyWith200FlowVarsAndPropertiesWrite25OfEach() throws Exception {
+    final PrivilegedEvent.Builder eventBuilder = PrivilegedEvent.builder(eventWith200VariablesProperties);
+    eventBuilder.session(new DefaultMuleSession(((PrivilegedEvent) eventWith200VariablesProperties).getSession())).build();
+    InternalMessage.Builder builder = InternalMessage.builder(eventWith200VariablesProperties.getMessage());
     for (int j = 1; j <= 25; j++) {
       eventBuilder.addVariable("newKey" + j, "val");
       builder.addInboundProperty("newKey", "val").addOutboundProperty("newKey", "val").build();
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.nio.file.Files.createTempDirectory;
+import static org.mule.runtime.core.api.util.FileUtils.deleteTree;
+import static org.mule.runtime.core.api.util.UUID.getUUID;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStoreDurability;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
+
+import java.io.File;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@Threads(8)
+public class PersistentObjectStoreBenchmark extends AbstractBenchmark {
+
+  @Param({"NONE", "OPERATION", "BATCH", "ASYNC"})
+  public String durability;
+
+  private MuleContext muleContext;
+  private File partitionDirectory;
+  private PersistentObjectStorePartition<String> partition;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    partitionDirectory = createTempDirectory("persistentObjectStoreBenchmark").toFile();
+    partition = new PersistentObjectStorePartition<>(muleContext, "benchmark", partitionDirectory,
+                                                     PersistentObjectStoreDurability.valueOf(durability));
+    partition.open();
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    partition.close();
+    partition.dispose();
+    deleteTree(partitionDirectory);
+    muleContext.stop();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public String store() throws ObjectStoreException {
+    String key = getUUID();
+    partition.store(key, VALUE);
+    return key;
+  }
+
+  @Benchmark
+  public String storeAndRemove() throws ObjectStoreException {
+    String key = getUUID();
+    partition.store(key, VALUE);
+    return partition.remove(key);
+  }
+}
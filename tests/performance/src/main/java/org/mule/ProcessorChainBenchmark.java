@@ -6,8 +6,11 @@
  */
 package org.mule;
 
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_DISABLE_PROCESSOR_FUSION;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
 
@@ -24,7 +27,9 @@ import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 import reactor.core.publisher.FluxProcessor;
 import reactor.core.publisher.FluxSink;
@@ -36,12 +41,20 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
 
   private static final int NUM_PROCESSORS = 20;
   private static final int STREAM_SIZE = 1000;
+
+  /**
+   * Whether consecutive non-blocking processors are executed within a single operator.
+   */
+  @Param({"true", "false"})
+  public boolean fusion;
+
   private MessageProcessorChain chain;
 
   private CoreEvent event;
 
   @Setup
   public void setup() throws Exception {
+    setProperty(MULE_DISABLE_PROCESSOR_FUSION, Boolean.toString(!fusion));
     DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
     for (int i = 0; i < NUM_PROCESSORS; i++) {
       builder.chain(event -> event);
@@ -52,6 +65,11 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
         .message(of(PAYLOAD)).build();
   }
 
+  @TearDown
+  public void teardown() {
+    clearProperty(MULE_DISABLE_PROCESSOR_FUSION);
+  }
+
   @Benchmark
   public CoreEvent blocking() throws MuleException {
     return chain.process(event);
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static reactor.core.publisher.Flux.from;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.exception.NullExceptionHandler;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.privileged.processor.chain.DefaultMessageProcessorChainBuilder;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.runtime.deployment.model.api.application.ApplicationClassLoader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+
+/**
+ * Measures the overhead the chain adds around each processor to set the thread context (TCCL, current context and event) up.
+ * Reactive processors are decorated one by one, while plain processors are executed together, so comparing both benchmarks for
+ * different amounts of processors gives the per-processor cost.
+ * <p/>
+ * The chains are executed with an application classloader as the TCCL, so that the chain actually switches to the Region
+ * classloader and back.
+ */
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+public class ProcessorThreadContextBenchmark extends AbstractBenchmark {
+
+  @Param({"1", "10", "20"})
+  public int processors;
+
+  private MuleContext muleContext;
+  private MessageProcessorChain plainChain;
+  private MessageProcessorChain reactiveChain;
+  private CoreEvent event;
+  private ClassLoader applicationClassLoader;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    DefaultMessageProcessorChainBuilder plainBuilder = new DefaultMessageProcessorChainBuilder();
+    DefaultMessageProcessorChainBuilder reactiveBuilder = new DefaultMessageProcessorChainBuilder();
+    for (int i = 0; i < processors; i++) {
+      plainBuilder.chain(event -> event);
+      reactiveBuilder.chain(new PassThroughReactiveProcessor());
+    }
+    plainChain = plainBuilder.build();
+    plainChain.setMuleContext(muleContext);
+    reactiveChain = reactiveBuilder.build();
+    reactiveChain.setMuleContext(muleContext);
+    event = builder(create("", "", CONNECTOR_LOCATION, NullExceptionHandler.getInstance()))
+        .message(of(PAYLOAD)).build();
+    ClassLoader regionClassLoader = new ClassLoader(getClass().getClassLoader()) {};
+    applicationClassLoader = new TestApplicationClassLoader(regionClassLoader);
+  }
+
+  @TearDown
+  public void teardown() {
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent plainProcessors() throws MuleException {
+    return processWithApplicationClassLoader(plainChain);
+  }
+
+  @Benchmark
+  public CoreEvent reactiveProcessors() throws MuleException {
+    return processWithApplicationClassLoader(reactiveChain);
+  }
+
+  private CoreEvent processWithApplicationClassLoader(MessageProcessorChain chain) throws MuleException {
+    Thread currentThread = currentThread();
+    ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+    currentThread.setContextClassLoader(applicationClassLoader);
+    try {
+      return chain.process(event);
+    } finally {
+      currentThread.setContextClassLoader(originalClassLoader);
+    }
+  }
+
+  private static class TestApplicationClassLoader extends ClassLoader implements ApplicationClassLoader {
+
+    private TestApplicationClassLoader(ClassLoader regionClassLoader) {
+      super(regionClassLoader);
+    }
+  }
+
+  private static class PassThroughReactiveProcessor implements Processor {
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      return event;
+    }
+
+    @Override
+    public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+      return from(publisher).map(event -> event);
+    }
+  }
+}
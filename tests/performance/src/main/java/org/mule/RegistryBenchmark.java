@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.util.UUID.getUUID;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.lifecycle.MuleLifecycleInterceptor;
+import org.mule.runtime.core.internal.registry.TransientRegistry;
+import org.mule.runtime.core.privileged.registry.ObjectProcessor;
+
+import java.util.Collection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class RegistryBenchmark extends AbstractBenchmark {
+
+  @Param({"10000"})
+  public int objects;
+
+  private MuleContext muleContext;
+  private TransientRegistry populatedRegistry;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    populatedRegistry = createRegistry();
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    populatedRegistry.dispose();
+    muleContext.dispose();
+  }
+
+  /**
+   * Registers the objects and initialises the registry, which looks up the registry processors for every object.
+   */
+  @Benchmark
+  public TransientRegistry startup() throws MuleException {
+    TransientRegistry registry = createRegistry();
+    registry.dispose();
+    return registry;
+  }
+
+  @Benchmark
+  public Collection<ObjectProcessor> lookupObjectsByType() {
+    return populatedRegistry.lookupObjects(ObjectProcessor.class);
+  }
+
+  @Benchmark
+  public Collection<RegisteredObject> lookupAllObjectsOfType() {
+    return populatedRegistry.lookupObjects(RegisteredObject.class);
+  }
+
+  private TransientRegistry createRegistry() throws MuleException {
+    TransientRegistry registry = new TransientRegistry(getUUID(), muleContext, new MuleLifecycleInterceptor());
+    for (int i = 0; i < objects; i++) {
+      registry.registerObject(KEY + i, new RegisteredObject());
+    }
+    registry.initialise();
+    return registry;
+  }
+
+  public static class RegisteredObject {
+
+  }
+}
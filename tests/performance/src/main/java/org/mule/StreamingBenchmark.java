@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.registerObject;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.streaming.StreamingManager;
+import org.mule.runtime.core.api.streaming.bytes.CursorStreamProviderFactory;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of tracking cursors for an event, from the creation of its providers until its context terminates. Run
+ * with {@code -prof gc} to compare allocations.
+ */
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@OutputTimeUnit(NANOSECONDS)
+public class StreamingBenchmark extends AbstractBenchmark {
+
+  @Param({"1", "4"})
+  public int providers;
+
+  @Param({"1", "4"})
+  public int cursors;
+
+  private MuleContext muleContext;
+  private Flow flow;
+  private CursorStreamProviderFactory cursorProviderFactory;
+  private byte[] data;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    flow = createFlow(muleContext);
+    registerObject(muleContext, FLOW_NAME, flow, FlowConstruct.class);
+    StreamingManager streamingManager = lookupObject(muleContext, StreamingManager.class);
+    cursorProviderFactory = streamingManager.forBytes().getDefaultCursorProviderFactory();
+    data = PAYLOAD.getBytes();
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    muleContext.stop();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent trackCursors() throws IOException {
+    CoreEvent event = CoreEvent.builder(create(flow, CONNECTOR_LOCATION)).message(of(PAYLOAD)).build();
+    for (int i = 0; i < providers; i++) {
+      CursorStreamProvider provider =
+          (CursorStreamProvider) cursorProviderFactory.of(event, new ByteArrayInputStream(data));
+      for (int j = 0; j < cursors; j++) {
+        CursorStream cursor = provider.openCursor();
+        cursor.read();
+        cursor.close();
+      }
+    }
+    ((BaseEventContext) event.getContext()).success(event);
+    return event;
+  }
+}
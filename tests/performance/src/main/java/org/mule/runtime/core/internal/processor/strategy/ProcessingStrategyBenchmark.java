@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.mule.runtime.core.api.construct.Flow.builder;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static reactor.core.publisher.Flux.range;
+import static reactor.core.publisher.Mono.just;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the processing strategies across different workloads: every combination of processing strategy, mix of processing
+ * types of the processors in the flow, amount of events in flight and ring-buffer wait strategy is measured.
+ * <p/>
+ * Each operation dispatches {@link #concurrency} events to the flow and waits for all of them to complete. Both throughput and
+ * the distribution of the latency of the operations (including p99) are reported. Run with {@code -prof gc} to also report
+ * allocations.
+ * <p/>
+ * The wait strategy only applies to the processing strategies backed by a ring-buffer. The transaction aware variants are
+ * measured without an active transaction.
+ */
+@BenchmarkMode({Throughput, SampleTime})
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ProcessingStrategyBenchmark extends AbstractBenchmark {
+
+  private static final String PROCESSING_TYPES_SEPARATOR = "\\+";
+  private static final long BLOCKING_NANOS = 50000;
+  private static final long CPU_INTENSIVE_TOKENS = 10000;
+
+  public enum Strategy {
+    REACTOR_STREAM, PROACTOR_STREAM, WORK_QUEUE, WORK_QUEUE_STREAM, TX_WORK_QUEUE, TX_PROACTOR_STREAM, TX_WORK_QUEUE_STREAM
+  }
+
+  @Param({"REACTOR_STREAM", "PROACTOR_STREAM", "WORK_QUEUE", "WORK_QUEUE_STREAM", "TX_WORK_QUEUE", "TX_PROACTOR_STREAM",
+      "TX_WORK_QUEUE_STREAM"})
+  public Strategy strategy;
+
+  /**
+   * The processing types of the processors in the flow, in order, separated by {@code +}.
+   */
+  @Param({"CPU_LITE", "BLOCKING", "IO_RW", "CPU_INTENSIVE", "CPU_LITE+BLOCKING+CPU_LITE", "CPU_LITE+CPU_INTENSIVE+IO_RW"})
+  public String processingTypes;
+
+  @Param({"1", "32"})
+  public int concurrency;
+
+  @Param({"LITE_BLOCKING", "BLOCKING", "BUSY_SPIN"})
+  public String waitStrategy;
+
+  private MuleContext muleContext;
+  private Flow flow;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    List<Processor> processors = new ArrayList<>();
+    for (String processingType : processingTypes.split(PROCESSING_TYPES_SEPARATOR)) {
+      processors.add(new WorkloadProcessor(ProcessingType.valueOf(processingType)));
+    }
+
+    flow = builder(FLOW_NAME, muleContext)
+        .processingStrategyFactory(createProcessingStrategyFactory())
+        .processors(processors)
+        .build();
+    flow.initialise();
+    flow.start();
+  }
+
+  private ProcessingStrategyFactory createProcessingStrategyFactory() {
+    switch (strategy) {
+      case REACTOR_STREAM:
+        return withWaitStrategy(new ReactorStreamProcessingStrategyFactory());
+      case PROACTOR_STREAM:
+        return withWaitStrategy(new ProactorStreamProcessingStrategyFactory());
+      case WORK_QUEUE:
+        return new WorkQueueProcessingStrategyFactory();
+      case WORK_QUEUE_STREAM:
+        return withWaitStrategy(new WorkQueueStreamProcessingStrategyFactory());
+      case TX_WORK_QUEUE:
+        return new TransactionAwareWorkQueueProcessingStrategyFactory();
+      case TX_PROACTOR_STREAM:
+        return withWaitStrategy(new TransactionAwareProactorStreamProcessingStrategyFactory());
+      case TX_WORK_QUEUE_STREAM:
+        return withWaitStrategy(new TransactionAwareWorkQueueStreamProcessingStrategyFactory());
+      default:
+        throw new IllegalArgumentException("Unsupported processing strategy: " + strategy);
+    }
+  }
+
+  private ProcessingStrategyFactory withWaitStrategy(AbstractStreamProcessingStrategyFactory factory) {
+    factory.setWaitStrategy(waitStrategy);
+    return factory;
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    flow.stop();
+    flow.dispose();
+    muleContext.stop();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent process() {
+    return range(0, concurrency)
+        .flatMap(i -> flow.apply(just(createEvent(flow))), concurrency)
+        .blockLast();
+  }
+
+  /**
+   * Simulates the work of a processor of the given {@link ProcessingType}: blocking processors wait, CPU intensive ones burn
+   * cycles and the rest just pass the event through.
+   */
+  private static class WorkloadProcessor implements Processor {
+
+    private final ProcessingType processingType;
+
+    WorkloadProcessor(ProcessingType processingType) {
+      this.processingType = processingType;
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      switch (processingType) {
+        case BLOCKING:
+        case IO_RW:
+          parkNanos(BLOCKING_NANOS);
+          break;
+        case CPU_INTENSIVE:
+          Blackhole.consumeCPU(CPU_INTENSIVE_TOKENS);
+          break;
+        default:
+          break;
+      }
+      return event;
+    }
+
+    @Override
+    public ProcessingType getProcessingType() {
+      return processingType;
+    }
+  }
+}
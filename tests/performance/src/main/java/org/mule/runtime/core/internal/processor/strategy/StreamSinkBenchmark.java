@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.construct.Flow.builder;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static reactor.core.publisher.Mono.just;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the single ring-buffer shared by all the subscribers of a stream processing strategy with one ring-buffer per
+ * subscriber, with events dispatched to them either by emitting thread or in turns.
+ * <p/>
+ * Several threads emit to the same flow concurrently, so the contention on the ring-buffer is what's being measured.
+ */
+@BenchmarkMode({Throughput, SampleTime})
+@OutputTimeUnit(MILLISECONDS)
+@Threads(8)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class StreamSinkBenchmark extends AbstractBenchmark {
+
+  @Param({"SHARED", "AFFINITY", "ROUND_ROBIN"})
+  public String sinkDispatch;
+
+  @Param({"REACTOR_STREAM", "WORK_QUEUE_STREAM"})
+  public String strategy;
+
+  @Param({"4"})
+  public int subscribers;
+
+  private MuleContext muleContext;
+  private Flow flow;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    flow = builder(FLOW_NAME, muleContext)
+        .processingStrategyFactory(createProcessingStrategyFactory())
+        .processors(event -> event)
+        .build();
+    flow.initialise();
+    flow.start();
+  }
+
+  private ProcessingStrategyFactory createProcessingStrategyFactory() {
+    AbstractStreamProcessingStrategyFactory factory;
+    switch (strategy) {
+      case "REACTOR_STREAM":
+        factory = new ReactorStreamProcessingStrategyFactory();
+        break;
+      case "WORK_QUEUE_STREAM":
+        factory = new WorkQueueStreamProcessingStrategyFactory();
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported processing strategy: " + strategy);
+    }
+    factory.setSubscriberCount(subscribers);
+    factory.setSinkDispatch(sinkDispatch);
+    return factory;
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    flow.stop();
+    flow.dispose();
+    muleContext.stop();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent emit() {
+    return just(createEvent(flow)).transform(flow).block();
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares {@link PoolingByteBufferManager} with {@link ExactCapacityPoolingByteBufferManager} and the off-heap
+ * {@link DirectByteBufferManager} when many threads allocate and deallocate buffers of the capacities used by the in memory
+ * stream buffers, holding a few of them at a time.
+ */
+@Threads(32)
+@OutputTimeUnit(NANOSECONDS)
+public class ByteBufferManagerBenchmark extends AbstractBenchmark {
+
+  private static final int[] CAPACITIES = {10, 8 * 1024, 128 * 1024, 256 * 1024, 384 * 1024, 512 * 1024};
+  private static final int HELD_BUFFERS = 4;
+
+  @Param({"SIZE_CLASSES", "EXACT_CAPACITY", "DIRECT"})
+  public String manager;
+
+  private ExecutorService allocationScheduler;
+  private ByteBufferManager bufferManager;
+
+  @Setup
+  public void setup() {
+    if (manager.equals("SIZE_CLASSES")) {
+      bufferManager = new PoolingByteBufferManager();
+    } else if (manager.equals("DIRECT")) {
+      bufferManager = new DirectByteBufferManager();
+    } else {
+      allocationScheduler = newSingleThreadExecutor();
+      bufferManager = new ExactCapacityPoolingByteBufferManager(allocationScheduler);
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    ((Disposable) bufferManager).dispose();
+    if (allocationScheduler != null) {
+      allocationScheduler.shutdownNow();
+    }
+  }
+
+  @Benchmark
+  public ByteBuffer churn(HeldBuffers held) {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITIES[held.random.nextInt(CAPACITIES.length)]);
+    return held.replace(buffer, bufferManager);
+  }
+
+  @State(Scope.Thread)
+  public static class HeldBuffers {
+
+    private final Random random = new Random();
+    private final ByteBuffer[] buffers = new ByteBuffer[HELD_BUFFERS];
+    private int next;
+
+    private ByteBuffer replace(ByteBuffer buffer, ByteBufferManager bufferManager) {
+      ByteBuffer previous = buffers[next];
+      buffers[next] = buffer;
+      next = (next + 1) % buffers.length;
+      if (previous != null) {
+        bufferManager.deallocate(previous);
+      }
+      return buffer;
+    }
+  }
+}